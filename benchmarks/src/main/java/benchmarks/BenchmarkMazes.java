@@ -0,0 +1,59 @@
+package benchmarks;
+
+import io.TextMazeWriter;
+import model.generator.RecursiveBacktracker;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The BenchmarkMazes class generates the maze files used by the benchmarks. Mazes are perfect
+ * mazes carved by a seeded {@link RecursiveBacktracker}, written once per size to the temporary
+ * directory and reused by later runs.
+ */
+public final class BenchmarkMazes {
+
+    /**
+     * Seed of the generator, fixed so every run measures the same mazes.
+     */
+    private static final long SEED = 2002;
+
+    /**
+     * Directory the generated maze files are kept in.
+     */
+    private static final Path DIRECTORY =
+            Path.of(System.getProperty("java.io.tmpdir"), "maze-benchmarks");
+
+    private BenchmarkMazes() {
+    }
+
+    /**
+     * Retrieves the maze file of the given size, generating it on first use.
+     *
+     * @param size The number of rows and columns of the maze, odd and at least 3.
+     * @return The path to the maze file.
+     * @throws IOException If the file can not be written.
+     */
+    public static synchronized Path file(int size) throws IOException {
+        Path file = DIRECTORY.resolve("maze-" + size + ".txt");
+        if (!Files.exists(file)) {
+            Files.createDirectories(DIRECTORY);
+            Path partial = DIRECTORY.resolve("maze-" + size + ".tmp");
+            TextMazeWriter.write(new RecursiveBacktracker().generate(size, size, SEED), partial);
+            Files.move(partial, file);
+        }
+        return file;
+    }
+
+    /**
+     * Creates a PrintStream that discards everything, used to silence console output.
+     *
+     * @return A PrintStream writing nowhere.
+     */
+    public static PrintStream nullStream() {
+        return new PrintStream(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import model.generator.MazeGenerators;
+import model.generator.PassageGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating square mazes of increasing size with each maze generator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GeneratorBenchmark {
+
+    /**
+     * Number of rows and columns of the generated maze.
+     */
+    @Param({"1001", "10001"})
+    public int size;
+
+    /**
+     * Name of the generator, as accepted by {@link MazeGenerators#create(String)}.
+     */
+    @Param({"backtracker", "kruskal", "parallel-kruskal", "wilson"})
+    public String generator;
+
+    /**
+     * Seed of the generated mazes.
+     */
+    private long seed;
+
+    @Benchmark
+    public PassageGrid generate() {
+        return MazeGenerators.create(generator).generate(size, size, seed++);
+    }
+}
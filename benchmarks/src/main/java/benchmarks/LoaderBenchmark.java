@@ -0,0 +1,87 @@
+package benchmarks;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.BinaryFileLoader;
+import io.FileLoader;
+import io.MappedFileLoader;
+import io.MazeConverter;
+import io.ParallelFileLoader;
+import model.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading maze files of increasing size with each FileInterface implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoaderBenchmark {
+
+    /**
+     * Number of rows and columns of the loaded maze.
+     */
+    @Param({"101", "1001", "10001"})
+    public int size;
+
+    /**
+     * Path of the maze file to load.
+     */
+    private String file;
+
+    /**
+     * Path of the same maze converted to the binary format.
+     */
+    private String binaryFile;
+
+    @Setup
+    public void setUp() throws IOException, MazeMalformedException, MazeSizeMissmatchException {
+        Path text = BenchmarkMazes.file(size);
+        Path binary = text.resolveSibling(text.getFileName() + ".bin");
+        MazeConverter.convert(text, binary);
+        file = text.toString();
+        binaryFile = binary.toString();
+    }
+
+    @Benchmark
+    public char[][] fileLoader() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        return new FileLoader().load(file);
+    }
+
+    @Benchmark
+    public char[][] mappedFileLoader() throws MazeMalformedException,
+            MazeSizeMissmatchException, FileNotFoundException {
+        return new MappedFileLoader().load(file);
+    }
+
+    @Benchmark
+    public char[][] parallelFileLoader() throws MazeMalformedException,
+            MazeSizeMissmatchException, FileNotFoundException {
+        return new ParallelFileLoader().load(file);
+    }
+
+    @Benchmark
+    public Grid binaryFileLoader() throws MazeMalformedException,
+            MazeSizeMissmatchException, FileNotFoundException {
+        return new BinaryFileLoader().loadGrid(binaryFile);
+    }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.MappedFileLoader;
+import model.Direction;
+import model.MazeGame;
+import model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the movement hot path: traversability checks and moving the goose around the maze.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MovementBenchmark {
+
+    /**
+     * Number of precomputed positions and moves, a power of two.
+     */
+    private static final int SAMPLES = 1 << 12;
+
+    /**
+     * Number of rows and columns of the maze.
+     */
+    @Param({"101", "1001", "10001"})
+    public int size;
+
+    private char[][] layout;
+    private MazeGame game;
+    private Position[] positions;
+    private Direction[] moves;
+    private int next;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, MazeMalformedException, MazeSizeMissmatchException,
+            NoSuchElementException {
+        layout = new MappedFileLoader().load(BenchmarkMazes.file(size).toString());
+        game = new MazeGame(layout);
+        // invalid moves are reported on the console
+        console = System.out;
+        System.setOut(BenchmarkMazes.nullStream());
+
+        SplittableRandom random = new SplittableRandom(7);
+        positions = new Position[SAMPLES];
+        moves = new Direction[SAMPLES];
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < SAMPLES; i++) {
+            positions[i] = new Position(random.nextInt(size), random.nextInt(size));
+            moves[i] = directions[random.nextInt(directions.length)];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public boolean isTraversable() {
+        return positions[next++ & (SAMPLES - 1)].isTraversable(layout);
+    }
+
+    @Benchmark
+    public int moveGoose() {
+        game.moveGoose(moves[next++ & (SAMPLES - 1)]);
+        return game.getGooseIndex();
+    }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.MappedFileLoader;
+import model.Direction;
+import model.MazeGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import view.MazeView;
+import view.TextDisplay;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing a full frame with the console and the Swing renderers. The Swing view paints
+ * into an offscreen image with one pixel per cell, capped at 2048 pixels a side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class RenderBenchmark {
+
+    /**
+     * Largest side of the offscreen image in pixels.
+     */
+    private static final int MAX_IMAGE_SIZE = 2048;
+
+    /**
+     * Number of rows and columns of the maze.
+     */
+    @Param({"101", "1001", "10001"})
+    public int size;
+
+    private TextDisplay textDisplay;
+    private MazeView mazeView;
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, MazeMalformedException, MazeSizeMissmatchException,
+            NoSuchElementException {
+        char[][] layout = new MappedFileLoader().load(BenchmarkMazes.file(size).toString());
+        console = System.out;
+        System.setOut(BenchmarkMazes.nullStream());
+
+        MazeGame game = new MazeGame(layout);
+        game.moveGoose(Direction.DOWN);
+        game.moveGoose(Direction.RIGHT);
+        textDisplay = new TextDisplay(game);
+
+        int side = Math.min(size, MAX_IMAGE_SIZE);
+        mazeView = new MazeView(layout);
+        mazeView.setSize(side, side);
+        image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void textDisplay() {
+        textDisplay.displayMaze();
+    }
+
+    @Benchmark
+    public BufferedImage mazeViewPaint() {
+        mazeView.paint(graphics);
+        return image;
+    }
+}
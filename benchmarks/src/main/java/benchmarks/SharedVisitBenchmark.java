@@ -0,0 +1,94 @@
+package benchmarks;
+
+import model.AtomicVisitStore;
+import model.StripedVisitStore;
+import model.VisitStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures visit counting by several geese sharing one maze. Every thread walks its own
+ * precomputed cells, drawn from a small hot region so the threads keep hitting the same cells.
+ * Run with {@code -t} to change the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SharedVisitBenchmark {
+
+    /**
+     * Number of precomputed cells per thread, a power of two.
+     */
+    private static final int SAMPLES = 1 << 12;
+
+    /**
+     * Number of cells in the maze.
+     */
+    private static final int CELLS = 1001 * 1001;
+
+    /**
+     * The concurrent store under test.
+     */
+    @Param({"atomic", "striped"})
+    public String store;
+
+    /**
+     * Number of cells the geese crowd into.
+     */
+    @Param({"16", "4096"})
+    public int hotCells;
+
+    private VisitStore visits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        visits = store.equals("atomic") ? new AtomicVisitStore(CELLS)
+                : new StripedVisitStore(CELLS, 8);
+    }
+
+    /**
+     * The cells walked by one thread.
+     */
+    @State(Scope.Thread)
+    public static class Goose {
+        private int[] cells;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(SharedVisitBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().hashCode());
+            cells = new int[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                cells[i] = random.nextInt(benchmark.hotCells);
+            }
+        }
+    }
+
+    @Benchmark
+    public void increment(Goose goose) {
+        visits.increment(goose.cells[goose.next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public int read(Goose goose) {
+        return visits.get(goose.cells[goose.next++ & (SAMPLES - 1)]);
+    }
+}
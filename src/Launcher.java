@@ -1,18 +1,70 @@
+import controller.MovePipe;
 import exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
 import exceptions.NoSuchElementException;
+import io.BinaryFileLoader;
+import io.CachingFileLoader;
+import io.FileInterface;
 import io.FileLoader;
+import io.MappedFileLoader;
+import io.ParallelFileLoader;
+import model.CharGrid;
 import model.Direction;
+import model.Grid;
 import model.MazeGame;
+import model.PackedGrid;
+import model.solver.HintService;
+import view.ConsoleGameListener;
+import view.DiffTextDisplay;
 import view.MazeGUI;
 import view.TextDisplay;
 
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The Launcher class runs the maze navigation application.
  */
 public class Launcher {
+    /**
+     * Prefix of the optional command-line flag selecting the file loader.
+     */
+    private static final String LOADER_OPTION = "--loader=";
+
+    /**
+     * Command-line flag storing the loaded maze in a bit-packed grid.
+     */
+    private static final String PACKED_OPTION = "--packed";
+
+    /**
+     * Command-line flag redrawing only the cells changed by each move in the text display.
+     */
+    private static final String DIFF_OPTION = "--diff";
+
+    /**
+     * Command-line flag rejecting mazes whose exit can not be reached from the start.
+     */
+    private static final String VALIDATE_OPTION = "--validate";
+
+    /**
+     * Command-line flag playing the moves piped into standard input without prompting.
+     */
+    private static final String PIPE_OPTION = "--pipe";
+
+    /**
+     * Prefix of the optional command-line flag playing the moves of a file without prompting.
+     */
+    private static final String MOVES_OPTION = "--moves=";
+
+    /**
+     * Prefix of the optional command-line flag rendering piped games every N moves.
+     */
+    private static final String RENDER_EVERY_OPTION = "--render-every=";
 
     /**
      * Main method to start the maze navigator application.
@@ -20,6 +72,16 @@ public class Launcher {
      * @param args The command-line arguments.
      *             Usage: "GUI maze.txt" to start the GUI with a specific maze file, or provide the
      *             maze file as the first argument to run the text-based version.
+     *             A leading "--loader=text", "--loader=mapped", "--loader=parallel" or
+     *             "--loader=binary" flag selects the file loader, the memory-mapped and parallel
+     *             loaders are faster for very large maze files and the binary loader reads files
+     *             written by MazeConverter. A leading
+     *             "--packed" flag stores the maze in a bit-packed grid to save memory, and
+     *             "--diff" makes the text display redraw only the cells changed by each move.
+     *             "--pipe" plays the moves piped into standard input and "--moves=file" the
+     *             moves of a file, without prompting, rendering only at the end or every N
+     *             moves with "--render-every=N". "--validate" rejects mazes with no start
+     *             or whose exits can not be reached from it while they are loaded.
      *
      * @throws FileNotFoundException      If the specified maze file is not found.
      * @throws MazeSizeMissmatchException If the maze has mismatched row or column sizes.
@@ -30,30 +92,134 @@ public class Launcher {
      */
     public static void main(String[] args) throws FileNotFoundException,
             MazeSizeMissmatchException, MazeMalformedException, NoSuchElementException {
-        FileLoader fileLoader = new FileLoader();
+        String loaderName = "text";
+        boolean validate = false;
+        boolean packed = false;
+        boolean diff = false;
+        boolean pipe = false;
+        String movesFile = null;
+        long renderEvery = 0;
+
+        // Optional flags before the other arguments
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            String option = args[first++];
+            if (option.startsWith(LOADER_OPTION)) {
+                loaderName = option.substring(LOADER_OPTION.length());
+            } else if (option.equals(VALIDATE_OPTION)) {
+                validate = true;
+            } else if (option.equals(PACKED_OPTION)) {
+                packed = true;
+            } else if (option.equals(DIFF_OPTION)) {
+                diff = true;
+            } else if (option.equals(PIPE_OPTION)) {
+                pipe = true;
+            } else if (option.startsWith(MOVES_OPTION)) {
+                movesFile = option.substring(MOVES_OPTION.length());
+            } else if (option.startsWith(RENDER_EVERY_OPTION)) {
+                renderEvery = Long.parseLong(option.substring(RENDER_EVERY_OPTION.length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        args = Arrays.copyOfRange(args, first, args.length);
+        FileInterface fileLoader = createLoader(loaderName, validate);
 
         // GUI display if GUI is entered in terminal line
         if (args[0].equals("GUI")) {
             try{
-                char[][] maze = fileLoader.load(args[1]);
-                new MazeGUI(maze);
+                // The menu loads through the same cache, so reopening this maze is a lookup
+                FileInterface cachingLoader = new CachingFileLoader(fileLoader);
+                Grid maze = loadGrid(cachingLoader, args[1], packed);
+                new MazeGUI(maze, cachingLoader);
             } catch (ArrayIndexOutOfBoundsException e){
                 throw new ArrayIndexOutOfBoundsException("Please enter a maze File of the " +
                         ".txt format after GUI");
             }
         }
+        // Moves piped in or read from a file, played without prompting
+        else if (pipe || movesFile != null) {
+            Grid maze = loadGrid(fileLoader, args[0], packed);
+            MazeGame mazeGame = new MazeGame(maze);
+            mazeGame.addListener(new ConsoleGameListener(false));
+            TextDisplay textdisplay = diff ? new DiffTextDisplay(mazeGame)
+                    : new TextDisplay(mazeGame);
+            MovePipe movePipe = new MovePipe(mazeGame, textdisplay::displayMaze, renderEvery);
+
+            try (InputStream in = movesFile == null ? null : new FileInputStream(movesFile)) {
+                movePipe.play(in == null ? System.in : in);
+            } catch (FileNotFoundException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the moves", e);
+            }
+            textdisplay.finish();
+            System.out.println(movePipe.getMoves() + " moves applied, "
+                    + movePipe.getInvalidMoves() + " rejected");
+        }
         // Text-based display in terminal if GUI is not entered in terminal line
         else {
-            char[][] maze = fileLoader.load(args[0]);
+            Grid maze = loadGrid(fileLoader, args[0], packed);
+            // Hints are answered instantly once the distances are computed with the maze
+            HintService.forLayout(maze);
             MazeGame mazeGame = new MazeGame(maze);
-            TextDisplay textdisplay = new TextDisplay(mazeGame);
+            mazeGame.addListener(new ConsoleGameListener());
+            TextDisplay textdisplay = diff ? new DiffTextDisplay(mazeGame)
+                    : new TextDisplay(mazeGame);
 
+            // A whole line of moves is applied before the maze is drawn again
             while (!mazeGame.isGameOver()){
                 textdisplay.displayMaze();
-                Direction move = mazeGame.getInputHandler().readInput();
-                mazeGame.moveGoose(move);
+                for (Direction move : mazeGame.getInputHandler().readMoves()) {
+                    mazeGame.moveGoose(move);
+                    if (mazeGame.isGameOver()) {
+                        break;
+                    }
+                }
             }
+            textdisplay.finish();
         }
     }
 
+    /**
+     * Loads a maze file into the grid used by the game.
+     *
+     * @param fileLoader The loader to load the maze file with.
+     * @param filename The path to the maze file.
+     * @param packed True to pack a loaded character layout into a bit-packed grid.
+     * @return The grid storing the layout.
+     * @throws FileNotFoundException      If the specified maze file is not found.
+     * @throws MazeSizeMissmatchException If the maze has mismatched row or column sizes.
+     * @throws MazeMalformedException     If the maze is malformed.
+     */
+    private static Grid loadGrid(FileInterface fileLoader, String filename, boolean packed)
+            throws FileNotFoundException, MazeSizeMissmatchException, MazeMalformedException {
+        Grid grid = fileLoader.loadGrid(filename);
+        return packed && grid instanceof CharGrid ? PackedGrid.pack(grid.toArray()) : grid;
+    }
+
+    /**
+     * Creates the file loader matching the given name.
+     *
+     * @param name The name of the loader, either "text", "mapped", "parallel" or "binary".
+     * @param validate True to check while parsing that an exit can be reached from the start.
+     * @return The file loader to load maze files with.
+     * @throws IllegalArgumentException If the name does not match a known loader, or the binary
+     *                                  loader is asked to validate as it does not parse files.
+     */
+    private static FileInterface createLoader(String name, boolean validate) {
+        return switch (name) {
+            case "text" -> new FileLoader(validate);
+            case "mapped" -> new MappedFileLoader(validate);
+            case "parallel" -> new ParallelFileLoader(ForkJoinPool.commonPool(), validate);
+            case "binary" -> {
+                if (validate) {
+                    throw new IllegalArgumentException("The binary loader can not validate mazes");
+                }
+                yield new BinaryFileLoader();
+            }
+            default -> throw new IllegalArgumentException("Unknown loader: " + name);
+        };
+    }
+
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package controller;
 
 import model.Direction;
 import model.MazeGame;
+import model.solver.HintService;
 
+import java.io.InputStream;
 import java.util.Scanner;
 
 /**
@@ -14,16 +16,39 @@ public class InputHandler {
      * scanner object used to read inputs
      */
     private final Scanner scanner;
+    /**
+     * game that is ended when the user quits
+     */
+    private final MazeGame game;
     /**
      *  length of a character needed for a move, specifically of length 1.
      */
     private final int CHAR_LENGTH = 1;
+    /**
+     *  key ending the game.
+     */
+    private static final char QUIT = 'q';
+    /**
+     *  key asking for a hint.
+     */
+    private static final char HINT = 'h';
 
     /**
      * Constructs a new InputHandler with a Scanner for reading user input from the console.
+     * @param game The game to end when the user quits.
+     */
+    public InputHandler(MazeGame game){
+        this(game, System.in);
+    }
+
+    /**
+     * Constructs a new InputHandler with a Scanner for reading user input from the given stream.
+     * @param game The game to end when the user quits.
+     * @param in The stream to read moves from.
      */
-    public InputHandler(){
-        scanner = new Scanner(System.in);
+    public InputHandler(MazeGame game, InputStream in){
+        this.game = game;
+        scanner = new Scanner(in);
     }
 
     /**
@@ -40,18 +65,70 @@ public class InputHandler {
 
         if (input.length() == CHAR_LENGTH) {
             char move = input.charAt(0);
-            switch (move) {
-                case 'w' -> {return Direction.UP;}
-                case 'a' -> {return Direction.LEFT;}
-                case 's' -> {return Direction.DOWN;}
-                case 'd' -> {return Direction.RIGHT;}
-                case 'q' -> {MazeGame.setGameOver(true);}
-                default -> {System.out.println("Please enter a valid move");}
+            Direction direction = Direction.fromKey(move);
+            if (direction != null) {
+                return direction;
+            } else if (move == QUIT) {
+                game.setGameOver(true);
+            } else {
+                System.out.println("Please enter a valid move");
             }
-
         }
 
         return null;
     }
 
+    /**
+     * Reads a line of moves from the console, such as "wwddsssd", so a whole route can be
+     * entered at once. A line holding only q quits, and so does the end of the input. A line
+     * holding only h prints the best next move and the number of moves left to the exit.
+     * @return The moves of the line in order, empty if the game was ended or a hint was
+     *          printed, or a single null
+     *          move if the line holds anything other than w/a/s/d.
+     */
+    public Direction[] readMoves() {
+        System.out.println("Enter moves (w/a/s/d), e.g. wwddsssd, or q to quit: ");
+        if (!scanner.hasNextLine()) {
+            game.setGameOver(true);
+            return new Direction[0];
+        }
+
+        String input = scanner.nextLine().strip();
+        if (input.length() == CHAR_LENGTH && input.charAt(0) == QUIT) {
+            game.setGameOver(true);
+            return new Direction[0];
+        }
+        if (input.length() == CHAR_LENGTH && input.charAt(0) == HINT) {
+            printHint();
+            return new Direction[0];
+        }
+        if (input.isEmpty()) {
+            return new Direction[1];
+        }
+        Direction[] moves = new Direction[input.length()];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = Direction.fromKey(input.charAt(i));
+            if (moves[i] == null) {
+                System.out.println("Please enter a valid move");
+                return new Direction[1];
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Prints the best next move from the position of the goose and how far the exit is.
+     */
+    private void printHint() {
+        HintService hints = HintService.forLayout(game.getMaze().getGrid());
+        int goose = game.getGooseIndex();
+        Direction best = hints.getBestMove(goose);
+        if (best == null) {
+            System.out.println("No exit can be reached from here.");
+        } else {
+            System.out.println("Hint: press " + best.getKey() + ", "
+                    + hints.getMovesRemaining(goose) + " moves to the exit.");
+        }
+    }
+
 }
@@ -0,0 +1,159 @@
+package controller;
+
+import model.Direction;
+import model.GameListener;
+import model.MazeGame;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The MovePipe class plays moves piped from standard input or a file without prompting. Bytes
+ * are read in large blocks and decoded through a lookup table, and the moves are applied in one
+ * tight loop, so a scripted run is limited by {@link MazeGame#moveGoose} rather than by console
+ * I/O. The game is rendered only every N moves, or once at the end.
+ */
+public class MovePipe implements GameListener {
+    /**
+     * Size of the blocks read from the input.
+     */
+    public static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Lookup table entry of bytes that are skipped, such as line breaks and spaces.
+     */
+    private static final byte SKIP = -1;
+
+    /**
+     * Lookup table entry of bytes that are moves without a direction.
+     */
+    private static final byte INVALID = -2;
+
+    /**
+     * Lookup table entry of the byte ending the game.
+     */
+    private static final byte QUIT = -3;
+
+    /**
+     * Lookup table mapping every byte to a direction ordinal or one of the entries above.
+     */
+    private static final byte[] MOVES = new byte[256];
+
+    /**
+     * Directions indexed by their ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    static {
+        for (int b = 0; b < MOVES.length; b++) {
+            Direction direction = Direction.fromKey((char) b);
+            if (direction != null) {
+                MOVES[b] = (byte) direction.ordinal();
+            } else if (Character.isWhitespace((char) b)) {
+                MOVES[b] = SKIP;
+            } else {
+                MOVES[b] = b == 'q' ? QUIT : INVALID;
+            }
+        }
+    }
+
+    /**
+     * The game the moves are applied to.
+     */
+    private final MazeGame game;
+
+    /**
+     * Called to render the game.
+     */
+    private final Runnable render;
+
+    /**
+     * Number of moves between two renders, 0 to render only at the end.
+     */
+    private final long renderEvery;
+
+    /**
+     * Number of moves applied and of moves the game rejected.
+     */
+    private long moves, invalidMoves;
+
+    /**
+     * Constructs a MovePipe.
+     *
+     * @param game The game to apply the moves to.
+     * @param render Called to render the game.
+     * @param renderEvery The number of moves between two renders, 0 to render only at the end.
+     * @require game != null && render != null && renderEvery >= 0
+     */
+    public MovePipe(MazeGame game, Runnable render, long renderEvery) {
+        this.game = game;
+        this.render = render;
+        this.renderEvery = renderEvery;
+        game.addListener(this);
+    }
+
+    /**
+     * Applies every move of the input until it ends, the goose reaches an exit or a q is read,
+     * then renders the game. Whitespace is skipped, any other character that is not w/a/s/d
+     * counts as a move without a direction.
+     *
+     * @param in The stream to read moves from, it is not closed.
+     * @return The number of moves applied.
+     * @throws IOException If the input can not be read.
+     */
+    public long play(InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long nextRender = renderEvery > 0 ? moves + renderEvery : Long.MAX_VALUE;
+        int read;
+        reading:
+        while (!game.isGameOver() && (read = in.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                byte move = MOVES[buffer[i] & 0xFF];
+                if (move >= 0) {
+                    game.moveGoose(DIRECTIONS[move]);
+                } else if (move == INVALID) {
+                    game.moveGoose(null);
+                } else if (move == QUIT) {
+                    game.setGameOver(true);
+                } else {
+                    continue;
+                }
+                if (game.isGameOver()) {
+                    moves += move == QUIT ? 0 : 1;
+                    break reading;
+                }
+                if (++moves == nextRender) {
+                    render.run();
+                    nextRender += renderEvery;
+                }
+            }
+        }
+        render.run();
+        return moves;
+    }
+
+    /**
+     * Retrieves the number of moves applied.
+     *
+     * @return The number of moves.
+     * @pure
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Retrieves the number of moves the game rejected.
+     *
+     * @return The number of invalid moves.
+     * @pure
+     */
+    public long getInvalidMoves() {
+        return invalidMoves;
+    }
+
+    @Override
+    public void invalidMove(Direction direction) {
+        invalidMoves++;
+    }
+}
@@ -0,0 +1,151 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import metrics.MazeMetrics;
+import model.BufferGrid;
+import model.Grid;
+import model.MazeMetadata;
+import model.PackedGrid;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * The BinaryFileLoader class loads maze files written by {@link BinaryMazeWriter}. The file is
+ * memory mapped and the cells are read in place by a {@link BufferGrid}: no cell is copied or
+ * parsed. The start and exit cells are read from the file too. The payload checksum is verified
+ * by default, so a damaged file is rejected while loading instead of failing when its cells are
+ * read; loaders trusting their files can skip it, loading then takes the same time whatever the
+ * size of the maze.
+ */
+public class BinaryFileLoader implements FileInterface {
+    /**
+     * True to verify the payload checksum on every load.
+     */
+    private final boolean verifyChecksum;
+
+    /**
+     * Constructs a BinaryFileLoader that verifies the payload checksum.
+     */
+    public BinaryFileLoader() {
+        this(true);
+    }
+
+    /**
+     * Constructs a BinaryFileLoader.
+     *
+     * @param verifyChecksum True to verify the payload checksum on every load, false to trust
+     *                       the cells of the files, which must then hold no invalid cell code.
+     */
+    public BinaryFileLoader(boolean verifyChecksum) {
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    /**
+     * Loads a binary maze file and converts it into a 2D char array. Prefer
+     * {@link #loadGrid(String)}, which does not copy the cells.
+     *
+     * @param filename The path to the binary maze file.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the file is not a binary maze file of a supported
+     *                                version, has an even number of rows or columns, or fails
+     *                                the checksum.
+     * @throws MazeSizeMissmatchException If the file size does not match the dimensions.
+     * @throws FileNotFoundException If the specified file is not found.
+     * @require filename != null && filename.length() > 0
+     * @ensure \result != null && \result.length > 0 && \result[0].length > 0
+     */
+    @Override
+    public char[][] load(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        return loadGrid(filename).toArray();
+    }
+
+    /**
+     * Maps a binary maze file and wraps it in a grid without copying the cells.
+     *
+     * @param filename The path to the binary maze file.
+     * @return A grid reading its cells from the mapped file.
+     * @throws MazeMalformedException If the file is not a binary maze file of a supported
+     *                                version, has an even number of rows or columns, or fails
+     *                                the checksum.
+     * @throws MazeSizeMissmatchException If the file size does not match the dimensions.
+     * @throws FileNotFoundException If the specified file is not found.
+     * @require filename != null && filename.length() > 0
+     */
+    @Override
+    public Grid loadGrid(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, FileNotFoundException {
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < BinaryMazeFormat.VERSION_1_HEADER_SIZE) {
+                throw new MazeMalformedException("Not a binary maze file: " + filename);
+            }
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            file.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (file.getInt(0) != BinaryMazeFormat.MAGIC) {
+                throw new MazeMalformedException("Not a binary maze file: " + filename);
+            }
+            short version = file.getShort(BinaryMazeFormat.VERSION_OFFSET);
+            if (version != BinaryMazeFormat.VERSION && version != BinaryMazeFormat.VERSION_1) {
+                throw new MazeMalformedException("Unsupported binary maze version: " + version);
+            }
+            boolean hasExitTable = version == BinaryMazeFormat.VERSION;
+            int headerSize = hasExitTable ? BinaryMazeFormat.HEADER_SIZE
+                    : BinaryMazeFormat.VERSION_1_HEADER_SIZE;
+            int rowsNum = file.getInt(BinaryMazeFormat.ROWS_OFFSET);
+            int colsNum = file.getInt(BinaryMazeFormat.COLS_OFFSET);
+            if (rowsNum % 2 == 0 | colsNum % 2 == 0 | rowsNum < 0 | colsNum < 0) {
+                throw new MazeMalformedException("Maze Malformed, ensure that the number of " +
+                        "rows or columns are odd.");
+            }
+            FileLoader.requireAddressable(rowsNum, colsNum);
+
+            long words = file.getLong(BinaryMazeFormat.WORDS_OFFSET);
+            long exitCount = hasExitTable
+                    ? Integer.toUnsignedLong(file.getInt(BinaryMazeFormat.EXIT_COUNT_OFFSET)) : 0;
+            if (size < headerSize || words != PackedGrid.wordCount((long) rowsNum * colsNum)
+                    || size != headerSize + words * Long.BYTES + exitCount * Integer.BYTES) {
+                throw new MazeSizeMissmatchException("Maze cells do not match with the " +
+                        "specified size");
+            }
+            if (verifyChecksum) {
+                CRC32C checksum = new CRC32C();
+                checksum.update(file.slice(headerSize, (int) (size - headerSize)));
+                if (checksum.getValue() != file.getLong(BinaryMazeFormat.CHECKSUM_OFFSET)) {
+                    throw new MazeMalformedException("Checksum mismatch in file: " + filename);
+                }
+            }
+
+            ByteBuffer payload = file.slice(headerSize, (int) (words * Long.BYTES));
+            MazeMetadata metadata = null;
+            if (hasExitTable) {
+                int[] exits = new int[(int) exitCount];
+                file.slice(headerSize + payload.capacity(), exits.length * Integer.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(exits);
+                metadata = new MazeMetadata(file.getInt(BinaryMazeFormat.START_OFFSET), exits,
+                        file.getLong(BinaryMazeFormat.OPEN_CELLS_OFFSET));
+            }
+            if (MazeMetrics.ENABLED) {
+                MazeMetrics.recordLoad(filename, size, (long) rowsNum * colsNum, start);
+            }
+            return new BufferGrid(rowsNum, colsNum, payload, metadata);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read maze file: " + filename, e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io;
+
+/**
+ * The BinaryMazeFormat class holds the layout of binary maze files. All values are little-endian.
+ * <p>
+ * Header, 48 bytes:
+ * - 0: magic "MAZB" (4 bytes)
+ * - 4: format version (2 bytes), then 2 reserved bytes
+ * - 8: number of rows, 12: number of columns (4 bytes each)
+ * - 16: flat index of the first start cell, -1 if missing (4 bytes)
+ * - 20: number of exit cells (4 bytes)
+ * - 24: number of payload words (8 bytes)
+ * - 32: CRC32C checksum of everything after the header (8 bytes)
+ * - 40: number of open cells (8 bytes)
+ * </p>
+ * <p>
+ * The payload follows the header and holds the cells packed exactly like
+ * {@link model.PackedGrid}, 21 cells of 3 bits in each 8 byte word. The header keeps the payload
+ * 8 byte aligned so it can be read as longs straight from a memory mapping. The flat indices of
+ * the exit cells follow the payload in increasing order, 4 bytes each.
+ * </p>
+ * <p>
+ * Version 1 files have a 40 byte header without the open cell count, hold the index of the
+ * first exit cell at offset 20 and have no exit table. They can still be loaded, their metadata
+ * is scanned on first use.
+ * </p>
+ */
+final class BinaryMazeFormat {
+
+    /**
+     * First four bytes of every binary maze file, "MAZB" in little-endian order.
+     */
+    static final int MAGIC = 'M' | 'A' << 8 | 'Z' << 16 | 'B' << 24;
+
+    /**
+     * Current version of the format.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * Version without an exit table, still accepted by the loader.
+     */
+    static final short VERSION_1 = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 48;
+
+    /**
+     * Size of the header of version 1 files in bytes.
+     */
+    static final int VERSION_1_HEADER_SIZE = 40;
+
+    /**
+     * Byte offsets of the header fields.
+     */
+    static final int VERSION_OFFSET = 4, ROWS_OFFSET = 8, COLS_OFFSET = 12, START_OFFSET = 16,
+            EXIT_COUNT_OFFSET = 20, WORDS_OFFSET = 24, CHECKSUM_OFFSET = 32,
+            OPEN_CELLS_OFFSET = 40;
+
+    private BinaryMazeFormat() {
+    }
+}
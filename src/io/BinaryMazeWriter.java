@@ -0,0 +1,218 @@
+package io;
+
+import model.Grid;
+import model.MazeMetadata;
+import model.PackedGrid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * The BinaryMazeWriter class writes a binary maze file cell by cell, packing the cells as they
+ * arrive so that a maze never has to be held in memory to be converted. The start and exit
+ * cells are recorded on the way. The header is written last, once the metadata and the checksum
+ * are known, a file that was not completed is therefore rejected by {@link BinaryFileLoader}.
+ */
+public class BinaryMazeWriter implements Closeable {
+    /**
+     * Size of the write buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The channel of the file being written.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Buffer collecting packed words before they are written.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Checksum of the payload written so far.
+     */
+    private final CRC32C checksum = new CRC32C();
+
+    /**
+     * Number of rows and columns of the maze.
+     */
+    private final int rows, cols;
+
+    /**
+     * Number of cells written so far.
+     */
+    private int written;
+
+    /**
+     * The word currently being packed.
+     */
+    private long word;
+
+    /**
+     * Records the start, exit and open cells as they are written.
+     */
+    private final MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+
+    /**
+     * Constructs a BinaryMazeWriter, creating or truncating the file.
+     *
+     * @param file The file to write.
+     * @param rows The number of rows of the maze.
+     * @param cols The number of columns of the maze.
+     * @throws IOException If the file can not be opened.
+     * @throws IllegalArgumentException If the maze has too many cells.
+     * @require rows > 0 && cols > 0
+     */
+    public BinaryMazeWriter(Path file, int rows, int cols) throws IOException {
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze has too many cells to be packed.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(BinaryMazeFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Writes every cell of a grid to a binary maze file.
+     *
+     * @param grid The grid to write.
+     * @param file The file to write.
+     * @throws IOException If the file can not be written.
+     */
+    public static void write(Grid grid, Path file) throws IOException {
+        try (BinaryMazeWriter writer = new BinaryMazeWriter(file, grid.getRows(), grid.getCols())) {
+            int cells = grid.getRows() * grid.getCols();
+            for (int index = 0; index < cells; index++) {
+                writer.writeCell(grid.getCell(index));
+            }
+        }
+    }
+
+    /**
+     * Writes a full row of the maze.
+     *
+     * @param row The characters of the row.
+     * @throws IOException If the file can not be written.
+     * @throws IllegalArgumentException If the row has the wrong length or an invalid character.
+     */
+    public void writeRow(CharSequence row) throws IOException {
+        if (row.length() != cols) {
+            throw new IllegalArgumentException("Row length does not match the maze columns.");
+        }
+        for (int col = 0; col < cols; col++) {
+            writeCell(row.charAt(col));
+        }
+    }
+
+    /**
+     * Writes the next cell of the maze, in row-major order.
+     *
+     * @param cell The maze character of the cell.
+     * @throws IOException If the file can not be written.
+     * @throws IllegalArgumentException If the character is not a maze character.
+     * @throws IllegalStateException If every cell has already been written.
+     */
+    public void writeCell(char cell) throws IOException {
+        if (written == rows * cols) {
+            throw new IllegalStateException("All cells of the maze have already been written.");
+        }
+        int code = PackedGrid.encode(cell);
+        metadata.record(written, cell);
+        word |= (long) code << PackedGrid.shift(written);
+        if (++written % PackedGrid.CELLS_PER_WORD == 0) {
+            flushWord();
+        }
+    }
+
+    /**
+     * Writes the remaining words, the exit table and the header, then closes the file.
+     *
+     * @throws IOException If the file can not be written.
+     * @throws IllegalStateException If not every cell of the maze was written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (written != rows * cols) {
+                throw new IllegalStateException("Only " + written + " of " + rows * cols
+                        + " cells were written.");
+            }
+            if (written % PackedGrid.CELLS_PER_WORD != 0) {
+                flushWord();
+            }
+            MazeMetadata recorded = metadata.build();
+            for (int i = 0; i < recorded.getExitCount(); i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    drain();
+                }
+                buffer.putInt(recorded.getExit(i));
+            }
+            drain();
+            writeHeader(recorded);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Appends the current word to the buffer and starts a new one.
+     *
+     * @throws IOException If the buffer had to be written and could not be.
+     */
+    private void flushWord() throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.putLong(word);
+        word = 0;
+    }
+
+    /**
+     * Writes the buffered words to the file and adds them to the checksum.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the header at the start of the file.
+     *
+     * @param recorded The metadata of the written cells.
+     * @throws IOException If the file can not be written.
+     */
+    private void writeHeader(MazeMetadata recorded) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryMazeFormat.HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(BinaryMazeFormat.MAGIC)
+                .putShort(BinaryMazeFormat.VERSION_OFFSET, BinaryMazeFormat.VERSION)
+                .putInt(BinaryMazeFormat.ROWS_OFFSET, rows)
+                .putInt(BinaryMazeFormat.COLS_OFFSET, cols)
+                .putInt(BinaryMazeFormat.START_OFFSET, recorded.getStart())
+                .putInt(BinaryMazeFormat.EXIT_COUNT_OFFSET, recorded.getExitCount())
+                .putLong(BinaryMazeFormat.WORDS_OFFSET, PackedGrid.wordCount(written))
+                .putLong(BinaryMazeFormat.CHECKSUM_OFFSET, checksum.getValue())
+                .putLong(BinaryMazeFormat.OPEN_CELLS_OFFSET, recorded.getOpenCells());
+        header.clear();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import model.CharGrid;
+import model.Grid;
+import model.PackedGrid;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * The CachingFileLoader class loads mazes through a {@link MazeCache}, only asking the wrapped
+ * loader to parse files the cache does not know. Parsed layouts are packed into a
+ * {@link PackedGrid} before being cached, so they can not be changed by the callers sharing them.
+ * Layouts are cached per kind of loader and per validation setting, so a layout loaded without
+ * checking its exit is never handed to a validating loader. Callers loading the same file at the
+ * same time wait for a single parse.
+ */
+public class CachingFileLoader implements FileInterface {
+    /**
+     * The loader parsing the files missing from the cache.
+     */
+    private final FileInterface loader;
+
+    /**
+     * The cache holding the parsed layouts.
+     */
+    private final MazeCache cache;
+
+    /**
+     * The class of the wrapped loader and whether it validates, separating its layouts from the
+     * layouts of other loaders sharing the cache.
+     */
+    private final String variant;
+
+    /**
+     * Constructs a CachingFileLoader using the default cache.
+     *
+     * @param loader The loader parsing the files missing from the cache.
+     */
+    public CachingFileLoader(FileInterface loader) {
+        this(loader, MazeCache.getDefault());
+    }
+
+    /**
+     * Constructs a CachingFileLoader.
+     *
+     * @param loader The loader parsing the files missing from the cache.
+     * @param cache The cache holding the parsed layouts.
+     */
+    public CachingFileLoader(FileInterface loader, MazeCache cache) {
+        this.loader = loader;
+        this.cache = cache;
+        this.variant = loader.getClass().getName() + (loader.isValidating() ? "+validate" : "");
+    }
+
+    @Override
+    public boolean isValidating() {
+        return loader.isValidating();
+    }
+
+    /**
+     * Loads a maze, returning a new copy of the cached layout when the file is known.
+     *
+     * @param filename The path to the maze file.
+     * @return char[][] representing the loaded maze, owned by the caller.
+     * @throws MazeMalformedException If the maze has an invalid structure.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    @Override
+    public char[][] load(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        return loadGrid(filename).toArray();
+    }
+
+    /**
+     * Loads a maze, returning the shared cached layout when the file is known.
+     *
+     * @param filename The path to the maze file.
+     * @return An immutable grid holding the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    @Override
+    public Grid loadGrid(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        Path file = Path.of(filename);
+        try {
+            return cache.load(file, variant, () -> {
+                Grid grid = loader.loadGrid(filename);
+                return grid instanceof CharGrid ? PackedGrid.pack(grid.toArray()) : grid;
+            });
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + filename);
+        } catch (FileNotFoundException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read maze file: " + filename, e);
+        }
+    }
+}
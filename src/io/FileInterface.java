@@ -2,6 +2,8 @@ package io;
 
 import exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
+import model.CharGrid;
+import model.Grid;
 
 import java.io.FileNotFoundException;
 
@@ -43,5 +45,31 @@ public interface FileInterface {
      * @throws FileNotFoundException        If the maze file is not found.
      */
     public char[][] load(String filename) throws MazeMalformedException, MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException;
-}
 
+    /**
+     * Loads a maze from the specified filename into a grid. By default the maze is loaded with
+     * {@link #load(String)} and wrapped in a {@link CharGrid}; loaders able to read the cells
+     * in place return their own grid instead.
+     *
+     * @param filename The path to the maze file to be loaded.
+     * @return A grid holding the loaded maze.
+     * @throws MazeMalformedException      If the maze data is not correctly formatted.
+     * @throws MazeSizeMissmatchException  If the maze dimensions do not match the provided size.
+     * @throws IllegalArgumentException     For other validation errors.
+     * @throws FileNotFoundException        If the maze file is not found.
+     */
+    default Grid loadGrid(String filename) throws MazeMalformedException, MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        return new CharGrid(load(filename));
+    }
+
+    /**
+     * Checks whether the loader rejects mazes with no exit reachable from their start, which
+     * loaders caching layouts must not mix up with layouts loaded without the check.
+     *
+     * @return True if every loaded maze is checked to be solvable, false by default.
+     * @pure
+     */
+    default boolean isValidating() {
+        return false;
+    }
+}
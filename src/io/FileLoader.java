@@ -2,6 +2,12 @@ package io;
 
 import  exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
+import metrics.MazeMetrics;
+import model.CharGrid;
+import model.ConnectivityCheck;
+import model.Grid;
+import model.MazeMetadata;
+
 import java.io.FileNotFoundException;
 
 import java.io.File;
@@ -37,13 +43,35 @@ public class FileLoader implements FileInterface{
      */
     public static final char END = 'E';
 
+    /**
+     * Whether every loaded maze is checked to have an exit reachable from its start.
+     */
+    private final boolean validate;
+
+    /**
+     * Constructs a FileLoader that does not check the reachability of the exit.
+     */
+    public FileLoader() {
+        this(false);
+    }
+
+    /**
+     * Constructs a FileLoader, optionally checking while each maze is parsed that an exit can be
+     * reached from its start.
+     *
+     * @param validate True to reject mazes with no start or with no exit reachable from it.
+     */
+    public FileLoader(boolean validate) {
+        this.validate = validate;
+    }
+
     /**
      * Loads a maze given the specific string name of the file and converts it into a 2D char array.
      * @
      * @param filename The path to the maze file.
      * @return char[][] representing the loaded maze.
      * @throws MazeMalformedException If the maze has an invalid structure like even number of
-     *                                rows and columns.
+     *                                rows and columns, or is unsolvable when validating.
      * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
      * @throws IllegalArgumentException If an invalid character is found in the file.
      * @throws FileNotFoundException If the specified file is not found.
@@ -55,7 +83,48 @@ public class FileLoader implements FileInterface{
     @Override
     public char[][] load(String filename) throws MazeMalformedException, MazeSizeMissmatchException,
             IllegalArgumentException, FileNotFoundException {
+        return parse(filename, new MazeMetadata.Builder());
+    }
+
+    @Override
+    public boolean isValidating() {
+        return validate;
+    }
 
+    /**
+     * Loads a maze into a grid, recording its start, exit and open cells while it is parsed.
+     *
+     * @param filename The path to the maze file.
+     * @return A grid holding the loaded maze and its metadata.
+     * @throws MazeMalformedException If the maze has an invalid structure like even number of
+     *                                rows and columns, or is unsolvable when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    @Override
+    public Grid loadGrid(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+        char[][] mazeMap = parse(filename, metadata);
+        return new CharGrid(mazeMap, metadata.build());
+    }
+
+    /**
+     * Parses a maze file into a 2D char array.
+     *
+     * @param filename The path to the maze file.
+     * @param metadata The builder recording every cell that is read.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure, or is unsolvable
+     *                                when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    private char[][] parse(String filename, MazeMetadata.Builder metadata)
+            throws MazeMalformedException, MazeSizeMissmatchException, FileNotFoundException {
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
         char[][] mazeMap;
         File file = new File(filename);
         try ( Scanner scanner = new Scanner(file);){
@@ -66,9 +135,11 @@ public class FileLoader implements FileInterface{
                 throw  new MazeMalformedException("Maze Malformed, ensure that the number of " +
                         "rows or columns are odd.");
             }
+            requireAddressable(rowsNum, colsNum);
             scanner.nextLine();
 
             mazeMap = new char[rowsNum][colsNum];
+            ConnectivityCheck check = validate ? new ConnectivityCheck(colsNum) : null;
 
             int actualRows = 0;
 
@@ -85,21 +156,50 @@ public class FileLoader implements FileInterface{
                             line.charAt(col) == WALL || line.charAt(col) ==START ||
                             line.charAt(col) == END) {
                         mazeMap[actualRows][col] = line.charAt(col);
+                        metadata.record(actualRows * colsNum + col, line.charAt(col));
+                        if (check != null) {
+                            check.acceptCell(line.charAt(col));
+                        }
                     } else {
                         throw new IllegalArgumentException("Invalid character in file: "+
                                 line.charAt(col));
                     }
                 }
+                if (check != null) {
+                    check.endRow();
+                }
                 actualRows ++;}
 
             if (actualRows != rowsNum) {
                 throw new MazeSizeMissmatchException("Maze rows do not match with the specified " +
                         "size");
             }
+            if (check != null) {
+                check.finish().requireSolvable();
+            }
             scanner.close();
         } catch (FileNotFoundException e) {
             throw new FileNotFoundException("File not found: " + filename);
         }
+        if (MazeMetrics.ENABLED) {
+            MazeMetrics.recordLoad(filename, file.length(),
+                    (long) mazeMap.length * mazeMap[0].length, start);
+        }
         return mazeMap;
     }
+
+    /**
+     * Rejects a maze with more cells than a grid can hold, before any row is allocated, so the
+     * flat index of a cell never overflows.
+     *
+     * @param rowsNum The number of rows read from the header.
+     * @param colsNum The number of columns read from the header.
+     * @throws MazeMalformedException If the maze has more than {@link Grid#MAX_CELLS} cells.
+     */
+    static void requireAddressable(int rowsNum, int colsNum) throws MazeMalformedException {
+        if ((long) rowsNum * colsNum > Grid.MAX_CELLS) {
+            throw new MazeMalformedException("Maze Malformed, the maze has " + rowsNum + " x "
+                    + colsNum + " cells, above the limit of " + Grid.MAX_CELLS + " cells.");
+        }
+    }
 }
@@ -0,0 +1,329 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import metrics.MazeMetrics;
+import model.CharGrid;
+import model.ConnectivityCheck;
+import model.Grid;
+import model.MazeMetadata;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ *  The MappedFileLoader class loads maze files through a memory mapping of the file instead of a
+ *  Scanner. Bytes are validated with a lookup table and written straight into the 2D char array,
+ *  so no String is allocated per row. It accepts the same files and throws the same exceptions
+ *  as {@link FileLoader}, which makes it suitable for very large maze files.
+ */
+public class MappedFileLoader implements FileInterface {
+    /**
+     * Number of bytes mapped at a time, files larger than this are mapped window by window.
+     */
+    private static final long WINDOW_SIZE = 1L << 28;
+
+    /**
+     * Byte classes used by the lookup table.
+     */
+    private static final byte INVALID = 0, CELL = 1, LINE_FEED = 2, CARRIAGE_RETURN = 3;
+
+    /**
+     * Lookup table mapping every possible byte value to its byte class.
+     */
+    private static final byte[] BYTE_CLASS = new byte[256];
+
+    static {
+        BYTE_CLASS[FileLoader.PATH] = CELL;
+        BYTE_CLASS[FileLoader.DOT] = CELL;
+        BYTE_CLASS[FileLoader.WALL] = CELL;
+        BYTE_CLASS[FileLoader.START] = CELL;
+        BYTE_CLASS[FileLoader.END] = CELL;
+        BYTE_CLASS['\n'] = LINE_FEED;
+        BYTE_CLASS['\r'] = CARRIAGE_RETURN;
+    }
+
+    /**
+     * Whether every loaded maze is checked to have an exit reachable from its start.
+     */
+    private final boolean validate;
+
+    /**
+     * Constructs a MappedFileLoader that does not check the reachability of the exit.
+     */
+    public MappedFileLoader() {
+        this(false);
+    }
+
+    /**
+     * Constructs a MappedFileLoader, optionally checking while each maze is parsed that an exit
+     * can be reached from its start.
+     *
+     * @param validate True to reject mazes with no start or with no exit reachable from it.
+     */
+    public MappedFileLoader(boolean validate) {
+        this.validate = validate;
+    }
+
+    /**
+     * Loads a maze given the specific string name of the file and converts it into a 2D char array.
+     *
+     * @param filename The path to the maze file.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure like even number of
+     *                                rows and columns, or is unsolvable when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     *
+     * @require filename != null && filename.length() > 0 && first line has two integers and
+     *          nothing else.
+     * @ensure \result != null && \result.length > 0 && \result[0].length > 0
+     */
+    @Override
+    public char[][] load(String filename) throws MazeMalformedException, MazeSizeMissmatchException,
+            IllegalArgumentException, FileNotFoundException {
+        return parse(filename, new MazeMetadata.Builder());
+    }
+
+    @Override
+    public boolean isValidating() {
+        return validate;
+    }
+
+    /**
+     * Loads a maze into a grid, recording its start, exit and open cells while it is parsed.
+     *
+     * @param filename The path to the maze file.
+     * @return A grid holding the loaded maze and its metadata.
+     * @throws MazeMalformedException If the maze has an invalid structure like even number of
+     *                                rows and columns, or is unsolvable when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    @Override
+    public Grid loadGrid(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+        char[][] mazeMap = parse(filename, metadata);
+        return new CharGrid(mazeMap, metadata.build());
+    }
+
+    /**
+     * Maps a maze file and parses it into a 2D char array.
+     *
+     * @param filename The path to the maze file.
+     * @param metadata The builder recording every cell that is read.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure, or is unsolvable
+     *                                when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    char[][] parse(String filename, MazeMetadata.Builder metadata)
+            throws MazeMalformedException, MazeSizeMissmatchException, FileNotFoundException {
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(size, WINDOW_SIZE));
+
+            // Reads the number of rows and columns from the first line of the file
+            int rowsNum = readInt(window);
+            int colsNum = readInt(window);
+            if (rowsNum % 2 == 0 | colsNum % 2 == 0 | rowsNum < 0 | colsNum < 0) {
+                throw new MazeMalformedException("Maze Malformed, ensure that the number of " +
+                        "rows or columns are odd.");
+            }
+            FileLoader.requireAddressable(rowsNum, colsNum);
+            skipLine(window);
+
+            ConnectivityCheck check = validate ? new ConnectivityCheck(colsNum) : null;
+            char[][] mazeMap = readRows(channel, window, size, rowsNum, colsNum, metadata, check);
+            if (check != null) {
+                check.finish().requireSolvable();
+            }
+            if (MazeMetrics.ENABLED) {
+                MazeMetrics.recordLoad(filename, size, (long) rowsNum * colsNum, start);
+            }
+            return mazeMap;
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read maze file: " + filename, e);
+        }
+    }
+
+    /**
+     * Reads the maze rows following the header, mapping the next window whenever the current one
+     * has been consumed.
+     *
+     * @param channel The channel of the maze file.
+     * @param window The mapped window positioned just after the header line.
+     * @param size The size of the file in bytes.
+     * @param rowsNum The number of rows given in the header.
+     * @param colsNum The number of columns given in the header.
+     * @param metadata The builder recording every cell that is read.
+     * @param check The check every cell is streamed through, or null when not validating.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws IOException If a window of the file can not be mapped.
+     */
+    private char[][] readRows(FileChannel channel, MappedByteBuffer window, long size,
+                              int rowsNum, int colsNum, MazeMetadata.Builder metadata,
+                              ConnectivityCheck check)
+            throws MazeSizeMissmatchException, IOException {
+        char[][] mazeMap = new char[rowsNum][colsNum];
+        long windowStart = 0;
+        int actualRows = 0;
+        int col = 0;
+        int invalid = -1;
+        boolean afterCarriageReturn = false;
+
+        while (true) {
+            int limit = window.limit();
+            for (int i = window.position(); i < limit; i++) {
+                int b = window.get(i) & 0xFF;
+                byte byteClass = BYTE_CLASS[b];
+
+                if (byteClass == CELL || byteClass == INVALID) {
+                    afterCarriageReturn = false;
+                    if (col < colsNum && actualRows < rowsNum) {
+                        if (byteClass == CELL) {
+                            mazeMap[actualRows][col] = (char) b;
+                            metadata.record(actualRows * colsNum + col, (char) b);
+                            if (check != null) {
+                                check.acceptCell((char) b);
+                            }
+                        } else if (invalid < 0) {
+                            invalid = b;
+                        }
+                    }
+                    col++;
+                } else if (byteClass == LINE_FEED && afterCarriageReturn) {
+                    // second half of a "\r\n" line ending, the line has already been ended
+                    afterCarriageReturn = false;
+                } else {
+                    endLine(col, colsNum, invalid, actualRows, rowsNum);
+                    if (check != null) {
+                        check.endRow();
+                    }
+                    actualRows++;
+                    col = 0;
+                    invalid = -1;
+                    afterCarriageReturn = byteClass == CARRIAGE_RETURN;
+                }
+            }
+
+            windowStart += limit;
+            if (windowStart >= size) {
+                break;
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(size - windowStart, WINDOW_SIZE));
+        }
+
+        // The last line of the file does not need to be terminated
+        if (col > 0) {
+            endLine(col, colsNum, invalid, actualRows, rowsNum);
+            if (check != null) {
+                check.endRow();
+            }
+            actualRows++;
+        }
+
+        if (actualRows != rowsNum) {
+            throw new MazeSizeMissmatchException("Maze rows do not match with the specified " +
+                    "size");
+        }
+        return mazeMap;
+    }
+
+    /**
+     * Validates a line once its terminator has been reached.
+     *
+     * @param col The number of characters in the line.
+     * @param colsNum The number of columns given in the header.
+     * @param invalid The first invalid character of the line, or -1 if there is none.
+     * @param row The index of the line among the maze rows.
+     * @param rowsNum The number of rows given in the header.
+     * @throws MazeSizeMissmatchException If the line length or number of lines is wrong.
+     * @throws IllegalArgumentException If the line contains an invalid character.
+     */
+    private static void endLine(int col, int colsNum, int invalid, int row, int rowsNum)
+            throws MazeSizeMissmatchException {
+        if (col != colsNum) {
+            throw new MazeSizeMissmatchException("Maze columns do not match with the " +
+                    "specified size");
+        }
+        if (invalid >= 0) {
+            throw new IllegalArgumentException("Invalid character in file: " + (char) invalid);
+        }
+        if (row >= rowsNum) {
+            throw new MazeSizeMissmatchException("Maze rows do not match with the specified " +
+                    "size");
+        }
+    }
+
+    /**
+     * Reads a whitespace delimited integer from the buffer, the same way Scanner.nextInt does.
+     *
+     * @param buffer The buffer to read from, its position is moved past the integer.
+     * @return The integer that was read.
+     * @throws InputMismatchException If the next token is missing or is not an integer.
+     */
+    static int readInt(ByteBuffer buffer) {
+        while (buffer.hasRemaining() && Character.isWhitespace(buffer.get(buffer.position()))) {
+            buffer.get();
+        }
+        boolean negative = buffer.hasRemaining() && buffer.get(buffer.position()) == '-';
+        if (negative) {
+            buffer.get();
+        }
+        long value = 0;
+        int digits = 0;
+        while (buffer.hasRemaining() && !Character.isWhitespace(buffer.get(buffer.position()))) {
+            int digit = buffer.get() - '0';
+            if (digit < 0 || digit > 9 || ++digits > 10) {
+                throw new InputMismatchException("Maze dimensions must be two integers");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (digits == 0 || value != (int) value) {
+            throw new InputMismatchException("Maze dimensions must be two integers");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Moves the buffer position past the end of the current line.
+     *
+     * @param buffer The buffer to read from.
+     */
+    static void skipLine(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                return;
+            }
+            if (b == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import model.BufferGrid;
+import model.Grid;
+import model.PackedGrid;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The MazeCache class keeps parsed maze layouts so that reloading a known maze costs a lookup
+ * instead of a parse. Files are first looked up by path, last modified time and size. When that
+ * misses, for example because the file was touched or copied, and a cached layout came from a
+ * file of the same size, they are looked up by a hash of their content. Layouts are stored as immutable grids and the least recently used ones are
+ * evicted once their total size exceeds the byte budget. Every lookup names a variant, such as
+ * the loader and its settings, and layouts of a file are only shared within their variant. The
+ * cache is thread-safe.
+ */
+public class MazeCache {
+    /**
+     * Byte budget of the default cache.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    /**
+     * The cache shared by the GUI and the Launcher.
+     */
+    private static final MazeCache DEFAULT = new MazeCache(DEFAULT_MAX_BYTES);
+
+    /**
+     * Maximum total size of the cached layouts in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Last known stamp of every cached path, by variant and path.
+     */
+    private final Map<String, FileStamp> stamps = new LinkedHashMap<>();
+
+    /**
+     * Cached layouts by variant and content hash, or by variant and file stamp while their hash
+     * is not known, in least recently used first order.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Loads in progress, by variant and path.
+     */
+    private final Map<String, Flight> loading = new HashMap<>();
+
+    /**
+     * Total size of the cached layouts in bytes.
+     */
+    private long bytes;
+
+    /**
+     * Number of lookups answered from the cache, found by content hash only, missed, and
+     * layouts evicted.
+     */
+    private long hits, hashHits, misses, evictions;
+
+    /**
+     * Constructs an empty MazeCache.
+     *
+     * @param maxBytes The maximum total size of the cached layouts in bytes.
+     * @require maxBytes >= 0
+     */
+    public MazeCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Retrieves the cache shared by the GUI and the Launcher.
+     *
+     * @return The default cache.
+     */
+    public static MazeCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Loads the layout of a file through the cache. The file is first looked up by its stamp.
+     * When that misses and a cached layout of the same variant came from a file of the same
+     * size, the file is hashed and looked up by its content, so a file of a new size is read
+     * once, by the parser alone. Callers loading the same path at the same time share a single
+     * parse, and a file changed while it was parsed is not cached.
+     *
+     * @param file The maze file.
+     * @param variant The variant of the layout, such as the loader parsing the file.
+     * @param parser Parses the file when the cache does not know it, the layout it returns must
+     *               not change afterwards.
+     * @return The cached or parsed layout.
+     * @throws IOException If the file can not be read, or the wait for another caller parsing
+     *                     it is interrupted.
+     * @throws MazeMalformedException If the parser finds the maze malformed.
+     * @throws MazeSizeMissmatchException If the parser finds rows or columns missing.
+     */
+    Grid load(Path file, String variant, Parser parser) throws IOException,
+            MazeMalformedException, MazeSizeMissmatchException {
+        Path path = file.toAbsolutePath().normalize();
+        String pathKey = key(variant, path.toString());
+        while (true) {
+            // Taken before reading, a change during the parse then shows as a stale stamp
+            FileStamp current = FileStamp.of(path);
+            Flight flight;
+            Flight own = null;
+            List<Entry> candidates = new ArrayList<>();
+            synchronized (this) {
+                FileStamp known = stamps.get(pathKey);
+                // Getting the entry also marks it as the most recently used
+                if (known != null && known.sameFile(current)
+                        && entries.get(known.entry.key) == known.entry) {
+                    hits++;
+                    return known.entry.grid;
+                }
+                flight = loading.get(pathKey);
+                if (flight == null) {
+                    own = new Flight();
+                    loading.put(pathKey, own);
+                    for (Entry entry : entries.values()) {
+                        if (entry.variant.equals(variant) && entry.source.size == current.size) {
+                            candidates.add(entry);
+                        }
+                    }
+                }
+            }
+            if (flight != null) {
+                Grid grid = flight.await();
+                if (grid != null && flight.stamp.sameFile(current)) {
+                    synchronized (this) {
+                        hits++;
+                    }
+                    return grid;
+                }
+                continue;
+            }
+
+            try {
+                Grid grid = loadMissing(path, pathKey, variant, current, candidates, parser);
+                if (FileStamp.of(path).sameFile(current)) {
+                    own.stamp = current;
+                    own.grid = grid;
+                }
+                return grid;
+            } finally {
+                synchronized (this) {
+                    loading.remove(pathKey);
+                }
+                own.done.countDown();
+            }
+        }
+    }
+
+    /**
+     * Loads a file missing from the stamps, by its content hash when a cached layout may share
+     * it, else by parsing it.
+     *
+     * @param path The absolute, normalised path of the file.
+     * @param pathKey The key of the path within its variant.
+     * @param variant The variant of the layout.
+     * @param current The stamp of the file taken before reading it.
+     * @param candidates The cached layouts of the variant parsed from files of the same size.
+     * @param parser Parses the file.
+     * @return The cached or parsed layout.
+     * @throws IOException If the file can not be read.
+     * @throws MazeMalformedException If the parser finds the maze malformed.
+     * @throws MazeSizeMissmatchException If the parser finds rows or columns missing.
+     */
+    private Grid loadMissing(Path path, String pathKey, String variant, FileStamp current,
+                             List<Entry> candidates, Parser parser) throws IOException,
+            MazeMalformedException, MazeSizeMissmatchException {
+        String hash = null;
+        if (hashCandidates(candidates)) {
+            hash = hash(path);
+            synchronized (this) {
+                Entry entry = entries.get(key(variant, hash));
+                if (entry != null) {
+                    hits++;
+                    hashHits++;
+                    stamps.put(pathKey, current.withEntry(entry));
+                    return entry.grid;
+                }
+            }
+        }
+
+        synchronized (this) {
+            misses++;
+        }
+        Grid grid = parser.parse();
+        if (FileStamp.of(path).sameFile(current)) {
+            put(pathKey, variant, current, hash, grid);
+        }
+        return grid;
+    }
+
+    /**
+     * Hashes the cached layouts of the candidates whose hash is not known yet, as long as their
+     * file still holds the content they were parsed from.
+     *
+     * @param candidates The cached layouts to hash.
+     * @return True if any candidate has a known hash, so hashing the missing file may find it.
+     * @throws IOException If the attributes of a file can not be read.
+     */
+    private boolean hashCandidates(List<Entry> candidates) throws IOException {
+        boolean hashed = false;
+        for (Entry entry : candidates) {
+            synchronized (this) {
+                if (entry.hash != null) {
+                    hashed = true;
+                    continue;
+                }
+            }
+            FileStamp source = entry.source;
+            String hash;
+            try {
+                if (!FileStamp.of(source.path).sameFile(source)) {
+                    continue;
+                }
+                hash = hash(source.path);
+                if (!FileStamp.of(source.path).sameFile(source)) {
+                    continue;
+                }
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            synchronized (this) {
+                if (entry.hash == null && entries.get(entry.key) == entry) {
+                    String key = key(entry.variant, hash);
+                    if (!entries.containsKey(key)) {
+                        entries.remove(entry.key);
+                        entry.hash = hash;
+                        entry.key = key;
+                        entries.put(key, entry);
+                    }
+                }
+                hashed |= entry.hash != null;
+            }
+        }
+        return hashed;
+    }
+
+    /**
+     * Stores the parsed layout of a file. Layouts larger than the whole budget are not stored.
+     *
+     * @param pathKey The key of the path within its variant.
+     * @param variant The variant of the layout.
+     * @param current The stamp of the file taken before parsing it.
+     * @param hash The content hash of the file, or null if it was not computed.
+     * @param grid The parsed layout, which must not change afterwards.
+     */
+    private void put(String pathKey, String variant, FileStamp current, String hash, Grid grid) {
+        long size = sizeOf(grid);
+        if (size > maxBytes) {
+            return;
+        }
+        // Without a hash the layout is only known by the state of its file
+        String key = key(variant, hash != null ? hash
+                : current.path + "\n" + current.modified + "\n" + current.size);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(key, variant, hash, current, grid, size);
+                entries.put(key, entry);
+                bytes += size;
+            }
+            stamps.put(pathKey, current.withEntry(entry));
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                bytes -= evicted.bytes;
+                stamps.values().removeIf(stamp -> stamp.entry == evicted);
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Removes every layout from the cache, the counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        stamps.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Retrieves the number of lookups answered from the cache.
+     *
+     * @return The number of hits, including hits found by content hash.
+     * @pure
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of hits that were only found by the content hash of the file.
+     *
+     * @return The number of content hash hits.
+     * @pure
+     */
+    public synchronized long getHashHits() {
+        return hashHits;
+    }
+
+    /**
+     * Retrieves the number of loads that had to parse the file.
+     *
+     * @return The number of misses.
+     * @pure
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the number of layouts evicted to stay within the byte budget.
+     *
+     * @return The number of evictions.
+     * @pure
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Retrieves the total size of the cached layouts.
+     *
+     * @return The size of the cached layouts in bytes.
+     * @pure
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Computes the content hash of a file.
+     *
+     * @param file The file to hash.
+     * @return The SHA-256 hash of the file as a hex string.
+     * @throws IOException If the file can not be read.
+     */
+    static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Builds the key of a path or hash within a variant.
+     *
+     * @param variant The variant of the layout.
+     * @param name The path or content hash of the file.
+     * @return The key, distinct for every variant.
+     */
+    private static String key(String variant, String name) {
+        return variant + '\n' + name;
+    }
+
+    /**
+     * Estimates the memory held by a cached layout.
+     *
+     * @param grid The cached layout.
+     * @return The estimated size in bytes.
+     */
+    private static long sizeOf(Grid grid) {
+        long cells = (long) grid.getRows() * grid.getCols();
+        if (grid instanceof PackedGrid || grid instanceof BufferGrid) {
+            return (long) PackedGrid.wordCount(cells) * Long.BYTES;
+        }
+        return cells * Character.BYTES;
+    }
+
+    /**
+     * The FileStamp class identifies the state of a file on disk.
+     */
+    private static final class FileStamp {
+        /**
+         * The absolute, normalised path of the file.
+         */
+        private final Path path;
+
+        /**
+         * Last modified time in milliseconds and size in bytes of the file.
+         */
+        private final long modified, size;
+
+        /**
+         * The cached layout of the file, null until it is known.
+         */
+        private final Entry entry;
+
+        private FileStamp(Path path, long modified, long size, Entry entry) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+            this.entry = entry;
+        }
+
+        /**
+         * Reads the current stamp of a file.
+         *
+         * @param file The file.
+         * @return The stamp of the file, without its entry.
+         * @throws IOException If the attributes of the file can not be read.
+         */
+        private static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file,
+                    BasicFileAttributes.class);
+            return new FileStamp(file.toAbsolutePath().normalize(),
+                    attributes.lastModifiedTime().toMillis(), attributes.size(), null);
+        }
+
+        private FileStamp withEntry(Entry entry) {
+            return new FileStamp(path, modified, size, entry);
+        }
+
+        private boolean sameFile(FileStamp other) {
+            return modified == other.modified && size == other.size;
+        }
+    }
+
+    /**
+     * The Entry class holds a cached layout, its size and the file it was parsed from.
+     */
+    private static final class Entry {
+        /**
+         * Key of the entry, changed once its hash is known.
+         */
+        private String key;
+
+        /**
+         * Content hash of the file, null until it is needed.
+         */
+        private String hash;
+
+        private final String variant;
+        private final FileStamp source;
+        private final Grid grid;
+        private final long bytes;
+
+        private Entry(String key, String variant, String hash, FileStamp source, Grid grid,
+                      long bytes) {
+            this.key = key;
+            this.variant = variant;
+            this.hash = hash;
+            this.source = source;
+            this.grid = grid;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * The Flight class lets the callers loading a path while it is parsed wait for the parse.
+     */
+    private static final class Flight {
+        /**
+         * Counted down once the parse has ended.
+         */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /**
+         * The parsed layout and the stamp of its file, null if the parse failed or the file
+         * changed meanwhile.
+         */
+        private volatile Grid grid;
+        private volatile FileStamp stamp;
+
+        /**
+         * Waits for the parse to end.
+         *
+         * @return The parsed layout, or null if it can not be shared.
+         * @throws InterruptedIOException If the wait is interrupted.
+         */
+        private Grid await() throws InterruptedIOException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for the maze to load");
+            }
+            return grid;
+        }
+    }
+
+    /**
+     * The Parser interface parses a maze file missing from the cache.
+     */
+    interface Parser {
+        /**
+         * Parses the maze file.
+         *
+         * @return The parsed layout.
+         * @throws IOException If the file can not be read.
+         * @throws MazeMalformedException If the maze is malformed.
+         * @throws MazeSizeMissmatchException If rows or columns are missing.
+         */
+        Grid parse() throws IOException, MazeMalformedException, MazeSizeMissmatchException;
+    }
+}
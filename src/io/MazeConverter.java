@@ -0,0 +1,117 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+import java.util.Scanner;
+
+/**
+ * The MazeConverter class converts text maze files into the binary maze format read by
+ * {@link BinaryFileLoader}. Rows are streamed from one file to the other, so mazes larger than
+ * the available memory can be converted. The text file is validated the same way
+ * {@link FileLoader} validates it.
+ */
+public class MazeConverter {
+
+    /**
+     * Converts a text maze file into a binary maze file.
+     *
+     * @param args The text maze file to read and the binary maze file to write.
+     * @throws IOException If a file can not be read or written.
+     * @throws MazeMalformedException If the maze has an even number of rows or columns.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     */
+    public static void main(String[] args) throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        if (args.length != 2) {
+            System.out.println("Usage: MazeConverter <maze.txt> <maze.bin>");
+            return;
+        }
+        convert(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Converts a text maze file into a binary maze file.
+     *
+     * @param text The text maze file to read.
+     * @param binary The binary maze file to write.
+     * @throws MazeMalformedException If the maze has an even number of rows or columns.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the text file is not found.
+     * @throws IOException If a file can not be read or written.
+     */
+    public static void convert(Path text, Path binary) throws MazeMalformedException,
+            MazeSizeMissmatchException, IOException {
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(text, StandardCharsets.ISO_8859_1);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + text);
+        }
+        try (reader) {
+            int rowsNum;
+            int colsNum;
+            try (Scanner header = new Scanner(String.valueOf(reader.readLine()))) {
+                rowsNum = header.nextInt();
+                colsNum = header.nextInt();
+            } catch (java.util.NoSuchElementException e) {
+                throw new InputMismatchException("Maze dimensions must be two integers");
+            }
+            if (rowsNum % 2 == 0 | colsNum % 2 == 0 | rowsNum < 0 | colsNum < 0) {
+                throw new MazeMalformedException("Maze Malformed, ensure that the number of " +
+                        "rows or columns are odd.");
+            }
+            FileLoader.requireAddressable(rowsNum, colsNum);
+
+            boolean complete = false;
+            BinaryMazeWriter writer = new BinaryMazeWriter(binary, rowsNum, colsNum);
+            try {
+                int actualRows = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (actualRows == rowsNum || line.length() != colsNum) {
+                        throw new MazeSizeMissmatchException(actualRows == rowsNum
+                                ? "Maze rows do not match with the specified size"
+                                : "Maze columns do not match with the specified size");
+                    }
+                    writer.writeRow(line);
+                    actualRows++;
+                }
+                if (actualRows != rowsNum) {
+                    throw new MazeSizeMissmatchException("Maze rows do not match with the " +
+                            "specified size");
+                }
+                complete = true;
+            } finally {
+                if (complete) {
+                    writer.close();
+                } else {
+                    // Leaves the header blank so the partial file is never loaded
+                    closeQuietly(writer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes a writer that was not completed, ignoring the error reported for the missing cells.
+     *
+     * @param writer The writer to close.
+     */
+    private static void closeQuietly(BinaryMazeWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException | IllegalStateException ignored) {
+            // the original error is more useful to the caller
+        }
+    }
+}
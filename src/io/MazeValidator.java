@@ -0,0 +1,367 @@
+package io;
+
+import io.ValidationReport.Kind;
+import model.ConnectivityCheck;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The MazeValidator class checks a text maze file in a single pass and reports every problem it
+ * finds, where {@link FileLoader} stops at the first one. The file is read through a fixed-size
+ * buffer and no maze array is built, so files of any size can be checked with little memory.
+ * Invalid characters, rows of the wrong length, a wrong number of rows, even or unreadable
+ * dimensions, and missing or repeated starts and exits are reported with their line and column.
+ * A well-formed maze is also checked to have an exit reachable from its start.
+ */
+public final class MazeValidator {
+
+    /**
+     * Number of issues kept in a report when no cap is given.
+     */
+    public static final int DEFAULT_MAX_ISSUES = 100;
+
+    /**
+     * Prefix of the optional command-line flag setting the number of issues kept.
+     */
+    private static final String MAX_ISSUES_OPTION = "--max-issues=";
+
+    /**
+     * Number of bytes read from the file at a time.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Number of header characters kept, the dimensions never need more.
+     */
+    private static final int HEADER_LIMIT = 64;
+
+    /**
+     * Lookup table of the bytes that are maze characters.
+     */
+    private static final boolean[] MAZE_CHARACTER = new boolean[256];
+
+    static {
+        MAZE_CHARACTER[FileLoader.PATH] = true;
+        MAZE_CHARACTER[FileLoader.DOT] = true;
+        MAZE_CHARACTER[FileLoader.WALL] = true;
+        MAZE_CHARACTER[FileLoader.START] = true;
+        MAZE_CHARACTER[FileLoader.END] = true;
+    }
+
+    /**
+     * Most issues kept in each report.
+     */
+    private final int maxIssues;
+
+    /**
+     * Constructs a MazeValidator keeping up to {@link #DEFAULT_MAX_ISSUES} issues per report.
+     */
+    public MazeValidator() {
+        this(DEFAULT_MAX_ISSUES);
+    }
+
+    /**
+     * Constructs a MazeValidator.
+     *
+     * @param maxIssues The most issues kept in each report, the others are only counted.
+     * @throws IllegalArgumentException If maxIssues is negative.
+     */
+    public MazeValidator(int maxIssues) {
+        if (maxIssues < 0) {
+            throw new IllegalArgumentException("The number of issues kept can not be negative.");
+        }
+        this.maxIssues = maxIssues;
+    }
+
+    /**
+     * Validates a text maze file and prints the report as JSON.
+     *
+     * @param args An optional "--max-issues=N" flag followed by the maze file to validate.
+     * @throws IOException If the file can not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int maxIssues = DEFAULT_MAX_ISSUES;
+        int first = 0;
+        if (args.length > 0 && args[0].startsWith(MAX_ISSUES_OPTION)) {
+            maxIssues = Integer.parseInt(args[first++].substring(MAX_ISSUES_OPTION.length()));
+        }
+        if (args.length - first != 1) {
+            System.out.println("Usage: MazeValidator [--max-issues=N] <maze.txt>");
+            return;
+        }
+        System.out.println(new MazeValidator(maxIssues).validate(Path.of(args[first])).toJson());
+    }
+
+    /**
+     * Validates a text maze file.
+     *
+     * @param file The maze file to validate.
+     * @return The report of every problem found, capped to the most issues kept.
+     * @throws FileNotFoundException If the file is not found.
+     * @throws IOException If the file can not be read.
+     */
+    public ValidationReport validate(Path file) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + file);
+        }
+        ValidationReport report = new ValidationReport(file.toString(), maxIssues);
+        try (channel) {
+            Pass pass = new Pass(report, channel.size());
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            int read;
+            while ((read = channel.read(buffer.clear())) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    pass.accept(bytes[i] & 0xFF);
+                }
+            }
+            pass.finish();
+        }
+        return report;
+    }
+
+    /**
+     * Describes a byte for an error message, showing it as is only when it is printable.
+     *
+     * @param b The byte to describe.
+     * @return The description of the byte.
+     */
+    private static String describe(int b) {
+        return b > ' ' && b < 0x7F ? "'" + (char) b + "'" : String.format("byte 0x%02x", b);
+    }
+
+    /**
+     * The Pass class holds the state of a single pass over a file, fed one byte at a time.
+     */
+    private static final class Pass {
+        /**
+         * The report problems are added to.
+         */
+        private final ValidationReport report;
+
+        /**
+         * Size of the file in bytes, no row can be longer.
+         */
+        private final long size;
+
+        /**
+         * Characters of the header line read so far.
+         */
+        private final StringBuilder header = new StringBuilder();
+
+        /**
+         * Whether the header line has been read.
+         */
+        private boolean headerRead;
+
+        /**
+         * Dimensions given in the header, -1 if it could not be read.
+         */
+        private long rowsNum = -1, colsNum = -1;
+
+        /**
+         * Current line counted from 1, characters read on it, and number of maze rows read.
+         */
+        private long line = 1, col, rowsRead;
+
+        /**
+         * Whether the last byte was a carriage return, so a following line feed ends nothing.
+         */
+        private boolean afterCarriageReturn;
+
+        /**
+         * Whether the current row has an error.
+         */
+        private boolean rowBroken;
+
+        /**
+         * Position of the first start and the first exit, line 0 until they are read.
+         */
+        private long startLine, startCol, exitLine, exitCol;
+
+        /**
+         * The current row, kept for the reachability check, null once it is no longer needed.
+         */
+        private char[] row;
+
+        /**
+         * The reachability check of a well-formed maze, null once the maze has an error.
+         */
+        private ConnectivityCheck check;
+
+        /**
+         * Constructs a Pass.
+         *
+         * @param report The report problems are added to.
+         * @param size The size of the file in bytes.
+         */
+        Pass(ValidationReport report, long size) {
+            this.report = report;
+            this.size = size;
+        }
+
+        /**
+         * Reads the next byte of the file.
+         *
+         * @param b The byte, between 0 and 255.
+         */
+        void accept(int b) {
+            if (b == '\n' || b == '\r') {
+                boolean secondHalf = b == '\n' && afterCarriageReturn;
+                afterCarriageReturn = b == '\r';
+                if (secondHalf) {
+                    // second half of a "\r\n" line ending, the line has already been ended
+                    return;
+                }
+                if (headerRead) {
+                    endRow();
+                } else {
+                    endHeader();
+                }
+                line++;
+                return;
+            }
+            afterCarriageReturn = false;
+            if (!headerRead) {
+                if (header.length() < HEADER_LIMIT) {
+                    header.append((char) b);
+                }
+                return;
+            }
+
+            col++;
+            if (!MAZE_CHARACTER[b]) {
+                report.add(Kind.INVALID_CHARACTER, line, col, "Invalid character in file: "
+                        + describe(b));
+                rowBroken = true;
+                return;
+            }
+            if (b == FileLoader.START) {
+                if (startLine == 0) {
+                    startLine = line;
+                    startCol = col;
+                } else {
+                    report.add(Kind.DUPLICATE_START, line, col, "Duplicate start, the first " +
+                            "start is at line " + startLine + " column " + startCol);
+                }
+            } else if (b == FileLoader.END) {
+                if (exitLine == 0) {
+                    exitLine = line;
+                    exitCol = col;
+                } else {
+                    report.add(Kind.DUPLICATE_EXIT, line, col, "Another exit, the first exit " +
+                            "is at line " + exitLine + " column " + exitCol);
+                }
+            }
+            if (row != null && col <= colsNum) {
+                row[(int) col - 1] = (char) b;
+            }
+        }
+
+        /**
+         * Reads the dimensions from the header line.
+         */
+        private void endHeader() {
+            headerRead = true;
+            String text = header.toString();
+            String[] tokens = text.trim().split("\\s+");
+            long[] dimensions = new long[2];
+            try {
+                for (int i = 0; i < 2; i++) {
+                    dimensions[i] = Integer.parseInt(tokens[i]);
+                }
+            } catch (RuntimeException e) {
+                report.add(Kind.HEADER, line, 1, "Maze dimensions must be two integers");
+                return;
+            }
+            if (dimensions[0] < 0 || dimensions[1] < 0) {
+                report.add(Kind.HEADER, line, 1, "Maze dimensions can not be negative");
+                return;
+            }
+            rowsNum = dimensions[0];
+            colsNum = dimensions[1];
+            report.setDimensions(rowsNum, colsNum);
+            if (rowsNum % 2 == 0) {
+                report.add(Kind.EVEN_DIMENSION, line, text.indexOf(tokens[0]) + 1,
+                        "Maze Malformed, the number of rows " + rowsNum + " is even");
+            }
+            if (colsNum % 2 == 0) {
+                report.add(Kind.EVEN_DIMENSION, line,
+                        text.indexOf(tokens[1], text.indexOf(tokens[0]) + tokens[0].length()) + 1,
+                        "Maze Malformed, the number of columns " + colsNum + " is even");
+            }
+            if (colsNum > 0 && colsNum <= size) {
+                row = new char[(int) colsNum];
+                check = new ConnectivityCheck((int) colsNum);
+            }
+        }
+
+        /**
+         * Checks a row once its terminator has been reached.
+         */
+        private void endRow() {
+            rowsRead++;
+            if (colsNum >= 0 && col != colsNum) {
+                report.add(Kind.ROW_LENGTH, line, Math.min(col, colsNum) + 1, "Maze columns " +
+                        "do not match with the specified size, the row has " + col +
+                        " columns instead of " + colsNum);
+                rowBroken = true;
+            }
+            if (rowsNum >= 0 && rowsRead > rowsNum) {
+                rowBroken = true;
+            }
+            if (check != null) {
+                if (rowBroken) {
+                    check = null;
+                    row = null;
+                } else {
+                    check.acceptRow(row);
+                }
+            }
+            col = 0;
+            rowBroken = false;
+        }
+
+        /**
+         * Ends the last line and checks the maze as a whole once the whole file has been read.
+         */
+        void finish() {
+            // The last line of the file does not need to be terminated
+            if (!headerRead) {
+                endHeader();
+                line++;
+            } else if (col > 0) {
+                endRow();
+                line++;
+            }
+
+            if (rowsNum >= 0 && rowsRead != rowsNum) {
+                report.add(Kind.ROW_COUNT, Math.min(rowsRead, rowsNum) + 2, 0, "Maze rows do " +
+                        "not match with the specified size, the file has " + rowsRead +
+                        " rows instead of " + rowsNum);
+            }
+            if (startLine == 0) {
+                report.add(Kind.MISSING_START, 0, 0, "The maze has no start");
+            }
+            if (exitLine == 0) {
+                report.add(Kind.MISSING_EXIT, 0, 0, "The maze has no exit");
+            }
+            if (check != null && report.isValid()) {
+                check.finish();
+                if (!check.isSolvable()) {
+                    report.add(Kind.UNREACHABLE_EXIT, 0, 0, "No exit can be reached from the " +
+                            "start, the maze has " + check.getRegions() + " disconnected regions");
+                }
+            }
+        }
+    }
+}
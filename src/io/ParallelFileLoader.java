@@ -0,0 +1,459 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import metrics.MazeMetrics;
+import model.CharGrid;
+import model.ConnectivityCheck;
+import model.Grid;
+import model.MazeMetadata;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The ParallelFileLoader class loads text maze files on several threads. Every row of a
+ * well-formed file takes the same number of bytes, so the offset of each row follows from the
+ * header. The rows are split into bands that are read, validated and copied into the 2D char
+ * array at the same time on a fork-join pool. When validating, each band also checks its own
+ * regions while it copies its rows, and the bands are joined in order at their boundary rows.
+ * Files whose size does not match the header are parsed by {@link MappedFileLoader} instead,
+ * which throws the same exceptions as {@link FileLoader}. An invalid character is reported from
+ * the lowest row that holds one, as it would be by a sequential parse, whichever band finds it
+ * first.
+ */
+public class ParallelFileLoader implements FileInterface {
+
+    /**
+     * Number of bytes read by a single task, unless one row is longer.
+     */
+    static final int BAND_BYTES = 1 << 20;
+
+    /**
+     * Number of bytes read to find the header line.
+     */
+    private static final int HEADER_BYTES = 4096;
+
+    /**
+     * Lookup table of the bytes that are maze characters.
+     */
+    private static final boolean[] MAZE_CHARACTER = new boolean[256];
+
+    static {
+        MAZE_CHARACTER[FileLoader.PATH] = true;
+        MAZE_CHARACTER[FileLoader.DOT] = true;
+        MAZE_CHARACTER[FileLoader.WALL] = true;
+        MAZE_CHARACTER[FileLoader.START] = true;
+        MAZE_CHARACTER[FileLoader.END] = true;
+    }
+
+    /**
+     * The pool the bands are parsed on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Whether every loaded maze is checked to have an exit reachable from its start.
+     */
+    private final boolean validate;
+
+    /**
+     * Number of bytes read by a single task.
+     */
+    private final int bandBytes;
+
+    /**
+     * Constructs a ParallelFileLoader using the common fork-join pool.
+     */
+    public ParallelFileLoader() {
+        this(ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Constructs a ParallelFileLoader parsing bands on the given pool.
+     *
+     * @param pool The pool to parse the bands on.
+     * @param validate True to reject mazes with no start or with no exit reachable from it.
+     */
+    public ParallelFileLoader(ForkJoinPool pool, boolean validate) {
+        this(pool, validate, BAND_BYTES);
+    }
+
+    /**
+     * Constructs a ParallelFileLoader reading bands of the given size.
+     *
+     * @param pool The pool to parse the bands on.
+     * @param validate True to reject mazes with no start or with no exit reachable from it.
+     * @param bandBytes The number of bytes read by a single task.
+     */
+    ParallelFileLoader(ForkJoinPool pool, boolean validate, int bandBytes) {
+        this.pool = pool;
+        this.validate = validate;
+        this.bandBytes = bandBytes;
+    }
+
+    /**
+     * Loads a maze given the specific string name of the file and converts it into a 2D char array.
+     *
+     * @param filename The path to the maze file.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure like even number of
+     *                                rows and columns, or is unsolvable when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     *
+     * @require filename != null && filename.length() > 0 && first line has two integers and
+     *          nothing else.
+     * @ensure \result != null && \result.length > 0 && \result[0].length > 0
+     */
+    @Override
+    public char[][] load(String filename) throws MazeMalformedException, MazeSizeMissmatchException,
+            IllegalArgumentException, FileNotFoundException {
+        return parse(filename, new MazeMetadata.Builder());
+    }
+
+    @Override
+    public boolean isValidating() {
+        return validate;
+    }
+
+    /**
+     * Loads a maze into a grid, recording its start, exit and open cells while it is parsed.
+     *
+     * @param filename The path to the maze file.
+     * @return A grid holding the loaded maze and its metadata.
+     * @throws MazeMalformedException If the maze has an invalid structure like even number of
+     *                                rows and columns, or is unsolvable when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    @Override
+    public Grid loadGrid(String filename) throws MazeMalformedException,
+            MazeSizeMissmatchException, IllegalArgumentException, FileNotFoundException {
+        MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+        char[][] mazeMap = parse(filename, metadata);
+        return new CharGrid(mazeMap, metadata.build());
+    }
+
+    /**
+     * Parses a maze file into a 2D char array, band by band when its rows have a fixed width.
+     *
+     * @param filename The path to the maze file.
+     * @param metadata The builder recording every cell that is read.
+     * @return char[][] representing the loaded maze.
+     * @throws MazeMalformedException If the maze has an invalid structure, or is unsolvable
+     *                                when validating.
+     * @throws MazeSizeMissmatchException If the maze's dimensions do not match specified size.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws FileNotFoundException If the specified file is not found.
+     */
+    private char[][] parse(String filename, MazeMetadata.Builder metadata)
+            throws MazeMalformedException, MazeSizeMissmatchException, FileNotFoundException {
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
+        char[][] mazeMap;
+        long size;
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            size = channel.size();
+            mazeMap = parseBands(channel, size, metadata);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("File not found: " + filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read maze file: " + filename, e);
+        }
+        if (mazeMap == null) {
+            // The rows do not have a fixed width, the sequential parse finds the first error
+            return new MappedFileLoader(validate).parse(filename, metadata);
+        }
+        if (MazeMetrics.ENABLED) {
+            MazeMetrics.recordLoad(filename, size, (long) mazeMap.length * mazeMap[0].length,
+                    start);
+        }
+        return mazeMap;
+    }
+
+    /**
+     * Reads the header, then parses the rows on the pool if their layout matches the file size.
+     *
+     * @param channel The channel of the maze file.
+     * @param size The size of the file in bytes.
+     * @param metadata The builder recording every cell that is read.
+     * @return char[][] representing the loaded maze, or null if the rows do not have a fixed
+     *         width or one of them has the wrong length.
+     * @throws MazeMalformedException If the maze has an even number of rows or columns, or is
+     *                                unsolvable when validating.
+     * @throws IllegalArgumentException If an invalid character is found in the file.
+     * @throws IOException If the file can not be read.
+     */
+    private char[][] parseBands(FileChannel channel, long size, MazeMetadata.Builder metadata)
+            throws MazeMalformedException, IOException {
+        ByteBuffer header = ByteBuffer.allocate((int) Math.min(size, HEADER_BYTES));
+        read(channel, header, 0);
+        header.flip();
+        int rowsNum = MappedFileLoader.readInt(header);
+        int colsNum = MappedFileLoader.readInt(header);
+        if (rowsNum % 2 == 0 | colsNum % 2 == 0 | rowsNum < 0 | colsNum < 0) {
+            throw new MazeMalformedException("Maze Malformed, ensure that the number of " +
+                    "rows or columns are odd.");
+        }
+        FileLoader.requireAddressable(rowsNum, colsNum);
+        MappedFileLoader.skipLine(header);
+        if (!header.hasRemaining() && header.limit() == HEADER_BYTES) {
+            return null;
+        }
+        long first = header.position();
+
+        // The terminator of the first row gives the line ending of every row
+        ByteBuffer ending = ByteBuffer.allocate(2);
+        read(channel, ending, first + colsNum);
+        ending.flip();
+        byte lineEnd = ending.hasRemaining() ? ending.get(0) : 0;
+        int terminator;
+        if (lineEnd == '\n') {
+            terminator = 1;
+        } else if (lineEnd == '\r') {
+            terminator = ending.limit() > 1 && ending.get(1) == '\n' ? 2 : 1;
+        } else if (rowsNum == 1 && !ending.hasRemaining()) {
+            terminator = 0;
+        } else {
+            return null;
+        }
+        long rowBytes = colsNum + terminator;
+        long body = size - first;
+        // The last line of the file does not need to be terminated
+        boolean lastTerminated = terminator > 0 && body == rowsNum * rowBytes;
+        if (!lastTerminated && body != rowsNum * rowBytes - terminator) {
+            return null;
+        }
+
+        char[][] mazeMap = new char[rowsNum][colsNum];
+        int bandRows = (int) Math.max(1, Math.min(rowsNum, bandBytes / rowBytes));
+        List<BandTask> bands = new ArrayList<>();
+        for (int firstRow = 0; firstRow < rowsNum; firstRow += bandRows) {
+            bands.add(new BandTask(channel, mazeMap, first, rowBytes, lineEnd, terminator,
+                    firstRow, Math.min(rowsNum, firstRow + bandRows), lastTerminated, validate));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(bands)));
+
+        // Bands are checked in row order, so the lowest row holding an error is reported
+        for (BandTask band : bands) {
+            if (band.failure != null) {
+                throw band.failure;
+            }
+            if (band.errorRow >= 0) {
+                if (band.invalid < 0) {
+                    return null;
+                }
+                throw new IllegalArgumentException("Invalid character in file: " +
+                        (char) band.invalid);
+            }
+        }
+        for (BandTask band : bands) {
+            metadata.merge(band.metadata);
+        }
+        if (validate) {
+            ConnectivityCheck check = new ConnectivityCheck(colsNum);
+            for (BandTask band : bands) {
+                check.acceptBand(band.connectivity);
+            }
+            check.finish().requireSolvable();
+        }
+        return mazeMap;
+    }
+
+    /**
+     * Fills a buffer from the given file position, stopping early only at the end of the file.
+     *
+     * @param channel The channel to read from.
+     * @param buffer The buffer to fill.
+     * @param position The file position of the first byte to read.
+     * @throws IOException If the file can not be read.
+     */
+    private static void read(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return;
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * The BandTask class reads, validates and copies one band of rows.
+     */
+    private static final class BandTask extends RecursiveTask<Void> {
+        /**
+         * The channel of the maze file, read at absolute positions by every band.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The maze being loaded.
+         */
+        private final char[][] mazeMap;
+
+        /**
+         * File position of the first row, and number of bytes of every row with its terminator.
+         */
+        private final long first, rowBytes;
+
+        /**
+         * First byte of the line terminator.
+         */
+        private final byte lineEnd;
+
+        /**
+         * Number of bytes of the line terminator, 2 for "\r\n".
+         */
+        private final int terminator;
+
+        /**
+         * First row of the band and the row after its last one.
+         */
+        private final int firstRow, endRow;
+
+        /**
+         * Whether the last row of the file is followed by a terminator.
+         */
+        private final boolean lastTerminated;
+
+        /**
+         * Whether the regions of the band are checked.
+         */
+        private final boolean validate;
+
+        /**
+         * Start, exits and open cells of the band.
+         */
+        private final MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+
+        /**
+         * The regions of the band reaching its first or last row, null when not validating.
+         */
+        private ConnectivityCheck.Band connectivity;
+
+        /**
+         * First row of the band with an error, -1 if there is none.
+         */
+        private int errorRow = -1;
+
+        /**
+         * First invalid character of the error row, -1 if the row has the wrong length.
+         */
+        private int invalid = -1;
+
+        /**
+         * The error raised while reading the band, if any.
+         */
+        private IOException failure;
+
+        private BandTask(FileChannel channel, char[][] mazeMap, long first, long rowBytes,
+                         byte lineEnd, int terminator, int firstRow, int endRow,
+                         boolean lastTerminated, boolean validate) {
+            this.channel = channel;
+            this.mazeMap = mazeMap;
+            this.first = first;
+            this.rowBytes = rowBytes;
+            this.lineEnd = lineEnd;
+            this.terminator = terminator;
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+            this.lastTerminated = lastTerminated;
+            this.validate = validate;
+        }
+
+        @Override
+        protected Void compute() {
+            int rowsNum = mazeMap.length;
+            boolean last = endRow == rowsNum;
+            long length = (endRow - firstRow) * rowBytes
+                    - (last && !lastTerminated ? terminator : 0);
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            try {
+                read(channel, buffer, first + firstRow * rowBytes);
+            } catch (IOException e) {
+                failure = e;
+                return null;
+            }
+            byte[] bytes = buffer.array();
+
+            int cols = (int) (rowBytes - terminator);
+            ConnectivityCheck check = validate ? new ConnectivityCheck(cols, true) : null;
+            for (int row = firstRow, offset = 0; row < endRow; row++, offset += (int) rowBytes) {
+                if (!(row == rowsNum - 1 && !lastTerminated) && !terminated(bytes, offset + cols)
+                        || !copyRow(bytes, offset, mazeMap[row], row * cols, check)) {
+                    errorRow = row;
+                    return null;
+                }
+            }
+            if (check != null) {
+                connectivity = check.finishBand();
+            }
+            return null;
+        }
+
+        /**
+         * Checks that the bytes at the given offset are the line terminator of the file.
+         *
+         * @param bytes The bytes of the band.
+         * @param offset The offset of the terminator.
+         * @return True if the terminator is in place.
+         */
+        private boolean terminated(byte[] bytes, int offset) {
+            return bytes[offset] == lineEnd && (terminator == 1 || bytes[offset + 1] == '\n');
+        }
+
+        /**
+         * Validates a row and copies it into the maze.
+         *
+         * @param bytes The bytes of the band.
+         * @param offset The offset of the row.
+         * @param row The row of the maze to fill.
+         * @param index The flat index of the first cell of the row.
+         * @param check The check of the band every cell is streamed through, or null.
+         * @return True if the row only holds maze characters, otherwise the first invalid
+         *         character is kept, or -1 if the row holds a line break and is too short.
+         */
+        private boolean copyRow(byte[] bytes, int offset, char[] row, int index,
+                                ConnectivityCheck check) {
+            for (int col = 0; col < row.length; col++) {
+                int b = bytes[offset + col] & 0xFF;
+                if (!MAZE_CHARACTER[b]) {
+                    invalid = b;
+                    // A line break inside the row makes the row too short, which a sequential
+                    // parse reports before any invalid character of that row
+                    for (int rest = col; rest < row.length; rest++) {
+                        byte c = bytes[offset + rest];
+                        if (c == '\n' || c == '\r') {
+                            invalid = -1;
+                        }
+                    }
+                    return false;
+                }
+                row[col] = (char) b;
+                metadata.record(index + col, (char) b);
+                if (check != null) {
+                    check.acceptCell((char) b);
+                }
+            }
+            if (check != null) {
+                check.endRow();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io;
+
+import model.Grid;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The TextMazeWriter class writes a grid in the text format read by {@link FileLoader}: a line
+ * with the number of rows and columns followed by one line per row. Rows are read from the grid
+ * and written one at a time, so the grid never has to be materialised as a 2D char array.
+ */
+public final class TextMazeWriter {
+
+    private TextMazeWriter() {
+    }
+
+    /**
+     * Writes a grid to a text maze file.
+     *
+     * @param grid The grid to write.
+     * @param file The file to write.
+     * @throws IOException If the file can not be written.
+     */
+    public static void write(Grid grid, Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            write(grid, out);
+        }
+    }
+
+    /**
+     * Writes a grid in the text maze format to a stream, which is left open.
+     *
+     * @param grid The grid to write.
+     * @param out The stream to write to.
+     * @throws IOException If the stream can not be written.
+     */
+    public static void write(Grid grid, OutputStream out) throws IOException {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        out.write((rows + " " + cols + "\n").getBytes(StandardCharsets.US_ASCII));
+        byte[] line = new byte[cols + 1];
+        line[cols] = '\n';
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                line[col] = (byte) grid.getCell(row, col);
+            }
+            out.write(line);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ValidationReport class holds every problem {@link MazeValidator} found in a maze file, up
+ * to a cap, and renders them as JSON so scripts fixing generated mazes can read them.
+ */
+public final class ValidationReport {
+
+    /**
+     * How serious a problem is, errors stop the maze from loading and warnings do not.
+     */
+    public enum Severity {
+        ERROR,
+        WARNING
+    }
+
+    /**
+     * The kinds of problem a maze file can have.
+     */
+    public enum Kind {
+        /** The first line does not hold two non-negative integers. */
+        HEADER(Severity.ERROR),
+        /** The number of rows or columns is even. */
+        EVEN_DIMENSION(Severity.ERROR),
+        /** A character that is not a maze character. */
+        INVALID_CHARACTER(Severity.ERROR),
+        /** A row whose length is not the number of columns. */
+        ROW_LENGTH(Severity.ERROR),
+        /** The file does not hold the number of rows given in the header. */
+        ROW_COUNT(Severity.ERROR),
+        /** The maze has no start. */
+        MISSING_START(Severity.ERROR),
+        /** A start after the first one. */
+        DUPLICATE_START(Severity.ERROR),
+        /** The maze has no exit. */
+        MISSING_EXIT(Severity.ERROR),
+        /** An exit after the first one, mazes may have several exits. */
+        DUPLICATE_EXIT(Severity.WARNING),
+        /** No exit can be reached from the start. */
+        UNREACHABLE_EXIT(Severity.ERROR);
+
+        /**
+         * The severity of every problem of this kind.
+         */
+        private final Severity severity;
+
+        /**
+         * Constructs a Kind.
+         *
+         * @param severity The severity of every problem of this kind.
+         */
+        Kind(Severity severity) {
+            this.severity = severity;
+        }
+
+        /**
+         * Retrieves the severity of problems of this kind.
+         *
+         * @return The severity of the kind.
+         * @pure
+         */
+        public Severity getSeverity() {
+            return severity;
+        }
+    }
+
+    /**
+     * The Issue class is a single problem found in a maze file.
+     */
+    public static final class Issue {
+        /**
+         * The kind of the problem.
+         */
+        private final Kind kind;
+
+        /**
+         * Line and column of the problem counted from 1, the header is line 1 and 0 stands for
+         * the whole file.
+         */
+        private final long line, column;
+
+        /**
+         * Description of the problem.
+         */
+        private final String message;
+
+        /**
+         * Constructs an Issue.
+         *
+         * @param kind The kind of the problem.
+         * @param line The line of the problem counted from 1, or 0 for the whole file.
+         * @param column The column of the problem counted from 1, or 0 for the whole line.
+         * @param message Description of the problem.
+         */
+        Issue(Kind kind, long line, long column, String message) {
+            this.kind = kind;
+            this.line = line;
+            this.column = column;
+            this.message = message;
+        }
+
+        /**
+         * Retrieves the kind of the problem.
+         *
+         * @return The kind of the problem.
+         * @pure
+         */
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Retrieves the line of the problem.
+         *
+         * @return The line counted from 1, the header being line 1, or 0 for the whole file.
+         * @pure
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * Retrieves the column of the problem.
+         *
+         * @return The column counted from 1, or 0 for the whole line.
+         * @pure
+         */
+        public long getColumn() {
+            return column;
+        }
+
+        /**
+         * Retrieves the description of the problem.
+         *
+         * @return The description of the problem.
+         * @pure
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return kind.getSeverity() + " " + line + ":" + column + " " + message;
+        }
+    }
+
+    /**
+     * The validated file.
+     */
+    private final String file;
+
+    /**
+     * Most issues kept, the others are only counted.
+     */
+    private final int maxIssues;
+
+    /**
+     * Issues kept in the order they were found.
+     */
+    private final List<Issue> issues = new ArrayList<>();
+
+    /**
+     * Dimensions given in the header, -1 if it could not be read.
+     */
+    private long rows = -1, cols = -1;
+
+    /**
+     * Number of errors and warnings found, including those past the cap.
+     */
+    private long errors, warnings;
+
+    /**
+     * Constructs an empty ValidationReport.
+     *
+     * @param file The validated file.
+     * @param maxIssues The most issues kept, the others are only counted.
+     */
+    ValidationReport(String file, int maxIssues) {
+        this.file = file;
+        this.maxIssues = maxIssues;
+    }
+
+    /**
+     * Records the dimensions given in the header.
+     *
+     * @param rows The number of rows.
+     * @param cols The number of columns.
+     */
+    void setDimensions(long rows, long cols) {
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Records a problem, keeping it only while the cap has not been reached.
+     *
+     * @param kind The kind of the problem.
+     * @param line The line of the problem counted from 1, or 0 for the whole file.
+     * @param column The column of the problem counted from 1, or 0 for the whole line.
+     * @param message Description of the problem.
+     */
+    void add(Kind kind, long line, long column, String message) {
+        if (kind.getSeverity() == Severity.ERROR) {
+            errors++;
+        } else {
+            warnings++;
+        }
+        if (issues.size() < maxIssues) {
+            issues.add(new Issue(kind, line, column, message));
+        }
+    }
+
+    /**
+     * Retrieves the validated file.
+     *
+     * @return The name of the validated file.
+     * @pure
+     */
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * Retrieves the number of rows given in the header.
+     *
+     * @return The number of rows, or -1 if the header could not be read.
+     * @pure
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of columns given in the header.
+     *
+     * @return The number of columns, or -1 if the header could not be read.
+     * @pure
+     */
+    public long getCols() {
+        return cols;
+    }
+
+    /**
+     * Retrieves the issues kept, at most the cap given to the validator.
+     *
+     * @return An unmodifiable list of the issues in the order they were found.
+     * @pure
+     */
+    public List<Issue> getIssues() {
+        return Collections.unmodifiableList(issues);
+    }
+
+    /**
+     * Retrieves the number of errors found.
+     *
+     * @return The number of errors, including those past the cap.
+     * @pure
+     */
+    public long getErrorCount() {
+        return errors;
+    }
+
+    /**
+     * Retrieves the number of warnings found.
+     *
+     * @return The number of warnings, including those past the cap.
+     * @pure
+     */
+    public long getWarningCount() {
+        return warnings;
+    }
+
+    /**
+     * Checks whether some issues were only counted because the cap was reached.
+     *
+     * @return True if more issues were found than were kept.
+     * @pure
+     */
+    public boolean isTruncated() {
+        return errors + warnings > issues.size();
+    }
+
+    /**
+     * Checks whether the maze can be loaded.
+     *
+     * @return True if no error was found, warnings aside.
+     * @pure
+     */
+    public boolean isValid() {
+        return errors == 0;
+    }
+
+    /**
+     * Renders the report as a JSON object.
+     *
+     * @return The report as a single line of JSON.
+     * @pure
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128 + 96 * issues.size());
+        json.append("{\"file\":");
+        appendString(json, file);
+        json.append(",\"rows\":").append(rows)
+                .append(",\"cols\":").append(cols)
+                .append(",\"valid\":").append(isValid())
+                .append(",\"errors\":").append(errors)
+                .append(",\"warnings\":").append(warnings)
+                .append(",\"truncated\":").append(isTruncated())
+                .append(",\"issues\":[");
+        for (int i = 0; i < issues.size(); i++) {
+            Issue issue = issues.get(i);
+            json.append(i == 0 ? "{" : ",{")
+                    .append("\"severity\":\"").append(issue.kind.getSeverity()).append('"')
+                    .append(",\"kind\":\"").append(issue.kind).append('"')
+                    .append(",\"line\":").append(issue.line)
+                    .append(",\"column\":").append(issue.column)
+                    .append(",\"message\":");
+            appendString(json, issue.message);
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends a string as a quoted JSON string, escaping the characters JSON does not allow.
+     *
+     * @param json The builder to append to.
+     * @param value The string to append.
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,28 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The FrameRenderEvent class is the flight recorder event committed after a view drew a frame.
+ */
+@Name("maze.FrameRender")
+@Label("Frame Render")
+@Category("Maze Navigator")
+@StackTrace(false)
+final class FrameRenderEvent extends Event {
+
+    @Label("Renderer")
+    String renderer;
+
+    @Label("Cells Drawn")
+    long cells;
+
+    @Label("Render Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderTime;
+}
@@ -0,0 +1,85 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class records durations into power of two buckets of {@link LongAdder}s,
+ * so threads recording at the same time never contend on a single counter. Percentiles are
+ * approximated by the upper bound of the bucket they fall in.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Counters of the durations indexed by their number of significant bits, bucket 0 holds 0.
+     */
+    private final LongAdder[] buckets = new LongAdder[Long.SIZE];
+
+    /**
+     * Sum of every recorded duration.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Longest recorded duration.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds, negative durations are recorded as 0.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Takes a snapshot of the recorded durations.
+     *
+     * @return The count, mean, median, 99th percentile and maximum of the durations.
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long mean = count == 0 ? 0 : total.sum() / count;
+        return new LatencySnapshot(count, mean, percentile(counts, count, 0.5),
+                percentile(counts, count, 0.99), max.get());
+    }
+
+    /**
+     * Approximates a percentile by the upper bound of the bucket it falls in.
+     *
+     * @param counts The count of every bucket.
+     * @param count The total count.
+     * @param fraction The percentile as a fraction between 0 and 1.
+     * @return The upper bound of the bucket, or 0 if nothing was recorded.
+     */
+    private static long percentile(long[] counts, long count, double fraction) {
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
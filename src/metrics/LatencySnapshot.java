@@ -0,0 +1,89 @@
+package metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * The LatencySnapshot class holds a summary of a {@link LatencyHistogram}, exposed through JMX as
+ * a composite value.
+ */
+public final class LatencySnapshot {
+
+    /**
+     * Number of recorded durations.
+     */
+    private final long count;
+
+    /**
+     * Mean, median, 99th percentile and maximum of the durations in nanoseconds.
+     */
+    private final long meanNanos, p50Nanos, p99Nanos, maxNanos;
+
+    /**
+     * Constructs a LatencySnapshot.
+     *
+     * @param count The number of recorded durations.
+     * @param meanNanos The mean duration.
+     * @param p50Nanos The approximate median duration.
+     * @param p99Nanos The approximate 99th percentile duration.
+     * @param maxNanos The longest duration.
+     */
+    @ConstructorProperties({"count", "meanNanos", "p50Nanos", "p99Nanos", "maxNanos"})
+    public LatencySnapshot(long count, long meanNanos, long p50Nanos, long p99Nanos,
+                           long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Retrieves the number of recorded durations.
+     *
+     * @return The count.
+     * @pure
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the mean duration.
+     *
+     * @return The mean in nanoseconds.
+     * @pure
+     */
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Retrieves the approximate median duration.
+     *
+     * @return The upper bound of the bucket holding the median, in nanoseconds.
+     * @pure
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Retrieves the approximate 99th percentile duration.
+     *
+     * @return The upper bound of the bucket holding the percentile, in nanoseconds.
+     * @pure
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Retrieves the longest duration.
+     *
+     * @return The maximum in nanoseconds.
+     * @pure
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
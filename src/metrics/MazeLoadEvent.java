@@ -0,0 +1,33 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The MazeLoadEvent class is the flight recorder event committed after a maze file was loaded.
+ */
+@Name("maze.Load")
+@Label("Maze Load")
+@Category("Maze Navigator")
+@StackTrace(false)
+final class MazeLoadEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Cells")
+    long cells;
+
+    @Label("Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long loadTime;
+}
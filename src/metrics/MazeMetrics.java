@@ -0,0 +1,205 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The MazeMetrics class counts maze loads, goose moves and rendered frames, and commits a flight
+ * recorder event for each of them. Metrics are switched on with {@code -Dmaze.metrics=true}; the
+ * switch is read once into {@link #ENABLED}, a static final constant, so callers guard every call
+ * with {@code if (MazeMetrics.ENABLED)} and the JIT removes the guarded code when it is off.
+ * When enabled the counters are registered as an MXBean under {@link #OBJECT_NAME}.
+ */
+public final class MazeMetrics implements MazeMetricsMXBean {
+
+    /**
+     * Name of the system property switching metrics on.
+     */
+    public static final String METRICS_PROPERTY = "maze.metrics";
+
+    /**
+     * True if metrics are collected.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(METRICS_PROPERTY);
+
+    /**
+     * Name the metrics are registered under in the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "mazeNavigator:type=Metrics";
+
+    /**
+     * The counters of the process.
+     */
+    private static final MazeMetrics INSTANCE = new MazeMetrics();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (InstanceAlreadyExistsException e) {
+                // Another class loader registered its counters first, keeps them
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register the maze metrics", e);
+            }
+        }
+    }
+
+    /**
+     * Counters of the loads.
+     */
+    private final LongAdder mazesLoaded = new LongAdder(), bytesLoaded = new LongAdder(),
+            cellsLoaded = new LongAdder();
+
+    /**
+     * Counters of the moves.
+     */
+    private final LongAdder validMoves = new LongAdder(), invalidMoves = new LongAdder(),
+            exitsReached = new LongAdder();
+
+    /**
+     * Counters of the frames.
+     */
+    private final LongAdder framesRendered = new LongAdder(), cellsDrawn = new LongAdder();
+
+    /**
+     * Durations of the loads and of the frames.
+     */
+    private final LatencyHistogram loadTimes = new LatencyHistogram(),
+            frameTimes = new LatencyHistogram();
+
+    private MazeMetrics() {
+    }
+
+    /**
+     * Retrieves the counters of the process.
+     *
+     * @return The MazeMetrics instance, its counters stay at 0 unless metrics are enabled.
+     */
+    public static MazeMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a maze that was loaded.
+     *
+     * @param source The file the maze was loaded from.
+     * @param bytes The number of bytes read.
+     * @param cells The number of cells loaded.
+     * @param startNanos The {@link System#nanoTime()} at which the load started.
+     * @require ENABLED
+     */
+    public static void recordLoad(String source, long bytes, long cells, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        INSTANCE.mazesLoaded.increment();
+        INSTANCE.bytesLoaded.add(bytes);
+        INSTANCE.cellsLoaded.add(cells);
+        INSTANCE.loadTimes.record(nanos);
+
+        MazeLoadEvent event = new MazeLoadEvent();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.bytes = bytes;
+            event.cells = cells;
+            event.loadTime = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a move of the goose.
+     *
+     * @param valid True if the goose moved to a new cell.
+     * @param exitReached True if the goose ended on an exit.
+     * @require ENABLED
+     */
+    public static void recordMove(boolean valid, boolean exitReached) {
+        (valid ? INSTANCE.validMoves : INSTANCE.invalidMoves).increment();
+        if (exitReached) {
+            INSTANCE.exitsReached.increment();
+        }
+
+        MoveEvent event = new MoveEvent();
+        if (event.shouldCommit()) {
+            event.valid = valid;
+            event.exitReached = exitReached;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a frame drawn by a view.
+     *
+     * @param renderer The name of the view.
+     * @param cells The number of cells drawn.
+     * @param startNanos The {@link System#nanoTime()} at which drawing started.
+     * @require ENABLED
+     */
+    public static void recordFrame(String renderer, long cells, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        INSTANCE.framesRendered.increment();
+        INSTANCE.cellsDrawn.add(cells);
+        INSTANCE.frameTimes.record(nanos);
+
+        FrameRenderEvent event = new FrameRenderEvent();
+        if (event.shouldCommit()) {
+            event.renderer = renderer;
+            event.cells = cells;
+            event.renderTime = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public long getMazesLoaded() {
+        return mazesLoaded.sum();
+    }
+
+    @Override
+    public long getBytesLoaded() {
+        return bytesLoaded.sum();
+    }
+
+    @Override
+    public long getCellsLoaded() {
+        return cellsLoaded.sum();
+    }
+
+    @Override
+    public LatencySnapshot getLoadTimes() {
+        return loadTimes.snapshot();
+    }
+
+    @Override
+    public long getValidMoves() {
+        return validMoves.sum();
+    }
+
+    @Override
+    public long getInvalidMoves() {
+        return invalidMoves.sum();
+    }
+
+    @Override
+    public long getExitsReached() {
+        return exitsReached.sum();
+    }
+
+    @Override
+    public long getFramesRendered() {
+        return framesRendered.sum();
+    }
+
+    @Override
+    public long getCellsDrawn() {
+        return cellsDrawn.sum();
+    }
+
+    @Override
+    public LatencySnapshot getFrameTimes() {
+        return frameTimes.snapshot();
+    }
+}
@@ -0,0 +1,57 @@
+package metrics;
+
+/**
+ * The MazeMetricsMXBean interface exposes the counters of {@link MazeMetrics} through JMX.
+ */
+public interface MazeMetricsMXBean {
+
+    /**
+     * @return The number of mazes loaded by the file loaders.
+     */
+    long getMazesLoaded();
+
+    /**
+     * @return The number of bytes read by the file loaders.
+     */
+    long getBytesLoaded();
+
+    /**
+     * @return The number of cells loaded by the file loaders.
+     */
+    long getCellsLoaded();
+
+    /**
+     * @return The durations of the maze loads.
+     */
+    LatencySnapshot getLoadTimes();
+
+    /**
+     * @return The number of moves that took the goose to a new cell.
+     */
+    long getValidMoves();
+
+    /**
+     * @return The number of moves rejected by a wall or the edge of the maze.
+     */
+    long getInvalidMoves();
+
+    /**
+     * @return The number of moves that ended on an exit.
+     */
+    long getExitsReached();
+
+    /**
+     * @return The number of frames rendered by the views.
+     */
+    long getFramesRendered();
+
+    /**
+     * @return The number of cells drawn by the views.
+     */
+    long getCellsDrawn();
+
+    /**
+     * @return The durations of the rendered frames.
+     */
+    LatencySnapshot getFrameTimes();
+}
@@ -0,0 +1,26 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The MoveEvent class is the flight recorder event committed after every move of the goose. A
+ * game can make millions of moves, so the event has to be enabled explicitly in the recording.
+ */
+@Name("maze.Move")
+@Label("Goose Move")
+@Category("Maze Navigator")
+@Enabled(false)
+@StackTrace(false)
+final class MoveEvent extends Event {
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Exit Reached")
+    boolean exitReached;
+}
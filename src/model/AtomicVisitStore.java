@@ -0,0 +1,49 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The AtomicVisitStore class keeps one int per cell and updates it with a lock-free atomic add,
+ * so many geese can move through the same maze at once. Reads are opaque: a cell is never seen
+ * half updated and eventually shows every visit, which is all a heatmap needs, but counts of
+ * different cells are not read at a single point in time.
+ */
+public class AtomicVisitStore implements VisitStore {
+
+    /**
+     * Atomic view of the elements of an int array.
+     */
+    private static final VarHandle COUNTS =
+            MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Visit counts, one per cell.
+     */
+    private final int[] counts;
+
+    /**
+     * Constructs an empty AtomicVisitStore.
+     *
+     * @param cells The number of cells in the maze.
+     * @require cells >= 0
+     */
+    public AtomicVisitStore(int cells) {
+        counts = new int[cells];
+    }
+
+    @Override
+    public int get(int index) {
+        return (int) COUNTS.getOpaque(counts, index);
+    }
+
+    @Override
+    public void increment(int index) {
+        COUNTS.getAndAdd(counts, index, 1);
+    }
+
+    @Override
+    public void add(int index, int amount) {
+        COUNTS.getAndAdd(counts, index, amount);
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * The BufferGrid class is a Grid reading its cells straight out of a byte buffer, typically a
+ * memory mapped binary maze file. Cells use the same 3 bit codes and word layout as
+ * {@link PackedGrid}, stored as little-endian longs, so nothing is copied or decoded up front.
+ * The metadata of the maze is usually read from the file as well, and is only scanned when the
+ * file does not hold it.
+ */
+public final class BufferGrid implements Grid {
+
+    /**
+     * Number of rows and columns in the grid.
+     */
+    private final int rows, cols;
+
+    /**
+     * Packed cell codes, cell i lives in word i / PackedGrid.CELLS_PER_WORD.
+     */
+    private final LongBuffer words;
+
+    /**
+     * Special cells of the layout, scanned on first use unless given by the loader.
+     */
+    private MazeMetadata metadata;
+
+    /**
+     * Constructs a BufferGrid over packed cell codes, the buffer is not copied.
+     *
+     * @param rows The number of rows in the grid.
+     * @param cols The number of columns in the grid.
+     * @param payload The packed cell codes as little-endian longs, from position to limit.
+     * @param metadata The metadata of the layout, or null to scan it on first use.
+     * @throws IllegalArgumentException If the payload does not match the dimensions.
+     */
+    public BufferGrid(int rows, int cols, ByteBuffer payload, MazeMetadata metadata) {
+        if (payload.remaining() != (long) PackedGrid.wordCount((long) rows * cols) * Long.BYTES) {
+            throw new IllegalArgumentException("Packed cells do not match the grid size.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.words = payload.duplicate().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        this.metadata = metadata;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getCell(int index) {
+        return PackedGrid.decode(code(index));
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        return code(index) != PackedGrid.WALL_CODE;
+    }
+
+    @Override
+    public MazeMetadata getMetadata() {
+        if (metadata == null) {
+            metadata = MazeMetadata.scan(this);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieves the 3 bit code of the cell at the given flat index.
+     *
+     * @param index The flat index of the cell.
+     * @return The code of the cell.
+     */
+    private int code(int index) {
+        return (int) (words.get(index / PackedGrid.CELLS_PER_WORD) >>> PackedGrid.shift(index)
+                & 0b111);
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+/**
+ * The CharGrid class is a Grid backed directly by the 2D char array produced by the file loaders.
+ */
+public class CharGrid implements Grid {
+
+    /**
+     * 2D char array that holds the maze layout.
+     */
+    private final char[][] cells;
+
+    /**
+     * Special cells of the layout, scanned on first use unless given by the loader.
+     */
+    private MazeMetadata metadata;
+
+    /**
+     * Constructs a CharGrid wrapping the given maze layout, the array is not copied.
+     *
+     * @param cells The 2D array representing the maze layout.
+     * @require cells != null && cells.length > 0 && cells[0].length > 0
+     */
+    public CharGrid(char[][] cells) {
+        this(cells, null);
+    }
+
+    /**
+     * Constructs a CharGrid wrapping the given maze layout and the metadata recorded while it
+     * was loaded, the array is not copied.
+     *
+     * @param cells The 2D array representing the maze layout.
+     * @param metadata The metadata of the layout, or null to scan it on first use.
+     * @require cells != null && cells.length > 0 && cells[0].length > 0
+     */
+    public CharGrid(char[][] cells, MazeMetadata metadata) {
+        this.cells = cells;
+        this.metadata = metadata;
+    }
+
+    @Override
+    public int getRows() {
+        return cells.length;
+    }
+
+    @Override
+    public int getCols() {
+        return cells[0].length;
+    }
+
+    @Override
+    public char getCell(int index) {
+        int cols = cells[0].length;
+        return cells[index / cols][index % cols];
+    }
+
+    @Override
+    public char getCell(int row, int col) {
+        return cells[row][col];
+    }
+
+    @Override
+    public MazeMetadata getMetadata() {
+        if (metadata == null) {
+            metadata = MazeMetadata.scan(this);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieves the wrapped 2D char array without copying it.
+     *
+     * @return The 2D array representing the maze layout.
+     * @pure
+     */
+    @Override
+    public char[][] toArray() {
+        return cells;
+    }
+}
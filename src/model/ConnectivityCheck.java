@@ -0,0 +1,595 @@
+package model;
+
+import exceptions.MazeMalformedException;
+import io.FileLoader;
+
+import java.util.Arrays;
+
+/**
+ * The ConnectivityCheck class finds the connected regions of open cells while a maze is streamed
+ * through it one row at a time, so loaders can validate a maze as they parse it. Only a two row
+ * window is kept, as runs of open cells: the union-find parent array holds the labels of the runs
+ * above and the runs of the current row, and is compacted after every row, so the check needs a
+ * few small arrays proportional to the number of columns whatever the number of rows. Cells can
+ * be given one at a time from the loop that parses them, so the rows are not read a second time.
+ * <p>
+ * A band check covers a slice of consecutive rows on its own, keeping open the regions that reach
+ * its first or last row, so the bands of a maze can be checked on several threads and then added
+ * to a whole maze check in order with {@link #acceptBand}.
+ */
+public final class ConnectivityCheck {
+
+    /**
+     * Flags set on a region holding the start, an exit, or a run of the current row.
+     */
+    private static final byte HAS_START = 1, HAS_EXIT = 2, LIVE = 4;
+
+    /**
+     * Number of columns in the maze.
+     */
+    private final int cols;
+
+    /**
+     * Most runs of open cells a row can hold, the first union-find node of the labels of the row
+     * above, and half the first node of the runs of the current row.
+     */
+    private final int maxRuns;
+
+    /**
+     * Whether the check covers a band of rows rather than a whole maze.
+     */
+    private final boolean band;
+
+    /**
+     * Union-find parents. Nodes below maxRuns are the runs of the first row of a band, which are
+     * never relabelled, the next maxRuns nodes are the labels of the runs above and the nodes from
+     * 2 * maxRuns are the runs of the current row, or the regions of a band being added.
+     */
+    private final int[] parent;
+
+    /**
+     * Start, exit and live flags of every union-find root.
+     */
+    private final byte[] flags;
+
+    /**
+     * Stamp of the last pass that visited every union-find root, and the label it was given.
+     */
+    private final int[] seen, relabel;
+
+    /**
+     * Flags of the labels given to the current row while it is compacted.
+     */
+    private final byte[] carried;
+
+    /**
+     * First column, column past the end and label of every run of the row above.
+     */
+    private int[] aboveStarts, aboveEnds, aboveLabels;
+
+    /**
+     * First column, column past the end and label of every run of the current row.
+     */
+    private int[] runStarts, runEnds, runLabels;
+
+    /**
+     * First column and column past the end of every run of the first row of a band.
+     */
+    private int[] topStarts, topEnds;
+
+    /**
+     * Number of runs in the row above, and number of distinct labels among them.
+     */
+    private int aboveRuns, labelCount;
+
+    /**
+     * Number of runs of the first row of a band, 0 for a whole maze and -1 until the first row
+     * of a band has been added.
+     */
+    private int anchors;
+
+    /**
+     * Column of the next cell, number of runs of the current row closed so far, and first run
+     * above that can still touch them.
+     */
+    private int col, runs, firstAbove;
+
+    /**
+     * First column of the run being read.
+     */
+    private int runStart;
+
+    /**
+     * Flags of the run being read, 0 between runs.
+     */
+    private byte runFlags;
+
+    /**
+     * Stamp of the current pass over the union-find roots.
+     */
+    private int stamp;
+
+    /**
+     * Whether the start has been read, only the first start of a maze counts.
+     */
+    private boolean startRead;
+
+    /**
+     * Whether a region holding both the start and an exit has been closed.
+     */
+    private boolean solvable;
+
+    /**
+     * Number of regions closed so far.
+     */
+    private long regions;
+
+    /**
+     * Constructs a ConnectivityCheck for a maze with the given number of columns.
+     *
+     * @param cols The number of columns in the maze.
+     * @require cols > 0
+     */
+    public ConnectivityCheck(int cols) {
+        this(cols, false);
+    }
+
+    /**
+     * Constructs a ConnectivityCheck for a whole maze or for a band of its rows.
+     *
+     * @param cols The number of columns in the maze.
+     * @param band True to check a band of rows, finished with {@link #finishBand}.
+     * @require cols > 0
+     */
+    public ConnectivityCheck(int cols, boolean band) {
+        this.cols = cols;
+        this.maxRuns = (cols + 1) / 2;
+        this.band = band;
+        this.anchors = band ? -1 : 0;
+        this.parent = new int[4 * maxRuns];
+        this.flags = new byte[4 * maxRuns];
+        this.seen = new int[4 * maxRuns];
+        this.relabel = new int[4 * maxRuns];
+        this.carried = new byte[maxRuns];
+        this.aboveStarts = new int[maxRuns];
+        this.aboveEnds = new int[maxRuns];
+        this.aboveLabels = new int[maxRuns];
+        this.runStarts = new int[maxRuns];
+        this.runEnds = new int[maxRuns];
+        this.runLabels = new int[maxRuns];
+    }
+
+    /**
+     * Scans the cells of a grid.
+     *
+     * @param grid The grid to scan.
+     * @return A finished check over every row of the grid.
+     */
+    public static ConnectivityCheck scan(Grid grid) {
+        int cols = grid.getCols();
+        ConnectivityCheck check = new ConnectivityCheck(cols);
+        char[] row = new char[cols];
+        for (int r = 0, index = 0; r < grid.getRows(); r++) {
+            for (int col = 0; col < cols; col++, index++) {
+                row[col] = grid.getCell(index);
+            }
+            check.acceptRow(row);
+        }
+        return check.finish();
+    }
+
+    /**
+     * Adds the next row of the maze.
+     *
+     * @param row The maze characters of the row.
+     * @require row.length == cols and rows are given from top to bottom
+     */
+    public void acceptRow(char[] row) {
+        for (char cell : row) {
+            acceptCell(cell);
+        }
+        endRow();
+    }
+
+    /**
+     * Adds the next cell of the current row, so a loader can stream each cell as it parses it.
+     *
+     * @param cell The maze character of the cell.
+     * @require fewer than cols cells have been added to the current row
+     */
+    public void acceptCell(char cell) {
+        if (cell == FileLoader.WALL) {
+            if (runFlags != 0) {
+                closeRun();
+            }
+        } else {
+            if (runFlags == 0) {
+                runStart = col;
+                runFlags = LIVE;
+            }
+            // Both special characters sort after every other maze character
+            if (cell >= FileLoader.END) {
+                if (cell == FileLoader.END) {
+                    runFlags |= HAS_EXIT;
+                } else if (!startRead) {
+                    startRead = true;
+                    runFlags |= HAS_START;
+                }
+            }
+        }
+        col++;
+    }
+
+    /**
+     * Ends the current row once its cols cells have been added. Its runs of open cells have been
+     * joined to the runs above them, the regions of the row above that this row does not reach
+     * are closed.
+     */
+    public void endRow() {
+        if (runFlags != 0) {
+            closeRun();
+        }
+        if (anchors < 0) {
+            anchorRow();
+        } else {
+            stamp++;
+            closeRegions();
+            for (int run = 0; run < runs; run++) {
+                runLabels[run] = 2 * maxRuns + run;
+            }
+            carryRow(runs);
+        }
+        col = 0;
+        runs = 0;
+        firstAbove = 0;
+    }
+
+    /**
+     * Adds a band of rows checked on its own, as if its rows were added one by one. The regions
+     * of the row above are joined to the regions of the first row of the band, and the regions
+     * of the band that reach neither that row nor its last row have already been counted.
+     *
+     * @param rows The finished band following the rows added so far.
+     * @require this check is not a band check and bands are given from top to bottom
+     */
+    public void acceptBand(Band rows) {
+        // Only the first start of the maze counts, the start of a band may follow it
+        boolean firstStart = rows.hasStart && !startRead;
+        if (firstStart) {
+            startRead = true;
+            solvable |= rows.solvable;
+        }
+        regions += rows.regions;
+        int base = 2 * maxRuns;
+        for (int node = 0; node < rows.nodeFlags.length; node++) {
+            parent[base + node] = base + node;
+            byte found = rows.nodeFlags[node];
+            flags[base + node] = (byte) ((firstStart ? found : found & ~HAS_START) | LIVE);
+        }
+
+        int first = 0;
+        for (int run = 0; run < rows.topNodes.length; run++) {
+            int start = rows.topStarts[run];
+            int end = rows.topEnds[run];
+            while (first < aboveRuns && aboveEnds[first] <= start) {
+                first++;
+            }
+            for (int above = first; above < aboveRuns && aboveStarts[above] < end; above++) {
+                union(base + rows.topNodes[run], aboveLabels[above]);
+            }
+        }
+        stamp++;
+        closeRegions();
+
+        // Regions of the first row of the band that do not reach its last row end in the band
+        int reached = ++stamp;
+        for (int node : rows.bottomNodes) {
+            seen[find(base + node)] = reached;
+        }
+        stamp++;
+        for (int node : rows.topNodes) {
+            int root = find(base + node);
+            if (seen[root] != reached && seen[root] != stamp) {
+                close(root);
+            }
+        }
+
+        int count = rows.bottomNodes.length;
+        System.arraycopy(rows.bottomStarts, 0, runStarts, 0, count);
+        System.arraycopy(rows.bottomEnds, 0, runEnds, 0, count);
+        for (int run = 0; run < count; run++) {
+            runLabels[run] = base + rows.bottomNodes[run];
+        }
+        carryRow(count);
+    }
+
+    /**
+     * Ends a band check once all its rows have been added, keeping only the regions that reach
+     * its first or last row.
+     *
+     * @return The band, to be added to the check of the whole maze.
+     * @require this check is a band check and at least one row has been added
+     */
+    public Band finishBand() {
+        // Anchors keep their node, the labels of the last row follow them
+        byte[] nodeFlags = new byte[anchors + labelCount];
+        int[] topNodes = new int[anchors];
+        for (int run = 0; run < anchors; run++) {
+            topNodes[run] = find(run);
+            nodeFlags[run] = flags[run];
+        }
+        for (int label = 0; label < labelCount; label++) {
+            nodeFlags[anchors + label] = flags[maxRuns + label];
+        }
+        int[] bottomNodes = new int[aboveRuns];
+        for (int run = 0; run < aboveRuns; run++) {
+            int label = aboveLabels[run];
+            bottomNodes[run] = label < anchors ? label : anchors + label - maxRuns;
+        }
+        return new Band(topStarts, topEnds, topNodes, Arrays.copyOf(aboveStarts, aboveRuns),
+                Arrays.copyOf(aboveEnds, aboveRuns), bottomNodes, nodeFlags, regions, startRead,
+                solvable);
+    }
+
+    /**
+     * Closes every region still open in the last row, once all the rows have been added.
+     *
+     * @return This check.
+     * @require this check is not a band check
+     */
+    public ConnectivityCheck finish() {
+        stamp++;
+        closeRegions();
+        aboveRuns = 0;
+        labelCount = 0;
+        return this;
+    }
+
+    /**
+     * Retrieves the number of connected regions of open cells.
+     *
+     * @return The number of regions closed so far, every region once the check is finished.
+     * @pure
+     */
+    public long getRegions() {
+        return regions;
+    }
+
+    /**
+     * Checks whether the maze has a start.
+     *
+     * @return True if a start cell has been added.
+     * @pure
+     */
+    public boolean hasStart() {
+        return startRead;
+    }
+
+    /**
+     * Checks whether an exit can be reached from the start.
+     *
+     * @return True if the region of the first start holds an exit, once the check is finished.
+     * @pure
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * Checks that the finished maze has a start from which an exit can be reached.
+     *
+     * @throws MazeMalformedException If the maze has no start or no exit can be reached from it.
+     */
+    public void requireSolvable() throws MazeMalformedException {
+        if (!startRead) {
+            throw new MazeMalformedException("Maze Malformed, the maze has no start.");
+        }
+        if (!solvable) {
+            throw new MazeMalformedException("Maze Malformed, no exit can be reached from the " +
+                    "start, the maze has " + regions + " disconnected regions.");
+        }
+    }
+
+    /**
+     * Closes the run being read and joins it to the runs above it. Both rows are sorted, so every
+     * run above is passed once unless it spans two runs.
+     */
+    private void closeRun() {
+        int node = 2 * maxRuns + runs;
+        parent[node] = node;
+        flags[node] = runFlags;
+        runStarts[runs] = runStart;
+        runEnds[runs++] = col;
+        runFlags = 0;
+        while (firstAbove < aboveRuns && aboveEnds[firstAbove] <= runStart) {
+            firstAbove++;
+        }
+        for (int above = firstAbove; above < aboveRuns && aboveStarts[above] < col; above++) {
+            union(node, aboveLabels[above]);
+        }
+    }
+
+    /**
+     * Turns the runs of the first row of a band into anchors, the nodes of the regions that may
+     * join the rows above the band.
+     */
+    private void anchorRow() {
+        for (int run = 0; run < runs; run++) {
+            parent[run] = run;
+            flags[run] = (byte) (flags[2 * maxRuns + run] & ~LIVE);
+            runLabels[run] = run;
+        }
+        topStarts = Arrays.copyOf(runStarts, runs);
+        topEnds = Arrays.copyOf(runEnds, runs);
+        anchors = runs;
+        swapRows(runs, 0);
+    }
+
+    /**
+     * Relabels the runs of the current row so they become the row above. Regions holding an
+     * anchor keep it as their label, the others are given compact labels.
+     *
+     * @param runs The number of runs in the current row, each holding its node as its label.
+     */
+    private void carryRow(int runs) {
+        stamp++;
+        int labels = 0;
+        for (int run = 0; run < runs; run++) {
+            int root = find(runLabels[run]);
+            if (root < anchors) {
+                flags[root] &= ~LIVE;
+                runLabels[run] = root;
+                continue;
+            }
+            if (seen[root] != stamp) {
+                seen[root] = stamp;
+                relabel[root] = maxRuns + labels;
+                carried[labels++] = (byte) (flags[root] & ~LIVE);
+            }
+            runLabels[run] = relabel[root];
+        }
+        for (int label = 0; label < labels; label++) {
+            parent[maxRuns + label] = maxRuns + label;
+            flags[maxRuns + label] = carried[label];
+        }
+        swapRows(runs, labels);
+    }
+
+    /**
+     * Makes the current row the row above.
+     *
+     * @param runs The number of runs in the current row.
+     * @param labels The number of distinct labels among them.
+     */
+    private void swapRows(int runs, int labels) {
+        int[] swap = aboveStarts;
+        aboveStarts = runStarts;
+        runStarts = swap;
+        swap = aboveEnds;
+        aboveEnds = runEnds;
+        runEnds = swap;
+        swap = aboveLabels;
+        aboveLabels = runLabels;
+        runLabels = swap;
+        aboveRuns = runs;
+        labelCount = labels;
+    }
+
+    /**
+     * Counts the regions of the row above that no run of the current row has joined.
+     */
+    private void closeRegions() {
+        for (int label = maxRuns; label < maxRuns + labelCount; label++) {
+            int root = find(label);
+            // Regions holding an anchor may join rows above the band, they are never closed
+            if ((flags[root] & LIVE) == 0 && seen[root] != stamp && root >= anchors) {
+                close(root);
+            }
+        }
+    }
+
+    /**
+     * Counts a region as closed in the current pass.
+     *
+     * @param root The union-find root of the region.
+     */
+    private void close(int root) {
+        seen[root] = stamp;
+        regions++;
+        if ((flags[root] & (HAS_START | HAS_EXIT)) == (HAS_START | HAS_EXIT)) {
+            solvable = true;
+        }
+    }
+
+    /**
+     * Finds the root of a union-find node, halving the path on the way.
+     *
+     * @param node The node to find the root of.
+     * @return The root of the node.
+     */
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /**
+     * Joins the regions of two union-find nodes, merging their flags.
+     *
+     * @param a The first node.
+     * @param b The second node.
+     */
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) {
+            // An anchor stays the root of its region
+            if (rootA < anchors) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootA] = rootB;
+            flags[rootB] |= flags[rootA];
+        }
+    }
+
+    /**
+     * The Band class holds what a finished band check knows about the regions reaching the
+     * first or last row of its band, the only ones rows outside the band can join.
+     */
+    public static final class Band {
+        /**
+         * First column and column past the end of every run of the first row.
+         */
+        private final int[] topStarts, topEnds;
+
+        /**
+         * Region of every run of the first row.
+         */
+        private final int[] topNodes;
+
+        /**
+         * First column and column past the end of every run of the last row.
+         */
+        private final int[] bottomStarts, bottomEnds;
+
+        /**
+         * Region of every run of the last row.
+         */
+        private final int[] bottomNodes;
+
+        /**
+         * Start and exit flags of every region, indexed by the regions of the runs.
+         */
+        private final byte[] nodeFlags;
+
+        /**
+         * Number of regions closed inside the band.
+         */
+        private final long regions;
+
+        /**
+         * Whether the band holds a start, and whether the region of its first start, closed
+         * inside the band, holds an exit.
+         */
+        private final boolean hasStart, solvable;
+
+        private Band(int[] topStarts, int[] topEnds, int[] topNodes, int[] bottomStarts,
+                     int[] bottomEnds, int[] bottomNodes, byte[] nodeFlags, long regions,
+                     boolean hasStart, boolean solvable) {
+            this.topStarts = topStarts;
+            this.topEnds = topEnds;
+            this.topNodes = topNodes;
+            this.bottomStarts = bottomStarts;
+            this.bottomEnds = bottomEnds;
+            this.bottomNodes = bottomNodes;
+            this.nodeFlags = nodeFlags;
+            this.regions = regions;
+            this.hasStart = hasStart;
+            this.solvable = solvable;
+        }
+    }
+}
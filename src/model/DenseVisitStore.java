@@ -0,0 +1,65 @@
+package model;
+
+/**
+ * The DenseVisitStore class keeps one byte per cell. Cells visited more than 254 times are
+ * promoted to a sparse overflow store, so counts are never lost while typical mazes stay at a
+ * quarter of the size of an int per cell.
+ */
+public class DenseVisitStore implements VisitStore {
+
+    /**
+     * Byte value marking a cell whose count continues in the overflow store.
+     */
+    private static final int SATURATED = 0xFF;
+
+    /**
+     * Unsigned visit counts, one per cell.
+     */
+    private final byte[] counts;
+
+    /**
+     * Counts above {@link #SATURATED}, created on the first overflow.
+     */
+    private SparseVisitStore overflow;
+
+    /**
+     * Constructs an empty DenseVisitStore.
+     *
+     * @param cells The number of cells in the maze.
+     * @require cells >= 0
+     */
+    public DenseVisitStore(int cells) {
+        counts = new byte[cells];
+    }
+
+    @Override
+    public int get(int index) {
+        int count = counts[index] & 0xFF;
+        return count == SATURATED ? SATURATED + overflow.get(index) : count;
+    }
+
+    @Override
+    public void increment(int index) {
+        add(index, 1);
+    }
+
+    @Override
+    public void add(int index, int amount) {
+        int count = counts[index] & 0xFF;
+        if (count + amount < SATURATED) {
+            counts[index] = (byte) (count + amount);
+            return;
+        }
+        // get() reads the overflow as soon as the byte saturates, so it must exist by then
+        if (overflow == null) {
+            overflow = new SparseVisitStore();
+        }
+        if (count < SATURATED) {
+            counts[index] = (byte) SATURATED;
+            amount -= SATURATED - count;
+        }
+        if (amount > 0) {
+            overflow.add(index, amount);
+        }
+    }
+}
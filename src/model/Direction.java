@@ -4,20 +4,40 @@ package model;
  * The Direction enum represents the possible movement directions in a maze game.
  */
 public enum Direction {
-    UP('w'), LEFT('a'), DOWN('s'), RIGHT('d');
+    UP('w', -1, 0), LEFT('a', 0, -1), DOWN('s', 1, 0), RIGHT('d', 0, 1);
 
     /**
      * character input that represent the direction
      */
     private final char key;
 
+    /**
+     * change in row and column index when moving in this direction
+     */
+    private final int rowDelta, colDelta;
+
+    /**
+     * Directions indexed by their key, null for characters that are not a key
+     */
+    private static final Direction[] BY_KEY = new Direction[128];
+
+    static {
+        for (Direction direction : values()) {
+            BY_KEY[direction.key] = direction;
+        }
+    }
+
     /**
      * Constructs a Direction enum with the corresponding keyboard input key.
      *
      * @param key The keyboard input key associated with the direction.
+     * @param rowDelta The change in row index when moving in this direction.
+     * @param colDelta The change in column index when moving in this direction.
      */
-    Direction(char key) {
+    Direction(char key, int rowDelta, int colDelta) {
         this.key = key;
+        this.rowDelta = rowDelta;
+        this.colDelta = colDelta;
     }
 
     /**
@@ -28,4 +48,32 @@ public enum Direction {
     public char getKey() {
         return key;
     }
+
+    /**
+     * retrieves the direction of a key.
+     * @param key The keyboard input key.
+     * @return The direction associated with the key, or null for any other character.
+     * @pure
+     */
+    public static Direction fromKey(char key) {
+        return key < BY_KEY.length ? BY_KEY[key] : null;
+    }
+
+    /**
+     * retrieves the change in row index of a move.
+     * @return The change in row index when moving in this direction.
+     * @pure
+     */
+    public int getRowDelta() {
+        return rowDelta;
+    }
+
+    /**
+     * retrieves the change in column index of a move.
+     * @return The change in column index when moving in this direction.
+     * @pure
+     */
+    public int getColDelta() {
+        return colDelta;
+    }
 }
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * The GameListener interface receives the outcome of every move made in a MazeGame, so the game
+ * itself never writes to the console. Every method does nothing by default.
+ */
+public interface GameListener {
+
+    /**
+     * Called after the goose moved to a new cell.
+     *
+     * @param fromIndex The flat index of the cell the goose left.
+     * @param toIndex The flat index of the cell the goose entered.
+     */
+    default void gooseMoved(int fromIndex, int toIndex) {
+    }
+
+    /**
+     * Called when a move was rejected because it was missing or led into a wall or out of the
+     * maze.
+     *
+     * @param direction The rejected direction, null if no direction was given.
+     */
+    default void invalidMove(Direction direction) {
+    }
+
+    /**
+     * Called after a move that leaves the goose on an exit cell.
+     */
+    default void exitReached() {
+    }
+}
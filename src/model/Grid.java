@@ -0,0 +1,109 @@
+package model;
+
+import io.FileLoader;
+
+/**
+ * The Grid interface represents the read-only cell storage behind a maze layout.
+ * Cells can be read either by row and column or by their flat index {@code row * cols + col},
+ * which lets implementations store the layout in whatever form suits the size of the maze.
+ */
+public interface Grid {
+
+    /**
+     * Most cells a grid can hold, cells are addressed by int flat indices throughout the grids,
+     * loaders and writers, so the largest square maze is 46339 by 46339.
+     */
+    long MAX_CELLS = Integer.MAX_VALUE;
+
+    /**
+     * Retrieves the number of rows in the grid.
+     *
+     * @return The number of rows.
+     * @pure
+     */
+    int getRows();
+
+    /**
+     * Retrieves the number of columns in the grid.
+     *
+     * @return The number of columns.
+     * @pure
+     */
+    int getCols();
+
+    /**
+     * Retrieves the maze character stored at the given flat index.
+     *
+     * @param index The flat index of the cell, {@code row * getCols() + col}.
+     * @return The maze character of the cell.
+     * @require 0 <= index && index < getRows() * getCols()
+     * @pure
+     */
+    char getCell(int index);
+
+    /**
+     * Retrieves the maze character stored at the given row and column.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The maze character of the cell.
+     * @require 0 <= row && row < getRows() && 0 <= col && col < getCols()
+     * @pure
+     */
+    default char getCell(int row, int col) {
+        return getCell(row * getCols() + col);
+    }
+
+    /**
+     * Checks if the cell at the given flat index can be walked on.
+     *
+     * @param index The flat index of the cell.
+     * @return True if the cell is not a wall, false otherwise.
+     * @require 0 <= index && index < getRows() * getCols()
+     * @pure
+     */
+    default boolean isOpen(int index) {
+        return getCell(index) != FileLoader.WALL;
+    }
+
+    /**
+     * Checks if the given row and column is inside the grid and not a wall.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell is inside the grid and traversable, false otherwise.
+     * @pure
+     */
+    default boolean isTraversable(int row, int col) {
+        return row >= 0 && row < getRows() && col >= 0 && col < getCols()
+                && isOpen(row * getCols() + col);
+    }
+
+    /**
+     * Retrieves the start, exit and open cell counts of the grid. The default implementation
+     * scans every cell on each call, implementations should record the metadata when they are
+     * loaded or compute it once and keep it.
+     *
+     * @return The metadata of the grid.
+     */
+    default MazeMetadata getMetadata() {
+        return MazeMetadata.scan(this);
+    }
+
+    /**
+     * Retrieves the grid as a 2D char array. Packed implementations materialise a new array,
+     * implementations already backed by one may return it directly.
+     *
+     * @return A 2D character array holding every cell of the grid.
+     * @ensure \result.length == getRows() && \result[0].length == getCols()
+     */
+    default char[][] toArray() {
+        char[][] array = new char[getRows()][getCols()];
+        for (int row = 0; row < array.length; row++) {
+            for (int col = 0; col < array[row].length; col++) {
+                array[row][col] = getCell(row, col);
+            }
+        }
+        return array;
+    }
+}
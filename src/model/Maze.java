@@ -1,7 +1,6 @@
 package model;
 
 import exceptions.NoSuchElementException;
-import io.FileLoader;
 
 /**
  * The Maze class represents a maze and its layout and visited positions.
@@ -9,14 +8,14 @@ import io.FileLoader;
 public class Maze {
 
     /**
-     * 2D char array that represents the maze layout.
+     * Grid that stores the maze layout.
      */
-    private final char[][] maze;
+    private final Grid grid;
 
     /**
-     * 2D integer array that represents the visited positions of the player.
+     * Store that holds the visit counts of the player.
      */
-    private final int[][] visitedPositions;
+    private final VisitStore visits;
 
     /**
      * Constructs a Maze with the given maze layout.
@@ -24,49 +23,185 @@ public class Maze {
      * @param maze The 2D array representing the maze layout.
      */
     public Maze(char[][] maze) {
-        this.maze = maze;
-        this.visitedPositions = new int[maze.length][maze[0].length];
+        this(new CharGrid(maze));
     }
 
     /**
-     * Gets the maze layout.
+     * Constructs a Maze with the given grid as its layout.
+     *
+     * @param grid The grid storing the maze layout.
+     * @require grid != null
+     */
+    public Maze(Grid grid) {
+        this(grid, VisitStore.create(grid.getRows() * grid.getCols()));
+    }
+
+    /**
+     * Constructs a Maze with the given grid as its layout and the given store for visit counts.
+     *
+     * @param grid The grid storing the maze layout.
+     * @param visits The store to keep visit counts in, sized for the grid.
+     * @require grid != null && visits != null
+     */
+    public Maze(Grid grid, VisitStore visits) {
+        this.grid = grid;
+        this.visits = visits;
+    }
+
+    /**
+     * Creates a Maze that many geese can move through at once. Each goose is played by its own
+     * {@link MazeGame} built with {@link MazeGame#MazeGame(Maze)}, which keeps its own position,
+     * while visits are counted in a store that threads update without locking.
+     *
+     * @param grid The grid storing the maze layout.
+     * @param threads The number of threads moving geese through the maze.
+     * @return A Maze with a concurrent visit store.
+     * @require grid != null && threads > 0
+     */
+    public static Maze shared(Grid grid, int threads) {
+        // The metadata is cached on first use, computes it before the geese race to read it
+        grid.getMetadata();
+        return new Maze(grid, VisitStore.createConcurrent(grid.getRows() * grid.getCols(),
+                threads));
+    }
+
+    /**
+     * Gets the maze layout. Packed layouts are materialised into a new array on every call, so
+     * hot paths should read cells through {@link #getCell(int, int)} instead.
      *
      * @return The 2D array representing the maze layout.
      * @pure
      */
     public char[][] getMaze() {
-        return maze;
+        return grid.toArray();
+    }
+
+    /**
+     * Gets the grid storing the maze layout.
+     *
+     * @return The grid of the maze.
+     * @pure
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets the number of rows in the maze.
+     *
+     * @return The number of rows.
+     * @pure
+     */
+    public int getRows() {
+        return grid.getRows();
+    }
+
+    /**
+     * Gets the number of columns in the maze.
+     *
+     * @return The number of columns.
+     * @pure
+     */
+    public int getCols() {
+        return grid.getCols();
     }
 
     /**
-     * Gets the visited positions in the maze.
+     * Gets the maze character at the given row and column.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The maze character of the cell.
+     * @require 0 <= row && row < getRows() && 0 <= col && col < getCols()
+     * @pure
+     */
+    public char getCell(int row, int col) {
+        return grid.getCell(row, col);
+    }
+
+    /**
+     * Checks if the given row and column is inside the maze and not a wall.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return True if the cell is traversable, false otherwise.
+     * @pure
+     */
+    public boolean isTraversable(int row, int col) {
+        return grid.isTraversable(row, col);
+    }
+
+    /**
+     * Gets a snapshot of the visited positions in the maze. The array is materialised from the
+     * visit store on every call, renderers should read {@link #getVisitCount(int, int)} instead.
      *
      * @return The 2D array representing visited positions.
      * @pure
      */
     public int[][] getVisitPositions() {
+        int[][] visitedPositions = new int[grid.getRows()][grid.getCols()];
+        for (int row = 0; row < visitedPositions.length; row++) {
+            for (int col = 0; col < visitedPositions[row].length; col++) {
+                visitedPositions[row][col] = getVisitCount(row, col);
+            }
+        }
         return visitedPositions;
     }
 
+    /**
+     * Gets the number of times a cell has been visited.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The visit count of the cell.
+     * @require 0 <= row && row < getRows() && 0 <= col && col < getCols()
+     * @pure
+     */
+    public int getVisitCount(int row, int col) {
+        return visits.get(row * grid.getCols() + col);
+    }
+
+    /**
+     * Gets the store holding the visit counts of the maze.
+     *
+     * @return The visit store of the maze.
+     * @pure
+     */
+    public VisitStore getVisits() {
+        return visits;
+    }
+
     /**
      * Increments the visit count for a specific position in the maze.
      *
      * @param position The position to increment visit count for.
      * @throws IllegalArgumentException If the position is outside the maze bounds.
      * @require position != null;
-     * @ensure ensures visitedPositions[position.getRow()][position.getCol()] >
-     *         \old(visitedPositions[position.getRow()][position.getCol()]);
+     * @ensure ensures getVisitCount(position.getRow(), position.getCol()) >
+     *         \old(getVisitCount(position.getRow(), position.getCol()));
      */
     public void incrementVisitCount (Position position) {
         int row = position.getRow();
         int col = position.getCol();
 
-        if (position.isTraversable(maze)) {
-            visitedPositions[row][col]++;
+        if (position.isTraversable(this)) {
+            visits.increment(row * grid.getCols() + col);
         } else {
         throw new IllegalArgumentException("Position is outside of the maze bounds.");}
     }
 
+    /**
+     * Increments the visit count of a cell already known to be traversable, skipping the
+     * bounds and wall checks of {@link #incrementVisitCount(Position)}.
+     *
+     * @param index The flat index of the cell, {@code row * getCols() + col}.
+     * @require 0 <= index && index < getRows() * getCols() && getGrid().isOpen(index)
+     * @ensure getVisits().get(index) == \old(getVisits().get(index)) + 1
+     */
+    public void incrementVisitCount(int index) {
+        visits.increment(index);
+    }
+
     /**
      * Finds the starting position 'S' in the maze.
      *
@@ -76,12 +211,9 @@ public class Maze {
      */
 
     public Position findStartPosition() throws NoSuchElementException{
-        for (int row = 0; row < maze.length; row++) {
-            for (int col = 0; col < maze[0].length; col++) {
-                if (maze[row][col] == FileLoader.START) {
-                    return new Position(row, col);
-                }
-            }
+        int start = grid.getMetadata().getStart();
+        if (start >= 0) {
+            return new Position(start / grid.getCols(), start % grid.getCols());
         }
         throw new NoSuchElementException("Start position 'S' not found in the maze.");
     }
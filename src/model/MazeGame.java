@@ -2,7 +2,9 @@ package model;
 
 import controller.InputHandler;
 import exceptions.NoSuchElementException;
-import io.FileLoader;
+import metrics.MazeMetrics;
+
+import java.util.Arrays;
 
 /**
  * The MazeGame class represents the game logic for the maze game.
@@ -15,19 +17,49 @@ public class MazeGame {
     private final Maze maze;
 
     /**
-     * The current position of the goose in the maze
+     * The grid storing the maze layout, read directly on the movement hot path.
+     */
+    private final Grid grid;
+
+    /**
+     * The start and exit cells of the layout, checked after every move.
+     */
+    private final MazeMetadata metadata;
+
+    /**
+     * Number of rows and columns in the maze.
+     */
+    private final int rows, cols;
+
+    /**
+     * Flat index offset of a single move, indexed by {@link Direction#ordinal()}.
+     */
+    private final int[] moveOffsets;
+
+    /**
+     * The current row, column and flat index of the goose in the maze.
+     */
+    private int gooseRow, gooseCol, gooseIndex;
+
+    /**
+     * Position view of the goose, created on request and dropped when the goose moves.
      */
     private Position goosePosition;
 
     /**
      * Flag to indicate if the game is over or not.
      */
-    private static boolean gameOver;
+    private boolean gameOver;
+
+    /**
+     * input handler to handle movement of the goose inside the maze, created on first use
+     */
+    private InputHandler inputHandler;
 
     /**
-     * input handler to handle movement of the goose inside the maze
+     * listeners told about the outcome of every move
      */
-    private final InputHandler inputHandler;
+    private GameListener[] listeners = new GameListener[0];
 
     /**
      * Constructs a MazeGame with the given maze layout.
@@ -37,10 +69,44 @@ public class MazeGame {
      * @require maze != null && goosePosition != null && inputHandler != null.
      */
     public MazeGame(char[][] maze) throws NoSuchElementException {
-        this.maze = new Maze(maze);
+        this(new CharGrid(maze));
+    }
+
+    /**
+     * Constructs a MazeGame with the given grid as the maze layout.
+     *
+     * @param grid the grid storing the game layout.
+     * @throws NoSuchElementException If the game lacks a valid starting position.
+     * @require grid != null
+     */
+    public MazeGame(Grid grid) throws NoSuchElementException {
+        this(new Maze(grid));
+    }
+
+    /**
+     * Constructs a MazeGame playing on the given maze, keeping its grid and visit store.
+     *
+     * @param maze the maze storing the game layout and visit counts.
+     * @throws NoSuchElementException If the game lacks a valid starting position.
+     * @require maze != null
+     */
+    public MazeGame(Maze maze) throws NoSuchElementException {
+        Grid grid = maze.getGrid();
+        this.maze = maze;
+        this.grid = grid;
+        this.metadata = grid.getMetadata();
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.moveOffsets = new int[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            moveOffsets[direction.ordinal()] = direction.getRowDelta() * cols
+                    + direction.getColDelta();
+        }
         this.goosePosition = this.maze.findStartPosition();
+        this.gooseRow = goosePosition.getRow();
+        this.gooseCol = goosePosition.getCol();
+        this.gooseIndex = gooseRow * cols + gooseCol;
         gameOver = false;
-        this.inputHandler = new InputHandler();
     }
 
     /**
@@ -48,7 +114,7 @@ public class MazeGame {
      * @param state The state in which the game is in (true for game over, false for otherwise).
      * @ensure gameOver == state
      */
-    public static void setGameOver(boolean state) {
+    public void setGameOver(boolean state) {
         gameOver = state;
     }
 
@@ -63,7 +129,7 @@ public class MazeGame {
     }
 
     /**
-     * Retrieves the 2D array representing visited positions in the maze.
+     * Retrieves a snapshot of the 2D array representing visited positions in the maze.
      *
      * @return A 2D integer array of the visited positions.
      * @pure
@@ -73,25 +139,60 @@ public class MazeGame {
     }
 
     /**
-     * Moves the goose in the specified direction.
+     * Registers a listener to be told about the outcome of every move.
+     * @param listener The listener to add.
+     * @require listener != null
+     */
+    public void addListener(GameListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Moves the goose in the specified direction. The move works on the packed cell index of
+     * the goose and does not allocate. Registered listeners are told about the outcome.
      * @param direction The direction in which to move the goose.
      * @ensure The goose is moved to a valid position in the maze.
-     * @pure
      */
     public void moveGoose(Direction direction) {
-        Position newPosition = goosePosition.setPosition(direction);
-
-        // Check if the new position is valid (e.g., not a wall)
-        if (newPosition.isTraversable(maze.getMaze())) {
-            goosePosition = newPosition;
-            maze.incrementVisitCount(goosePosition);
+        int fromIndex = gooseIndex;
+        if (direction == null) {
+            for (GameListener listener : listeners) {
+                listener.invalidMove(null);
+            }
         } else {
-            System.out.println("Invalid move!");
+            int newRow = gooseRow + direction.getRowDelta();
+            int newCol = gooseCol + direction.getColDelta();
+            int newIndex = gooseIndex + moveOffsets[direction.ordinal()];
+
+            // Check if the new position is valid (e.g., not a wall), an unsigned comparison
+            // rejects both negative and too large rows or columns
+            if (Integer.compareUnsigned(newRow, rows) < 0
+                    && Integer.compareUnsigned(newCol, cols) < 0 && grid.isOpen(newIndex)) {
+                int oldIndex = gooseIndex;
+                gooseRow = newRow;
+                gooseCol = newCol;
+                gooseIndex = newIndex;
+                goosePosition = null;
+                maze.incrementVisitCount(newIndex);
+                for (GameListener listener : listeners) {
+                    listener.gooseMoved(oldIndex, newIndex);
+                }
+            } else {
+                for (GameListener listener : listeners) {
+                    listener.invalidMove(direction);
+                }
+            }
         }
 
-        if (maze.getMaze()[goosePosition.getRow()][goosePosition.getCol()] == FileLoader.END) {
-            System.out.println("Congratulations! You've reached the exit!");
+        if (metadata.isExit(gooseIndex)) {
             gameOver = true;
+            for (GameListener listener : listeners) {
+                listener.exitReached();
+            }
+        }
+        if (MazeMetrics.ENABLED) {
+            MazeMetrics.recordMove(gooseIndex != fromIndex, metadata.isExit(gooseIndex));
         }
     }
 
@@ -105,11 +206,23 @@ public class MazeGame {
     }
 
     /**
-     * Retrieves the input handler for the game.
-     * @return The InputHandler object.
+     * Retrieves the maze of the game, giving cell access without materialising the layout.
+     * @return The Maze object of the game.
      * @pure
      */
+    public Maze getMaze() {
+        return maze;
+    }
+
+    /**
+     * Retrieves the input handler for the game, reading from the console. It is created on the
+     * first call so games that are never played from the console do not touch System.in.
+     * @return The InputHandler object.
+     */
     public InputHandler getInputHandler(){
+        if (inputHandler == null) {
+            inputHandler = new InputHandler(this);
+        }
         return inputHandler;
     }
 
@@ -120,6 +233,35 @@ public class MazeGame {
      * @pure
      */
     public Position getGoosePosition() {
+        if (goosePosition == null) {
+            goosePosition = new Position(gooseRow, gooseCol);
+        }
         return goosePosition;
     }
+
+    /**
+     * Places the goose on a cell without counting a visit or telling the listeners, used to
+     * restore a saved game. The game is over if the cell is an exit.
+     *
+     * @param index The flat index of the cell.
+     * @require 0 <= index && index < rows * cols && grid.isOpen(index)
+     * @ensure getGooseIndex() == index
+     */
+    public void restoreGoose(int index) {
+        gooseIndex = index;
+        gooseRow = index / cols;
+        gooseCol = index % cols;
+        goosePosition = null;
+        gameOver = metadata.isExit(index);
+    }
+
+    /**
+     * Retrieves the flat cell index of the goose, {@code row * cols + col}.
+     *
+     * @return The flat index of the goose's cell.
+     * @pure
+     */
+    public int getGooseIndex() {
+        return gooseIndex;
+    }
 }
@@ -0,0 +1,239 @@
+package model;
+
+import io.FileLoader;
+
+import java.util.Arrays;
+
+/**
+ * The MazeMetadata class holds the special cells of a maze layout: the start cell, every exit
+ * cell and the number of open cells. Loaders record it while they parse, so nothing has to scan
+ * the layout again to find them. Exits are kept as a sorted array of flat indices, with a small
+ * hash table on top of it for constant time exit checks.
+ */
+public final class MazeMetadata {
+
+    /**
+     * Marker for an empty slot of the exit table.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * Flat index of the first start cell, -1 if the maze has none.
+     */
+    private final int start;
+
+    /**
+     * Flat indices of the exit cells, in increasing order.
+     */
+    private final int[] exits;
+
+    /**
+     * Open addressing table of the exit cells, its length is a power of two.
+     */
+    private final int[] exitTable;
+
+    /**
+     * Number of cells that are not walls.
+     */
+    private final long openCells;
+
+    /**
+     * Constructs a MazeMetadata.
+     *
+     * @param start The flat index of the first start cell, or -1.
+     * @param exits The flat indices of the exit cells, sorted in place.
+     * @param openCells The number of cells that are not walls.
+     * @require exits != null && openCells >= 0
+     */
+    public MazeMetadata(int start, int[] exits, long openCells) {
+        Arrays.sort(exits);
+        this.start = start;
+        this.exits = exits;
+        this.openCells = openCells;
+        this.exitTable = new int[Integer.highestOneBit(Math.max(exits.length, 1) * 2) * 2];
+        Arrays.fill(exitTable, EMPTY);
+        int mask = exitTable.length - 1;
+        for (int exit : exits) {
+            int slot = hash(exit) & mask;
+            while (exitTable[slot] != EMPTY && exitTable[slot] != exit) {
+                slot = (slot + 1) & mask;
+            }
+            exitTable[slot] = exit;
+        }
+    }
+
+    /**
+     * Scans a grid for its special cells, for grids whose loader did not record them.
+     *
+     * @param grid The grid to scan.
+     * @return The metadata of the grid.
+     */
+    public static MazeMetadata scan(Grid grid) {
+        Builder builder = new Builder();
+        int cells = grid.getRows() * grid.getCols();
+        for (int index = 0; index < cells; index++) {
+            builder.record(index, grid.getCell(index));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Retrieves the flat index of the start cell.
+     *
+     * @return The flat index of the first 'S' cell, -1 if there is none.
+     * @pure
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves the number of exit cells.
+     *
+     * @return The number of 'E' cells.
+     * @pure
+     */
+    public int getExitCount() {
+        return exits.length;
+    }
+
+    /**
+     * Retrieves an exit cell.
+     *
+     * @param i The position of the exit in increasing index order.
+     * @return The flat index of the exit cell.
+     * @require 0 <= i && i < getExitCount()
+     * @pure
+     */
+    public int getExit(int i) {
+        return exits[i];
+    }
+
+    /**
+     * Retrieves every exit cell.
+     *
+     * @return A copy of the flat indices of the exit cells, in increasing order.
+     */
+    public int[] getExits() {
+        return exits.clone();
+    }
+
+    /**
+     * Checks if a cell is an exit in constant time.
+     *
+     * @param index The flat index of the cell.
+     * @return True if the cell is an 'E' cell.
+     * @pure
+     */
+    public boolean isExit(int index) {
+        int mask = exitTable.length - 1;
+        int slot = hash(index) & mask;
+        int exit;
+        while ((exit = exitTable[slot]) != EMPTY) {
+            if (exit == index) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the number of open cells.
+     *
+     * @return The number of cells that are not walls.
+     * @pure
+     */
+    public long getOpenCells() {
+        return openCells;
+    }
+
+    /**
+     * Spreads the bits of a cell index over the table.
+     *
+     * @param index The flat index of the cell.
+     * @return The hash of the index.
+     */
+    private static int hash(int index) {
+        int h = index * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The Builder class records the special cells of a layout while it is read.
+     */
+    public static final class Builder {
+        /**
+         * Flat index of the first start cell, -1 until one is recorded.
+         */
+        private int start = -1;
+
+        /**
+         * Exit cells recorded so far, only the first {@link #exitCount} entries are used.
+         */
+        private int[] exits = new int[4];
+
+        /**
+         * Number of exit cells recorded so far.
+         */
+        private int exitCount;
+
+        /**
+         * Number of open cells recorded so far.
+         */
+        private long openCells;
+
+        /**
+         * Records a cell of the layout.
+         *
+         * @param index The flat index of the cell.
+         * @param cell The maze character of the cell.
+         */
+        public void record(int index, char cell) {
+            if (cell == FileLoader.WALL) {
+                return;
+            }
+            openCells++;
+            if (cell == FileLoader.START) {
+                if (start < 0) {
+                    start = index;
+                }
+            } else if (cell == FileLoader.END) {
+                if (exitCount == exits.length) {
+                    exits = Arrays.copyOf(exits, exitCount * 2);
+                }
+                exits[exitCount++] = index;
+            }
+        }
+
+        /**
+         * Appends the cells recorded by another builder, which covered the cells following
+         * every cell recorded by this one.
+         *
+         * @param next The builder of the following cells.
+         * @return This builder.
+         */
+        public Builder merge(Builder next) {
+            if (start < 0) {
+                start = next.start;
+            }
+            if (exitCount + next.exitCount > exits.length) {
+                exits = Arrays.copyOf(exits, Math.max(exits.length * 2,
+                        exitCount + next.exitCount));
+            }
+            System.arraycopy(next.exits, 0, exits, exitCount, next.exitCount);
+            exitCount += next.exitCount;
+            openCells += next.openCells;
+            return this;
+        }
+
+        /**
+         * Builds the metadata of the recorded cells.
+         *
+         * @return The metadata of the layout.
+         */
+        public MazeMetadata build() {
+            return new MazeMetadata(start, Arrays.copyOf(exits, exitCount), openCells);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import io.FileLoader;
+
+/**
+ * The PackedGrid class is a compact Grid that packs every cell into 3 bits of a flat long array.
+ * Only the five maze characters of {@link FileLoader} can be stored, 21 cells fit in each long,
+ * which makes the layout more than 5 times smaller than a 2D char array and keeps neighbouring
+ * cells in the same cache line.
+ */
+public final class PackedGrid implements Grid {
+
+    /**
+     * Number of bits used to store a single cell.
+     */
+    public static final int BITS_PER_CELL = 3;
+
+    /**
+     * Number of cells stored in each long.
+     */
+    public static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+
+    /**
+     * Mask selecting the bits of a single cell.
+     */
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+    /**
+     * Code of the wall character, checked directly on the traversal hot path.
+     */
+    static final int WALL_CODE = 1;
+
+    /**
+     * Maze characters indexed by their 3 bit code.
+     */
+    private static final char[] SYMBOLS = {FileLoader.PATH, FileLoader.WALL, FileLoader.DOT,
+            FileLoader.START, FileLoader.END};
+
+    /**
+     * Number of rows and columns in the grid.
+     */
+    private final int rows, cols;
+
+    /**
+     * Packed cell codes, cell i lives in word i / CELLS_PER_WORD.
+     */
+    private final long[] words;
+
+    /**
+     * Special cells of the layout, scanned on first use unless recorded while packing.
+     */
+    private MazeMetadata metadata;
+
+    /**
+     * Constructs a PackedGrid from already packed cell codes.
+     *
+     * @param rows The number of rows in the grid.
+     * @param cols The number of columns in the grid.
+     * @param words The packed cell codes, as produced by {@link #encode(char)}.
+     * @throws IllegalArgumentException If the number of words does not match the dimensions.
+     */
+    public PackedGrid(int rows, int cols, long[] words) {
+        this(rows, cols, words, null);
+    }
+
+    /**
+     * Constructs a PackedGrid from already packed cell codes and their metadata.
+     *
+     * @param rows The number of rows in the grid.
+     * @param cols The number of columns in the grid.
+     * @param words The packed cell codes, as produced by {@link #encode(char)}.
+     * @param metadata The metadata of the layout, or null to scan it on first use.
+     * @throws IllegalArgumentException If the number of words does not match the dimensions.
+     */
+    public PackedGrid(int rows, int cols, long[] words, MazeMetadata metadata) {
+        if (words.length != wordCount((long) rows * cols)) {
+            throw new IllegalArgumentException("Packed cells do not match the grid size.");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.words = words;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Packs the given maze layout into a new PackedGrid.
+     *
+     * @param maze The 2D array representing the maze layout.
+     * @return A PackedGrid holding the same cells as the layout.
+     * @throws IllegalArgumentException If the layout contains a character that is not a maze
+     *                                  character or the maze has too many cells.
+     * @require maze != null && maze.length > 0 && maze[0].length > 0
+     */
+    public static PackedGrid pack(char[][] maze) {
+        int rows = maze.length;
+        int cols = maze[0].length;
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze has too many cells to be packed.");
+        }
+        long[] words = new long[wordCount((long) rows * cols)];
+        MazeMetadata.Builder metadata = new MazeMetadata.Builder();
+        int index = 0;
+        for (char[] row : maze) {
+            for (int col = 0; col < cols; col++, index++) {
+                words[index / CELLS_PER_WORD] |=
+                        (long) encode(row[col]) << shift(index);
+                metadata.record(index, row[col]);
+            }
+        }
+        return new PackedGrid(rows, cols, words, metadata.build());
+    }
+
+    /**
+     * Converts a maze character to its 3 bit code.
+     *
+     * @param cell The maze character.
+     * @return The code of the character.
+     * @throws IllegalArgumentException If the character is not a maze character.
+     */
+    public static int encode(char cell) {
+        return switch (cell) {
+            case FileLoader.PATH -> 0;
+            case FileLoader.WALL -> WALL_CODE;
+            case FileLoader.DOT -> 2;
+            case FileLoader.START -> 3;
+            case FileLoader.END -> 4;
+            default -> throw new IllegalArgumentException("Invalid character in maze: " + cell);
+        };
+    }
+
+    /**
+     * Converts a 3 bit code back to its maze character.
+     *
+     * @param code The code of the cell.
+     * @return The maze character of the code.
+     * @require 0 <= code && code <= 4
+     */
+    static char decode(int code) {
+        return SYMBOLS[code];
+    }
+
+    /**
+     * Computes the number of longs needed to pack the given number of cells.
+     *
+     * @param cells The number of cells.
+     * @return The number of longs needed.
+     */
+    public static int wordCount(long cells) {
+        return (int) ((cells + CELLS_PER_WORD - 1) / CELLS_PER_WORD);
+    }
+
+    /**
+     * Computes the bit offset of a cell inside its word.
+     *
+     * @param index The flat index of the cell.
+     * @return The bit offset of the cell.
+     */
+    public static int shift(int index) {
+        return (index % CELLS_PER_WORD) * BITS_PER_CELL;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getCell(int index) {
+        return decode(code(index));
+    }
+
+    @Override
+    public boolean isOpen(int index) {
+        return code(index) != WALL_CODE;
+    }
+
+    @Override
+    public MazeMetadata getMetadata() {
+        if (metadata == null) {
+            metadata = MazeMetadata.scan(this);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieves the 3 bit code of the cell at the given flat index.
+     *
+     * @param index The flat index of the cell.
+     * @return The code of the cell.
+     */
+    private int code(int index) {
+        return (int) (words[index / CELLS_PER_WORD] >>> shift(index) & CELL_MASK);
+    }
+}
@@ -3,13 +3,13 @@ package model;
 import io.FileLoader;
 
 /**
- * The Position class represents a position in a maze.
+ * The Position class represents an immutable position in a maze.
  */
 public class Position {
     /**
      * row is the row index of the position, and col is the column index of the position
      */
-    private int row, col;
+    private final int row, col;
 
     /**
      * Constructs a Position object with the specified row and column values.
@@ -66,6 +66,17 @@ public class Position {
         return validPosition; 
     }
 
+    /**
+     * Checks if the position is traversable in the given maze, without materialising its layout.
+     *
+     * @param maze The maze to check the position against.
+     * @return True if the position is on a traversable path, false otherwise.
+     * @pure
+     */
+    public boolean isTraversable(Maze maze) {
+        return maze.isTraversable(row, col);
+    }
+
     /**
      * Moves the position in the specified direction.
      *
@@ -80,12 +91,8 @@ public class Position {
             System.out.println("please input a move (w/a/s/d). ");
             return this;
         }
-        switch (direction) {
-            case UP -> newRow--;
-            case DOWN -> newRow++;
-            case LEFT -> newCol--;
-            case RIGHT -> newCol++;
-        }
+        newRow += direction.getRowDelta();
+        newCol += direction.getColDelta();
 
         return new Position(newRow,newCol);
     }
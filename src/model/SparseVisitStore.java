@@ -0,0 +1,133 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The SparseVisitStore class keeps only the cells that have been visited, in a primitive open
+ * addressing hash table with linear probing. Memory grows with the number of visited cells
+ * instead of the size of the maze.
+ */
+public class SparseVisitStore implements VisitStore {
+
+    /**
+     * Initial number of slots, always a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Key marking an empty slot, cell indices are never negative.
+     */
+    private static final int EMPTY = -1;
+
+    /**
+     * Cell indices of the occupied slots.
+     */
+    private int[] keys;
+
+    /**
+     * Visit counts of the occupied slots.
+     */
+    private int[] values;
+
+    /**
+     * Number of occupied slots.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty SparseVisitStore.
+     */
+    public SparseVisitStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public int get(int index) {
+        int mask = keys.length - 1;
+        for (int slot = hash(index) & mask; ; slot = (slot + 1) & mask) {
+            int key = keys[slot];
+            if (key == index) {
+                return values[slot];
+            }
+            if (key == EMPTY) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void increment(int index) {
+        add(index, 1);
+    }
+
+    @Override
+    public void add(int index, int amount) {
+        int mask = keys.length - 1;
+        int slot = hash(index) & mask;
+        while (keys[slot] != index && keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            if (size + 1 > keys.length * 2 / 3) {
+                grow();
+                add(index, amount);
+                return;
+            }
+            keys[slot] = index;
+            size++;
+        }
+        values[slot] += amount;
+    }
+
+    /**
+     * Retrieves the number of cells that have been visited at least once.
+     *
+     * @return The number of visited cells.
+     * @pure
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the number of slots and reinserts every occupied slot.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Replaces the tables with empty ones of the given capacity.
+     *
+     * @param capacity The number of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Spreads neighbouring cell indices across the table.
+     *
+     * @param index The flat index of the cell.
+     * @return The hash of the index.
+     */
+    private static int hash(int index) {
+        int h = index * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
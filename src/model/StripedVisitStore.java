@@ -0,0 +1,83 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The StripedVisitStore class spreads the visit counts over several stripes, each a full int per
+ * cell array, and every thread adds to the stripe picked from its identity. Geese on different
+ * threads crossing the same busy cell, such as the start, then update different cache lines
+ * instead of fighting over one. A count is the sum of the cell over every stripe, read opaquely
+ * like {@link AtomicVisitStore}. Memory grows with the number of stripes, so this store is only
+ * worth it for mazes small enough to be crowded.
+ */
+public class StripedVisitStore implements VisitStore {
+
+    /**
+     * Atomic view of the elements of an int array.
+     */
+    private static final VarHandle COUNTS =
+            MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Visit counts of every stripe, one int per cell.
+     */
+    private final int[][] stripes;
+
+    /**
+     * Mask selecting a stripe from a thread hash, the number of stripes is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * Constructs an empty StripedVisitStore.
+     *
+     * @param cells The number of cells in the maze.
+     * @param stripes The number of stripes, rounded up to a power of two.
+     * @require cells >= 0 && stripes > 0
+     */
+    public StripedVisitStore(int cells, int stripes) {
+        int count = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new int[count][cells];
+        this.mask = count - 1;
+    }
+
+    /**
+     * Retrieves the number of stripes.
+     *
+     * @return The number of stripes.
+     * @pure
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    @Override
+    public int get(int index) {
+        int count = 0;
+        for (int[] stripe : stripes) {
+            count += (int) COUNTS.getOpaque(stripe, index);
+        }
+        return count;
+    }
+
+    @Override
+    public void increment(int index) {
+        COUNTS.getAndAdd(stripe(), index, 1);
+    }
+
+    @Override
+    public void add(int index, int amount) {
+        COUNTS.getAndAdd(stripe(), index, amount);
+    }
+
+    /**
+     * Picks the stripe of the calling thread.
+     *
+     * @return The counts the calling thread adds to.
+     */
+    private int[] stripe() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        return stripes[(hash ^ hash >>> 16) & mask];
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+/**
+ * The VisitStore interface stores how many times each cell of a maze has been visited.
+ * Cells are addressed by their flat index {@code row * cols + col}.
+ */
+public interface VisitStore {
+
+    /**
+     * System property forcing the store implementation, "dense", "sparse", "atomic" or
+     * "striped".
+     */
+    String STORE_PROPERTY = "maze.visits";
+
+    /**
+     * Mazes with more cells than this use the sparse store unless configured otherwise.
+     */
+    int SPARSE_THRESHOLD = 1 << 24;
+
+    /**
+     * Largest number of ints, over every stripe, a striped store is created with.
+     */
+    int STRIPED_THRESHOLD = 1 << 24;
+
+    /**
+     * Largest number of stripes picked for a striped store.
+     */
+    int MAX_STRIPES = 8;
+
+    /**
+     * Retrieves the visit count of a cell.
+     *
+     * @param index The flat index of the cell.
+     * @return The number of times the cell has been visited.
+     * @require 0 <= index && index < cells
+     * @pure
+     */
+    int get(int index);
+
+    /**
+     * Increments the visit count of a cell by one.
+     *
+     * @param index The flat index of the cell.
+     * @require 0 <= index && index < cells
+     * @ensure get(index) == \old(get(index)) + 1
+     */
+    void increment(int index);
+
+    /**
+     * Adds to the visit count of a cell, used to restore saved counts.
+     *
+     * @param index The flat index of the cell.
+     * @param amount The number of visits to add.
+     * @require 0 <= index && index < cells && amount >= 0
+     * @ensure get(index) == \old(get(index)) + amount
+     */
+    default void add(int index, int amount) {
+        for (int i = 0; i < amount; i++) {
+            increment(index);
+        }
+    }
+
+    /**
+     * Creates the visit store for a maze with the given number of cells. The implementation is
+     * picked from the maze size unless the {@value #STORE_PROPERTY} system property forces one.
+     *
+     * @param cells The number of cells in the maze.
+     * @return An empty visit store.
+     * @throws IllegalArgumentException If the system property names an unknown store.
+     */
+    static VisitStore create(int cells) {
+        String configured = System.getProperty(STORE_PROPERTY);
+        if (configured == null) {
+            configured = cells > SPARSE_THRESHOLD ? "sparse" : "dense";
+        }
+        return create(configured, cells, 1);
+    }
+
+    /**
+     * Creates a visit store that many threads can update at once, for geese sharing a maze.
+     * Crowded mazes are striped by thread unless the stripes would take too much memory, or the
+     * {@value #STORE_PROPERTY} system property forces a store. Only "atomic" and "striped" are
+     * safe to share, "dense" and "sparse" only apply to single player mazes and are ignored.
+     *
+     * @param cells The number of cells in the maze.
+     * @param threads The number of threads moving geese through the maze.
+     * @return An empty visit store.
+     * @throws IllegalArgumentException If the system property names an unknown store.
+     * @require threads > 0
+     */
+    static VisitStore createConcurrent(int cells, int threads) {
+        int stripes = Math.min(threads, MAX_STRIPES);
+        String configured = System.getProperty(STORE_PROPERTY);
+        if (configured == null || configured.equals("dense") || configured.equals("sparse")) {
+            configured = stripes > 1 && (long) cells * stripes <= STRIPED_THRESHOLD
+                    ? "striped" : "atomic";
+        }
+        return create(configured, cells, stripes);
+    }
+
+    /**
+     * Creates the named visit store.
+     *
+     * @param name The name of the store.
+     * @param cells The number of cells in the maze.
+     * @param stripes The number of stripes of a striped store.
+     * @return An empty visit store.
+     * @throws IllegalArgumentException If the name is not a known store.
+     */
+    private static VisitStore create(String name, int cells, int stripes) {
+        return switch (name) {
+            case "dense" -> new DenseVisitStore(cells);
+            case "sparse" -> new SparseVisitStore();
+            case "atomic" -> new AtomicVisitStore(cells);
+            case "striped" -> new StripedVisitStore(cells, stripes);
+            default -> throw new IllegalArgumentException("Unknown visit store: " + name);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * The KruskalGenerator class carves a maze with randomised Kruskal: every passage is considered
+ * once in random order and opened when it joins two rooms that are not connected yet, which is
+ * tracked with an array-based union-find. It produces many short dead ends.
+ * {@link ParallelKruskalGenerator} does the same on several threads for very large mazes.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+    @Override
+    public PassageGrid generate(int rows, int cols, long seed) {
+        PassageGrid grid = new PassageGrid(rows, cols);
+        int roomRows = grid.getRoomRows();
+        int roomCols = grid.getRoomCols();
+        int rooms = roomRows * roomCols;
+        if (rooms > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Maze has too many rooms for KruskalGenerator.");
+        }
+
+        // Passage ids are room * 2 for the passage to the right and room * 2 + 1 for the one below
+        int[] passages = new int[2 * rooms - roomRows - roomCols];
+        int count = 0;
+        for (int room = 0; room < rooms; room++) {
+            if (room % roomCols < roomCols - 1) {
+                passages[count++] = room * 2;
+            }
+            if (room < rooms - roomCols) {
+                passages[count++] = room * 2 + 1;
+            }
+        }
+        shuffle(passages, count, new SplittableRandom(seed));
+
+        UnionFind sets = new UnionFind(rooms);
+        int opened = 0;
+        for (int i = 0; i < count && opened < rooms - 1; i++) {
+            if (join(grid, sets, passages[i], false)) {
+                opened++;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Opens a passage if it joins two rooms that are not connected yet.
+     *
+     * @param grid The maze being carved.
+     * @param sets The connected sets of rooms.
+     * @param passage The id of the passage.
+     * @param atomic True if other threads may be opening passages of nearby rooms.
+     * @return True if the passage was opened.
+     */
+    static boolean join(PassageGrid grid, UnionFind sets, int passage, boolean atomic) {
+        int room = passage >>> 1;
+        boolean down = (passage & 1) != 0;
+        if (!sets.union(room, down ? room + grid.getRoomCols() : room + 1)) {
+            return false;
+        }
+        if (down) {
+            if (atomic) {
+                grid.openDownAtomic(room);
+            } else {
+                grid.openDown(room);
+            }
+        } else if (atomic) {
+            grid.openRightAtomic(room);
+        } else {
+            grid.openRight(room);
+        }
+        return true;
+    }
+
+    /**
+     * Shuffles the first entries of an array with Fisher-Yates.
+     *
+     * @param values The array to shuffle.
+     * @param count The number of entries to shuffle.
+     * @param random The source of randomness.
+     */
+    static void shuffle(int[] values, int count, SplittableRandom random) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+}
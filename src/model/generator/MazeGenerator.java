@@ -0,0 +1,20 @@
+package model.generator;
+
+/**
+ * The MazeGenerator interface carves perfect mazes: every room can be reached from every other
+ * room by exactly one route. Generated mazes satisfy the constraints of {@link io.FileLoader},
+ * with 'S' in the top left room and 'E' in the bottom right room.
+ */
+public interface MazeGenerator {
+
+    /**
+     * Generates a maze.
+     *
+     * @param rows The number of rows of the layout, odd and at least 3.
+     * @param cols The number of columns of the layout, odd and at least 3.
+     * @param seed The seed of the random choices, the same seed gives the same maze.
+     * @return The passages of the generated maze.
+     * @throws IllegalArgumentException If the dimensions are not valid maze dimensions.
+     */
+    PassageGrid generate(int rows, int cols, long seed);
+}
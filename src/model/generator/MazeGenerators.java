@@ -0,0 +1,65 @@
+package model.generator;
+
+import io.BinaryMazeWriter;
+import io.TextMazeWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The MazeGenerators class looks up the maze generators by name and generates maze files from
+ * the command line. Files ending in ".bin" are written in the binary maze format, any other file
+ * in the text format.
+ */
+public final class MazeGenerators {
+
+    private MazeGenerators() {
+    }
+
+    /**
+     * Creates the generator matching the given name.
+     *
+     * @param name The name of the generator: "backtracker", "kruskal", "parallel-kruskal" or
+     *             "wilson".
+     * @return The generator.
+     * @throws IllegalArgumentException If the name does not match a known generator.
+     */
+    public static MazeGenerator create(String name) {
+        return switch (name) {
+            case "backtracker" -> new RecursiveBacktracker();
+            case "kruskal" -> new KruskalGenerator();
+            case "parallel-kruskal" -> new ParallelKruskalGenerator();
+            case "wilson" -> new WilsonGenerator();
+            default -> throw new IllegalArgumentException("Unknown generator: " + name);
+        };
+    }
+
+    /**
+     * Generates a maze and writes it to a file.
+     *
+     * @param args The generator name, the number of rows and columns, the file to write and
+     *             optionally the seed.
+     * @throws IOException If the file can not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: MazeGenerators <backtracker|kruskal|parallel-kruskal|"
+                    + "wilson> <rows> <cols> <file> [seed]");
+            return;
+        }
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        long started = System.nanoTime();
+        PassageGrid grid = create(args[0]).generate(Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), seed);
+        long generated = System.nanoTime();
+
+        Path file = Path.of(args[3]);
+        if (file.toString().endsWith(".bin")) {
+            BinaryMazeWriter.write(grid, file);
+        } else {
+            TextMazeWriter.write(grid, file);
+        }
+        System.out.printf("generated in %d ms, written in %d ms%n",
+                (generated - started) / 1_000_000, (System.nanoTime() - generated) / 1_000_000);
+    }
+}
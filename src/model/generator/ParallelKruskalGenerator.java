@@ -0,0 +1,177 @@
+package model.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The ParallelKruskalGenerator class runs randomised Kruskal on several threads. The rooms are
+ * split into bands of {@value #BAND_ROWS} room rows that are carved at the same time, each band
+ * only joining its own rooms in a shared union-find. A random {@value #DEFERRED_SHARE}th of the
+ * passages inside the bands, and every passage between two bands, are left for a final
+ * sequential pass that joins the bands into a single maze. Deferring some inner passages keeps
+ * the band borders from showing as walls with a single opening. Memory use is one int per room
+ * for the union-find, plus the deferred passages.
+ */
+public class ParallelKruskalGenerator implements MazeGenerator {
+
+    /**
+     * Number of room rows carved by a single task.
+     */
+    static final int BAND_ROWS = 64;
+
+    /**
+     * One in this many passages inside a band is deferred to the sequential pass.
+     */
+    static final int DEFERRED_SHARE = 16;
+
+    /**
+     * The pool the bands are carved on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelKruskalGenerator using the common fork-join pool.
+     */
+    public ParallelKruskalGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelKruskalGenerator carving bands on the given pool.
+     *
+     * @param pool The pool to carve the bands on.
+     */
+    public ParallelKruskalGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public PassageGrid generate(int rows, int cols, long seed) {
+        PassageGrid grid = new PassageGrid(rows, cols);
+        int roomRows = grid.getRoomRows();
+        if ((long) roomRows * grid.getRoomCols() > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Maze has too many rooms for Kruskal.");
+        }
+        UnionFind sets = new UnionFind(roomRows * grid.getRoomCols());
+
+        List<BandTask> bands = new ArrayList<>();
+        for (int firstRow = 0, band = 0; firstRow < roomRows; firstRow += BAND_ROWS, band++) {
+            bands.add(new BandTask(grid, sets, firstRow,
+                    Math.min(roomRows, firstRow + BAND_ROWS), seed + band));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(bands)));
+
+        int total = 0;
+        for (BandTask band : bands) {
+            total += band.deferredCount;
+        }
+        int[] deferred = new int[total];
+        int count = 0;
+        for (BandTask band : bands) {
+            System.arraycopy(band.deferred, 0, deferred, count, band.deferredCount);
+            count += band.deferredCount;
+        }
+        KruskalGenerator.shuffle(deferred, count, new SplittableRandom(seed));
+        for (int passage : deferred) {
+            KruskalGenerator.join(grid, sets, passage, false);
+        }
+        return grid;
+    }
+
+    /**
+     * The BandTask class carves the passages inside one band of room rows.
+     */
+    private static final class BandTask extends RecursiveTask<Void> {
+        /**
+         * The maze being carved.
+         */
+        private final PassageGrid grid;
+
+        /**
+         * The connected sets of rooms, shared by all bands.
+         */
+        private final UnionFind sets;
+
+        /**
+         * First room row of the band and the room row after its last one.
+         */
+        private final int firstRow, endRow;
+
+        /**
+         * Seed of the random choices of the band.
+         */
+        private final long seed;
+
+        /**
+         * Passages left for the sequential pass, only the first {@link #deferredCount} are used.
+         */
+        private int[] deferred;
+
+        /**
+         * Number of deferred passages.
+         */
+        private int deferredCount;
+
+        private BandTask(PassageGrid grid, UnionFind sets, int firstRow, int endRow,
+                         long seed) {
+            this.grid = grid;
+            this.sets = sets;
+            this.firstRow = firstRow;
+            this.endRow = endRow;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Void compute() {
+            int roomCols = grid.getRoomCols();
+            int lastBandRow = endRow == grid.getRoomRows() ? endRow - 1 : endRow;
+            int first = firstRow * roomCols;
+            int end = endRow * roomCols;
+
+            int[] passages = new int[2 * (end - first)];
+            deferred = new int[(end - first) / 4 + roomCols + 16];
+            int count = 0;
+            for (int room = first; room < end; room++) {
+                if (room % roomCols < roomCols - 1) {
+                    passages[count++] = room * 2;
+                }
+                if (room / roomCols < lastBandRow) {
+                    if (room / roomCols < endRow - 1) {
+                        passages[count++] = room * 2 + 1;
+                    } else {
+                        // Passages down into the next band join two bands
+                        defer(room * 2 + 1);
+                    }
+                }
+            }
+
+            SplittableRandom random = new SplittableRandom(seed);
+            KruskalGenerator.shuffle(passages, count, random);
+            for (int i = 0; i < count; i++) {
+                if (random.nextInt(DEFERRED_SHARE) == 0) {
+                    defer(passages[i]);
+                } else {
+                    KruskalGenerator.join(grid, sets, passages[i], true);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Leaves a passage for the sequential pass.
+         *
+         * @param passage The id of the passage.
+         */
+        private void defer(int passage) {
+            if (deferredCount == deferred.length) {
+                deferred = Arrays.copyOf(deferred, deferredCount * 2);
+            }
+            deferred[deferredCount++] = passage;
+        }
+    }
+}
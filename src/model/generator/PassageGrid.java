@@ -0,0 +1,203 @@
+package model.generator;
+
+import io.FileLoader;
+import model.Grid;
+import model.MazeMetadata;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The PassageGrid class is the output of the maze generators. Rooms sit on the odd rows and
+ * columns of the layout and are joined by passages, only the two passages leaving each room to
+ * the right and downwards are stored, as one bit each. Every other cell of the layout is derived
+ * on the fly, so a generated maze takes a quarter of a bit per layout cell and can be streamed
+ * to a file row by row or played directly. The start is the top left room and the exit the
+ * bottom right room.
+ */
+public final class PassageGrid implements Grid {
+
+    /**
+     * Atomic access to the passage words, for generators carving from several threads.
+     */
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Most cells a maze can have, the most a {@link Grid} can hold.
+     */
+    public static final long MAX_CELLS = Grid.MAX_CELLS;
+
+    /**
+     * Number of rows and columns of the layout.
+     */
+    private final int rows, cols;
+
+    /**
+     * Number of rows and columns of rooms.
+     */
+    private final int roomRows, roomCols;
+
+    /**
+     * Open passages to the right of and below every room, one bit per room.
+     */
+    private final long[] right, down;
+
+    /**
+     * Constructs a PassageGrid with every passage closed.
+     *
+     * @param rows The number of rows of the layout.
+     * @param cols The number of columns of the layout.
+     * @throws IllegalArgumentException If a dimension is even or below 3, if the maze has a
+     *                                  single room, or if it has too many cells.
+     */
+    public PassageGrid(int rows, int cols) {
+        if (rows % 2 == 0 || cols % 2 == 0 || rows < 3 || cols < 3) {
+            throw new IllegalArgumentException("Maze dimensions must be odd and at least 3.");
+        }
+        if (rows == 3 && cols == 3) {
+            throw new IllegalArgumentException("Maze needs at least two rooms for 'S' and 'E'.");
+        }
+        if ((long) rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Maze has too many cells, " + rows + " x " + cols
+                    + " is above the limit of " + MAX_CELLS + " cells (46339 x 46339).");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.roomRows = rows / 2;
+        this.roomCols = cols / 2;
+        int words = (roomRows * roomCols + Long.SIZE - 1) / Long.SIZE;
+        this.right = new long[words];
+        this.down = new long[words];
+    }
+
+    /**
+     * Retrieves the number of rows of rooms.
+     *
+     * @return The number of room rows.
+     * @pure
+     */
+    public int getRoomRows() {
+        return roomRows;
+    }
+
+    /**
+     * Retrieves the number of columns of rooms.
+     *
+     * @return The number of room columns.
+     * @pure
+     */
+    public int getRoomCols() {
+        return roomCols;
+    }
+
+    /**
+     * Opens the passage between a room and its right neighbour.
+     *
+     * @param room The index of the room, {@code roomRow * getRoomCols() + roomCol}.
+     * @require room % getRoomCols() < getRoomCols() - 1
+     */
+    public void openRight(int room) {
+        right[room >>> 6] |= 1L << room;
+    }
+
+    /**
+     * Opens the passage between a room and the room below it.
+     *
+     * @param room The index of the room.
+     * @require room / getRoomCols() < getRoomRows() - 1
+     */
+    public void openDown(int room) {
+        down[room >>> 6] |= 1L << room;
+    }
+
+    /**
+     * Opens the passage between a room and its right neighbour, safely against other threads
+     * opening passages of nearby rooms.
+     *
+     * @param room The index of the room.
+     */
+    void openRightAtomic(int room) {
+        WORDS.getAndBitwiseOr(right, room >>> 6, 1L << room);
+    }
+
+    /**
+     * Opens the passage between a room and the room below it, safely against other threads
+     * opening passages of nearby rooms.
+     *
+     * @param room The index of the room.
+     */
+    void openDownAtomic(int room) {
+        WORDS.getAndBitwiseOr(down, room >>> 6, 1L << room);
+    }
+
+    /**
+     * Checks if the passage to the right of a room is open.
+     *
+     * @param room The index of the room.
+     * @return True if the passage is open.
+     * @pure
+     */
+    public boolean hasRight(int room) {
+        return (right[room >>> 6] & 1L << room) != 0;
+    }
+
+    /**
+     * Checks if the passage below a room is open.
+     *
+     * @param room The index of the room.
+     * @return True if the passage is open.
+     * @pure
+     */
+    public boolean hasDown(int room) {
+        return (down[room >>> 6] & 1L << room) != 0;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getCell(int index) {
+        return getCell(index / cols, index % cols);
+    }
+
+    @Override
+    public char getCell(int row, int col) {
+        if (row % 2 == 0 && col % 2 == 0 || row == 0 || col == 0
+                || row == rows - 1 || col == cols - 1) {
+            return FileLoader.WALL;
+        }
+        int room = row / 2 * roomCols + col / 2;
+        if (row % 2 == 0) {
+            return hasDown(room - roomCols) ? FileLoader.PATH : FileLoader.WALL;
+        }
+        if (col % 2 == 0) {
+            return hasRight(room - 1) ? FileLoader.PATH : FileLoader.WALL;
+        }
+        if (room == 0) {
+            return FileLoader.START;
+        }
+        return room == roomRows * roomCols - 1 ? FileLoader.END : FileLoader.PATH;
+    }
+
+    /**
+     * Retrieves the metadata of the maze without scanning it. The open cells are counted from
+     * the passage bits, which is cheap compared to a scan of the layout.
+     *
+     * @return The metadata of the maze.
+     */
+    @Override
+    public MazeMetadata getMetadata() {
+        long open = (long) roomRows * roomCols;
+        for (int i = 0; i < right.length; i++) {
+            open += Long.bitCount(right[i]) + Long.bitCount(down[i]);
+        }
+        return new MazeMetadata(cols + 1, new int[]{(rows - 2) * cols + cols - 2}, open);
+    }
+}
@@ -0,0 +1,69 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * The RecursiveBacktracker class carves a maze with a depth first search from the start room,
+ * stepping into a random unvisited neighbour until none is left and then backtracking. The
+ * recursion is replaced by an explicit stack so large mazes do not overflow the thread stack.
+ * It produces long, winding corridors with few dead ends.
+ */
+public class RecursiveBacktracker implements MazeGenerator {
+
+    @Override
+    public PassageGrid generate(int rows, int cols, long seed) {
+        PassageGrid grid = new PassageGrid(rows, cols);
+        int roomRows = grid.getRoomRows();
+        int roomCols = grid.getRoomCols();
+        int rooms = roomRows * roomCols;
+        long[] visited = new long[(rooms + Long.SIZE - 1) / Long.SIZE];
+        int[] stack = new int[rooms];
+        int[] candidates = new int[4];
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = 1;
+        while (top > 0) {
+            int room = stack[top - 1];
+            int row = room / roomCols;
+            int col = room - row * roomCols;
+            int count = 0;
+            if (row > 0 && !isSet(visited, room - roomCols)) candidates[count++] = room - roomCols;
+            if (row < roomRows - 1 && !isSet(visited, room + roomCols)) {
+                candidates[count++] = room + roomCols;
+            }
+            if (col > 0 && !isSet(visited, room - 1)) candidates[count++] = room - 1;
+            if (col < roomCols - 1 && !isSet(visited, room + 1)) candidates[count++] = room + 1;
+            if (count == 0) {
+                top--;
+                continue;
+            }
+
+            int next = candidates[random.nextInt(count)];
+            visited[next >>> 6] |= 1L << next;
+            if (next == room + 1) {
+                grid.openRight(room);
+            } else if (next == room - 1) {
+                grid.openRight(next);
+            } else if (next > room) {
+                grid.openDown(room);
+            } else {
+                grid.openDown(next);
+            }
+            stack[top++] = next;
+        }
+        return grid;
+    }
+
+    /**
+     * Checks if the bit of a room is set.
+     *
+     * @param bits The bit set.
+     * @param room The index of the room.
+     * @return True if the bit is set.
+     */
+    private static boolean isSet(long[] bits, int room) {
+        return (bits[room >>> 6] & 1L << room) != 0;
+    }
+}
@@ -0,0 +1,72 @@
+package model.generator;
+
+/**
+ * The UnionFind class is an array-based disjoint set forest over the rooms of a maze, with path
+ * halving and union by size. Threads may share an instance as long as each of them only joins
+ * rooms that no other thread touches.
+ */
+final class UnionFind {
+
+    /**
+     * Parent of every room, roots are their own parent.
+     */
+    private final int[] parent;
+
+    /**
+     * Size of the set of every root minus one, as an unsigned byte saturating at 255. This is
+     * enough to keep the trees shallow without an int per room.
+     */
+    private final byte[] size;
+
+    /**
+     * Constructs a UnionFind with every room in its own set.
+     *
+     * @param rooms The number of rooms.
+     */
+    UnionFind(int rooms) {
+        parent = new int[rooms];
+        size = new byte[rooms];
+        for (int room = 0; room < rooms; room++) {
+            parent[room] = room;
+        }
+    }
+
+    /**
+     * Finds the root of the set holding a room, halving the path on the way.
+     *
+     * @param room The index of the room.
+     * @return The root of its set.
+     */
+    int find(int room) {
+        while (parent[room] != room) {
+            parent[room] = parent[parent[room]];
+            room = parent[room];
+        }
+        return room;
+    }
+
+    /**
+     * Joins the sets of two rooms.
+     *
+     * @param a The index of the first room.
+     * @param b The index of the second room.
+     * @return True if the rooms were in different sets, false if they were already joined.
+     */
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        int sizeA = size[rootA] & 0xFF;
+        int sizeB = size[rootB] & 0xFF;
+        if (sizeA < sizeB) {
+            parent[rootA] = rootB;
+            size[rootB] = (byte) Math.min(255, sizeA + sizeB + 1);
+        } else {
+            parent[rootB] = rootA;
+            size[rootA] = (byte) Math.min(255, sizeA + sizeB + 1);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package model.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * The WilsonGenerator class carves a maze with Wilson's algorithm: starting from a tree holding a
+ * single room, a random walk is started from each room outside the tree until it reaches the
+ * tree, and the walk with its loops erased is added to the tree. Every possible maze is equally
+ * likely, at the cost of long walks while the tree is still small.
+ */
+public class WilsonGenerator implements MazeGenerator {
+
+    /**
+     * Direction codes of the walk, stored per room.
+     */
+    private static final byte UP = 0, LEFT = 1, DOWN = 2, RIGHT = 3;
+
+    @Override
+    public PassageGrid generate(int rows, int cols, long seed) {
+        PassageGrid grid = new PassageGrid(rows, cols);
+        int roomRows = grid.getRoomRows();
+        int roomCols = grid.getRoomCols();
+        int rooms = roomRows * roomCols;
+        long[] inTree = new long[(rooms + Long.SIZE - 1) / Long.SIZE];
+        // Last direction the current walk left each room in, later exits overwrite loops
+        byte[] exit = new byte[rooms];
+        SplittableRandom random = new SplittableRandom(seed);
+
+        int root = random.nextInt(rooms);
+        inTree[root >>> 6] |= 1L << root;
+        for (int first = 0; first < rooms; first++) {
+            if ((inTree[first >>> 6] & 1L << first) != 0) {
+                continue;
+            }
+
+            int room = first;
+            while ((inTree[room >>> 6] & 1L << room) == 0) {
+                byte direction = randomDirection(room, roomRows, roomCols, random);
+                exit[room] = direction;
+                room = neighbour(room, direction, roomCols);
+            }
+
+            room = first;
+            while ((inTree[room >>> 6] & 1L << room) == 0) {
+                inTree[room >>> 6] |= 1L << room;
+                int next = neighbour(room, exit[room], roomCols);
+                switch (exit[room]) {
+                    case UP -> grid.openDown(next);
+                    case LEFT -> grid.openRight(next);
+                    case DOWN -> grid.openDown(room);
+                    default -> grid.openRight(room);
+                }
+                room = next;
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Picks a random direction leading to a room inside the maze.
+     *
+     * @param room The index of the room.
+     * @param roomRows The number of room rows.
+     * @param roomCols The number of room columns.
+     * @param random The source of randomness.
+     * @return The direction code.
+     */
+    private static byte randomDirection(int room, int roomRows, int roomCols,
+                                        SplittableRandom random) {
+        int row = room / roomCols;
+        int col = room - row * roomCols;
+        while (true) {
+            byte direction = (byte) random.nextInt(4);
+            boolean inside = switch (direction) {
+                case UP -> row > 0;
+                case LEFT -> col > 0;
+                case DOWN -> row < roomRows - 1;
+                default -> col < roomCols - 1;
+            };
+            if (inside) {
+                return direction;
+            }
+        }
+    }
+
+    /**
+     * Moves one room in a direction.
+     *
+     * @param room The index of the room.
+     * @param direction The direction code.
+     * @param roomCols The number of room columns.
+     * @return The index of the neighbouring room.
+     */
+    private static int neighbour(int room, byte direction, int roomCols) {
+        return switch (direction) {
+            case UP -> room - roomCols;
+            case LEFT -> room - 1;
+            case DOWN -> room + roomCols;
+            default -> room + 1;
+        };
+    }
+}
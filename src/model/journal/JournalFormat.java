@@ -0,0 +1,56 @@
+package model.journal;
+
+/**
+ * The JournalFormat class holds the layout of move journal files. All values are big-endian.
+ * <p>
+ * Header, 16 bytes: magic "MAZJ" (4 bytes), format version (2 bytes), 2 reserved bytes, then
+ * the number of rows and columns of the maze (4 bytes each).
+ * </p>
+ * <p>
+ * The header is followed by blocks, each starting with a one byte tag:
+ * - moves: the number of moves (4 bytes), then the moves packed four to a byte, the first move
+ *   in the lowest two bits. A move is the ordinal of its {@link model.Direction}.
+ * - snapshot: the number of moves journaled before it (8 bytes), the goose cell (4 bytes), the
+ *   length of the visit payload (4 bytes), then for every visited cell in increasing order the
+ *   gap from the previous visited cell and its count, as unsigned variable length integers.
+ * </p>
+ * <p>
+ * Only moves that changed the goose cell are journaled, rejected moves leave no trace in the
+ * game and none in the journal. A block cut short by a crash is ignored.
+ * </p>
+ */
+final class JournalFormat {
+
+    /**
+     * First four bytes of every journal file.
+     */
+    static final int MAGIC = 'M' << 24 | 'A' << 16 | 'Z' << 8 | 'J';
+
+    /**
+     * Current version of the format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Tags of the blocks.
+     */
+    static final byte MOVES = 1, SNAPSHOT = 2;
+
+    /**
+     * Size of the fixed part of each block after its tag.
+     */
+    static final int MOVES_HEADER = Integer.BYTES, SNAPSHOT_HEADER = Long.BYTES + 2 * Integer.BYTES;
+
+    /**
+     * Number of moves packed into each byte.
+     */
+    static final int MOVES_PER_BYTE = 4;
+
+    private JournalFormat() {
+    }
+}
@@ -0,0 +1,401 @@
+package model.journal;
+
+import model.Direction;
+import model.Maze;
+import model.MazeGame;
+import model.VisitStore;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The JournalReplayer class re-applies a move journal to a game without rendering anything.
+ * {@link #replay} starts from the state the journal was opened in and applies every move,
+ * which reproduces a whole session, while {@link #restore} starts from the last snapshot and only
+ * applies the moves made after it, which restarts a long game quickly. Games must be freshly
+ * constructed from the journaled maze, and should not have a {@link MoveJournal} attached yet.
+ * The journal is read through a fixed-size window with long positions, so journals of any
+ * length can be replayed.
+ */
+public final class JournalReplayer {
+
+    /**
+     * Move directions indexed by their journal code.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Number of bytes of the journal read at a time.
+     */
+    static final int WINDOW_BYTES = 1 << 20;
+
+    private JournalReplayer() {
+    }
+
+    /**
+     * Applies every journaled move to a fresh game.
+     *
+     * @param journal The journal file.
+     * @param game The game to apply the moves to.
+     * @return The outcome of the replay.
+     * @throws IOException If the journal can not be read or is not a move journal.
+     * @throws IllegalArgumentException If the journal was recorded on a different maze.
+     */
+    public static Replay replay(Path journal, MazeGame game) throws IOException {
+        return apply(journal, game, false, WINDOW_BYTES);
+    }
+
+    /**
+     * Restores a fresh game to the end of a journal from its last snapshot.
+     *
+     * @param journal The journal file.
+     * @param game The game to restore.
+     * @return The outcome of the restore.
+     * @throws IOException If the journal can not be read or is not a move journal.
+     * @throws IllegalArgumentException If the journal was recorded on a different maze.
+     */
+    public static Replay restore(Path journal, MazeGame game) throws IOException {
+        return apply(journal, game, true, WINDOW_BYTES);
+    }
+
+    /**
+     * Applies a snapshot and the moves following it.
+     *
+     * @param journal The journal file.
+     * @param game The game to apply the journal to.
+     * @param fromLast True to start from the last snapshot, false from the first.
+     * @param windowBytes The number of bytes of the journal read at a time.
+     * @return The outcome.
+     * @throws IOException If the journal can not be read or is not a move journal.
+     * @require windowBytes >= JournalFormat.HEADER_SIZE
+     */
+    static Replay apply(Path journal, MazeGame game, boolean fromLast, int windowBytes)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            return apply(journal, new Window(channel, windowBytes), game, fromLast);
+        }
+    }
+
+    /**
+     * Applies a snapshot and the moves following it, reading the journal through a window.
+     *
+     * @param journal The journal file, for error messages.
+     * @param file The window over the journal.
+     * @param game The game to apply the journal to.
+     * @param fromLast True to start from the last snapshot, false from the first.
+     * @return The outcome.
+     * @throws IOException If the journal can not be read or is not a move journal.
+     */
+    private static Replay apply(Path journal, Window file, MazeGame game, boolean fromLast)
+            throws IOException {
+        Maze maze = game.getMaze();
+        if (file.remaining() < JournalFormat.HEADER_SIZE || file.getInt() != JournalFormat.MAGIC
+                || file.getShort() != JournalFormat.VERSION) {
+            throw new IOException("Not a move journal: " + journal);
+        }
+        file.getShort();
+        if (file.getInt() != maze.getRows() || file.getInt() != maze.getCols()) {
+            throw new IllegalArgumentException("Journal was recorded on a different maze.");
+        }
+
+        // Finds the snapshot to start from and the end of the last complete block
+        long start = -1;
+        long validLength = file.position();
+        while (file.remaining() > 0) {
+            long block = file.position();
+            byte tag = file.get();
+            if (!skipBlock(file, tag)) {
+                break;
+            }
+            if (tag == JournalFormat.SNAPSHOT && (fromLast || start < 0)) {
+                start = block;
+            }
+            validLength = file.position();
+        }
+        if (start < 0) {
+            throw new IOException("Move journal has no snapshot: " + journal);
+        }
+
+        file.position(start + 1);
+        long moves = file.getLong();
+        game.restoreGoose(file.getInt());
+        long payloadEnd = file.getInt() + file.position();
+        VisitStore visits = maze.getVisits();
+        int index = 0;
+        while (file.position() < payloadEnd) {
+            index += getVarInt(file);
+            visits.add(index, getVarInt(file));
+        }
+
+        long replayed = 0;
+        while (file.position() < validLength) {
+            byte tag = file.get();
+            if (tag == JournalFormat.SNAPSHOT) {
+                file.position(file.position() + Long.BYTES + Integer.BYTES);
+                file.position(file.getInt() + file.position());
+                continue;
+            }
+            int count = file.getInt();
+            for (int i = 0; i < count; i += JournalFormat.MOVES_PER_BYTE) {
+                int packed = file.get();
+                int end = Math.min(count - i, JournalFormat.MOVES_PER_BYTE);
+                for (int k = 0; k < end; k++) {
+                    int before = game.getGooseIndex();
+                    game.moveGoose(DIRECTIONS[packed >>> (k * 2) & 3]);
+                    if (game.getGooseIndex() == before) {
+                        throw new IllegalArgumentException("Journal does not match the maze at "
+                                + "move " + (moves + replayed + i + k));
+                    }
+                }
+            }
+            replayed += count;
+        }
+        return new Replay(moves + replayed, replayed, validLength);
+    }
+
+    /**
+     * Moves past a block, checking it is complete.
+     *
+     * @param file The journal positioned just after the tag of the block.
+     * @param tag The tag of the block.
+     * @return True if the block is complete, false if the journal ends inside it.
+     * @throws IOException If the block has an unknown tag or the journal can not be read.
+     */
+    private static boolean skipBlock(Window file, byte tag) throws IOException {
+        try {
+            long length;
+            if (tag == JournalFormat.MOVES) {
+                length = ((long) file.getInt() + JournalFormat.MOVES_PER_BYTE - 1)
+                        / JournalFormat.MOVES_PER_BYTE;
+            } else if (tag == JournalFormat.SNAPSHOT) {
+                file.position(file.position() + Long.BYTES + Integer.BYTES);
+                length = file.getInt();
+            } else {
+                throw new IOException("Unknown block in move journal: " + tag);
+            }
+            if (length < 0 || length > file.remaining()) {
+                return false;
+            }
+            file.position(file.position() + length);
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads an unsigned variable length integer written by {@link MoveJournal}.
+     *
+     * @param buffer The journal to read from.
+     * @return The value.
+     * @throws IOException If the journal can not be read.
+     */
+    private static int getVarInt(Window buffer) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * The Window class reads a journal sequentially through a buffer refilled from the file, and
+     * keeps positions as longs so journals larger than a mapped buffer can be read. Reads past
+     * the end of the journal throw {@link BufferUnderflowException} like a ByteBuffer does.
+     */
+    private static final class Window {
+        /**
+         * The journal file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Size of the journal in bytes.
+         */
+        private final long size;
+
+        /**
+         * The bytes of the journal starting at {@link #windowStart}.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Position in the journal of the first byte of the buffer.
+         */
+        private long windowStart;
+
+        /**
+         * Constructs a Window at the start of a journal.
+         *
+         * @param channel The journal file.
+         * @param windowBytes The number of bytes read at a time.
+         * @throws IOException If the size of the journal can not be read.
+         */
+        Window(FileChannel channel, int windowBytes) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.buffer = ByteBuffer.allocateDirect(windowBytes).limit(0);
+        }
+
+        /**
+         * Retrieves the position of the next byte read.
+         *
+         * @return The position in the journal.
+         * @pure
+         */
+        long position() {
+            return windowStart + buffer.position();
+        }
+
+        /**
+         * Moves to a position, reading it again from the file only if it is outside the buffer.
+         *
+         * @param position The position in the journal.
+         * @require position >= 0
+         */
+        void position(long position) {
+            if (position >= windowStart && position <= windowStart + buffer.limit()) {
+                buffer.position((int) (position - windowStart));
+            } else {
+                windowStart = position;
+                buffer.limit(0);
+            }
+        }
+
+        /**
+         * Retrieves the number of bytes left in the journal.
+         *
+         * @return The number of bytes after the position.
+         * @pure
+         */
+        long remaining() {
+            return size - position();
+        }
+
+        /**
+         * Makes sure the buffer holds the next bytes, refilling it from the position.
+         *
+         * @param bytes The number of bytes about to be read.
+         * @throws IOException If the journal can not be read.
+         * @throws BufferUnderflowException If the journal ends before these bytes.
+         */
+        private void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            windowStart = position();
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer, windowStart + buffer.position());
+            } while (read > 0 && buffer.hasRemaining());
+            buffer.flip();
+            if (buffer.remaining() < bytes) {
+                throw new BufferUnderflowException();
+            }
+        }
+
+        /**
+         * Reads the next byte.
+         *
+         * @return The byte.
+         * @throws IOException If the journal can not be read.
+         */
+        byte get() throws IOException {
+            require(Byte.BYTES);
+            return buffer.get();
+        }
+
+        /**
+         * Reads the next short.
+         *
+         * @return The short.
+         * @throws IOException If the journal can not be read.
+         */
+        short getShort() throws IOException {
+            require(Short.BYTES);
+            return buffer.getShort();
+        }
+
+        /**
+         * Reads the next int.
+         *
+         * @return The int.
+         * @throws IOException If the journal can not be read.
+         */
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        /**
+         * Reads the next long.
+         *
+         * @return The long.
+         * @throws IOException If the journal can not be read.
+         */
+        long getLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+    }
+
+    /**
+     * The Replay class holds the outcome of replaying or restoring a journal.
+     */
+    public static final class Replay {
+        /**
+         * Number of journaled moves the game now reflects, and how many were re-applied.
+         */
+        private final long moves, replayedMoves;
+
+        /**
+         * Length of the journal up to the end of its last complete block.
+         */
+        private final long validLength;
+
+        private Replay(long moves, long replayedMoves, long validLength) {
+            this.moves = moves;
+            this.replayedMoves = replayedMoves;
+            this.validLength = validLength;
+        }
+
+        /**
+         * Retrieves the number of journaled moves the game now reflects.
+         *
+         * @return The number of moves up to the end of the journal.
+         * @pure
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Retrieves the number of moves that were re-applied after the snapshot.
+         *
+         * @return The number of replayed moves.
+         * @pure
+         */
+        public long getReplayedMoves() {
+            return replayedMoves;
+        }
+
+        /**
+         * Retrieves the length of the journal up to the end of its last complete block.
+         *
+         * @return The valid length in bytes.
+         * @pure
+         */
+        public long getValidLength() {
+            return validLength;
+        }
+    }
+}
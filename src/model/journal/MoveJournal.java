@@ -0,0 +1,306 @@
+package model.journal;
+
+import model.GameListener;
+import model.Maze;
+import model.MazeGame;
+import model.VisitStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The MoveJournal class appends every move of a game to a journal file, packing each move into
+ * 2 bits. Moves are batched in memory and written as blocks through a buffered channel. Every
+ * {@code snapshotInterval} moves a snapshot of the goose cell and the visit counts is written,
+ * so {@link JournalReplayer#restore} can restart a long game from its last snapshot instead of
+ * from its first move. The journal registers itself as a listener of the game it records.
+ */
+public class MoveJournal implements GameListener, Closeable {
+    /**
+     * Default number of moves between two snapshots.
+     */
+    public static final long DEFAULT_SNAPSHOT_INTERVAL = 1 << 20;
+
+    /**
+     * Maximum number of moves in a single block.
+     */
+    private static final int BLOCK_MOVES = 1 << 18;
+
+    /**
+     * Size of the channel write buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The game being recorded.
+     */
+    private final MazeGame game;
+
+    /**
+     * Number of columns of the maze, to turn cell changes back into directions.
+     */
+    private final int cols;
+
+    /**
+     * Number of moves between two snapshots.
+     */
+    private final long snapshotInterval;
+
+    /**
+     * The channel of the journal file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Buffer of bytes waiting to be written to the channel.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Packed moves of the current block.
+     */
+    private final byte[] block = new byte[BLOCK_MOVES / JournalFormat.MOVES_PER_BYTE];
+
+    /**
+     * Number of moves in the current block.
+     */
+    private int blockMoves;
+
+    /**
+     * Number of moves journaled, including those of earlier sessions when appending.
+     */
+    private long moves;
+
+    /**
+     * Constructs a MoveJournal writing a new journal file, replacing any existing one.
+     *
+     * @param game The game to record, its current state is written as the first snapshot.
+     * @param file The journal file.
+     * @param snapshotInterval The number of moves between two snapshots.
+     * @throws IOException If the file can not be written.
+     * @require snapshotInterval > 0
+     */
+    public MoveJournal(MazeGame game, Path file, long snapshotInterval) throws IOException {
+        this(game, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), snapshotInterval, 0);
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE)
+                .putInt(JournalFormat.MAGIC).putShort(JournalFormat.VERSION).putShort((short) 0)
+                .putInt(game.getMaze().getRows()).putInt(game.getMaze().getCols()).flip();
+        write(header);
+        // Replays start from the state of the game when the journal was opened
+        writeSnapshot();
+    }
+
+    /**
+     * Constructs a MoveJournal continuing an existing journal, after the game was restored
+     * from it by {@link JournalReplayer#restore}.
+     *
+     * @param game The restored game.
+     * @param file The journal file it was restored from.
+     * @param snapshotInterval The number of moves between two snapshots.
+     * @param replay The outcome of restoring the game.
+     * @throws IOException If the file can not be written.
+     */
+    public MoveJournal(MazeGame game, Path file, long snapshotInterval,
+                       JournalReplayer.Replay replay) throws IOException {
+        this(game, FileChannel.open(file, StandardOpenOption.WRITE), snapshotInterval,
+                replay.getMoves());
+        // Drops a block cut short by a crash so the new blocks follow the last complete one
+        channel.truncate(replay.getValidLength());
+        channel.position(replay.getValidLength());
+    }
+
+    private MoveJournal(MazeGame game, FileChannel channel, long snapshotInterval, long moves) {
+        this.game = game;
+        this.cols = game.getMaze().getCols();
+        this.snapshotInterval = snapshotInterval;
+        this.channel = channel;
+        this.moves = moves;
+        game.addListener(this);
+    }
+
+    /**
+     * Journals a move of the goose.
+     *
+     * @throws UncheckedIOException If the journal can not be written.
+     */
+    @Override
+    public void gooseMoved(int fromIndex, int toIndex) {
+        int delta = toIndex - fromIndex;
+        int code;
+        if (delta == -cols) {
+            code = 0;
+        } else if (delta == -1) {
+            code = 1;
+        } else if (delta == cols) {
+            code = 2;
+        } else {
+            code = 3;
+        }
+        block[blockMoves >>> 2] |= (byte) (code << ((blockMoves & 3) * 2));
+        blockMoves++;
+        moves++;
+        try {
+            if (moves % snapshotInterval == 0) {
+                writeSnapshot();
+            } else if (blockMoves == BLOCK_MOVES) {
+                writeBlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the move journal", e);
+        }
+    }
+
+    /**
+     * Retrieves the number of moves journaled.
+     *
+     * @return The number of moves, including those of earlier sessions when appending.
+     * @pure
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Writes the pending moves to the file.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    public void flush() throws IOException {
+        writeBlock();
+        drain();
+    }
+
+    /**
+     * Writes the pending moves and closes the file.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the pending moves as a block.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    private void writeBlock() throws IOException {
+        if (blockMoves == 0) {
+            return;
+        }
+        int bytes = (blockMoves + JournalFormat.MOVES_PER_BYTE - 1) / JournalFormat.MOVES_PER_BYTE;
+        reserve(1 + JournalFormat.MOVES_HEADER);
+        buffer.put(JournalFormat.MOVES).putInt(blockMoves);
+        for (int offset = 0; offset < bytes; ) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(bytes - offset, buffer.remaining());
+            buffer.put(block, offset, length);
+            offset += length;
+        }
+        Arrays.fill(block, 0, bytes, (byte) 0);
+        blockMoves = 0;
+    }
+
+    /**
+     * Writes the pending moves followed by a snapshot of the game.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    private void writeSnapshot() throws IOException {
+        writeBlock();
+        Maze maze = game.getMaze();
+        VisitStore visits = maze.getVisits();
+        int cells = maze.getRows() * maze.getCols();
+
+        ByteBuffer payload = ByteBuffer.allocate(BUFFER_SIZE);
+        int previous = 0;
+        for (int index = 0; index < cells; index++) {
+            int count = visits.get(index);
+            if (count != 0) {
+                if (payload.remaining() < 10) {
+                    payload = ByteBuffer.allocate(payload.capacity() * 2).put(payload.flip());
+                }
+                putVarInt(payload, index - previous);
+                putVarInt(payload, count);
+                previous = index;
+            }
+        }
+        payload.flip();
+
+        reserve(1 + JournalFormat.SNAPSHOT_HEADER);
+        buffer.put(JournalFormat.SNAPSHOT).putLong(moves).putInt(game.getGooseIndex())
+                .putInt(payload.remaining());
+        while (payload.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(payload.remaining(), buffer.remaining());
+            buffer.put(payload.slice(payload.position(), length));
+            payload.position(payload.position() + length);
+        }
+        drain();
+    }
+
+    /**
+     * Makes sure the buffer has room for the given number of bytes.
+     *
+     * @param bytes The number of bytes about to be put.
+     * @throws IOException If the buffer had to be written and could not be.
+     */
+    private void reserve(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the file.
+     *
+     * @throws IOException If the file can not be written.
+     */
+    private void drain() throws IOException {
+        write(buffer.flip());
+        buffer.clear();
+    }
+
+    /**
+     * Writes every remaining byte of a buffer to the file.
+     *
+     * @param bytes The bytes to write.
+     * @throws IOException If the file can not be written.
+     */
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Puts an unsigned variable length integer, 7 bits per byte with the high bit set on all
+     * but the last byte.
+     *
+     * @param buffer The buffer to put into.
+     * @param value The value, treated as unsigned.
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+}
@@ -0,0 +1,53 @@
+package model.simulation;
+
+import model.Grid;
+
+/**
+ * The SimulationJob class describes one headless game: the layout to play on and the script of
+ * moves to apply. Layouts are only read, so many jobs can share the same grid.
+ */
+public final class SimulationJob {
+
+    /**
+     * The layout the game is played on.
+     */
+    private final Grid layout;
+
+    /**
+     * Moves to apply, one 'w', 'a', 's' or 'd' key per move.
+     */
+    private final String moves;
+
+    /**
+     * Constructs a SimulationJob.
+     *
+     * @param layout The grid storing the maze layout, shared between jobs.
+     * @param moves The move script, one direction key per move. Any other character counts as
+     *              a move without a direction.
+     * @require layout != null && moves != null
+     */
+    public SimulationJob(Grid layout, String moves) {
+        this.layout = layout;
+        this.moves = moves;
+    }
+
+    /**
+     * Retrieves the layout the game is played on.
+     *
+     * @return The grid of the game.
+     * @pure
+     */
+    public Grid getLayout() {
+        return layout;
+    }
+
+    /**
+     * Retrieves the move script.
+     *
+     * @return The moves to apply, one key per move.
+     * @pure
+     */
+    public String getMoves() {
+        return moves;
+    }
+}
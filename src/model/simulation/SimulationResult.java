@@ -0,0 +1,87 @@
+package model.simulation;
+
+/**
+ * The SimulationResult class holds the outcome of one headless game.
+ */
+public final class SimulationResult {
+
+    /**
+     * Number of moves taken from the script, and how many of them were rejected.
+     */
+    private final int movesApplied, invalidMoves;
+
+    /**
+     * Number of moves applied when the exit was reached, -1 if it never was.
+     */
+    private final int movesToExit;
+
+    /**
+     * Flat index of the goose when the game stopped.
+     */
+    private final int finalIndex;
+
+    /**
+     * Constructs a SimulationResult.
+     *
+     * @param movesApplied The number of moves taken from the script.
+     * @param invalidMoves The number of those moves that were rejected.
+     * @param movesToExit The number of moves applied when the exit was reached, or -1.
+     * @param finalIndex The flat index of the goose when the game stopped.
+     */
+    public SimulationResult(int movesApplied, int invalidMoves, int movesToExit, int finalIndex) {
+        this.movesApplied = movesApplied;
+        this.invalidMoves = invalidMoves;
+        this.movesToExit = movesToExit;
+        this.finalIndex = finalIndex;
+    }
+
+    /**
+     * Retrieves the number of moves taken from the script.
+     *
+     * @return The number of applied moves.
+     * @pure
+     */
+    public int getMovesApplied() {
+        return movesApplied;
+    }
+
+    /**
+     * Retrieves the number of moves that were rejected.
+     *
+     * @return The number of invalid moves.
+     * @pure
+     */
+    public int getInvalidMoves() {
+        return invalidMoves;
+    }
+
+    /**
+     * Checks if the goose reached an exit.
+     *
+     * @return True if the game ended on an exit.
+     * @pure
+     */
+    public boolean isExitReached() {
+        return movesToExit >= 0;
+    }
+
+    /**
+     * Retrieves the number of moves applied when the exit was reached.
+     *
+     * @return The number of moves to the exit, -1 if it was never reached.
+     * @pure
+     */
+    public int getMovesToExit() {
+        return movesToExit;
+    }
+
+    /**
+     * Retrieves where the goose was when the game stopped.
+     *
+     * @return The flat index of the goose's final cell.
+     * @pure
+     */
+    public int getFinalIndex() {
+        return finalIndex;
+    }
+}
@@ -0,0 +1,241 @@
+package model.simulation;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.CharGrid;
+import model.Direction;
+import model.GameListener;
+import model.Grid;
+import model.Maze;
+import model.MazeGame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The SimulationRunner class plays many MazeGame instances without any display, spreading them
+ * over a fixed thread pool. Independent games own their own state and only share layouts, while
+ * geese run through {@link #runShared} share one maze and its visit counts.
+ */
+public class SimulationRunner implements AutoCloseable {
+
+    /**
+     * The pool the games are played on.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Number of threads of the pool.
+     */
+    private final int threads;
+
+    /**
+     * Constructs a SimulationRunner with one thread per available processor.
+     */
+    public SimulationRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a SimulationRunner with the given number of threads.
+     *
+     * @param threads The number of games played at the same time.
+     * @require threads > 0
+     */
+    public SimulationRunner(int threads) {
+        this.threads = threads;
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "maze-simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Plays every job and waits for all of them to finish.
+     *
+     * @param jobs The games to play.
+     * @return The result of every job, in the same order as the jobs.
+     * @throws NoSuchElementException If a layout has no start position.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     * @require jobs != null
+     */
+    public List<SimulationResult> run(List<SimulationJob> jobs)
+            throws NoSuchElementException, InterruptedException {
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(jobs.size());
+        for (SimulationJob job : jobs) {
+            tasks.add(() -> simulate(job));
+        }
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Moves one goose per script through a single shared maze and waits for all of them to
+     * finish. Every goose keeps its own position, the visits of all of them are counted in the
+     * maze, which can be read while the geese move.
+     *
+     * @param maze The shared maze, created by {@link Maze#shared} for this runner.
+     * @param scripts The move scripts, one goose per script.
+     * @return The result of every goose, in the same order as the scripts.
+     * @throws NoSuchElementException If the layout has no start position.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     * @require maze != null && scripts != null
+     */
+    public List<SimulationResult> runShared(Maze maze, List<String> scripts)
+            throws NoSuchElementException, InterruptedException {
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(scripts.size());
+        for (String script : scripts) {
+            tasks.add(() -> play(new MazeGame(maze), script));
+        }
+        return invokeAll(tasks);
+    }
+
+    /**
+     * Retrieves the number of threads of the runner.
+     *
+     * @return The number of games played at the same time.
+     * @pure
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Runs the tasks on the pool and collects their results.
+     *
+     * @param tasks The games to play.
+     * @return The result of every task, in the same order as the tasks.
+     * @throws NoSuchElementException If a layout has no start position.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    private List<SimulationResult> invokeAll(List<Callable<SimulationResult>> tasks)
+            throws NoSuchElementException, InterruptedException {
+        List<SimulationResult> results = new ArrayList<>(tasks.size());
+        for (Future<SimulationResult> future : executor.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof NoSuchElementException missingStart) {
+                    throw missingStart;
+                }
+                throw new IllegalStateException("Simulation failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Plays a single job on the calling thread, stopping at the end of the script or when the
+     * goose reaches an exit.
+     *
+     * @param job The game to play.
+     * @return The outcome of the game.
+     * @throws NoSuchElementException If the layout has no start position.
+     */
+    public static SimulationResult simulate(SimulationJob job) throws NoSuchElementException {
+        return play(new MazeGame(job.getLayout()), job.getMoves());
+    }
+
+    /**
+     * Plays a move script on a game, stopping at the end of the script or when the goose
+     * reaches an exit.
+     *
+     * @param game The game to play.
+     * @param moves The move script.
+     * @return The outcome of the game.
+     */
+    private static SimulationResult play(MazeGame game, String moves) {
+        InvalidMoveCounter counter = new InvalidMoveCounter();
+        game.addListener(counter);
+
+        int applied = 0;
+        while (applied < moves.length() && !game.isGameOver()) {
+            game.moveGoose(Direction.fromKey(moves.charAt(applied++)));
+        }
+        int movesToExit = game.isGameOver() ? applied : -1;
+        return new SimulationResult(applied, counter.invalidMoves, movesToExit,
+                game.getGooseIndex());
+    }
+
+    /**
+     * Stops the threads of the runner once the running jobs are done.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Plays every move script of a file against one maze and prints a summary.
+     *
+     * @param args The maze file, a file with one move script per line, optionally the number of
+     *             threads, and optionally --shared to move every goose through one maze.
+     * @throws IOException If the script file can not be read.
+     * @throws MazeMalformedException If the maze is malformed.
+     * @throws MazeSizeMissmatchException If the maze dimensions do not match its header.
+     * @throws NoSuchElementException If the maze has no start position.
+     * @throws InterruptedException If the simulation is interrupted.
+     */
+    public static void main(String[] args) throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException, NoSuchElementException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: SimulationRunner <maze file> <script file> [threads] "
+                    + "[--shared]");
+            return;
+        }
+        Grid layout = new CharGrid(new FileLoader().load(args[0]));
+        List<String> scripts = Files.readAllLines(Path.of(args[1]));
+        boolean shared = args[args.length - 1].equals("--shared");
+        int threads = args.length > (shared ? 3 : 2) ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+
+        try (SimulationRunner runner = new SimulationRunner(threads)) {
+            long started = System.nanoTime();
+            List<SimulationResult> results;
+            if (shared) {
+                results = runner.runShared(Maze.shared(layout, threads), scripts);
+            } else {
+                List<SimulationJob> jobs = new ArrayList<>(scripts.size());
+                for (String script : scripts) {
+                    jobs.add(new SimulationJob(layout, script));
+                }
+                results = runner.run(jobs);
+            }
+            long elapsed = System.nanoTime() - started;
+
+            long moves = 0;
+            int exits = 0;
+            for (SimulationResult result : results) {
+                moves += result.getMovesApplied();
+                exits += result.isExitReached() ? 1 : 0;
+            }
+            System.out.printf("%d games, %d moves, %d exits reached, %.0f moves/s%n",
+                    results.size(), moves, exits, moves / (elapsed / 1e9));
+        }
+    }
+
+    /**
+     * The InvalidMoveCounter class counts the moves a game rejects.
+     */
+    private static final class InvalidMoveCounter implements GameListener {
+        /**
+         * Number of rejected moves.
+         */
+        private int invalidMoves;
+
+        @Override
+        public void invalidMove(Direction direction) {
+            invalidMoves++;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package model.solver;
+
+import java.util.Arrays;
+
+/**
+ * The AStarSolver class solves mazes with an A* search guided by the Manhattan distance to the
+ * closest exit, which never overestimates on a grid of four directional moves.
+ */
+public class AStarSolver extends AbstractSolver {
+
+    /**
+     * Open list of cells ordered by estimated route length.
+     */
+    private final IntMinHeap open = new IntMinHeap(1024);
+
+    /**
+     * Cost of the best known route from the start to every cell.
+     */
+    private int[] cost = new int[0];
+
+    @Override
+    SolveResult search(int start) {
+        int cells = rows * cols;
+        if (cost.length < cells) {
+            cost = new int[cells];
+        }
+        Arrays.fill(cost, 0, cells, Integer.MAX_VALUE);
+
+        int expanded = 0;
+        open.clear();
+        cost[start] = 0;
+        parent[start] = start;
+        open.add(start, distanceToExit(start));
+
+        while (!open.isEmpty()) {
+            int estimate = open.peekPriority();
+            int cell = open.poll();
+            // skip entries left behind after a cheaper route to the cell was found
+            if (estimate != cost[cell] + distanceToExit(cell)) {
+                continue;
+            }
+            expanded++;
+            if (isExit(cell)) {
+                return new SolveResult(buildPath(start, cell), expanded);
+            }
+            int newCost = cost[cell] + 1;
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = step(cell, direction);
+                if (neighbour != NONE && newCost < cost[neighbour]) {
+                    cost[neighbour] = newCost;
+                    parent[neighbour] = cell;
+                    open.add(neighbour, newCost + distanceToExit(neighbour));
+                }
+            }
+        }
+        return new SolveResult(new int[0], expanded);
+    }
+}
@@ -0,0 +1,137 @@
+package model.solver;
+
+import exceptions.NoSuchElementException;
+import model.Grid;
+import model.Maze;
+import model.MazeMetadata;
+import model.Position;
+
+import java.util.Arrays;
+
+/**
+ * The AbstractSolver class holds the state shared by the grid searches: the grid being solved,
+ * a reusable parent array indexed by flat cell index and the metadata holding the exit cells.
+ */
+abstract class AbstractSolver implements MazeSolver {
+
+    /**
+     * Marker for a missing cell, such as an unvisited parent or a blocked neighbour.
+     */
+    static final int NONE = -1;
+
+    /**
+     * Row and column offsets of the four moves, in {@link model.Direction} order.
+     */
+    static final int[] ROW_STEP = {-1, 0, 1, 0}, COL_STEP = {0, -1, 0, 1};
+
+    /**
+     * The grid of the maze currently being solved.
+     */
+    Grid grid;
+
+    /**
+     * Dimensions of the grid currently being solved.
+     */
+    int rows, cols;
+
+    /**
+     * Parent cell of every reached cell, {@link #NONE} for cells not reached yet.
+     */
+    int[] parent = new int[0];
+
+    /**
+     * Start and exit cells of the maze currently being solved.
+     */
+    MazeMetadata metadata;
+
+    @Override
+    public SolveResult solve(Maze maze) throws NoSuchElementException {
+        grid = maze.getGrid();
+        rows = grid.getRows();
+        cols = grid.getCols();
+        int cells = rows * cols;
+        if (parent.length < cells) {
+            parent = new int[cells];
+        }
+        Arrays.fill(parent, 0, cells, NONE);
+        metadata = grid.getMetadata();
+
+        Position start = maze.findStartPosition();
+        return search(start.getRow() * cols + start.getCol());
+    }
+
+    /**
+     * Runs the search from the start cell once the shared state has been prepared.
+     *
+     * @param start The flat index of the start cell.
+     * @return The route found by the search.
+     */
+    abstract SolveResult search(int start);
+
+    /**
+     * Moves one cell from the given cell in the given direction.
+     *
+     * @param cell The flat index of the cell.
+     * @param direction The direction to move in, in {@link model.Direction} order.
+     * @return The flat index of the neighbour, or {@link #NONE} if it is outside or a wall.
+     */
+    final int step(int cell, int direction) {
+        int col = cell % cols;
+        int row = cell / cols;
+        int newRow = row + ROW_STEP[direction];
+        int newCol = col + COL_STEP[direction];
+        if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols) {
+            return NONE;
+        }
+        int neighbour = cell + ROW_STEP[direction] * cols + COL_STEP[direction];
+        return grid.isOpen(neighbour) ? neighbour : NONE;
+    }
+
+    /**
+     * Checks if a cell is an exit.
+     *
+     * @param cell The flat index of the cell.
+     * @return True if the cell is an 'E' cell.
+     */
+    final boolean isExit(int cell) {
+        return metadata.isExit(cell);
+    }
+
+    /**
+     * Computes the Manhattan distance from a cell to the closest exit.
+     *
+     * @param cell The flat index of the cell.
+     * @return The distance to the closest exit, 0 if there are no exits.
+     */
+    final int distanceToExit(int cell) {
+        int row = cell / cols;
+        int col = cell % cols;
+        int exitCount = metadata.getExitCount();
+        int best = exitCount == 0 ? 0 : Integer.MAX_VALUE;
+        for (int i = 0; i < exitCount; i++) {
+            int exit = metadata.getExit(i);
+            int distance = Math.abs(exit / cols - row) + Math.abs(exit % cols - col);
+            best = Math.min(best, distance);
+        }
+        return best;
+    }
+
+    /**
+     * Follows the parent array back from the end cell, expecting neighbouring parents.
+     *
+     * @param start The flat index of the start cell.
+     * @param end The flat index of the exit cell that was reached.
+     * @return The route from the start cell to the end cell.
+     */
+    final int[] buildPath(int start, int end) {
+        int length = 1;
+        for (int cell = end; cell != start; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = end, i = length - 1; i >= 0; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,37 @@
+package model.solver;
+
+/**
+ * The BfsSolver class solves mazes with a breadth first search, which expands every cell closer
+ * to the start than the nearest exit and always finds a shortest route.
+ */
+public class BfsSolver extends AbstractSolver {
+
+    /**
+     * Queue of cells waiting to be expanded.
+     */
+    private final IntRingBuffer queue = new IntRingBuffer(1024);
+
+    @Override
+    SolveResult search(int start) {
+        int expanded = 0;
+        queue.clear();
+        queue.add(start);
+        parent[start] = start;
+
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            expanded++;
+            if (isExit(cell)) {
+                return new SolveResult(buildPath(start, cell), expanded);
+            }
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbour = step(cell, direction);
+                if (neighbour != NONE && parent[neighbour] == NONE) {
+                    parent[neighbour] = cell;
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return new SolveResult(new int[0], expanded);
+    }
+}
@@ -0,0 +1,120 @@
+package model.solver;
+
+import model.Grid;
+import model.Maze;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The DistanceField class holds the number of moves from every cell of a maze to its closest
+ * exit. It is computed once per layout by a breadth first flood fill from every 'E' cell, after
+ * which the distance of any cell can be read in constant time.
+ */
+public final class DistanceField {
+
+    /**
+     * Distance of cells that are walls or can not reach an exit.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * Number of columns in the maze, used to convert rows and columns to flat indices.
+     */
+    private final int cols;
+
+    /**
+     * Distance to the closest exit of every cell, indexed by flat cell index.
+     */
+    private final int[] distances;
+
+    /**
+     * Constructs a DistanceField from computed distances.
+     *
+     * @param cols The number of columns in the maze.
+     * @param distances The distance of every cell, {@link #UNREACHABLE} for unreachable cells.
+     */
+    DistanceField(int cols, int[] distances) {
+        this.cols = cols;
+        this.distances = distances;
+    }
+
+    /**
+     * Computes the distance field of a maze on the common fork-join pool.
+     *
+     * @param maze The maze to compute distances for.
+     * @return The distance field of the maze.
+     * @require maze != null
+     */
+    public static DistanceField compute(Maze maze) {
+        return compute(maze.getGrid(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the distance field of a grid on the given fork-join pool. Large frontiers are
+     * expanded in parallel, small ones on the calling thread.
+     *
+     * @param grid The grid storing the maze layout.
+     * @param pool The pool to expand large frontiers on.
+     * @return The distance field of the grid.
+     * @require grid != null && pool != null
+     */
+    public static DistanceField compute(Grid grid, ForkJoinPool pool) {
+        int[] seeds = grid.getMetadata().getExits();
+        int[] distances = new ParallelFloodFill(grid, pool).fill(seeds, seeds.length);
+        return new DistanceField(grid.getCols(), distances);
+    }
+
+    /**
+     * Retrieves the distance from a cell to its closest exit.
+     *
+     * @param index The flat index of the cell.
+     * @return The number of moves to the closest exit, or {@link #UNREACHABLE}.
+     * @pure
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Retrieves the distance from a cell to its closest exit.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of moves to the closest exit, or {@link #UNREACHABLE}.
+     * @pure
+     */
+    public int getDistance(int row, int col) {
+        return distances[row * cols + col];
+    }
+
+    /**
+     * Checks if an exit can be reached from a cell.
+     *
+     * @param index The flat index of the cell.
+     * @return True if the cell is open and connected to an exit.
+     * @pure
+     */
+    public boolean isReachable(int index) {
+        return distances[index] != UNREACHABLE;
+    }
+
+    /**
+     * Retrieves the number of columns of the maze the field was computed for.
+     *
+     * @return The number of columns.
+     * @pure
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Retrieves the number of cells covered by the field.
+     *
+     * @return The number of cells.
+     * @pure
+     */
+    public int size() {
+        return distances.length;
+    }
+}
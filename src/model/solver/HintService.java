@@ -0,0 +1,115 @@
+package model.solver;
+
+import model.Direction;
+import model.Grid;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The HintService class tells players and bots which way leads to the closest exit and how many
+ * moves are left. It reads a {@link DistanceField} computed by one flood fill when the layout is
+ * first asked for hints, and one service is shared by every game played on that layout. Each
+ * lookup reads at most five distances and does not allocate, so it can be called on the move
+ * hot path.
+ */
+public final class HintService {
+
+    /**
+     * Services of the layouts asked for hints, released once a layout is no longer used.
+     */
+    private static final LayoutCache<HintService> SERVICES = new LayoutCache<>(layout ->
+            new HintService(DistanceField.compute(layout, ForkJoinPool.commonPool())));
+
+    /**
+     * Directions tried for the best move, in a fixed order.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Distances of every cell to its closest exit.
+     */
+    private final DistanceField field;
+
+    /**
+     * Number of columns and of cells in the maze.
+     */
+    private final int cols, cells;
+
+    /**
+     * Flat index offset of every direction, indexed by its ordinal.
+     */
+    private final int[] offsets = new int[DIRECTIONS.length];
+
+    /**
+     * Constructs a HintService over a distance field.
+     *
+     * @param field The distances of every cell to its closest exit.
+     */
+    HintService(DistanceField field) {
+        this.field = field;
+        this.cols = field.getCols();
+        this.cells = field.size();
+        for (Direction direction : DIRECTIONS) {
+            offsets[direction.ordinal()] = direction.getRowDelta() * cols
+                    + direction.getColDelta();
+        }
+    }
+
+    /**
+     * Retrieves the hint service of a layout, computing its distance field on the first call.
+     * The service must not be used after the layout changes.
+     *
+     * @param grid The layout of the maze.
+     * @return The service shared by every game on the layout.
+     * @require grid != null
+     */
+    public static HintService forLayout(Grid grid) {
+        return SERVICES.get(grid);
+    }
+
+    /**
+     * Retrieves the number of moves left to the closest exit.
+     *
+     * @param index The flat index of the cell.
+     * @return The number of moves, or {@link DistanceField#UNREACHABLE} for walls and cells
+     *         that can not reach an exit.
+     * @pure
+     */
+    public int getMovesRemaining(int index) {
+        return field.getDistance(index);
+    }
+
+    /**
+     * Finds the move that brings the goose one step closer to the closest exit.
+     *
+     * @param index The flat index of the cell of the goose.
+     * @return The direction to move in, or null on an exit or a cell that can not reach one.
+     * @pure
+     */
+    public Direction getBestMove(int index) {
+        int distance = field.getDistance(index);
+        if (distance <= 0) {
+            return null;
+        }
+        int col = index % cols;
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = index + offsets[direction.ordinal()];
+            int neighbourCol = col + direction.getColDelta();
+            if (neighbour >= 0 && neighbour < cells && neighbourCol >= 0 && neighbourCol < cols
+                    && field.getDistance(neighbour) == distance - 1) {
+                return direction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the distance field the hints are read from.
+     *
+     * @return The distance field of the layout.
+     * @pure
+     */
+    public DistanceField getDistanceField() {
+        return field;
+    }
+}
@@ -0,0 +1,113 @@
+package model.solver;
+
+import java.util.Arrays;
+
+/**
+ * The IntMinHeap class is a binary min-heap of primitive int values ordered by int priorities.
+ * It is used as the open list of A* style searches without boxing any cells.
+ */
+public final class IntMinHeap {
+
+    /**
+     * Values and priorities of the heap, stored side by side.
+     */
+    private int[] values, priorities;
+
+    /**
+     * Number of entries in the heap.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty IntMinHeap.
+     *
+     * @param capacity The initial capacity.
+     * @require capacity > 0
+     */
+    public IntMinHeap(int capacity) {
+        values = new int[capacity];
+        priorities = new int[capacity];
+    }
+
+    /**
+     * Adds a value with the given priority.
+     *
+     * @param value The value to add.
+     * @param priority The priority of the value, lower priorities are polled first.
+     */
+    public void add(int value, int priority) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            values[i] = values[parent];
+            priorities[i] = priorities[parent];
+            i = parent;
+        }
+        values[i] = value;
+        priorities[i] = priority;
+    }
+
+    /**
+     * Retrieves the priority of the value at the top of the heap.
+     *
+     * @return The lowest priority in the heap.
+     * @require !isEmpty()
+     * @pure
+     */
+    public int peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the value with the lowest priority.
+     *
+     * @return The removed value.
+     * @require !isEmpty()
+     */
+    public int poll() {
+        int top = values[0];
+        int value = values[--size];
+        int priority = priorities[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            values[i] = values[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        values[i] = value;
+        priorities[i] = priority;
+        return top;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return True if the heap holds no values.
+     * @pure
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value, keeping the allocated arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
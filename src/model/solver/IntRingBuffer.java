@@ -0,0 +1,93 @@
+package model.solver;
+
+/**
+ * The IntRingBuffer class is a growable FIFO queue of primitive ints backed by a power of two
+ * sized ring, so queueing cells does not box or allocate once the buffer is large enough.
+ */
+public final class IntRingBuffer {
+
+    /**
+     * Ring storage, its length is always a power of two.
+     */
+    private int[] elements;
+
+    /**
+     * Index of the first element and the number of stored elements.
+     */
+    private int head, size;
+
+    /**
+     * Constructs an empty IntRingBuffer.
+     *
+     * @param capacity The initial capacity, rounded up to a power of two.
+     * @require capacity > 0
+     */
+    public IntRingBuffer(int capacity) {
+        elements = new int[Integer.highestOneBit(Math.max(1, capacity - 1)) << 1];
+    }
+
+    /**
+     * Adds a value at the tail of the queue.
+     *
+     * @param value The value to add.
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size++) & (elements.length - 1)] = value;
+    }
+
+    /**
+     * Removes the value at the head of the queue.
+     *
+     * @return The removed value.
+     * @require !isEmpty()
+     */
+    public int poll() {
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return True if the queue holds no values.
+     * @pure
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves the number of values in the queue.
+     *
+     * @return The number of values.
+     * @pure
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value, keeping the allocated ring.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Doubles the ring, unrolling the stored values to the start of the new array.
+     */
+    private void grow() {
+        int[] grown = new int[elements.length * 2];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package model.solver;
+
+import java.util.Arrays;
+
+/**
+ * The JumpPointSolver class solves mazes with Jump Point Search adapted to four directional
+ * moves. From every node the search jumps straight along a corridor until it reaches an exit or
+ * a cell with a side opening, so only junctions and turns enter the open list. Every cell
+ * skipped over can only be left straight ahead or straight back, which keeps routes shortest.
+ */
+public class JumpPointSolver extends AbstractSolver {
+
+    /**
+     * Open list of jump points ordered by estimated route length.
+     */
+    private final IntMinHeap open = new IntMinHeap(1024);
+
+    /**
+     * Cost of the best known route from the start to every jump point.
+     */
+    private int[] cost = new int[0];
+
+    /**
+     * Direction each jump point was last reached with, -1 for the start cell.
+     */
+    private byte[] arrival = new byte[0];
+
+    @Override
+    SolveResult search(int start) {
+        int cells = rows * cols;
+        if (cost.length < cells) {
+            cost = new int[cells];
+            arrival = new byte[cells];
+        }
+        Arrays.fill(cost, 0, cells, Integer.MAX_VALUE);
+
+        int expanded = 0;
+        open.clear();
+        cost[start] = 0;
+        parent[start] = start;
+        arrival[start] = -1;
+        open.add(start, distanceToExit(start));
+
+        while (!open.isEmpty()) {
+            int estimate = open.peekPriority();
+            int cell = open.poll();
+            // skip entries left behind after a cheaper route to the jump point was found
+            if (estimate != cost[cell] + distanceToExit(cell)) {
+                continue;
+            }
+            expanded++;
+            if (isExit(cell)) {
+                return new SolveResult(buildJumpPath(start, cell), expanded);
+            }
+            for (int direction = 0; direction < 4; direction++) {
+                // going straight back only retraces the corridor this jump point was reached by
+                if (arrival[cell] >= 0 && direction == (arrival[cell] + 2) % 4) {
+                    continue;
+                }
+                int distance = 0;
+                int next = cell;
+                while ((next = step(next, direction)) != NONE) {
+                    distance++;
+                    if (isExit(next) || hasSideOpening(next, direction)) {
+                        int newCost = cost[cell] + distance;
+                        if (newCost < cost[next]) {
+                            cost[next] = newCost;
+                            parent[next] = cell;
+                            arrival[next] = (byte) direction;
+                            open.add(next, newCost + distanceToExit(next));
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return new SolveResult(new int[0], expanded);
+    }
+
+    /**
+     * Checks if a cell can be left sideways when travelling in the given direction.
+     *
+     * @param cell The flat index of the cell.
+     * @param direction The direction of travel.
+     * @return True if either perpendicular neighbour is open.
+     */
+    private boolean hasSideOpening(int cell, int direction) {
+        return step(cell, (direction + 1) % 4) != NONE || step(cell, (direction + 3) % 4) != NONE;
+    }
+
+    /**
+     * Follows the jump point parents back from the end cell, filling in the corridor cells that
+     * were jumped over.
+     *
+     * @param start The flat index of the start cell.
+     * @param end The flat index of the exit cell that was reached.
+     * @return The route from the start cell to the end cell.
+     */
+    private int[] buildJumpPath(int start, int end) {
+        int[] path = new int[cost[end] + 1];
+        int i = path.length - 1;
+        int cell = end;
+        while (cell != start) {
+            int jumpParent = parent[cell];
+            int delta;
+            if (jumpParent / cols == cell / cols) {
+                delta = jumpParent > cell ? 1 : -1;
+            } else {
+                delta = jumpParent > cell ? cols : -cols;
+            }
+            for (; cell != jumpParent; cell += delta) {
+                path[i--] = cell;
+            }
+        }
+        path[i] = start;
+        return path;
+    }
+}
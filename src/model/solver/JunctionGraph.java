@@ -0,0 +1,440 @@
+package model.solver;
+
+import model.Grid;
+import model.MazeMetadata;
+
+import java.util.Arrays;
+
+/**
+ * The JunctionGraph class is a corridor compressed view of a maze. Its nodes are the open cells
+ * that do not have exactly two open neighbours, junctions and dead ends, plus the start and exit
+ * cells, and its edges are the corridors between them weighted by their length. In a generated
+ * maze most cells are corridor cells, so searches over the graph visit far fewer nodes than
+ * searches over the grid.
+ * <p>
+ * The graph is stored in compressed sparse row form: the edges leaving node {@code n} are the
+ * indices {@code getFirstEdge(n)} to {@code getFirstEdge(n + 1) - 1} of the target, weight and
+ * direction arrays. Every corridor appears once in each direction. Each corridor cell is mapped
+ * back to one of the two edges running through it and its offset along that edge, and every cell
+ * carries the connected component of its corridor, so reachability queries take constant time.
+ */
+public final class JunctionGraph {
+
+    /**
+     * Marker for a missing node or edge.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Graphs of the layouts already compressed, released once a layout is no longer used.
+     */
+    private static final LayoutCache<JunctionGraph> GRAPHS =
+            new LayoutCache<>(JunctionGraph::new);
+
+    /**
+     * Row and column offsets of the four moves, in {@link model.Direction} order.
+     */
+    private static final int[] ROW_STEP = {-1, 0, 1, 0}, COL_STEP = {0, -1, 0, 1};
+
+    /**
+     * Dimensions of the maze.
+     */
+    private final int rows, cols;
+
+    /**
+     * Flat cell index of every node.
+     */
+    private final int[] nodeCells;
+
+    /**
+     * Index of the first edge of every node, followed by the number of edges.
+     */
+    private final int[] firstEdges;
+
+    /**
+     * Target node and length of every edge.
+     */
+    private final int[] targets, weights;
+
+    /**
+     * First move direction of every edge, in {@link model.Direction} order.
+     */
+    private final byte[] directions;
+
+    /**
+     * Slot of every cell: {@code -2 - node} for node cells, the edge running through corridor
+     * cells, and {@link #NONE} for walls and corridors that do not lead to any node.
+     */
+    private final int[] cellSlots;
+
+    /**
+     * Offset of every corridor cell along the edge of its slot, 0 for other cells.
+     */
+    private final int[] cellOffsets;
+
+    /**
+     * Connected component of every node.
+     */
+    private final int[] components;
+
+    /**
+     * Node of the start cell, {@link #NONE} if the maze has no start.
+     */
+    private final int startNode;
+
+    /**
+     * Compresses a layout into its junction graph.
+     *
+     * @param grid The layout of the maze.
+     */
+    private JunctionGraph(Grid grid) {
+        rows = grid.getRows();
+        cols = grid.getCols();
+        int cells = rows * cols;
+        MazeMetadata metadata = grid.getMetadata();
+
+        // Finds the nodes
+        cellSlots = new int[cells];
+        cellOffsets = new int[cells];
+        Arrays.fill(cellSlots, NONE);
+        int[] nodes = new int[Math.max(16, cells >>> 4)];
+        int nodeCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (grid.isOpen(cell) && (openNeighbours(grid, cell) != 2
+                    || cell == metadata.getStart() || metadata.isExit(cell))) {
+                if (nodeCount == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, nodeCount * 2);
+                }
+                cellSlots[cell] = -2 - nodeCount;
+                nodes[nodeCount++] = cell;
+            }
+        }
+        nodeCells = Arrays.copyOf(nodes, nodeCount);
+        startNode = metadata.getStart() < 0 ? NONE : node(metadata.getStart());
+
+        // Walks every corridor leaving every node, in node order so the edges come out in rows
+        firstEdges = new int[nodeCount + 1];
+        int[] edgeTargets = new int[Math.max(16, nodeCount * 2)];
+        int[] edgeWeights = new int[edgeTargets.length];
+        byte[] edgeDirections = new byte[edgeTargets.length];
+        int edgeCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            firstEdges[node] = edgeCount;
+            int from = nodeCells[node];
+            for (int direction = 0; direction < 4; direction++) {
+                int previous = from;
+                int cell = step(grid, from, direction);
+                if (cell == NONE) {
+                    continue;
+                }
+                if (edgeCount == edgeTargets.length) {
+                    edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+                    edgeWeights = Arrays.copyOf(edgeWeights, edgeCount * 2);
+                    edgeDirections = Arrays.copyOf(edgeDirections, edgeCount * 2);
+                }
+                int length = 1;
+                while (cellSlots[cell] >= NONE) {
+                    // A corridor cell, the first walk through it records its edge and offset
+                    if (cellSlots[cell] == NONE) {
+                        cellSlots[cell] = edgeCount;
+                        cellOffsets[cell] = length;
+                    }
+                    int next = NONE;
+                    for (int d = 0; d < 4 && next == NONE; d++) {
+                        int neighbour = step(grid, cell, d);
+                        if (neighbour != previous) {
+                            next = neighbour;
+                        }
+                    }
+                    previous = cell;
+                    cell = next;
+                    length++;
+                }
+                edgeTargets[edgeCount] = -2 - cellSlots[cell];
+                edgeWeights[edgeCount] = length;
+                edgeDirections[edgeCount] = (byte) direction;
+                edgeCount++;
+            }
+        }
+        firstEdges[nodeCount] = edgeCount;
+        targets = Arrays.copyOf(edgeTargets, edgeCount);
+        weights = Arrays.copyOf(edgeWeights, edgeCount);
+        directions = Arrays.copyOf(edgeDirections, edgeCount);
+        components = label();
+    }
+
+    /**
+     * Retrieves the junction graph of a layout, compressing it on the first call. The graph must
+     * not be used after the layout changes.
+     *
+     * @param grid The layout of the maze.
+     * @return The graph shared by every search on the layout.
+     * @require grid != null
+     */
+    public static JunctionGraph forLayout(Grid grid) {
+        return GRAPHS.get(grid);
+    }
+
+    /**
+     * Retrieves the number of nodes.
+     *
+     * @return The number of junctions, dead ends, starts and exits.
+     * @pure
+     */
+    public int getNodeCount() {
+        return nodeCells.length;
+    }
+
+    /**
+     * Retrieves the number of edges, counting each corridor once in each direction.
+     *
+     * @return The number of edges.
+     * @pure
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Retrieves the node of the start cell.
+     *
+     * @return The start node, or {@link #NONE} if the maze has no start.
+     * @pure
+     */
+    public int getStartNode() {
+        return startNode;
+    }
+
+    /**
+     * Retrieves the cell of a node.
+     *
+     * @param node The node.
+     * @return The flat index of its cell.
+     * @pure
+     */
+    public int getNodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    /**
+     * Retrieves the first edge of a node, the edges of a node end at the first edge of the next.
+     *
+     * @param node The node, or the number of nodes for the end of the last row.
+     * @return The index of the first edge leaving the node.
+     * @pure
+     */
+    public int getFirstEdge(int node) {
+        return firstEdges[node];
+    }
+
+    /**
+     * Retrieves the node an edge leads to.
+     *
+     * @param edge The edge.
+     * @return The target node.
+     * @pure
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Retrieves the length of an edge.
+     *
+     * @param edge The edge.
+     * @return The number of moves along the corridor.
+     * @pure
+     */
+    public int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Retrieves the first move along an edge.
+     *
+     * @param edge The edge.
+     * @return The direction of the first move, in {@link model.Direction} order.
+     * @pure
+     */
+    public int getDirection(int edge) {
+        return directions[edge];
+    }
+
+    /**
+     * Retrieves the node of a cell.
+     *
+     * @param cell The flat index of the cell.
+     * @return The node of the cell, or {@link #NONE} if it is not a node.
+     * @pure
+     */
+    public int node(int cell) {
+        int slot = cellSlots[cell];
+        return slot < NONE ? -2 - slot : NONE;
+    }
+
+    /**
+     * Retrieves the edge running through a corridor cell.
+     *
+     * @param cell The flat index of the cell.
+     * @return One of the two edges through the cell, or {@link #NONE} if it is not a corridor
+     *         cell leading to a node.
+     * @pure
+     */
+    public int getEdge(int cell) {
+        return cellSlots[cell] > NONE ? cellSlots[cell] : NONE;
+    }
+
+    /**
+     * Retrieves the offset of a corridor cell along its edge.
+     *
+     * @param cell The flat index of the cell.
+     * @return The number of moves from the source node of {@link #getEdge(int)} to the cell.
+     * @pure
+     */
+    public int getEdgeOffset(int cell) {
+        return cellOffsets[cell];
+    }
+
+    /**
+     * Retrieves the source node of an edge.
+     *
+     * @param edge The edge.
+     * @return The node the edge leaves from.
+     * @pure
+     */
+    public int getSource(int edge) {
+        int low = 0;
+        int high = nodeCells.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (firstEdges[middle] <= edge) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks if one cell can be reached from another.
+     *
+     * @param from The flat index of the first cell.
+     * @param to The flat index of the second cell.
+     * @return True if both cells are open and connected through the maze.
+     * @pure
+     */
+    public boolean isReachable(int from, int to) {
+        int component = component(from);
+        return component != NONE && component == component(to);
+    }
+
+    /**
+     * Retrieves the connected component of a cell.
+     *
+     * @param cell The flat index of the cell.
+     * @return The component, or {@link #NONE} for walls and corridors leading to no node.
+     * @pure
+     */
+    public int component(int cell) {
+        int slot = cellSlots[cell];
+        if (slot < NONE) {
+            return components[-2 - slot];
+        }
+        return slot == NONE ? NONE : components[targets[slot]];
+    }
+
+    /**
+     * Appends the cells of an edge after its source cell.
+     *
+     * @param grid The layout the graph was built from.
+     * @param edge The edge to follow.
+     * @param path The array to write the cells to.
+     * @param position The index to write the first cell at.
+     * @return The index after the last cell written.
+     */
+    int appendCells(Grid grid, int edge, int[] path, int position) {
+        int previous = nodeCells[getSource(edge)];
+        int cell = step(grid, previous, directions[edge]);
+        int end = nodeCells[targets[edge]];
+        path[position++] = cell;
+        while (cell != end) {
+            int next = NONE;
+            for (int d = 0; d < 4 && next == NONE; d++) {
+                int neighbour = step(grid, cell, d);
+                if (neighbour != previous) {
+                    next = neighbour;
+                }
+            }
+            previous = cell;
+            cell = next;
+            path[position++] = cell;
+        }
+        return position;
+    }
+
+    /**
+     * Labels the connected components of the nodes with a breadth first search over the edges.
+     *
+     * @return The component of every node.
+     */
+    private int[] label() {
+        int[] labels = new int[nodeCells.length];
+        Arrays.fill(labels, NONE);
+        IntRingBuffer queue = new IntRingBuffer(64);
+        int component = 0;
+        for (int root = 0; root < labels.length; root++) {
+            if (labels[root] != NONE) {
+                continue;
+            }
+            labels[root] = component;
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int edge = firstEdges[node]; edge < firstEdges[node + 1]; edge++) {
+                    if (labels[targets[edge]] == NONE) {
+                        labels[targets[edge]] = component;
+                        queue.add(targets[edge]);
+                    }
+                }
+            }
+            component++;
+        }
+        return labels;
+    }
+
+    /**
+     * Counts the open neighbours of a cell.
+     *
+     * @param grid The layout of the maze.
+     * @param cell The flat index of the cell.
+     * @return The number of open neighbours.
+     */
+    private int openNeighbours(Grid grid, int cell) {
+        int count = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (step(grid, cell, direction) != NONE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves one cell from the given cell in the given direction.
+     *
+     * @param grid The layout of the maze.
+     * @param cell The flat index of the cell.
+     * @param direction The direction to move in, in {@link model.Direction} order.
+     * @return The flat index of the neighbour, or {@link #NONE} if it is outside or a wall.
+     */
+    private int step(Grid grid, int cell, int direction) {
+        int newRow = cell / cols + ROW_STEP[direction];
+        int newCol = cell % cols + COL_STEP[direction];
+        if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols) {
+            return NONE;
+        }
+        int neighbour = cell + ROW_STEP[direction] * cols + COL_STEP[direction];
+        return grid.isOpen(neighbour) ? neighbour : NONE;
+    }
+}
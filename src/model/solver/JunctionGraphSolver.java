@@ -0,0 +1,103 @@
+package model.solver;
+
+import exceptions.NoSuchElementException;
+import model.Grid;
+import model.Maze;
+import model.MazeMetadata;
+
+import java.util.Arrays;
+
+/**
+ * The JunctionGraphSolver class solves mazes with Dijkstra's algorithm over the
+ * {@link JunctionGraph} of their layout, so corridors cost a single edge relaxation instead of
+ * one expansion per cell. The graph is built on the first solve of a layout and reused by later
+ * ones. The route found is a shortest one and is expanded back into grid cells.
+ */
+public class JunctionGraphSolver implements MazeSolver {
+
+    /**
+     * Open list of nodes, ordered by their distance from the start.
+     */
+    private final IntMinHeap open = new IntMinHeap(1024);
+
+    /**
+     * Distance from the start and edge reaching every node, reused between solves.
+     */
+    private int[] distances = new int[0], parentEdges = new int[0];
+
+    @Override
+    public SolveResult solve(Maze maze) throws NoSuchElementException {
+        Grid grid = maze.getGrid();
+        MazeMetadata metadata = grid.getMetadata();
+        if (metadata.getStart() < 0) {
+            throw new NoSuchElementException("Start position not found in the maze.");
+        }
+        JunctionGraph graph = JunctionGraph.forLayout(grid);
+        int nodes = graph.getNodeCount();
+        if (distances.length < nodes) {
+            distances = new int[nodes];
+            parentEdges = new int[nodes];
+        }
+        Arrays.fill(distances, 0, nodes, Integer.MAX_VALUE);
+
+        int start = graph.getStartNode();
+        int expanded = 0;
+        open.clear();
+        open.add(start, 0);
+        distances[start] = 0;
+        parentEdges[start] = JunctionGraph.NONE;
+        while (!open.isEmpty()) {
+            int distance = open.peekPriority();
+            int node = open.poll();
+            if (distance > distances[node]) {
+                continue;
+            }
+            expanded++;
+            if (metadata.isExit(graph.getNodeCell(node))) {
+                return new SolveResult(buildPath(grid, graph, node, distance), expanded);
+            }
+            for (int edge = graph.getFirstEdge(node); edge < graph.getFirstEdge(node + 1);
+                 edge++) {
+                int target = graph.getTarget(edge);
+                int candidate = distance + graph.getWeight(edge);
+                if (candidate < distances[target]) {
+                    distances[target] = candidate;
+                    parentEdges[target] = edge;
+                    open.add(target, candidate);
+                }
+            }
+        }
+        return new SolveResult(new int[0], expanded);
+    }
+
+    /**
+     * Expands the edges leading to the exit node back into the cells of the route.
+     *
+     * @param grid The layout of the maze.
+     * @param graph The graph of the layout.
+     * @param exit The exit node that was reached.
+     * @param moves The length of the route.
+     * @return The route from the start cell to the exit cell.
+     */
+    private int[] buildPath(Grid grid, JunctionGraph graph, int exit, int moves) {
+        int edgeCount = 0;
+        for (int node = exit; parentEdges[node] != JunctionGraph.NONE;
+             node = graph.getSource(parentEdges[node])) {
+            edgeCount++;
+        }
+        int[] edges = new int[edgeCount];
+        int node = exit;
+        for (int i = edgeCount - 1; i >= 0; i--) {
+            edges[i] = parentEdges[node];
+            node = graph.getSource(edges[i]);
+        }
+
+        int[] path = new int[moves + 1];
+        path[0] = graph.getNodeCell(graph.getStartNode());
+        int position = 1;
+        for (int edge : edges) {
+            position = graph.appendCells(grid, edge, path, position);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,85 @@
+package model.solver;
+
+import model.Grid;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The LayoutCache class keeps one value computed from each layout, such as its distance field,
+ * and releases it once the layout is no longer used. The map is only locked to find the entry
+ * of a layout, the value is computed under the lock of that entry alone, so computing the value
+ * of a large layout does not hold up callers asking for other layouts. The entry lock is a
+ * ReentrantLock rather than a monitor, so virtual threads waiting for a value park without
+ * pinning their carrier threads.
+ *
+ * @param <T> The type of the values.
+ */
+final class LayoutCache<T> {
+
+    /**
+     * Entries of the layouts asked for so far.
+     */
+    private final Map<Grid, Entry<T>> entries = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Computes the value of a layout.
+     */
+    private final Function<Grid, T> compute;
+
+    /**
+     * Constructs an empty LayoutCache.
+     *
+     * @param compute Computes the value of a layout, it must not keep the layout.
+     */
+    LayoutCache(Function<Grid, T> compute) {
+        this.compute = compute;
+    }
+
+    /**
+     * Retrieves the value of a layout, computing it on the first call. Callers asking for the
+     * same layout while it is computed wait for it, and a failed computation is retried by the
+     * next call.
+     *
+     * @param grid The layout.
+     * @return The value shared by every caller asking for the layout.
+     * @require grid != null
+     */
+    T get(Grid grid) {
+        // The entry must not hold the layout, the weak key would never be cleared
+        Entry<T> entry = entries.computeIfAbsent(grid, layout -> new Entry<>());
+        T value = entry.value;
+        if (value != null) {
+            return value;
+        }
+        entry.lock.lock();
+        try {
+            if (entry.value == null) {
+                entry.value = compute.apply(grid);
+            }
+            return entry.value;
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    /**
+     * The Entry class holds the value of one layout once it has been computed.
+     *
+     * @param <T> The type of the value.
+     */
+    private static final class Entry<T> {
+        /**
+         * Held while the value is computed.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * The value, null until it has been computed.
+         */
+        private volatile T value;
+    }
+}
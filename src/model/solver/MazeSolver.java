@@ -0,0 +1,23 @@
+package model.solver;
+
+import exceptions.NoSuchElementException;
+import model.Maze;
+
+/**
+ * The MazeSolver interface computes a route from the start cell of a maze to one of its exits.
+ * Implementations keep their working arrays between calls, so a single instance should not be
+ * shared between threads.
+ */
+public interface MazeSolver {
+
+    /**
+     * Finds a shortest route from the 'S' cell of the maze to an 'E' cell.
+     *
+     * @param maze The maze to solve.
+     * @return The route as flat cell indices, empty if no exit can be reached.
+     * @throws NoSuchElementException If the maze has no 'S' start position.
+     * @require maze != null
+     * @ensure \result != null
+     */
+    SolveResult solve(Maze maze) throws NoSuchElementException;
+}
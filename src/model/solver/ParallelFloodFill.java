@@ -0,0 +1,222 @@
+package model.solver;
+
+import model.Grid;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The ParallelFloodFill class runs a level synchronous breadth first search over a grid. Each
+ * level's frontier is cut into fixed size chunks that are expanded on a fork-join pool, every
+ * chunk writing the cells it claims into its own buffer. Cells are claimed with an atomic
+ * compare-and-set on the distance array, so each cell enters exactly one next frontier.
+ */
+final class ParallelFloodFill {
+
+    /**
+     * Number of frontier cells expanded by a single task.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Atomic access to the elements of the distance array.
+     */
+    private static final VarHandle DISTANCE =
+            MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * The grid being flooded.
+     */
+    private final Grid grid;
+
+    /**
+     * The pool expanding large frontiers.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Dimensions of the grid.
+     */
+    private final int rows, cols;
+
+    /**
+     * Distance of every cell, {@link DistanceField#UNREACHABLE} until claimed.
+     */
+    private final int[] distances;
+
+    /**
+     * Per chunk buffers of newly claimed cells, reused between levels.
+     */
+    private int[][] parts = new int[0][];
+
+    /**
+     * Number of cells written to each chunk buffer in the current level.
+     */
+    private int[] partSizes = new int[0];
+
+    /**
+     * Constructs a ParallelFloodFill.
+     *
+     * @param grid The grid to flood.
+     * @param pool The pool to expand large frontiers on.
+     */
+    ParallelFloodFill(Grid grid, ForkJoinPool pool) {
+        this.grid = grid;
+        this.pool = pool;
+        this.rows = grid.getRows();
+        this.cols = grid.getCols();
+        this.distances = new int[rows * cols];
+    }
+
+    /**
+     * Floods the grid from the seed cells.
+     *
+     * @param seeds The flat indices of the cells at distance 0.
+     * @param seedCount The number of seeds in the array.
+     * @return The distance of every cell from its closest seed.
+     */
+    int[] fill(int[] seeds, int seedCount) {
+        Arrays.fill(distances, DistanceField.UNREACHABLE);
+        int[] frontier = Arrays.copyOf(seeds, Math.max(seedCount, 1));
+        int frontierSize = seedCount;
+        for (int i = 0; i < seedCount; i++) {
+            distances[seeds[i]] = 0;
+        }
+
+        for (int level = 1; frontierSize > 0; level++) {
+            int chunks = (frontierSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            ensureParts(chunks);
+            if (chunks == 1) {
+                expand(frontier, 0, frontierSize, level, 0);
+            } else {
+                pool.invoke(new ExpandTask(frontier, frontierSize, level, 0, chunks));
+            }
+
+            int nextSize = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                nextSize += partSizes[chunk];
+            }
+            int[] next = frontier.length >= nextSize ? frontier : new int[nextSize];
+            int offset = 0;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                System.arraycopy(parts[chunk], 0, next, offset, partSizes[chunk]);
+                offset += partSizes[chunk];
+            }
+            frontier = next;
+            frontierSize = nextSize;
+        }
+        return distances;
+    }
+
+    /**
+     * Expands a range of frontier cells, claiming their unvisited open neighbours.
+     *
+     * @param frontier The current frontier.
+     * @param from The first frontier position to expand, inclusive.
+     * @param to The last frontier position to expand, exclusive.
+     * @param level The distance given to claimed cells.
+     * @param chunk The chunk whose buffer receives the claimed cells.
+     */
+    private void expand(int[] frontier, int from, int to, int level, int chunk) {
+        int[] part = parts[chunk];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int cell = frontier[i];
+            int row = cell / cols;
+            int col = cell - row * cols;
+            // at most 4 neighbours per cell, so the buffer never needs more than 4 per cell
+            if (row > 0) {
+                size = claim(cell - cols, level, part, size);
+            }
+            if (col > 0) {
+                size = claim(cell - 1, level, part, size);
+            }
+            if (row < rows - 1) {
+                size = claim(cell + cols, level, part, size);
+            }
+            if (col < cols - 1) {
+                size = claim(cell + 1, level, part, size);
+            }
+        }
+        partSizes[chunk] = size;
+    }
+
+    /**
+     * Claims a cell for the next frontier if it is open and not claimed yet.
+     *
+     * @param cell The flat index of the cell.
+     * @param level The distance to give the cell.
+     * @param part The buffer of the chunk.
+     * @param size The number of cells already in the buffer.
+     * @return The new number of cells in the buffer.
+     */
+    private int claim(int cell, int level, int[] part, int size) {
+        if (distances[cell] == DistanceField.UNREACHABLE && grid.isOpen(cell)
+                && DISTANCE.compareAndSet(distances, cell, DistanceField.UNREACHABLE, level)) {
+            part[size++] = cell;
+        }
+        return size;
+    }
+
+    /**
+     * Makes sure a buffer large enough for a full chunk exists for every chunk.
+     *
+     * @param chunks The number of chunks in the current level.
+     */
+    private void ensureParts(int chunks) {
+        if (parts.length < chunks) {
+            int[][] grown = Arrays.copyOf(parts, chunks);
+            for (int i = parts.length; i < chunks; i++) {
+                grown[i] = new int[CHUNK_SIZE * 4];
+            }
+            parts = grown;
+            partSizes = new int[chunks];
+        }
+    }
+
+    /**
+     * The ExpandTask class expands a range of frontier chunks, splitting it in half until a
+     * single chunk is left.
+     */
+    private final class ExpandTask extends RecursiveAction {
+        /**
+         * The current frontier and the number of cells in it.
+         */
+        private final int[] frontier;
+        private final int frontierSize;
+
+        /**
+         * The distance given to claimed cells.
+         */
+        private final int level;
+
+        /**
+         * The range of chunks to expand, from inclusive and to exclusive.
+         */
+        private final int fromChunk, toChunk;
+
+        ExpandTask(int[] frontier, int frontierSize, int level, int fromChunk, int toChunk) {
+            this.frontier = frontier;
+            this.frontierSize = frontierSize;
+            this.level = level;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                expand(frontier, from, Math.min(from + CHUNK_SIZE, frontierSize), level,
+                        fromChunk);
+            } else {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ExpandTask(frontier, frontierSize, level, fromChunk, middle),
+                        new ExpandTask(frontier, frontierSize, level, middle, toChunk));
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package model.solver;
+
+/**
+ * The SolveResult class holds the route found by a MazeSolver and how much work it took.
+ */
+public final class SolveResult {
+
+    /**
+     * Flat cell indices of the route, from the start cell to the exit cell inclusive.
+     */
+    private final int[] path;
+
+    /**
+     * Number of nodes taken off the frontier and expanded during the search.
+     */
+    private final int expandedNodes;
+
+    /**
+     * Constructs a SolveResult.
+     *
+     * @param path The route as flat cell indices, empty if the maze is unsolvable.
+     * @param expandedNodes The number of nodes expanded by the search.
+     * @require path != null && expandedNodes >= 0
+     */
+    public SolveResult(int[] path, int expandedNodes) {
+        this.path = path;
+        this.expandedNodes = expandedNodes;
+    }
+
+    /**
+     * Retrieves the route, each entry is {@code row * cols + col} of a cell on the route.
+     *
+     * @return The flat cell indices of the route, empty if no exit can be reached.
+     * @pure
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Retrieves the number of nodes expanded during the search.
+     *
+     * @return The number of expanded nodes.
+     * @pure
+     */
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Checks if an exit was reached.
+     *
+     * @return True if the route is not empty, false otherwise.
+     * @pure
+     */
+    public boolean isSolved() {
+        return path.length > 0;
+    }
+
+    /**
+     * Retrieves the number of moves needed to follow the route.
+     *
+     * @return The number of moves, or -1 if no exit can be reached.
+     * @pure
+     */
+    public int getMoves() {
+        return path.length - 1;
+    }
+}
@@ -0,0 +1,226 @@
+package model.tiled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The TileCache class pages fixed-size tiles of a file in and out of a bounded number of
+ * off-heap buffers. The least recently used tile is evicted when a new one is needed, and
+ * written back to the file first if it was changed. The buffer of an evicted tile is reused, so
+ * the cache allocates nothing once it is full. The cache is not thread-safe.
+ */
+final class TileCache {
+
+    /**
+     * The channel of the file holding the tiles.
+     */
+    private final FileChannel channel;
+
+    /**
+     * File offset of the first tile.
+     */
+    private final long baseOffset;
+
+    /**
+     * Size of a single tile in bytes.
+     */
+    private final int tileBytes;
+
+    /**
+     * Maximum number of tiles held in memory.
+     */
+    private final int capacity;
+
+    /**
+     * Resident tiles by tile index, in least recently used first order.
+     */
+    private final LinkedHashMap<Integer, Slot> slots;
+
+    /**
+     * The most recently used slot, checked before the map since moves rarely leave a tile.
+     */
+    private Slot last;
+
+    /**
+     * Number of lookups served from memory, loaded from the file, and tiles evicted.
+     */
+    private long hits, misses, evictions;
+
+    /**
+     * Constructs an empty TileCache.
+     *
+     * @param channel The channel of the file holding the tiles, opened for reading and for
+     *                writing if tiles are ever marked dirty.
+     * @param baseOffset The file offset of the first tile.
+     * @param tileBytes The size of a single tile in bytes.
+     * @param capacity The maximum number of tiles held in memory.
+     * @require capacity > 0 && tileBytes > 0
+     */
+    TileCache(FileChannel channel, long baseOffset, int tileBytes, int capacity) {
+        this.channel = channel;
+        this.baseOffset = baseOffset;
+        this.tileBytes = tileBytes;
+        this.capacity = capacity;
+        this.slots = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+    }
+
+    /**
+     * Retrieves a tile, loading it from the file if it is not resident.
+     *
+     * @param tile The index of the tile.
+     * @param write True if the caller is going to change the tile.
+     * @return The buffer holding the tile, only valid until the next call.
+     * @throws UncheckedIOException If the tile can not be read or an evicted tile can not be
+     *                              written back.
+     */
+    ByteBuffer tile(int tile, boolean write) {
+        Slot slot = last;
+        if (slot == null || slot.tile != tile) {
+            slot = slots.get(tile);
+            if (slot == null) {
+                slot = load(tile);
+            } else {
+                hits++;
+            }
+            last = slot;
+        } else {
+            hits++;
+        }
+        slot.dirty |= write;
+        return slot.buffer;
+    }
+
+    /**
+     * Writes every changed tile back to the file.
+     *
+     * @throws UncheckedIOException If a tile can not be written.
+     */
+    void flush() {
+        for (Slot slot : slots.values()) {
+            writeBack(slot);
+        }
+    }
+
+    /**
+     * Retrieves the number of lookups served from memory.
+     *
+     * @return The number of cache hits.
+     * @pure
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of tiles loaded from the file.
+     *
+     * @return The number of cache misses.
+     * @pure
+     */
+    long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the number of tiles evicted to make room for others.
+     *
+     * @return The number of evictions.
+     * @pure
+     */
+    long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Loads a tile into a free slot, evicting the least recently used tile when full.
+     *
+     * @param tile The index of the tile.
+     * @return The slot holding the tile.
+     */
+    private Slot load(int tile) {
+        misses++;
+        Slot slot;
+        if (slots.size() < capacity) {
+            slot = new Slot(ByteBuffer.allocateDirect(tileBytes));
+        } else {
+            Iterator<Map.Entry<Integer, Slot>> eldest = slots.entrySet().iterator();
+            slot = eldest.next().getValue();
+            eldest.remove();
+            writeBack(slot);
+            evictions++;
+        }
+
+        ByteBuffer buffer = slot.buffer;
+        buffer.clear();
+        long position = baseOffset + (long) tile * tileBytes;
+        try {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    // Tiles past the end of the file have never been written and are all zero
+                    while (buffer.hasRemaining()) {
+                        buffer.put((byte) 0);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read tile " + tile, e);
+        }
+        buffer.clear();
+
+        slot.tile = tile;
+        slot.dirty = false;
+        slots.put(tile, slot);
+        return slot;
+    }
+
+    /**
+     * Writes a tile back to the file if it was changed.
+     *
+     * @param slot The slot holding the tile.
+     */
+    private void writeBack(Slot slot) {
+        if (!slot.dirty) {
+            return;
+        }
+        ByteBuffer buffer = slot.buffer.duplicate().clear();
+        long position = baseOffset + (long) slot.tile * tileBytes;
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write tile " + slot.tile, e);
+        }
+        slot.dirty = false;
+    }
+
+    /**
+     * The Slot class holds one resident tile.
+     */
+    private static final class Slot {
+        /**
+         * The off-heap buffer holding the tile.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The index of the tile held.
+         */
+        private int tile;
+
+        /**
+         * True if the tile was changed since it was loaded or written back.
+         */
+        private boolean dirty;
+
+        private Slot(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
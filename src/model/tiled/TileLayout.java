@@ -0,0 +1,68 @@
+package model.tiled;
+
+/**
+ * The TileLayout class maps the cells of a grid to square tiles. Tiles are numbered row by row
+ * and the cells inside a tile are stored row by row, so a goose moving in any direction stays in
+ * the same tile for up to {@code tileSize} moves. Tiles on the right and bottom edges are padded
+ * to the full tile size.
+ */
+final class TileLayout {
+
+    /**
+     * Number of cells along each side of a tile.
+     */
+    final int tileSize;
+
+    /**
+     * Number of cells in a tile.
+     */
+    final int tileCells;
+
+    /**
+     * Number of columns of the grid, and of tiles across it.
+     */
+    final int cols, tileCols;
+
+    /**
+     * Number of tiles covering the grid.
+     */
+    final int tileCount;
+
+    /**
+     * Constructs a TileLayout.
+     *
+     * @param rows The number of rows of the grid.
+     * @param cols The number of columns of the grid.
+     * @param tileSize The number of cells along each side of a tile.
+     * @require rows > 0 && cols > 0 && tileSize > 0
+     */
+    TileLayout(int rows, int cols, int tileSize) {
+        this.tileSize = tileSize;
+        this.tileCells = tileSize * tileSize;
+        this.cols = cols;
+        this.tileCols = (cols + tileSize - 1) / tileSize;
+        this.tileCount = (rows + tileSize - 1) / tileSize * tileCols;
+    }
+
+    /**
+     * Computes the tile holding a cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The index of the tile.
+     */
+    int tileOf(int row, int col) {
+        return row / tileSize * tileCols + col / tileSize;
+    }
+
+    /**
+     * Computes the position of a cell inside its tile.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The cell offset inside the tile.
+     */
+    int offsetOf(int row, int col) {
+        return row % tileSize * tileSize + col % tileSize;
+    }
+}
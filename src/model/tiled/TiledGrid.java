@@ -0,0 +1,224 @@
+package model.tiled;
+
+import io.FileLoader;
+import model.Grid;
+import model.MazeMetadata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The TiledGrid class is a Grid kept in a tile file on disk, with only the recently used tiles
+ * held in off-heap memory. It can hold mazes far larger than the heap: the memory used is the
+ * tile cache, whatever the size of the maze. Cells are stored as one byte each. The grid is not
+ * thread-safe.
+ */
+public final class TiledGrid implements Grid, Closeable {
+
+    /**
+     * Default number of cells along each side of a tile, 4KB per tile.
+     */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    /**
+     * Default number of tiles held in memory.
+     */
+    public static final int DEFAULT_CACHE_TILES = 256;
+
+    /**
+     * First four bytes of every tile file, "MAZT" in big-endian order.
+     */
+    private static final int MAGIC = 'M' << 24 | 'A' << 16 | 'Z' << 8 | 'T';
+
+    /**
+     * Size of the header holding the magic, rows, columns and tile size.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Number of rows and columns in the grid.
+     */
+    private final int rows, cols;
+
+    /**
+     * The mapping of cells to tiles.
+     */
+    private final TileLayout layout;
+
+    /**
+     * The channel of the tile file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The cache of resident tiles.
+     */
+    private final TileCache cache;
+
+    /**
+     * Special cells of the layout, scanned on first use unless known when the grid is created.
+     */
+    private MazeMetadata metadata;
+
+    /**
+     * Constructs a TiledGrid over an open tile file.
+     *
+     * @param channel The channel of the tile file.
+     * @param rows The number of rows in the grid.
+     * @param cols The number of columns in the grid.
+     * @param tileSize The number of cells along each side of a tile.
+     * @param cacheTiles The maximum number of tiles held in memory.
+     */
+    private TiledGrid(FileChannel channel, int rows, int cols, int tileSize, int cacheTiles) {
+        this.rows = rows;
+        this.cols = cols;
+        this.layout = new TileLayout(rows, cols, tileSize);
+        this.channel = channel;
+        this.cache = new TileCache(channel, HEADER_SIZE, layout.tileCells, cacheTiles);
+    }
+
+    /**
+     * Writes the cells of a grid to a tile file and opens it with the default cache size.
+     *
+     * @param source The grid to copy, read one tile at a time.
+     * @param file The tile file to write.
+     * @param tileSize The number of cells along each side of a tile.
+     * @return A TiledGrid reading the written file.
+     * @throws IOException If the file can not be written.
+     * @require source != null && tileSize > 0
+     */
+    public static TiledGrid create(Grid source, Path file, int tileSize) throws IOException {
+        int rows = source.getRows();
+        int cols = source.getCols();
+        TileLayout layout = new TileLayout(rows, cols, tileSize);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(rows).putInt(cols).putInt(tileSize).flip();
+            writeFully(out, header);
+
+            ByteBuffer tile = ByteBuffer.allocateDirect(layout.tileCells);
+            for (int tileRow = 0; tileRow < rows; tileRow += tileSize) {
+                for (int tileCol = 0; tileCol < cols; tileCol += tileSize) {
+                    tile.clear();
+                    for (int row = tileRow; row < tileRow + tileSize; row++) {
+                        for (int col = tileCol; col < tileCol + tileSize; col++) {
+                            tile.put((byte) (row < rows && col < cols
+                                    ? source.getCell(row, col) : FileLoader.WALL));
+                        }
+                    }
+                    writeFully(out, tile.flip());
+                }
+            }
+        }
+        TiledGrid grid = open(file, DEFAULT_CACHE_TILES);
+        grid.metadata = source.getMetadata();
+        return grid;
+    }
+
+    /**
+     * Opens an existing tile file.
+     *
+     * @param file The tile file to read.
+     * @param cacheTiles The maximum number of tiles held in memory.
+     * @return A TiledGrid reading the file.
+     * @throws IOException If the file can not be read or is not a tile file.
+     * @require cacheTiles > 0
+     */
+    public static TiledGrid open(Path file, int cacheTiles) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // reads until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Not a tiled maze file: " + file);
+            }
+            return new TiledGrid(channel, header.getInt(), header.getInt(), header.getInt(),
+                    cacheTiles);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public char getCell(int index) {
+        return getCell(index / cols, index % cols);
+    }
+
+    /**
+     * Retrieves the maze character stored at the given row and column, loading its tile if
+     * needed.
+     *
+     * @throws UncheckedIOException If the tile can not be read.
+     */
+    @Override
+    public char getCell(int row, int col) {
+        ByteBuffer tile = cache.tile(layout.tileOf(row, col), false);
+        return (char) (tile.get(layout.offsetOf(row, col)) & 0xFF);
+    }
+
+    /**
+     * Retrieves the metadata of the grid. Opening an existing tile file does not read it, it is
+     * scanned on first use, paging in every tile once.
+     *
+     * @return The metadata of the grid.
+     */
+    @Override
+    public MazeMetadata getMetadata() {
+        if (metadata == null) {
+            metadata = MazeMetadata.scan(this);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieves the tile cache, for inspecting its hit and miss counters.
+     *
+     * @return The tile cache of the grid.
+     */
+    TileCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Closes the tile file.
+     *
+     * @throws IOException If the file can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a channel.
+     *
+     * @param channel The channel to write to.
+     * @param buffer The bytes to write.
+     * @throws IOException If the channel can not be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
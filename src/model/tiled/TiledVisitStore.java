@@ -0,0 +1,125 @@
+package model.tiled;
+
+import model.VisitStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The TiledVisitStore class keeps visit counts in a file of square tiles, one int per cell, with
+ * only the recently used tiles held in off-heap memory. Changed tiles are written back to the
+ * file when they are evicted, flushed or closed, so counts survive a restart when the same file
+ * is opened again. The store is not thread-safe.
+ */
+public final class TiledVisitStore implements VisitStore, Closeable {
+
+    /**
+     * The mapping of cells to tiles.
+     */
+    private final TileLayout layout;
+
+    /**
+     * The channel of the count file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The cache of resident tiles.
+     */
+    private final TileCache cache;
+
+    /**
+     * Opens or creates a TiledVisitStore, keeping the counts already in the file.
+     *
+     * @param rows The number of rows of the maze.
+     * @param cols The number of columns of the maze.
+     * @param file The file holding the counts.
+     * @param tileSize The number of cells along each side of a tile.
+     * @param cacheTiles The maximum number of tiles held in memory.
+     * @throws IOException If the file can not be opened.
+     * @require rows > 0 && cols > 0 && tileSize > 0 && cacheTiles > 0
+     */
+    public TiledVisitStore(int rows, int cols, Path file, int tileSize, int cacheTiles)
+            throws IOException {
+        this.layout = new TileLayout(rows, cols, tileSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.cache = new TileCache(channel, 0, layout.tileCells * Integer.BYTES, cacheTiles);
+    }
+
+    /**
+     * Retrieves the visit count of a cell, loading its tile if needed.
+     *
+     * @throws UncheckedIOException If a tile can not be read or written back.
+     */
+    @Override
+    public int get(int index) {
+        int row = index / layout.cols;
+        int col = index % layout.cols;
+        return cache.tile(layout.tileOf(row, col), false)
+                .getInt(layout.offsetOf(row, col) * Integer.BYTES);
+    }
+
+    /**
+     * Increments the visit count of a cell, marking its tile to be written back.
+     *
+     * @throws UncheckedIOException If a tile can not be read or written back.
+     */
+    @Override
+    public void increment(int index) {
+        add(index, 1);
+    }
+
+    /**
+     * Adds to the visit count of a cell, marking its tile to be written back.
+     *
+     * @throws UncheckedIOException If a tile can not be read or written back.
+     */
+    @Override
+    public void add(int index, int amount) {
+        int row = index / layout.cols;
+        int col = index % layout.cols;
+        ByteBuffer tile = cache.tile(layout.tileOf(row, col), true);
+        int offset = layout.offsetOf(row, col) * Integer.BYTES;
+        tile.putInt(offset, tile.getInt(offset) + amount);
+    }
+
+    /**
+     * Writes every changed tile back to the file.
+     *
+     * @throws UncheckedIOException If a tile can not be written.
+     */
+    public void flush() {
+        cache.flush();
+    }
+
+    /**
+     * Retrieves the tile cache, for inspecting its hit and miss counters.
+     *
+     * @return The tile cache of the store.
+     */
+    TileCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Writes every changed tile back and closes the file.
+     *
+     * @throws IOException If the file can not be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            cache.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package server;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import model.Direction;
+import model.GameListener;
+import model.Grid;
+import model.Maze;
+import model.MazeGame;
+import model.SparseVisitStore;
+import model.solver.HintService;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.InputMismatchException;
+
+/**
+ * The GameSession class serves one client connection of the {@link SessionServer}, playing its
+ * own MazeGame on a layout shared with the other sessions. Sessions block on their socket, so
+ * each one runs on its own virtual thread.
+ */
+final class GameSession implements Runnable, GameListener {
+
+    /**
+     * The connection to the client.
+     */
+    private final SocketChannel channel;
+
+    /**
+     * The server the session belongs to.
+     */
+    private final SessionServer server;
+
+    /**
+     * The game of the session, null until a maze is chosen.
+     */
+    private MazeGame game;
+
+    /**
+     * Hints of the layout of the game, shared with the other sessions on the layout.
+     */
+    private HintService hints;
+
+    /**
+     * Number of moves rejected during the current request.
+     */
+    private int rejected;
+
+    /**
+     * Constructs a GameSession.
+     *
+     * @param channel The connection to the client.
+     * @param server The server the session belongs to.
+     */
+    GameSession(SocketChannel channel, SessionServer server) {
+        this.channel = channel;
+        this.server = server;
+    }
+
+    /**
+     * Answers requests until the client quits or disconnects.
+     */
+    @Override
+    public void run() {
+        try (channel;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                     Channels.newOutputStream(channel), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String reply = handle(line);
+                out.write(reply);
+                out.write('\n');
+                out.flush();
+                if (reply.equals(SessionProtocol.BYE)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away, there is nobody left to tell
+        } finally {
+            server.sessionClosed(channel);
+        }
+    }
+
+    /**
+     * Answers a single request line.
+     *
+     * @param line The request.
+     * @return The reply, without its line terminator.
+     */
+    String handle(String line) {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String argument = space < 0 ? "" : line.substring(space + 1);
+        return switch (command) {
+            case SessionProtocol.MAZE -> startGame(argument);
+            case SessionProtocol.MOVE -> game == null ? error("No maze chosen") : move(argument);
+            case SessionProtocol.STATE -> game == null ? error("No maze chosen") : state(0, 0);
+            case SessionProtocol.HINT -> game == null ? error("No maze chosen") : hint();
+            case SessionProtocol.QUIT -> SessionProtocol.BYE;
+            default -> error("Unknown command: " + command);
+        };
+    }
+
+    /**
+     * Starts a new game on a maze of the server.
+     *
+     * @param name The maze file, relative to the maze directory of the server.
+     * @return The READY reply, or an error.
+     */
+    private String startGame(String name) {
+        Path file = server.resolveMaze(name);
+        if (file == null) {
+            return error("Maze outside the maze directory: " + name);
+        }
+        try {
+            Grid layout = server.getLoader().loadGrid(file.toString());
+            // A session only visits the cells near its path, a dense store per session would
+            // take as much memory as the shared layout
+            game = new MazeGame(new Maze(layout, new SparseVisitStore()));
+            game.addListener(this);
+            hints = HintService.forLayout(layout);
+            return SessionProtocol.READY + ' ' + layout.getRows() + ' ' + layout.getCols() + ' '
+                    + game.getGooseIndex();
+        } catch (FileNotFoundException e) {
+            return error("Maze not found: " + name);
+        } catch (MazeMalformedException | MazeSizeMissmatchException | NoSuchElementException
+                 | IllegalArgumentException | InputMismatchException e) {
+            return error(e.getMessage());
+        } catch (UncheckedIOException e) {
+            // A directory or an unreadable file, the session stays usable
+            return error("Could not read maze: " + name);
+        }
+    }
+
+    /**
+     * Applies a batch of moves, stopping early if the goose reaches an exit.
+     *
+     * @param keys The move keys, one per move.
+     * @return The state reply.
+     */
+    private String move(String keys) {
+        rejected = 0;
+        int applied = 0;
+        while (applied < keys.length() && !game.isGameOver()) {
+            game.moveGoose(Direction.fromKey(keys.charAt(applied++)));
+        }
+        server.movesApplied(applied);
+        return state(rejected, applied);
+    }
+
+    /**
+     * Describes the goose of the game.
+     *
+     * @param rejectedMoves The number of moves rejected by the last request.
+     * @param appliedMoves The number of moves applied by the last request, rejected ones
+     *                     included.
+     * @return The AT or EXIT reply.
+     */
+    private String state(int rejectedMoves, int appliedMoves) {
+        int goose = game.getGooseIndex();
+        return (game.isGameOver() ? SessionProtocol.EXIT : SessionProtocol.AT) + ' ' + goose + ' '
+                + game.getMaze().getVisits().get(goose) + ' ' + rejectedMoves + ' ' + appliedMoves;
+    }
+
+    /**
+     * Describes the best next move of the goose.
+     *
+     * @return The HINT reply.
+     */
+    private String hint() {
+        int goose = game.getGooseIndex();
+        Direction best = hints.getBestMove(goose);
+        return SessionProtocol.HINT + ' ' + (best == null ? '-' : best.getKey()) + ' '
+                + hints.getMovesRemaining(goose);
+    }
+
+    /**
+     * Builds an error reply.
+     *
+     * @param message The description of the error, kept on one line.
+     * @return The error reply.
+     */
+    private static String error(String message) {
+        return SessionProtocol.ERROR + ' ' + String.valueOf(message).replace('\n', ' ');
+    }
+
+    @Override
+    public void invalidMove(Direction direction) {
+        rejected++;
+    }
+}
@@ -0,0 +1,296 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The LoadGenerator class opens many sessions on a {@link SessionServer} at once, each on its
+ * own virtual thread, and sends batches of random moves as fast as the server answers, until
+ * its goose reaches an exit or its requests run out. It reports the moves the server applied per
+ * second over all sessions and the 99th percentile request latency of every session.
+ */
+public final class LoadGenerator {
+
+    /**
+     * Keys of the four moves.
+     */
+    private static final char[] KEYS = {'w', 'a', 's', 'd'};
+
+    private LoadGenerator() {
+    }
+
+    /**
+     * Runs a load test and waits for every session to finish.
+     *
+     * @param address The address of the server.
+     * @param maze The maze file every session plays, relative to the maze directory of the
+     *             server.
+     * @param sessions The number of sessions opened at once.
+     * @param requests The most MOVE requests sent by each session, a session stops early once
+     *                 its goose reaches an exit.
+     * @param movesPerRequest The number of moves in each request.
+     * @return The throughput and latencies measured.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     * @throws IllegalStateException If a session failed.
+     * @require sessions > 0 && requests > 0 && movesPerRequest > 0
+     */
+    public static LoadReport run(SocketAddress address, String maze, int sessions, int requests,
+                                 int movesPerRequest) throws InterruptedException {
+        long started = System.nanoTime();
+        List<Future<SessionResult>> results = new ArrayList<>(sessions);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                long seed = i;
+                results.add(executor.submit(() ->
+                        session(address, maze, requests, movesPerRequest, seed)));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        long[] p99 = new long[sessions];
+        long moves = 0;
+        for (int i = 0; i < sessions; i++) {
+            try {
+                SessionResult result = results.get(i).get();
+                p99[i] = percentile(result.latencies, 0.99);
+                moves += result.moves;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Session " + i + " failed", e.getCause());
+            }
+        }
+        Arrays.sort(p99);
+        return new LoadReport(sessions, moves, elapsed, p99);
+    }
+
+    /**
+     * Plays one session.
+     *
+     * @param address The address of the server.
+     * @param maze The maze file to play.
+     * @param requests The most MOVE requests to send.
+     * @param movesPerRequest The number of moves in each request.
+     * @param seed The seed of the random moves.
+     * @return The latency of every request sent and the number of moves applied.
+     * @throws IOException If the connection fails or the server answers with an error.
+     */
+    private static SessionResult session(SocketAddress address, String maze, int requests,
+                                         int movesPerRequest, long seed) throws IOException {
+        long[] latencies = new long[requests];
+        int sent = 0;
+        long applied = 0;
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] moves = new char[movesPerRequest];
+        try (SocketChannel channel = SocketChannel.open(address);
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                     Channels.newOutputStream(channel), StandardCharsets.US_ASCII))) {
+            expect(request(in, out, SessionProtocol.MAZE + ' ' + maze), SessionProtocol.READY);
+            boolean exited = false;
+            while (sent < requests && !exited) {
+                for (int m = 0; m < moves.length; m++) {
+                    moves[m] = KEYS[random.nextInt(KEYS.length)];
+                }
+                long started = System.nanoTime();
+                String reply = request(in, out, SessionProtocol.MOVE + ' ' + new String(moves));
+                latencies[sent++] = System.nanoTime() - started;
+                exited = reply.startsWith(SessionProtocol.EXIT);
+                if (!exited) {
+                    expect(reply, SessionProtocol.AT);
+                }
+                // The last field of the reply is the number of moves the server applied
+                applied += Integer.parseInt(reply.substring(reply.lastIndexOf(' ') + 1));
+            }
+            expect(request(in, out, SessionProtocol.QUIT), SessionProtocol.BYE);
+        }
+        return new SessionResult(Arrays.copyOf(latencies, sent), applied);
+    }
+
+    /**
+     * The SessionResult class holds the outcome of one session.
+     */
+    private static final class SessionResult {
+        /**
+         * The latency of every request sent, in nanoseconds.
+         */
+        private final long[] latencies;
+
+        /**
+         * The number of moves the server applied.
+         */
+        private final long moves;
+
+        private SessionResult(long[] latencies, long moves) {
+            this.latencies = latencies;
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * Sends a request and waits for its reply.
+     *
+     * @param in The reader of the connection.
+     * @param out The writer of the connection.
+     * @param request The request line.
+     * @return The reply line.
+     * @throws IOException If the connection fails or is closed by the server.
+     */
+    private static String request(BufferedReader in, BufferedWriter out, String request)
+            throws IOException {
+        out.write(request);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Server closed the session");
+        }
+        return reply;
+    }
+
+    /**
+     * Checks the keyword of a reply.
+     *
+     * @param reply The reply line.
+     * @param keyword The expected keyword.
+     * @throws IOException If the reply does not start with the keyword.
+     */
+    private static void expect(String reply, String keyword) throws IOException {
+        if (!reply.startsWith(keyword)) {
+            throw new IOException("Unexpected reply: " + reply);
+        }
+    }
+
+    /**
+     * Computes a percentile of a set of values.
+     *
+     * @param values The values, sorted in place.
+     * @param fraction The percentile as a fraction between 0 and 1.
+     * @return The smallest value at or above the given fraction of the values.
+     * @require values.length > 0
+     */
+    static long percentile(long[] values, double fraction) {
+        Arrays.sort(values);
+        int rank = (int) Math.ceil(values.length * fraction);
+        return values[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Opens sessions on a running server and prints the throughput and latencies.
+     *
+     * @param args The port or Unix domain socket path of the server, the maze file, and
+     *             optionally the number of sessions, requests per session and moves per request.
+     * @throws InterruptedException If the load test is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: LoadGenerator <port | socket path> <maze file> "
+                    + "[sessions] [requests] [moves per request]");
+            return;
+        }
+        int sessions = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int movesPerRequest = args.length > 4 ? Integer.parseInt(args[4]) : 16;
+
+        LoadReport report = run(SessionProtocol.address(args[0]), args[1], sessions, requests,
+                movesPerRequest);
+        System.out.printf("%d sessions, %d moves, %.0f moves/s%n", report.getSessions(),
+                report.getMoves(), report.getMovesPerSecond());
+        System.out.printf("p99 latency per session: median %.1f us, worst %.1f us%n",
+                report.getSessionP99Nanos(0.5) / 1e3, report.getSessionP99Nanos(1) / 1e3);
+    }
+
+    /**
+     * The LoadReport class holds the outcome of a load test.
+     */
+    public static final class LoadReport {
+        /**
+         * Number of sessions, and of moves applied for all of them.
+         */
+        private final long sessions, moves;
+
+        /**
+         * Duration of the whole test in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * The 99th percentile request latency of every session, sorted.
+         */
+        private final long[] sessionP99Nanos;
+
+        private LoadReport(long sessions, long moves, long elapsedNanos, long[] sessionP99Nanos) {
+            this.sessions = sessions;
+            this.moves = moves;
+            this.elapsedNanos = elapsedNanos;
+            this.sessionP99Nanos = sessionP99Nanos;
+        }
+
+        /**
+         * Retrieves the number of sessions.
+         *
+         * @return The number of sessions.
+         * @pure
+         */
+        public long getSessions() {
+            return sessions;
+        }
+
+        /**
+         * Retrieves the number of moves the server applied for all sessions.
+         *
+         * @return The number of moves.
+         * @pure
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Retrieves the duration of the test.
+         *
+         * @return The duration in nanoseconds.
+         * @pure
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Retrieves the number of moves applied per second over all sessions.
+         *
+         * @return The throughput in moves per second.
+         * @pure
+         */
+        public double getMovesPerSecond() {
+            return moves / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Retrieves a percentile of the per session 99th percentile latencies, e.g. 0.5 for the
+         * median session and 1 for the worst one.
+         *
+         * @param fraction The percentile over the sessions, between 0 and 1.
+         * @return The latency in nanoseconds.
+         * @pure
+         */
+        public long getSessionP99Nanos(double fraction) {
+            int rank = (int) Math.ceil(sessionP99Nanos.length * fraction);
+            return sessionP99Nanos[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package server;
+
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/**
+ * The SessionProtocol class holds the line protocol spoken between the session server and its
+ * clients. Every request is one ASCII line answered by exactly one line:
+ * <pre>
+ *   MAZE &lt;file&gt;   READY &lt;rows&gt; &lt;cols&gt; &lt;goose&gt;   starts a game on a maze of the server
+ *   MOVE &lt;keys&gt;   AT|EXIT &lt;goose&gt; &lt;visits&gt; &lt;rejected&gt; &lt;applied&gt;  applies w/a/s/d moves
+ *   STATE          AT|EXIT &lt;goose&gt; &lt;visits&gt; 0 0        reports the goose without moving
+ *   HINT           HINT &lt;key&gt; &lt;moves left&gt;              best next move, - if there is none
+ *   QUIT           BYE                                  ends the session
+ * </pre>
+ * Replies to moves are state deltas: the flat index of the goose, the visit count of its cell,
+ * the number of moves rejected by walls and the number of keys applied, rejected ones included.
+ * EXIT replaces AT once the goose reached an exit, the keys after it are not applied.
+ * Errors are answered with {@code ERR <message>} and leave the session open.
+ */
+public final class SessionProtocol {
+
+    /**
+     * Request keywords.
+     */
+    public static final String MAZE = "MAZE", MOVE = "MOVE", STATE = "STATE", HINT = "HINT",
+            QUIT = "QUIT";
+
+    /**
+     * Reply keywords.
+     */
+    public static final String READY = "READY", AT = "AT", EXIT = "EXIT", BYE = "BYE",
+            ERROR = "ERR";
+
+    private SessionProtocol() {
+    }
+
+    /**
+     * Parses a server address: a port number on the loopback interface, or the path of a Unix
+     * domain socket.
+     *
+     * @param address The port number or socket path.
+     * @return The socket address.
+     */
+    public static SocketAddress address(String address) {
+        if (!address.isEmpty() && address.chars().allMatch(Character::isDigit)) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                    Integer.parseInt(address));
+        }
+        return UnixDomainSocketAddress.of(address);
+    }
+}
@@ -0,0 +1,241 @@
+package server;
+
+import io.CachingFileLoader;
+import io.FileInterface;
+import io.MappedFileLoader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The SessionServer class hosts game sessions for local clients over a loopback TCP port or a
+ * Unix domain socket, speaking the {@link SessionProtocol}. Every connection is a session with
+ * its own MazeGame, served on its own virtual thread, so thousands of idle or busy sessions only
+ * cost their game state. Mazes are parsed once and their layouts shared by every session playing
+ * them, through a {@link CachingFileLoader}.
+ */
+public class SessionServer implements Closeable {
+
+    /**
+     * Port listened on when none is given.
+     */
+    public static final int DEFAULT_PORT = 7777;
+
+    /**
+     * Number of pending connections queued by the operating system.
+     */
+    private static final int BACKLOG = 4096;
+
+    /**
+     * Directory the mazes of the sessions are loaded from.
+     */
+    private final Path mazeDirectory;
+
+    /**
+     * Loader sharing the parsed layouts between sessions.
+     */
+    private final FileInterface loader;
+
+    /**
+     * The listening socket.
+     */
+    private final ServerSocketChannel serverChannel;
+
+    /**
+     * Connections of the sessions still running.
+     */
+    private final Set<SocketChannel> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Counters of the sessions opened and of the moves applied by all of them.
+     */
+    private final LongAdder sessionsOpened = new LongAdder(), moves = new LongAdder();
+
+    /**
+     * The thread accepting connections, null until started.
+     */
+    private Thread acceptor;
+
+    /**
+     * Constructs a SessionServer and binds its socket.
+     *
+     * @param mazeDirectory The directory the mazes of the sessions are loaded from.
+     * @param address The loopback address or Unix domain socket to listen on, a port of 0 picks
+     *                a free port.
+     * @throws IOException If the socket can not be bound.
+     * @require mazeDirectory != null && address != null
+     */
+    public SessionServer(Path mazeDirectory, SocketAddress address) throws IOException {
+        this.mazeDirectory = mazeDirectory.toAbsolutePath().normalize();
+        this.loader = new CachingFileLoader(new MappedFileLoader());
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        serverChannel.bind(address, BACKLOG);
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     *
+     * @return This server.
+     */
+    public synchronized SessionServer start() {
+        if (acceptor == null) {
+            acceptor = Thread.ofPlatform().name("maze-session-acceptor").daemon(true)
+                    .start(this::accept);
+        }
+        return this;
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a session for each of them.
+     */
+    private void accept() {
+        Thread.Builder sessionThreads = Thread.ofVirtual().name("maze-session-", 0);
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                sessions.add(channel);
+                if (!serverChannel.isOpen()) {
+                    // Closed while accepting, close() may have missed this session
+                    channel.close();
+                    return;
+                }
+                sessionsOpened.increment();
+                sessionThreads.start(new GameSession(channel, this));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // A connection failed before it was accepted, keeps serving the others
+            }
+        }
+    }
+
+    /**
+     * Retrieves the address the server listens on.
+     *
+     * @return The bound address, with the actual port when port 0 was requested.
+     * @throws IOException If the socket is closed.
+     */
+    public SocketAddress getAddress() throws IOException {
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Retrieves the number of sessions currently connected.
+     *
+     * @return The number of open sessions.
+     */
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Retrieves the number of sessions opened since the server started.
+     *
+     * @return The number of sessions.
+     */
+    public long getSessionsOpened() {
+        return sessionsOpened.sum();
+    }
+
+    /**
+     * Retrieves the number of moves applied by every session.
+     *
+     * @return The number of moves.
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    /**
+     * Resolves the file of a maze requested by a session.
+     *
+     * @param name The maze file, relative to the maze directory.
+     * @return The maze file, or null if the name points outside of the maze directory.
+     */
+    Path resolveMaze(String name) {
+        Path file = mazeDirectory.resolve(name).normalize();
+        return file.startsWith(mazeDirectory) ? file : null;
+    }
+
+    /**
+     * Retrieves the loader shared by the sessions.
+     *
+     * @return The caching loader.
+     */
+    FileInterface getLoader() {
+        return loader;
+    }
+
+    /**
+     * Counts the moves applied by a session.
+     *
+     * @param count The number of moves.
+     */
+    void movesApplied(int count) {
+        moves.add(count);
+    }
+
+    /**
+     * Forgets a session whose connection was closed.
+     *
+     * @param channel The connection of the session.
+     */
+    void sessionClosed(SocketChannel channel) {
+        sessions.remove(channel);
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session.
+     *
+     * @throws IOException If the socket can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        SocketAddress address = serverChannel.isOpen() ? serverChannel.getLocalAddress() : null;
+        serverChannel.close();
+        for (SocketChannel channel : sessions) {
+            channel.close();
+        }
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+        }
+    }
+
+    /**
+     * Serves the mazes of a directory until the process is stopped.
+     *
+     * @param args The maze directory, and optionally the port or Unix domain socket path to
+     *             listen on.
+     * @throws IOException If the socket can not be bound.
+     * @throws InterruptedException If the main thread is interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: SessionServer <maze directory> [port | socket path]");
+            return;
+        }
+        SocketAddress address = SessionProtocol.address(args.length > 1 ? args[1]
+                : String.valueOf(DEFAULT_PORT));
+        try (SessionServer server = new SessionServer(Path.of(args[0]), address)) {
+            server.start();
+            System.out.println("Serving " + server.mazeDirectory + " on " + server.getAddress());
+            server.acceptor.join();
+        }
+    }
+}
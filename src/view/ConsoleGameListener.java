@@ -0,0 +1,49 @@
+package view;
+
+import model.Direction;
+import model.GameListener;
+
+/**
+ * The ConsoleGameListener class prints the outcome of moves to the console for the text display.
+ */
+public class ConsoleGameListener implements GameListener {
+
+    /**
+     * True to print a message for every rejected move.
+     */
+    private final boolean reportInvalidMoves;
+
+    /**
+     * Constructs a ConsoleGameListener printing every outcome.
+     */
+    public ConsoleGameListener() {
+        this(true);
+    }
+
+    /**
+     * Constructs a ConsoleGameListener.
+     *
+     * @param reportInvalidMoves True to print a message for every rejected move, false to only
+     *                           announce the exit, e.g. when moves are piped in.
+     */
+    public ConsoleGameListener(boolean reportInvalidMoves) {
+        this.reportInvalidMoves = reportInvalidMoves;
+    }
+
+    @Override
+    public void invalidMove(Direction direction) {
+        if (!reportInvalidMoves) {
+            return;
+        }
+        if (direction == null) {
+            System.out.println("please input a move (w/a/s/d). ");
+        } else {
+            System.out.println("Invalid move!");
+        }
+    }
+
+    @Override
+    public void exitReached() {
+        System.out.println("Congratulations! You've reached the exit!");
+    }
+}
@@ -0,0 +1,200 @@
+package view;
+
+import metrics.MazeMetrics;
+import model.GameListener;
+import model.MazeGame;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * The DiffTextDisplay class draws the full maze once and afterwards only redraws the cells that
+ * changed, every cell the goose left or entered since the last frame, using cursor addressing.
+ * It listens to the game to collect those cells, so batches of moves applied between two frames
+ * are redrawn too, and falls back to a full redraw when a batch touched too many cells. The rows
+ * below the maze become a scrolling region, so prompts and messages scroll without moving the
+ * maze. The terminal must be taller than the maze.
+ */
+public class DiffTextDisplay extends TextDisplay implements GameListener {
+
+    /**
+     * Escape sequences clearing the screen, saving and restoring the cursor.
+     */
+    private static final byte[] CLEAR_SCREEN = ascii("\u001B[2J\u001B[H"),
+            SAVE_CURSOR = ascii("\u001B7"), RESTORE_CURSOR = ascii("\u001B8"),
+            RESET_SCROLL_REGION = ascii("\u001B[r");
+
+    /**
+     * Number of changed cells above which the next frame redraws the whole maze instead.
+     */
+    static final int MAX_CHANGED_CELLS = 4096;
+
+    /**
+     * Flat index of the goose in the last drawn frame, -1 before the first frame.
+     */
+    private int drawnGooseIndex = -1;
+
+    /**
+     * Cells changed since the last frame, only the first {@link #changedCount} are used.
+     */
+    private int[] changed = new int[16];
+
+    /**
+     * Number of cells changed since the last frame.
+     */
+    private int changedCount;
+
+    /**
+     * Constructs a DiffTextDisplay object for the specified maze, writing to the console.
+     *
+     * @param maze The MazeGame object representing the maze.
+     * @require maze != null
+     */
+    public DiffTextDisplay(MazeGame maze) {
+        super(maze);
+        maze.addListener(this);
+    }
+
+    /**
+     * Constructs a DiffTextDisplay object for the specified maze, writing to the given stream.
+     *
+     * @param maze The MazeGame object representing the maze.
+     * @param out The stream to write frames to.
+     * @require maze != null && out != null
+     */
+    public DiffTextDisplay(MazeGame maze, OutputStream out) {
+        super(maze, out);
+        maze.addListener(this);
+    }
+
+    /**
+     * Records the two cells changed by a move, to be redrawn by the next frame.
+     *
+     * @param fromIndex The flat index of the cell the goose left.
+     * @param toIndex The flat index of the cell the goose entered.
+     */
+    @Override
+    public void gooseMoved(int fromIndex, int toIndex) {
+        markChanged(fromIndex);
+        markChanged(toIndex);
+    }
+
+    /**
+     * Displays the maze, drawing every cell on the first call and only the cells changed by the
+     * moves made since the last frame afterwards.
+     */
+    @Override
+    public void displayMaze() {
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
+        long cells = 0;
+        int gooseIndex = getGame().getGooseIndex();
+        frame.reset();
+        if (changedCount > MAX_CHANGED_CELLS - 2) {
+            redraw();
+        }
+        if (drawnGooseIndex < 0) {
+            int rows = getGame().getMaze().getRows();
+            cells = (long) rows * getGame().getMaze().getCols();
+            frame.append(CLEAR_SCREEN);
+            appendRows();
+            // keep the maze in place and let the lines below it scroll
+            appendEscape(rows + 1, 'r');
+            appendCursor(rows, 0);
+        } else if (changedCount > 0 || gooseIndex != drawnGooseIndex) {
+            if (changedCount == 0) {
+                // The goose can also be placed without a move, when a game is restored
+                markChanged(drawnGooseIndex);
+                markChanged(gooseIndex);
+            }
+            frame.append(SAVE_CURSOR);
+            for (int i = 0; i < changedCount; i++) {
+                appendChangedCell(changed[i]);
+            }
+            frame.append(RESTORE_CURSOR);
+            cells = changedCount;
+        }
+        drawnGooseIndex = gooseIndex;
+        changedCount = 0;
+        writeFrame();
+        if (MazeMetrics.ENABLED) {
+            MazeMetrics.recordFrame("diff", cells, start);
+        }
+    }
+
+    /**
+     * Makes the next call to {@link #displayMaze()} draw every cell again.
+     */
+    public void redraw() {
+        drawnGooseIndex = -1;
+        changedCount = 0;
+    }
+
+    /**
+     * Restores the whole screen as scrolling region once the game is over.
+     */
+    @Override
+    public void finish() {
+        frame.reset();
+        frame.append(RESET_SCROLL_REGION);
+        writeFrame();
+    }
+
+    /**
+     * Records a cell to be redrawn by the next frame, or the whole maze once too many cells
+     * changed.
+     *
+     * @param index The flat index of the cell.
+     */
+    private void markChanged(int index) {
+        if (drawnGooseIndex < 0 || changedCount > 0 && changed[changedCount - 1] == index) {
+            return;
+        }
+        if (changedCount == MAX_CHANGED_CELLS) {
+            redraw();
+            return;
+        }
+        if (changedCount == changed.length) {
+            changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = index;
+    }
+
+    /**
+     * Composes a cursor movement to a cell followed by the cell itself.
+     *
+     * @param index The flat index of the cell.
+     */
+    private void appendChangedCell(int index) {
+        int cols = getGame().getMaze().getCols();
+        appendCursor(index / cols, index % cols);
+        appendCell(index);
+    }
+
+    /**
+     * Composes a cursor movement to the given zero based row and column.
+     *
+     * @param row The row to move to.
+     * @param col The column to move to.
+     */
+    private void appendCursor(int row, int col) {
+        frame.append((byte) 0x1B);
+        frame.append((byte) '[');
+        frame.append(row + 1);
+        frame.append((byte) ';');
+        frame.append(col + 1);
+        frame.append((byte) 'H');
+    }
+
+    /**
+     * Composes an escape sequence with a single numeric parameter.
+     *
+     * @param parameter The numeric parameter.
+     * @param command The final character of the sequence.
+     */
+    private void appendEscape(int parameter, char command) {
+        frame.append((byte) 0x1B);
+        frame.append((byte) '[');
+        frame.append(parameter);
+        frame.append((byte) command);
+    }
+}
@@ -0,0 +1,90 @@
+package view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * The FrameBuffer class is a growable byte buffer that a console frame is composed into, so the
+ * whole frame reaches the output stream in a single write.
+ */
+final class FrameBuffer {
+
+    /**
+     * Bytes of the frame composed so far.
+     */
+    private byte[] bytes = new byte[8192];
+
+    /**
+     * Number of bytes composed so far.
+     */
+    private int size;
+
+    /**
+     * Empties the buffer, keeping its storage for the next frame.
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * Appends raw bytes to the frame.
+     *
+     * @param data The bytes to append.
+     */
+    void append(byte[] data) {
+        ensureCapacity(data.length);
+        System.arraycopy(data, 0, bytes, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Appends a single byte to the frame.
+     *
+     * @param data The byte to append.
+     */
+    void append(byte data) {
+        ensureCapacity(1);
+        bytes[size++] = data;
+    }
+
+    /**
+     * Appends the decimal digits of a non-negative number to the frame.
+     *
+     * @param number The number to append.
+     * @require number >= 0
+     */
+    void append(int number) {
+        if (number >= 10) {
+            append(number / 10);
+        }
+        append((byte) ('0' + number % 10));
+    }
+
+    /**
+     * Writes the frame to the stream and flushes it.
+     *
+     * @param out The stream to write to.
+     * @throws UncheckedIOException If the stream can not be written.
+     */
+    void writeTo(OutputStream out) {
+        try {
+            out.write(bytes, 0, size);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the maze frame", e);
+        }
+    }
+
+    /**
+     * Grows the storage so the given number of bytes fit after the current content.
+     *
+     * @param extra The number of bytes about to be appended.
+     */
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
@@ -3,7 +3,11 @@ package view;
 import exceptions.MazeMalformedException;
 import exceptions.MazeSizeMissmatchException;
 import exceptions.NoSuchElementException;
+import io.CachingFileLoader;
+import io.FileInterface;
 import io.FileLoader;
+import model.CharGrid;
+import model.Grid;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
@@ -27,6 +31,11 @@ public class MazeGUI extends JFrame implements ActionListener {
      */
     private final JMenuItem load;
 
+    /**
+     * The loader used by the load file menu.
+     */
+    private final FileInterface fileLoader;
+
     /**
      * Constructs a MazeGUI with the specified maze layout.
      *
@@ -35,7 +44,33 @@ public class MazeGUI extends JFrame implements ActionListener {
      *
      */
     public MazeGUI(char[][] maze) throws NoSuchElementException {
-        mazeView = new MazeView(maze);
+        this(new CharGrid(maze));
+    }
+
+    /**
+     * Constructs a MazeGUI with the maze layout stored in the given grid, loading files from the
+     * menu through a cached text loader.
+     *
+     * @param grid The grid storing the initial maze layout.
+     * @throws NoSuchElementException If a required element is not found in the maze.
+     */
+    public MazeGUI(Grid grid) throws NoSuchElementException {
+        this(grid, new CachingFileLoader(new FileLoader()));
+    }
+
+    /**
+     * Constructs a MazeGUI with the maze layout stored in the given grid, loading files from the
+     * menu through the given loader.
+     *
+     * @param grid The grid storing the initial maze layout.
+     * @param fileLoader The loader used by the load file menu, pass the loader the initial maze
+     *                   was loaded with so reopening it from its cache is a lookup.
+     * @throws NoSuchElementException If a required element is not found in the maze.
+     * @require fileLoader != null
+     */
+    public MazeGUI(Grid grid, FileInterface fileLoader) throws NoSuchElementException {
+        this.fileLoader = fileLoader;
+        mazeView = new MazeView(grid);
 
         this.add(mazeView);
         this.setSize(420, 420);
@@ -71,8 +106,7 @@ public class MazeGUI extends JFrame implements ActionListener {
                 // Get the selected file
                 File selectedFile = fileChooser.getSelectedFile();
                 try {
-                    FileLoader fileLoader = new FileLoader();
-                    char[][] maze = fileLoader.load(selectedFile.getAbsolutePath());
+                    Grid maze = fileLoader.loadGrid(selectedFile.getAbsolutePath());
 
                     // Update the maze GUI with the new maze
                     mazeView.updateMaze(maze);
@@ -2,23 +2,46 @@ package view;
 
 import exceptions.NoSuchElementException;
 import io.FileLoader;
+import metrics.MazeMetrics;
+import model.CharGrid;
 import model.Direction;
+import model.GameListener;
+import model.Grid;
+import model.Maze;
 import model.MazeGame;
-import model.Position;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 
 /**
  * The MazeView class provides a panel view of the maze.
+ * The panel only repaints when the game reports that the goose moved. The walls and paths, which never change,
+ * are drawn once into a cached image, and each move only invalidates the cells the goose left
+ * and entered.
  */
-public class MazeView extends JPanel implements KeyListener{
+public class MazeView extends JPanel implements KeyListener, GameListener {
+    /**
+     * Largest cached layer, in pixels, larger mazes are drawn straight onto the panel.
+     */
+    private static final long MAX_CACHED_PIXELS = 1L << 24;
+
     /**
      * MazeGame instance associated with this MazeView, providing access to the current maze state.
      */
     private MazeGame mazeGame;
 
+    /**
+     * Cached image of the static wall and path layer, null until painted or after invalidation.
+     */
+    private BufferedImage staticLayer;
+
+    /**
+     * Cell size the static layer was drawn with.
+     */
+    private int layerCellWidth, layerCellHeight;
+
     /**
      * constructs a MazeView panel for displaying the maze.
      *
@@ -27,20 +50,28 @@ public class MazeView extends JPanel implements KeyListener{
      * @require maze != null
      */
     public MazeView(char[][] maze) throws NoSuchElementException {
-        mazeGame = new MazeGame(maze);
+        this(new CharGrid(maze));
+    }
+
+    /**
+     * constructs a MazeView panel for displaying the maze stored in the given grid.
+     *
+     * @param grid The grid storing the initial maze layout to display.
+     * @throws NoSuchElementException If a required element is not found in the maze.
+     * @require grid != null
+     */
+    public MazeView(Grid grid) throws NoSuchElementException {
+        mazeGame = new MazeGame(grid);
+        mazeGame.addListener(this);
 
         addKeyListener(this);
         setFocusable(true);
         setFocusTraversalKeysEnabled(false);
-
-
-        int DELAY = 1;
-        Timer timer = new Timer(DELAY, e -> {repaint(); checkForExit();});
-        timer.start();
     }
 
     /**
-     * Overrides the default painting method to render the maze on the panel.
+     * Overrides the default painting method to render the maze on the panel. Only the cells
+     * inside the clip of the graphics context are drawn.
      *
      * @param g The graphics context to use for painting.
      * @require The {@code mazeGame} instance is properly initialised.
@@ -48,40 +79,53 @@ public class MazeView extends JPanel implements KeyListener{
      */
     @Override
     public void paint(Graphics g){
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
         super.paint(g);
 
-        char[][] maze = mazeGame.getMazeLayout();
-        int [][] visitCounts = mazeGame.getVisitedPositions();
+        Maze maze = mazeGame.getMaze();
+        int cellWidth = getWidth() / maze.getCols();
+        int cellHeight = getHeight() / maze.getRows();
+        if (cellWidth == 0 || cellHeight == 0) {
+            return;
+        }
 
-        int cellWidth = getWidth() / maze[0].length;
-        int cellHeight = getHeight() / maze.length;
+        // Cull to the cells inside the clip
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int firstRow = Math.max(0, clip.y / cellHeight);
+        int lastRow = Math.min(maze.getRows() - 1, (clip.y + clip.height - 1) / cellHeight);
+        int firstCol = Math.max(0, clip.x / cellWidth);
+        int lastCol = Math.min(maze.getCols() - 1, (clip.x + clip.width - 1) / cellWidth);
 
         // Draws the maze
-        for (int row = 0; row < maze.length; row++) {
-            for (int col = 0; col < maze[0].length; col++) {
-                Color color;
-                switch (maze[row][col]) {
-                    case FileLoader.WALL -> color = Color.LIGHT_GRAY;
-                    case FileLoader.PATH -> color = Color.WHITE;
-                    case FileLoader.START -> color = Color.GREEN;
-                    case FileLoader.END -> color = Color.RED;
-                    default -> color = Color.BLUE;
+        BufferedImage layer = getStaticLayer(maze, cellWidth, cellHeight);
+        if (layer != null) {
+            g.drawImage(layer, 0, 0, null);
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Color color = visitColor(maze.getVisitCount(row, col));
+                if (color == null && layer == null) {
+                    color = layoutColor(maze.getCell(row, col));
                 }
-                if (visitCounts[row][col] > 0) {
-                    color = Color.CYAN;
-                } if (visitCounts[row][col] > 1) {
-                    color = Color.BLUE;
+                if (color != null) {
+                    g.setColor(color);
+                    g.fillRect(col * cellWidth, row * cellHeight, cellWidth, cellHeight);
                 }
-                g.setColor(color);
-                g.fillRect(col * cellWidth, row * cellHeight, cellWidth, cellHeight);
             }
         }
 
         // Draw the goose at its current position
-        Position goosePosition = mazeGame.getGoosePosition();
+        int gooseIndex = mazeGame.getGooseIndex();
         g.setColor(Color.GREEN);
-        g.fillRect(goosePosition.getCol() * cellWidth, goosePosition.getRow() * cellHeight,
-                cellWidth, cellHeight);
+        g.fillRect(gooseIndex % maze.getCols() * cellWidth,
+                gooseIndex / maze.getCols() * cellHeight, cellWidth, cellHeight);
+        if (MazeMetrics.ENABLED) {
+            MazeMetrics.recordFrame("swing",
+                    (long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1), start);
+        }
     }
 
     /**
@@ -92,11 +136,8 @@ public class MazeView extends JPanel implements KeyListener{
      *          and the application is terminated.
      */
     private void checkForExit() {
-        Position goosePosition = mazeGame.getGoosePosition();
-        char[][] maze = mazeGame.getMazeLayout();
-
         // Check if the goose is on the exit
-        if (maze[goosePosition.getRow()][goosePosition.getCol()] == 'E') {
+        if (mazeGame.getMaze().getGrid().getMetadata().isExit(mazeGame.getGooseIndex())) {
             JOptionPane.showMessageDialog(null, "Congrats! You've reached " +
                     "the exit!");
             System.exit(0); // Terminate the application
@@ -116,14 +157,29 @@ public class MazeView extends JPanel implements KeyListener{
      */
     @Override
     public void keyTyped(KeyEvent e) {
-        switch (e.getKeyChar()) {
-            case 'a' -> mazeGame.moveGoose(Direction.LEFT);
-            case 'w' -> mazeGame.moveGoose(Direction.UP);
-            case 's' -> mazeGame.moveGoose(Direction.DOWN);
-            case 'd' -> mazeGame.moveGoose(Direction.RIGHT);
+        Direction direction = Direction.fromKey(e.getKeyChar());
+        if (direction != null) {
+            mazeGame.moveGoose(direction);
         }
     }
 
+    /**
+     * Repaints only the cells the goose left and entered.
+     *
+     * @param fromIndex The flat index of the cell the goose left.
+     * @param toIndex The flat index of the cell the goose entered.
+     */
+    @Override
+    public void gooseMoved(int fromIndex, int toIndex) {
+        repaintCell(fromIndex);
+        repaintCell(toIndex);
+    }
+
+    @Override
+    public void exitReached() {
+        checkForExit();
+    }
+
     @Override
     public void keyPressed(KeyEvent e) {
     }
@@ -141,8 +197,94 @@ public class MazeView extends JPanel implements KeyListener{
      * @ensure mazeGame == \old(mazeGame) && mazeGame.getMazeLayout() == newMaze
      */
     public void updateMaze(char[][] newMaze) throws NoSuchElementException {
-        mazeGame = new MazeGame(newMaze);
+        updateMaze(new CharGrid(newMaze));
+    }
+
+    /**
+     * Updates the displayed maze with a new layout stored in the given grid.
+     *
+     * @param newGrid The grid storing the new maze layout to display.
+     * @throws NoSuchElementException If a required element is not found in the maze.
+     * @require newGrid != null
+     */
+    public void updateMaze(Grid newGrid) throws NoSuchElementException {
+        mazeGame = new MazeGame(newGrid);
+        mazeGame.addListener(this);
+        staticLayer = null;
         repaint();
     }
 
+    /**
+     * Marks the rectangle of a single cell as needing to be repainted.
+     *
+     * @param index The flat index of the cell.
+     */
+    private void repaintCell(int index) {
+        Maze maze = mazeGame.getMaze();
+        int cellWidth = getWidth() / maze.getCols();
+        int cellHeight = getHeight() / maze.getRows();
+        repaint(index % maze.getCols() * cellWidth, index / maze.getCols() * cellHeight,
+                cellWidth, cellHeight);
+    }
+
+    /**
+     * Retrieves the cached static layer, drawing it again if the cell size changed.
+     *
+     * @param maze The maze being displayed.
+     * @param cellWidth The width of a cell in pixels.
+     * @param cellHeight The height of a cell in pixels.
+     * @return The static layer, or null if the maze is too large to cache.
+     */
+    private BufferedImage getStaticLayer(Maze maze, int cellWidth, int cellHeight) {
+        long pixels = (long) maze.getCols() * cellWidth * maze.getRows() * cellHeight;
+        if (pixels > MAX_CACHED_PIXELS) {
+            return null;
+        }
+        if (staticLayer == null || layerCellWidth != cellWidth
+                || layerCellHeight != cellHeight) {
+            staticLayer = new BufferedImage(maze.getCols() * cellWidth,
+                    maze.getRows() * cellHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D layer = staticLayer.createGraphics();
+            for (int row = 0; row < maze.getRows(); row++) {
+                for (int col = 0; col < maze.getCols(); col++) {
+                    layer.setColor(layoutColor(maze.getCell(row, col)));
+                    layer.fillRect(col * cellWidth, row * cellHeight, cellWidth, cellHeight);
+                }
+            }
+            layer.dispose();
+            layerCellWidth = cellWidth;
+            layerCellHeight = cellHeight;
+        }
+        return staticLayer;
+    }
+
+    /**
+     * Decides the colour of a cell from the maze layout alone.
+     *
+     * @param cell The maze character of the cell.
+     * @return The colour of the cell.
+     */
+    private static Color layoutColor(char cell) {
+        return switch (cell) {
+            case FileLoader.WALL -> Color.LIGHT_GRAY;
+            case FileLoader.PATH -> Color.WHITE;
+            case FileLoader.START -> Color.GREEN;
+            case FileLoader.END -> Color.RED;
+            default -> Color.BLUE;
+        };
+    }
+
+    /**
+     * Decides the colour of a visited cell, which is drawn over the layout colour.
+     *
+     * @param visitCount The number of times the cell was visited.
+     * @return The colour of the visited cell, or null if the cell was never visited.
+     */
+    private static Color visitColor(int visitCount) {
+        if (visitCount > 1) {
+            return Color.BLUE;
+        }
+        return visitCount > 0 ? Color.CYAN : null;
+    }
+
 }
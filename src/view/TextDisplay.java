@@ -1,27 +1,82 @@
 package view;
 
 import io.FileLoader;
+import metrics.MazeMetrics;
+import model.Maze;
 import model.MazeGame;
-import model.Position;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * The TextDisplay class is responsible for displaying the maze in text format when called.
+ * Each frame is composed into a reusable byte buffer and written in one go, with neighbouring
+ * tiles of the same colour sharing a single colour escape sequence.
  */
 public class TextDisplay {
 
+    /**
+     * Tile colours, indexes into {@link #COLOURS}. Plain cells are printed as their character.
+     */
+    static final int PLAIN = -1, GREEN = 0, BLUE = 1, CYAN = 2, GREY = 3, RED = 4;
+
+    /**
+     * ANSI escape sequences selecting each tile colour.
+     */
+    private static final byte[][] COLOURS = {ascii("\u001B[32m"), ascii("\u001B[34m"),
+            ascii("\u001B[36m"), ascii("\u001B[90m"), ascii("\u001B[31m")};
+
+    /**
+     * ANSI escape sequence resetting the colour.
+     */
+    static final byte[] RESET = ascii("\u001B[0m");
+
+    /**
+     * The full block character drawn for coloured tiles.
+     */
+    private static final byte[] TILE = "\u2588".getBytes(Charset.defaultCharset());
+
+    /**
+     * Line separator written after every row.
+     */
+    private static final byte[] LINE_SEPARATOR = ascii(System.lineSeparator());
+
     /**
      * MazeGame object that containing the logic of the maze game.
      */
     private final MazeGame maze;
 
     /**
-     * Constructs a TextDisplay object for the specified maze.
+     * Stream the frames are written to.
+     */
+    private final OutputStream out;
+
+    /**
+     * Buffer each frame is composed in, reused between frames.
+     */
+    final FrameBuffer frame = new FrameBuffer();
+
+    /**
+     * Constructs a TextDisplay object for the specified maze, writing to the console.
      *
      * @param maze The MazeGame object representing the maze.
      * @require maze != null
      */
     public TextDisplay(MazeGame maze) {
+        this(maze, System.out);
+    }
+
+    /**
+     * Constructs a TextDisplay object for the specified maze, writing to the given stream.
+     *
+     * @param maze The MazeGame object representing the maze.
+     * @param out The stream to write frames to.
+     * @require maze != null && out != null
+     */
+    public TextDisplay(MazeGame maze, OutputStream out) {
         this.maze = maze;
+        this.out = out;
     }
 
     /**
@@ -31,43 +86,143 @@ public class TextDisplay {
      * @pure
      */
     public void displayMaze() {
-        final String CYAN_TILE = "\u001B[36m"+"\u2588" + "\u001B[0m";
-        final String GREEN_TILE = "\u001B[32m" + "\u2588" + "\u001B[0m";
-        final String RED_TILE = "\u001B[31m" + "\u2588" + "\u001B[0m";
-        final String GREY_TILE = "\u001B[90m" + "\u2588" + "\u001B[0m";
-        final String BLUE_TILE = "\u001B[34m"+"\u2588" + "\u001B[0m";
-
-        char[][] mazeLayout = maze.getMazeLayout();
-        int[][] visitCounts = maze.getVisitedPositions();
-        Position goosePosition = maze.getGoosePosition();
-
-        for (int row = 0; row < mazeLayout.length; row++) {
-            for (int col = 0; col < mazeLayout[row].length; col++) {
-                if (mazeLayout[row][col] == FileLoader.START) {
-                    System.out.print(GREEN_TILE);
-                }
-                else if (row == goosePosition.getRow() && col == goosePosition.getCol()) {
-                    System.out.print(GREEN_TILE);
-                }
-                // backtracking paths represented by blue tiles
-                else if (visitCounts[row][col] > 1) {
-                    System.out.print(BLUE_TILE);}
-                // traversed path represented by cyan tiles
-                else if (visitCounts[row][col] > 0) {
-                    System.out.print(CYAN_TILE);}
-                else if (mazeLayout[row][col] == FileLoader.WALL){
-                    System.out.print(GREY_TILE);
-                }
-                else if (mazeLayout[row][col] == FileLoader.END) {
-                    System.out.print(RED_TILE);
-                }
-                else {
-                    System.out.print(mazeLayout[row][col]);
+        long start = MazeMetrics.ENABLED ? System.nanoTime() : 0;
+        frame.reset();
+        appendRows();
+        writeFrame();
+        if (MazeMetrics.ENABLED) {
+            Maze mazeLayout = maze.getMaze();
+            MazeMetrics.recordFrame("text", (long) mazeLayout.getRows() * mazeLayout.getCols(),
+                    start);
+        }
+    }
+
+    /**
+     * Restores the console once the game is over. The stream itself is left open.
+     */
+    public void finish() {
+    }
+
+    /**
+     * Composes every row of the maze into the frame buffer, merging runs of the same colour.
+     */
+    void appendRows() {
+        Maze mazeLayout = maze.getMaze();
+        int gooseIndex = maze.getGooseIndex();
+        int cols = mazeLayout.getCols();
+
+        for (int row = 0; row < mazeLayout.getRows(); row++) {
+            int current = PLAIN;
+            for (int col = 0; col < cols; col++) {
+                int colour = colourOf(mazeLayout, row, col, row * cols + col == gooseIndex);
+                if (colour != current) {
+                    if (current != PLAIN) {
+                        frame.append(RESET);
+                    }
+                    if (colour != PLAIN) {
+                        frame.append(COLOURS[colour]);
+                    }
+                    current = colour;
                 }
+                appendGlyph(mazeLayout, row, col, colour);
             }
+            if (current != PLAIN) {
+                frame.append(RESET);
+            }
+            frame.append(LINE_SEPARATOR);
+        }
+    }
 
-            System.out.println();
+    /**
+     * Composes a single cell into the frame buffer, wrapped in its own colour sequence.
+     *
+     * @param index The flat index of the cell.
+     */
+    void appendCell(int index) {
+        Maze mazeLayout = maze.getMaze();
+        int row = index / mazeLayout.getCols();
+        int col = index % mazeLayout.getCols();
+        int colour = colourOf(mazeLayout, row, col, index == maze.getGooseIndex());
+        if (colour != PLAIN) {
+            frame.append(COLOURS[colour]);
+        }
+        appendGlyph(mazeLayout, row, col, colour);
+        if (colour != PLAIN) {
+            frame.append(RESET);
         }
+    }
+
+    /**
+     * Writes the composed frame to the stream.
+     */
+    void writeFrame() {
+        frame.writeTo(out);
+    }
+
+    /**
+     * Retrieves the game being displayed.
+     *
+     * @return The MazeGame object of the display.
+     */
+    MazeGame getGame() {
+        return maze;
+    }
 
+    /**
+     * Converts an ASCII string to bytes.
+     *
+     * @param text The ASCII text.
+     * @return The bytes of the text.
+     */
+    static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Decides the colour of a cell.
+     *
+     * @param mazeLayout The maze being displayed.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param goose True if the goose is on the cell.
+     * @return The colour of the tile, or {@link #PLAIN} to print the cell character.
+     */
+    private static int colourOf(Maze mazeLayout, int row, int col, boolean goose) {
+        char cell = mazeLayout.getCell(row, col);
+        if (cell == FileLoader.START || goose) {
+            return GREEN;
+        }
+        int visitCount = mazeLayout.getVisitCount(row, col);
+        // backtracking paths represented by blue tiles
+        if (visitCount > 1) {
+            return BLUE;
+        }
+        // traversed path represented by cyan tiles
+        if (visitCount > 0) {
+            return CYAN;
+        }
+        if (cell == FileLoader.WALL) {
+            return GREY;
+        }
+        if (cell == FileLoader.END) {
+            return RED;
+        }
+        return PLAIN;
+    }
+
+    /**
+     * Composes the glyph of a cell, a block for coloured tiles or the cell character otherwise.
+     *
+     * @param mazeLayout The maze being displayed.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param colour The colour of the tile.
+     */
+    private void appendGlyph(Maze mazeLayout, int row, int col, int colour) {
+        if (colour == PLAIN) {
+            frame.append((byte) mazeLayout.getCell(row, col));
+        } else {
+            frame.append(TILE);
+        }
     }
 }
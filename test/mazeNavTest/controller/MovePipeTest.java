@@ -0,0 +1,112 @@
+package controller;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.Direction;
+import model.MazeGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MovePipeTest class contains unit tests for batched and piped move input.
+ */
+class MovePipeTest {
+
+    /**
+     * Route from the start to the exit of validMaze.txt.
+     */
+    private static final String SOLUTION = "ssssddwwddss";
+
+    /**
+     * The game the moves are applied to.
+     */
+    private MazeGame game;
+
+    /**
+     * Number of times the game was rendered.
+     */
+    private int renders;
+
+    /**
+     * Creates a game on the test maze before each test.
+     */
+    @BeforeEach
+    void setUp() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException, NoSuchElementException {
+        game = new MazeGame(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        renders = 0;
+    }
+
+    /**
+     * Tests that piped moves across lines and blocks are applied until the exit is reached.
+     *
+     * @ensure the goose ends on the exit and the moves after it are ignored
+     */
+    @Test
+    void playUntilExit() throws IOException {
+        MovePipe pipe = new MovePipe(game, () -> renders++, 5);
+        long moves = pipe.play(stream("ss ss\r\nddww\nxddss\nwwww"));
+
+        assertTrue(game.isGameOver());
+        assertEquals(5 * 7 + 5, game.getGooseIndex());
+        assertEquals(SOLUTION.length() + 1, moves);
+        assertEquals(1, pipe.getInvalidMoves());
+        // every 5 moves, then once at the end
+        assertEquals(3, renders);
+    }
+
+    /**
+     * Tests that a q ends the game and that the game is rendered only once by default.
+     *
+     * @ensure the moves after the q are not applied
+     */
+    @Test
+    void quitStopsPipe() throws IOException {
+        MovePipe pipe = new MovePipe(game, () -> renders++, 0);
+        long moves = pipe.play(stream("sawqssss"));
+
+        assertTrue(game.isGameOver());
+        assertEquals(8, game.getGooseIndex());
+        assertEquals(3, moves);
+        assertEquals(1, pipe.getInvalidMoves());
+        assertEquals(1, renders);
+    }
+
+    /**
+     * Tests that a line of moves is read in one call, and that the end of the input quits.
+     *
+     * @ensure every move of the line is returned in order
+     */
+    @Test
+    void readMovesLine() {
+        InputHandler input = new InputHandler(game, stream("wwdd\nwx\n\n"));
+
+        assertArrayEquals(new Direction[] {Direction.UP, Direction.UP, Direction.RIGHT,
+                Direction.RIGHT}, input.readMoves());
+        assertArrayEquals(new Direction[1], input.readMoves());
+        assertArrayEquals(new Direction[1], input.readMoves());
+        assertFalse(game.isGameOver());
+        assertEquals(0, input.readMoves().length);
+        assertTrue(game.isGameOver());
+    }
+
+    /**
+     * Creates a stream of ASCII text.
+     *
+     * @param text The text.
+     * @return The stream.
+     */
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,102 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import model.Grid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the io.BinaryFileLoader class and the MazeConverter producing its files.
+ */
+class BinaryFileLoaderTest {
+    /**
+     * Directory holding the converted files of each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that a converted maze loads back with the same cells and known start and end.
+     *
+     * @ensure Arrays.deepEquals(maze, new FileLoader().load(file))
+     */
+    @Test
+    public void convertAndLoadMatchesFileLoader() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        Path binary = convert("test/mazeNavTest/io/validMaze.txt");
+        char[][] expected = new FileLoader().load("test/mazeNavTest/io/validMaze.txt");
+
+        Grid grid = new BinaryFileLoader(true).loadGrid(binary.toString());
+
+        assertArrayEquals(expected, grid.toArray());
+        assertEquals(7 + 1, grid.getMetadata().getStart());
+        assertArrayEquals(new int[]{5 * 7 + 5}, grid.getMetadata().getExits());
+        assertEquals(17, grid.getMetadata().getOpenCells());
+        assertArrayEquals(expected, new BinaryFileLoader().load(binary.toString()));
+    }
+
+    /**
+     * Tests that invalid text mazes are rejected by the converter like FileLoader rejects them.
+     *
+     * @ensure The same exceptions as FileLoader are thrown.
+     */
+    @Test
+    public void convertInvalidMazes() {
+        assertThrows(MazeMalformedException.class, () ->
+                convert("test/mazeNavTest/io/invalidMazeMalformed.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                convert("test/mazeNavTest/io/mazeMismatchedCols.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                convert("test/mazeNavTest/io/mazeMismatchedRows.txt"));
+        assertThrows(IllegalArgumentException.class, () ->
+                convert("test/mazeNavTest/io/illegalElementMaze.txt"));
+        assertThrows(FileNotFoundException.class, () -> convert("nonexistent_file.txt"));
+    }
+
+    /**
+     * Tests that damaged binary files are rejected by default.
+     *
+     * @ensure text files, truncated files and corrupted payloads throw
+     */
+    @Test
+    public void loadInvalidFiles() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        BinaryFileLoader loader = new BinaryFileLoader();
+        assertThrows(MazeMalformedException.class, () ->
+                loader.loadGrid("test/mazeNavTest/io/validMaze.txt"));
+
+        Path binary = convert("test/mazeNavTest/io/validMaze.txt");
+        try (RandomAccessFile file = new RandomAccessFile(binary.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(0x7F);
+        }
+        assertThrows(MazeMalformedException.class, () -> loader.loadGrid(binary.toString()));
+
+        Files.write(binary, Files.readAllBytes(binary), StandardOpenOption.APPEND);
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                loader.loadGrid(binary.toString()));
+    }
+
+    /**
+     * Converts a text maze file into the temporary directory.
+     *
+     * @param text The path of the text maze file.
+     * @return The path of the binary maze file.
+     */
+    private Path convert(String text) throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        Path binary = directory.resolve("maze.bin");
+        MazeConverter.convert(Path.of(text), binary);
+        return binary;
+    }
+}
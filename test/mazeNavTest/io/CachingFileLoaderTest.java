@@ -0,0 +1,231 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import model.Grid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.io.UncheckedIOException;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the io.CachingFileLoader class and its MazeCache.
+ */
+class CachingFileLoaderTest {
+    /**
+     * Directory holding the copied maze files of each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that reloading a known maze is answered from the cache.
+     *
+     * @ensure the second load is a hit returning the same layout
+     */
+    @Test
+    public void reloadIsAHit() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        MazeCache cache = new MazeCache(MazeCache.DEFAULT_MAX_BYTES);
+        CachingFileLoader loader = new CachingFileLoader(new FileLoader(), cache);
+
+        Grid first = loader.loadGrid("test/mazeNavTest/io/validMaze.txt");
+        Grid second = loader.loadGrid("test/mazeNavTest/io/validMaze.txt");
+
+        assertSame(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertArrayEquals(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"),
+                loader.load("test/mazeNavTest/io/validMaze.txt"));
+    }
+
+    /**
+     * Tests that a copied or touched file is found by its content hash, and a changed one is
+     * parsed again.
+     *
+     * @ensure the content hash fallback is used only when the content is unchanged
+     */
+    @Test
+    public void contentHashFallback() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        MazeCache cache = new MazeCache(MazeCache.DEFAULT_MAX_BYTES);
+        CachingFileLoader loader = new CachingFileLoader(new FileLoader(), cache);
+        Path file = Files.copy(Path.of("test/mazeNavTest/io/validMaze.txt"),
+                directory.resolve("maze.txt"));
+        Path copy = Files.copy(file, directory.resolve("copy.txt"));
+
+        Grid original = loader.loadGrid(file.toString());
+        assertSame(original, loader.loadGrid(copy.toString()));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+        assertSame(original, loader.loadGrid(file.toString()));
+        assertEquals(2, cache.getHashHits());
+
+        Files.writeString(file, "3 3\n###\n#SE\n###\n");
+        assertEquals(3, loader.loadGrid(file.toString()).getRows());
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Tests that layouts are only shared between loaders of the same kind and validation
+     * setting, so a validating loader never gets a layout that skipped its check.
+     *
+     * @ensure an unsolvable maze cached without validation is still rejected when validating
+     */
+    @Test
+    public void separateLoaderVariants() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        MazeCache cache = new MazeCache(MazeCache.DEFAULT_MAX_BYTES);
+        Path walled = directory.resolve("walled.txt");
+        Files.writeString(walled, "3 5\n#####\n#S#E#\n#####\n");
+
+        Grid unchecked = new CachingFileLoader(new FileLoader(), cache).loadGrid(walled.toString());
+        assertEquals(3, unchecked.getRows());
+        CachingFileLoader validating = new CachingFileLoader(new FileLoader(true), cache);
+        assertTrue(validating.isValidating());
+        assertThrows(MazeMalformedException.class, () -> validating.loadGrid(walled.toString()));
+        assertNotSame(unchecked, new CachingFileLoader(new MappedFileLoader(), cache)
+                .loadGrid(walled.toString()));
+        assertSame(unchecked, new CachingFileLoader(new FileLoader(), cache)
+                .loadGrid(walled.toString()));
+        assertEquals(3, cache.getMisses());
+    }
+
+    /**
+     * Tests that the least recently used layouts are evicted to stay within the byte budget.
+     *
+     * @ensure getBytes() <= budget and evicted mazes are parsed again
+     */
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        // A 7x7 maze packs into 3 words, the budget holds two of them
+        MazeCache cache = new MazeCache(6 * Long.BYTES);
+        CachingFileLoader loader = new CachingFileLoader(new FileLoader(), cache);
+        Path a = Files.copy(Path.of("test/mazeNavTest/io/validMaze.txt"),
+                directory.resolve("a.txt"));
+        Path b = directory.resolve("b.txt");
+        Files.writeString(b, Files.readString(a).replace("E", "."));
+        Path c = directory.resolve("c.txt");
+        Files.writeString(c, Files.readString(a).replace("E", " "));
+
+        loader.loadGrid(a.toString());
+        loader.loadGrid(b.toString());
+        loader.loadGrid(a.toString());
+        loader.loadGrid(c.toString());
+
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.getBytes() <= 6 * Long.BYTES);
+        loader.loadGrid(a.toString());
+        assertEquals(3, cache.getMisses());
+        loader.loadGrid(b.toString());
+        assertEquals(4, cache.getMisses());
+    }
+
+    /**
+     * Tests that callers loading the same file at the same time share a single parse.
+     *
+     * @ensure the file is parsed once and every caller gets the same layout
+     */
+    @Test
+    public void sharesConcurrentParse() throws Exception {
+        MazeCache cache = new MazeCache(MazeCache.DEFAULT_MAX_BYTES);
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger parses = new AtomicInteger();
+        CachingFileLoader loader = new CachingFileLoader(new HookedLoader(() -> {
+            parses.incrementAndGet();
+            parsing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), cache);
+        String file = "test/mazeNavTest/io/validMaze.txt";
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Grid>> loads = new ArrayList<>();
+            loads.add(executor.submit(() -> loader.loadGrid(file)));
+            assertTrue(parsing.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                loads.add(executor.submit(() -> loader.loadGrid(file)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            Grid first = loads.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Grid> load : loads) {
+                assertSame(first, load.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, parses.get());
+            assertEquals(1, cache.getMisses());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a file changed while it is parsed is not cached under its new state.
+     *
+     * @ensure the next load parses the file again and returns its new content
+     */
+    @Test
+    public void skipsFileChangedWhileParsing() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        MazeCache cache = new MazeCache(MazeCache.DEFAULT_MAX_BYTES);
+        Path file = Files.copy(Path.of("test/mazeNavTest/io/validMaze.txt"),
+                directory.resolve("maze.txt"));
+        AtomicInteger parses = new AtomicInteger();
+        CachingFileLoader loader = new CachingFileLoader(new HookedLoader(() -> {
+            if (parses.incrementAndGet() == 1) {
+                try {
+                    Files.writeString(file, "3 3\n###\n#SE\n###\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }), cache);
+
+        // The hook runs after the first parse read the file, the old layout is returned
+        assertEquals(7, loader.loadGrid(file.toString()).getRows());
+        assertEquals(3, loader.loadGrid(file.toString()).getRows());
+        assertEquals(3, loader.loadGrid(file.toString()).getRows());
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * The HookedLoader class parses files with a FileLoader and runs a hook after each parse.
+     */
+    private static final class HookedLoader implements FileInterface {
+        private final FileInterface loader = new FileLoader();
+        private final Runnable hook;
+
+        private HookedLoader(Runnable hook) {
+            this.hook = hook;
+        }
+
+        @Override
+        public char[][] load(String filename) throws MazeMalformedException,
+                MazeSizeMissmatchException, FileNotFoundException {
+            char[][] maze = loader.load(filename);
+            hook.run();
+            return maze;
+        }
+    }
+}
@@ -74,15 +74,15 @@ class FileLoaderTest {
 
         // Test for when both row and column is even
         assertThrows(MazeMalformedException.class, () -> {
-                fileLoader.load("test/mazeNavTest/io/InvalidMazeMalformed.txt");});
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformed.txt");});
 
         // Test for when only number of rows are even
         assertThrows(MazeMalformedException.class, () -> {
-                fileLoader.load("test/mazeNavTest/io/InvalidMazeMalformedEvenRow.txt");});
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformedEvenRow.txt");});
 
         // Test for when only number of columns are even
         assertThrows(MazeMalformedException.class, () -> {
-                fileLoader.load("test/mazeNavTest/io/InvalidMazeMalformedEvenCol.txt");});
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformedEvenCol.txt");});
     }
 
     /**
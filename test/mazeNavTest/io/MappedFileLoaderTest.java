@@ -0,0 +1,85 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the io.MappedFileLoader class using Junit
+ */
+class MappedFileLoaderTest {
+    /**
+     * The instance used for loading maze files in the test cases.
+     */
+    private MappedFileLoader fileLoader;
+
+    /**
+     * Initialises a new MappedFileLoader object before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        fileLoader = new MappedFileLoader();
+    }
+
+    /**
+     * Tests that a valid maze is loaded exactly as the Scanner based FileLoader loads it.
+     *
+     * @ensure Arrays.deepEquals(maze, new FileLoader().load(file))
+     */
+    @Test
+    public void loadValidMazeMatchesFileLoader() throws FileNotFoundException,
+            MazeSizeMissmatchException, MazeMalformedException {
+        char[][] expected = new FileLoader().load("test/mazeNavTest/io/validMaze.txt");
+        char[][] maze = fileLoader.load("test/mazeNavTest/io/validMaze.txt");
+
+        assertArrayEquals(expected, maze);
+    }
+
+    /**
+     * Tests that files using "\r\n" line endings are loaded.
+     *
+     * @ensure maze[1][1] == FileLoader.START
+     */
+    @Test
+    public void loadWindowsLineEndings(@TempDir Path directory) throws IOException,
+            MazeSizeMissmatchException, MazeMalformedException {
+        Path file = directory.resolve("crlf.txt");
+        Files.writeString(file, "3 3\r\n###\r\n#SE\r\n###\r\n");
+
+        char[][] maze = fileLoader.load(file.toString());
+
+        assertEquals(3, maze.length);
+        assertEquals(FileLoader.START, maze[1][1]);
+        assertEquals(FileLoader.END, maze[1][2]);
+    }
+
+    /**
+     * Tests loading invalid maze files.
+     *
+     * @ensure The same exceptions as FileLoader are thrown.
+     */
+    @Test
+    public void loadInvalidMazes() {
+        assertThrows(MazeMalformedException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformed.txt"));
+        assertThrows(MazeMalformedException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformedEvenRow.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/mazeMismatchedCols.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/mazeMismatchedRows.txt"));
+        assertThrows(IllegalArgumentException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/illegalElementMaze.txt"));
+        assertThrows(FileNotFoundException.class, () ->
+                fileLoader.load("nonexistent_file.txt"));
+    }
+}
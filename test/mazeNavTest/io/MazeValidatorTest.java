@@ -0,0 +1,152 @@
+package io;
+
+import io.ValidationReport.Issue;
+import io.ValidationReport.Kind;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the io.MazeValidator class using Junit
+ */
+class MazeValidatorTest {
+
+    /**
+     * Tests that the test maze has no issues.
+     *
+     * @ensure report.isValid() && report.getIssues().isEmpty()
+     */
+    @Test
+    public void validateValidMaze() throws IOException {
+        ValidationReport report = new MazeValidator().validate(
+                Path.of("test/mazeNavTest/io/validMaze.txt"));
+
+        assertTrue(report.isValid());
+        assertTrue(report.getIssues().isEmpty());
+        assertEquals(7, report.getRows());
+        assertEquals(7, report.getCols());
+    }
+
+    /**
+     * Tests that every problem of a broken maze is reported in a single pass, with its line and
+     * column.
+     *
+     * @ensure the issues are reported in the order they appear in the file
+     */
+    @Test
+    public void reportEveryError(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("broken.txt");
+        Files.writeString(file, "5 5\r\n#####\r\n#S?E#\r\n#.#\r\n#SxE#\r\n");
+
+        ValidationReport report = new MazeValidator().validate(file);
+        List<Issue> issues = report.getIssues();
+
+        assertFalse(report.isValid());
+        assertIssue(issues.get(0), Kind.INVALID_CHARACTER, 3, 3);
+        assertIssue(issues.get(1), Kind.ROW_LENGTH, 4, 4);
+        assertIssue(issues.get(2), Kind.DUPLICATE_START, 5, 2);
+        assertIssue(issues.get(3), Kind.INVALID_CHARACTER, 5, 3);
+        assertIssue(issues.get(4), Kind.DUPLICATE_EXIT, 5, 4);
+        assertIssue(issues.get(5), Kind.ROW_COUNT, 6, 0);
+        assertEquals(6, issues.size());
+        assertEquals(5, report.getErrorCount());
+        assertEquals(1, report.getWarningCount());
+    }
+
+    /**
+     * Tests problems of the header and of the maze as a whole.
+     *
+     * @ensure even dimensions, a missing start and exit and an unreachable exit are reported
+     */
+    @Test
+    public void reportMazeErrors(@TempDir Path directory) throws IOException {
+        Path even = directory.resolve("even.txt");
+        Files.writeString(even, "3 4\n####\n#..#\n####");
+        Path header = directory.resolve("header.txt");
+        Files.writeString(header, "three 3\n###\n#S#\n#E#\n");
+        Path walled = directory.resolve("walled.txt");
+        Files.writeString(walled, "3 5\n#####\n#S#E#\n#####\n");
+
+        ValidationReport report = new MazeValidator().validate(even);
+        assertIssue(report.getIssues().get(0), Kind.EVEN_DIMENSION, 1, 3);
+        assertIssue(report.getIssues().get(1), Kind.MISSING_START, 0, 0);
+        assertIssue(report.getIssues().get(2), Kind.MISSING_EXIT, 0, 0);
+
+        report = new MazeValidator().validate(header);
+        assertIssue(report.getIssues().get(0), Kind.HEADER, 1, 1);
+        assertEquals(1, report.getErrorCount());
+        assertEquals(-1, report.getRows());
+
+        report = new MazeValidator().validate(walled);
+        assertIssue(report.getIssues().get(0), Kind.UNREACHABLE_EXIT, 0, 0);
+        assertTrue(report.getIssues().get(0).getMessage().contains("2 disconnected regions"));
+    }
+
+    /**
+     * Tests that a large maze is read across many buffers and that the issues kept are capped.
+     *
+     * @ensure every error is counted but only the first maxIssues are kept
+     */
+    @Test
+    public void capIssues(@TempDir Path directory) throws IOException {
+        int size = 1001;
+        StringBuilder maze = new StringBuilder(size + " " + size + "\n");
+        for (int row = 0; row < size; row++) {
+            String line = row == 1 ? "#S" + ".".repeat(size - 3) + "E" : "#".repeat(size);
+            // Every row past the middle holds an invalid character at its last column
+            maze.append(row > size / 2 ? line.substring(0, size - 1) + "!" : line).append('\n');
+        }
+        Path file = directory.resolve("large.txt");
+        Files.writeString(file, maze);
+
+        ValidationReport report = new MazeValidator(10).validate(file);
+
+        assertEquals(size / 2, report.getErrorCount());
+        assertEquals(10, report.getIssues().size());
+        assertTrue(report.isTruncated());
+        assertIssue(report.getIssues().get(0), Kind.INVALID_CHARACTER, size / 2 + 3, size);
+        assertTrue(report.toJson().contains("\"truncated\":true"));
+    }
+
+    /**
+     * Tests the JSON rendering of a report.
+     *
+     * @ensure the report is a single JSON object with escaped messages
+     */
+    @Test
+    public void renderJson(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("quote.txt");
+        Files.writeString(file, "3 3\n###\n#S\"\n#E#\n");
+
+        String json = new MazeValidator().validate(file).toJson();
+
+        assertTrue(json.startsWith("{\"file\":"));
+        assertTrue(json.contains("\"rows\":3,\"cols\":3,\"valid\":false,\"errors\":1,"
+                + "\"warnings\":0,\"truncated\":false,\"issues\":[{\"severity\":\"ERROR\","
+                + "\"kind\":\"INVALID_CHARACTER\",\"line\":3,\"column\":3,"
+                + "\"message\":\"Invalid character in file: '\\\"'\"}]}"));
+        assertThrows(FileNotFoundException.class, () ->
+                new MazeValidator().validate(Path.of("nonexistent_file.txt")));
+    }
+
+    /**
+     * Asserts the kind and position of an issue.
+     *
+     * @param issue The issue to check.
+     * @param kind The expected kind.
+     * @param line The expected line.
+     * @param column The expected column.
+     */
+    private static void assertIssue(Issue issue, Kind kind, long line, long column) {
+        assertEquals(kind, issue.getKind(), issue.toString());
+        assertEquals(line, issue.getLine(), issue.toString());
+        assertEquals(column, issue.getColumn(), issue.toString());
+    }
+}
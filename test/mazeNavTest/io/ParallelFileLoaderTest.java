@@ -0,0 +1,199 @@
+package io;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import model.Grid;
+import model.MazeMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the io.ParallelFileLoader class using Junit
+ */
+class ParallelFileLoaderTest {
+
+    /**
+     * Tests that mazes split into many bands load exactly as the sequential loader loads them,
+     * whatever their line endings and whether their last line is terminated.
+     *
+     * @ensure the maze and its metadata match the MappedFileLoader ones
+     */
+    @Test
+    public void loadMatchesSequential(@TempDir Path directory) throws IOException,
+            MazeSizeMissmatchException, MazeMalformedException {
+        StringBuilder maze = new StringBuilder();
+        for (int row = 0; row < 41; row++) {
+            for (int col = 0; col < 21; col++) {
+                boolean wall = row % 2 == 0 || col % 2 == 0 || (row * 7 + col * 3) % 5 == 0;
+                maze.append(row == 1 && col == 1 ? 'S' : (row * col) % 97 == 3 ? 'E'
+                        : wall ? '#' : '.');
+            }
+            maze.append('\n');
+        }
+        String[] endings = {"\n", "\r\n", "\r"};
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String ending : endings) {
+                for (boolean terminated : new boolean[]{true, false}) {
+                    String text = "41 21" + ending + maze.toString().replace("\n", ending);
+                    if (!terminated) {
+                        text = text.substring(0, text.length() - ending.length());
+                    }
+                    Path file = directory.resolve("maze.txt");
+                    Files.writeString(file, text);
+
+                    // Bands of 100 bytes hold a few rows each
+                    Grid grid = new ParallelFileLoader(pool, false, 100).loadGrid(file.toString());
+                    Grid expected = new MappedFileLoader().loadGrid(file.toString());
+
+                    assertArrayEquals(expected.toArray(), grid.toArray());
+                    MazeMetadata metadata = grid.getMetadata();
+                    assertEquals(expected.getMetadata().getStart(), metadata.getStart());
+                    assertArrayEquals(expected.getMetadata().getExits(), metadata.getExits());
+                    assertEquals(expected.getMetadata().getOpenCells(),
+                            metadata.getOpenCells());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that validating checks each band on its own and joins the bands at their boundary
+     * rows, along a path winding through every band.
+     *
+     * @ensure the winding maze loads and the same maze cut in two is rejected like the
+     *         sequential loader rejects it
+     */
+    @Test
+    public void validateAcrossBands(@TempDir Path directory) throws IOException,
+            MazeSizeMissmatchException, MazeMalformedException {
+        int rows = 41;
+        int cols = 15;
+        StringBuilder winding = new StringBuilder(rows + " " + cols + "\n");
+        StringBuilder cut = new StringBuilder(winding);
+        for (int row = 0; row < rows; row++) {
+            char[] line = "#".repeat(cols).toCharArray();
+            if (row % 2 == 1) {
+                Arrays.fill(line, 1, cols - 1, '.');
+            } else if (row > 0 && row < rows - 1) {
+                // The openings alternate sides, so the path crosses every row
+                line[row % 4 == 2 ? cols - 2 : 1] = '.';
+            }
+            if (row == 1) {
+                line[1] = 'S';
+            } else if (row == rows - 2) {
+                line[cols - 2] = 'E';
+            }
+            winding.append(line).append('\n');
+            cut.append(row == 20 ? "#".repeat(cols) : new String(line)).append('\n');
+        }
+        Path windingFile = directory.resolve("winding.txt");
+        Files.writeString(windingFile, winding);
+        Path cutFile = directory.resolve("cut.txt");
+        Files.writeString(cutFile, cut);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int bandBytes : new int[]{16, 40, 100, 1 << 20}) {
+                ParallelFileLoader loader = new ParallelFileLoader(pool, true, bandBytes);
+                assertEquals(rows, loader.load(windingFile.toString()).length);
+
+                MazeMalformedException e = assertThrows(MazeMalformedException.class, () ->
+                        loader.load(cutFile.toString()));
+                MazeMalformedException expected = assertThrows(MazeMalformedException.class,
+                        () -> new MappedFileLoader(true).load(cutFile.toString()));
+                assertEquals(expected.getMessage(), e.getMessage());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the invalid character of the lowest row is reported, whichever band finds an
+     * invalid character first.
+     *
+     * @ensure the error of the lowest line is thrown
+     */
+    @Test
+    public void reportLowestError(@TempDir Path directory) throws IOException {
+        StringBuilder maze = new StringBuilder("201 3\n");
+        for (int row = 0; row < 201; row++) {
+            maze.append(row == 150 ? "#?#" : row == 190 ? "#!#" : row == 1 ? "#S#" : "#.#")
+                    .append('\n');
+        }
+        Path file = directory.resolve("invalid.txt");
+        Files.writeString(file, maze);
+
+        for (int round = 0; round < 20; round++) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                    new ParallelFileLoader(ForkJoinPool.commonPool(), false, 8)
+                            .load(file.toString()));
+            assertEquals("Invalid character in file: ?", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests loading invalid maze files, including rows of the wrong length that keep the size
+     * of the file right.
+     *
+     * @ensure The same exceptions as FileLoader are thrown.
+     */
+    @Test
+    public void loadInvalidMazes(@TempDir Path directory) throws IOException {
+        ParallelFileLoader fileLoader = new ParallelFileLoader();
+        assertThrows(MazeMalformedException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformed.txt"));
+        assertThrows(MazeMalformedException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/invalidMazeMalformedEvenRow.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/mazeMismatchedCols.txt"));
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/mazeMismatchedRows.txt"));
+        assertThrows(IllegalArgumentException.class, () ->
+                fileLoader.load("test/mazeNavTest/io/illegalElementMaze.txt"));
+        assertThrows(FileNotFoundException.class, () ->
+                fileLoader.load("nonexistent_file.txt"));
+
+        // A long row followed by a short one, with an invalid character further down
+        Path shifted = directory.resolve("shifted.txt");
+        Files.writeString(shifted, "3 3\n####\n#S\n#?E\n");
+        assertThrows(MazeSizeMissmatchException.class, () ->
+                fileLoader.load(shifted.toString()));
+
+        Path walled = directory.resolve("walled.txt");
+        Files.writeString(walled, "3 5\n#####\n#S#E#\n#####\n");
+        assertThrows(MazeMalformedException.class, () ->
+                new ParallelFileLoader(ForkJoinPool.commonPool(), true).load(walled.toString()));
+    }
+
+    /**
+     * Tests that every text loader rejects a header asking for more cells than an int index
+     * can address, before allocating any row.
+     *
+     * @ensure a MazeMalformedException naming the size is thrown
+     */
+    @Test
+    public void rejectTooManyCells(@TempDir Path directory) throws IOException {
+        Path huge = directory.resolve("huge.txt");
+        Files.writeString(huge, "46341 46341\n#");
+        FileInterface[] loaders = {new FileLoader(), new MappedFileLoader(),
+                new ParallelFileLoader()};
+        for (FileInterface loader : loaders) {
+            MazeMalformedException e = assertThrows(MazeMalformedException.class, () ->
+                    loader.load(huge.toString()));
+            assertTrue(e.getMessage().contains("46341 x 46341"), e.getMessage());
+        }
+    }
+}
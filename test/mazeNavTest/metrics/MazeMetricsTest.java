@@ -0,0 +1,107 @@
+package metrics;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Direction;
+import model.MazeGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MazeMetricsTest class contains unit tests for the MazeMetrics and LatencyHistogram classes.
+ * The build enables metrics for the tests.
+ */
+class MazeMetricsTest {
+
+    /**
+     * Tests that loading and playing a maze are counted and readable through JMX.
+     *
+     * @ensure the counters grow by the loaded cells and the moves made
+     */
+    @Test
+    void countLoadsAndMoves() throws MazeMalformedException, MazeSizeMissmatchException,
+            IOException, NoSuchElementException, JMException {
+        assertTrue(MazeMetrics.ENABLED);
+        MazeMetrics metrics = MazeMetrics.get();
+        long loads = metrics.getMazesLoaded();
+        long cells = metrics.getCellsLoaded();
+        long valid = metrics.getValidMoves();
+        long invalid = metrics.getInvalidMoves();
+
+        MazeGame game = new MazeGame(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        game.moveGoose(Direction.DOWN);
+        game.moveGoose(Direction.UP);
+        game.moveGoose(Direction.UP);
+
+        // Other tests may run at the same time, so counters only have lower bounds
+        assertTrue(metrics.getMazesLoaded() >= loads + 1);
+        assertTrue(metrics.getCellsLoaded() >= cells + 7 * 7);
+        assertTrue(metrics.getValidMoves() >= valid + 2);
+        assertTrue(metrics.getInvalidMoves() >= invalid + 1);
+        assertTrue(metrics.getLoadTimes().getCount() >= 1);
+
+        Object attribute = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MazeMetrics.OBJECT_NAME), "ValidMoves");
+        assertTrue((Long) attribute >= valid + 2);
+    }
+
+    /**
+     * Tests that a flight recording captures the load events.
+     *
+     * @ensure the recording holds a maze.Load event for the loaded file
+     */
+    @Test
+    void recordLoadEvents(@TempDir Path directory) throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        Path dump = directory.resolve("maze.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("maze.Load");
+            recording.start();
+            new FileLoader().load("test/mazeNavTest/io/validMaze.txt");
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertTrue(events.stream().anyMatch(event ->
+                event.getEventType().getName().equals("maze.Load")
+                        && event.getString("source").endsWith("validMaze.txt")
+                        && event.getLong("cells") == 7 * 7));
+    }
+
+    /**
+     * Tests the percentiles of the latency histogram.
+     *
+     * @ensure percentiles are the upper bounds of their power of two buckets
+     */
+    @Test
+    void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+        histogram.record(0);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals((98 * 100 + 5000) / 100, snapshot.getMeanNanos());
+        assertEquals(127, snapshot.getP50Nanos());
+        assertEquals(127, snapshot.getP99Nanos());
+        assertEquals(5000, snapshot.getMaxNanos());
+    }
+}
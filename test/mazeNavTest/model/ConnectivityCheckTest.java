@@ -0,0 +1,205 @@
+package model;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+import io.MappedFileLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The ConnectivityCheckTest class contains unit tests for the ConnectivityCheck class.
+ */
+class ConnectivityCheckTest {
+
+    /**
+     * Tests the small test maze, a single region joining the start to the exit.
+     *
+     * @ensure the maze is solvable and has one region
+     */
+    @Test
+    void checkValidMaze() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        Grid grid = new CharGrid(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        ConnectivityCheck check = ConnectivityCheck.scan(grid);
+
+        assertTrue(check.hasStart());
+        assertTrue(check.isSolvable());
+        assertEquals(1, check.getRegions());
+        check.requireSolvable();
+    }
+
+    /**
+     * Tests regions that only join further down the maze, through U shapes.
+     *
+     * @ensure regions split in the window are merged once a later row joins them
+     */
+    @Test
+    void joinRegionsLater() {
+        ConnectivityCheck check = ConnectivityCheck.scan(new CharGrid(new char[][]{
+                "S#E#.".toCharArray(),
+                ".#.#.".toCharArray(),
+                ".....".toCharArray(),
+                "###.#".toCharArray(),
+                ".#...".toCharArray()}));
+
+        assertTrue(check.isSolvable());
+        assertEquals(2, check.getRegions());
+    }
+
+    /**
+     * Tests that the regions counted match a flood fill on random layouts of many shapes.
+     *
+     * @ensure getRegions() and isSolvable() agree with a breadth-first search
+     */
+    @Test
+    void matchFloodFill() {
+        Random random = new Random(23);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(12);
+            int cols = 1 + random.nextInt(12);
+            char[][] maze = new char[rows][cols];
+            for (char[] row : maze) {
+                for (int col = 0; col < cols; col++) {
+                    row[col] = random.nextInt(5) < 2 ? FileLoader.WALL : FileLoader.PATH;
+                }
+            }
+            maze[random.nextInt(rows)][random.nextInt(cols)] = FileLoader.START;
+            maze[random.nextInt(rows)][random.nextInt(cols)] = FileLoader.END;
+            Grid grid = new CharGrid(maze);
+
+            ConnectivityCheck check = ConnectivityCheck.scan(grid);
+
+            int[] region = floodFill(grid);
+            int start = grid.getMetadata().getStart();
+            int regions = 0;
+            boolean solvable = false;
+            for (int index = 0; index < rows * cols; index++) {
+                regions = Math.max(regions, region[index]);
+                solvable |= start >= 0 && grid.getCell(index) == FileLoader.END
+                        && region[index] == region[start];
+            }
+            assertEquals(regions, check.getRegions(), "round " + round);
+            assertEquals(start >= 0, check.hasStart());
+            assertEquals(solvable, check.isSolvable(), "round " + round);
+        }
+    }
+
+    /**
+     * Tests that checking a maze in bands and adding them in order counts the same regions as
+     * adding its rows one by one, including mazes with several starts and single row bands.
+     *
+     * @ensure getRegions(), hasStart() and isSolvable() do not depend on the bands
+     */
+    @Test
+    void bandsMatchRows() {
+        Random random = new Random(41);
+        for (int round = 0; round < 500; round++) {
+            int rows = 1 + random.nextInt(16);
+            int cols = 1 + random.nextInt(12);
+            char[][] maze = new char[rows][cols];
+            for (char[] row : maze) {
+                for (int col = 0; col < cols; col++) {
+                    int kind = random.nextInt(40);
+                    row[col] = kind < 15 ? FileLoader.WALL : kind == 15 ? FileLoader.START
+                            : kind == 16 ? FileLoader.END : FileLoader.PATH;
+                }
+            }
+            ConnectivityCheck expected = ConnectivityCheck.scan(new CharGrid(maze));
+
+            ConnectivityCheck check = new ConnectivityCheck(cols);
+            int row = 0;
+            // Rows before the first band are added one by one
+            for (int first = random.nextInt(3); row < Math.min(first, rows); row++) {
+                check.acceptRow(maze[row]);
+            }
+            while (row < rows) {
+                int end = Math.min(rows, row + 1 + random.nextInt(4));
+                ConnectivityCheck band = new ConnectivityCheck(cols, true);
+                for (; row < end; row++) {
+                    for (char cell : maze[row]) {
+                        band.acceptCell(cell);
+                    }
+                    band.endRow();
+                }
+                check.acceptBand(band.finishBand());
+            }
+            check.finish();
+
+            assertEquals(expected.getRegions(), check.getRegions(), "round " + round);
+            assertEquals(expected.hasStart(), check.hasStart(), "round " + round);
+            assertEquals(expected.isSolvable(), check.isSolvable(), "round " + round);
+        }
+    }
+
+    /**
+     * Tests that validating loaders reject a maze whose exit is walled off from the start, and
+     * still load it when not validating.
+     *
+     * @ensure MazeMalformedException naming the number of regions is thrown when validating
+     */
+    @Test
+    void rejectUnsolvableMaze(@TempDir Path directory) throws IOException,
+            MazeMalformedException, MazeSizeMissmatchException {
+        Path file = directory.resolve("walled.txt");
+        Files.writeString(file, "5 5\n#####\n#S#E#\n#.#.#\n#.#.#\n#####\n");
+        Path noStart = directory.resolve("noStart.txt");
+        Files.writeString(noStart, "3 3\n###\n#.E\n###\n");
+
+        for (boolean mapped : new boolean[]{false, true}) {
+            MazeMalformedException e = assertThrows(MazeMalformedException.class, () ->
+                    (mapped ? new MappedFileLoader(true) : new FileLoader(true))
+                            .load(file.toString()));
+            assertTrue(e.getMessage().contains("2 disconnected regions"));
+            assertThrows(MazeMalformedException.class, () ->
+                    (mapped ? new MappedFileLoader(true) : new FileLoader(true))
+                            .loadGrid(noStart.toString()));
+        }
+        assertEquals(5, new MappedFileLoader().load(file.toString()).length);
+        assertNotNull(new FileLoader(true).loadGrid("test/mazeNavTest/io/validMaze.txt"));
+    }
+
+    /**
+     * Labels the open cells of a grid by region with a breadth-first search.
+     *
+     * @param grid The grid to label.
+     * @return The region of every cell numbered from 1, 0 for walls.
+     */
+    private static int[] floodFill(Grid grid) {
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        int[] region = new int[rows * cols];
+        int regions = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int first = 0; first < region.length; first++) {
+            if (!grid.isOpen(first) || region[first] != 0) {
+                continue;
+            }
+            region[first] = ++regions;
+            queue.add(first);
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                int row = cell / cols;
+                int col = cell % cols;
+                int[] neighbours = {row > 0 ? cell - cols : -1, row < rows - 1 ? cell + cols : -1,
+                        col > 0 ? cell - 1 : -1, col < cols - 1 ? cell + 1 : -1};
+                for (int next : neighbours) {
+                    if (next >= 0 && grid.isOpen(next) && region[next] == 0) {
+                        region[next] = regions;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return region;
+    }
+}
@@ -0,0 +1,25 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DirectionTest class contains unit tests for the Direction enum.
+ */
+class DirectionTest {
+
+    /**
+     * Tests the fromKey method of the Direction enum.
+     *
+     * @ensure every direction is found from its key and other characters have no direction.
+     */
+    @Test
+    void directionFromKey() {
+        for (Direction direction : Direction.values()) {
+            assertEquals(direction, Direction.fromKey(direction.getKey()));
+        }
+        assertNull(Direction.fromKey('q'));
+        assertNull(Direction.fromKey('\u00e9'));
+    }
+}
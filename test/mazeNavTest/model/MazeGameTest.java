@@ -30,7 +30,7 @@ class MazeGameTest {
     void setUp() throws MazeMalformedException, MazeSizeMissmatchException, FileNotFoundException,
             NoSuchElementException {
         FileLoader fileLoader = new FileLoader();
-        validMaze = fileLoader.load("test/mazeNavTest/io/ValidMaze.txt");
+        validMaze = fileLoader.load("test/mazeNavTest/io/validMaze.txt");
         mazeGame = new MazeGame(validMaze);
     }
 
@@ -41,10 +41,10 @@ class MazeGameTest {
      */
     @Test
     void setGameOver() {
-        MazeGame.setGameOver(true);
+        mazeGame.setGameOver(true);
         assertTrue(mazeGame.isGameOver());
 
-        MazeGame.setGameOver(false);
+        mazeGame.setGameOver(false);
         assertFalse(mazeGame.isGameOver());
     }
 
@@ -69,7 +69,7 @@ class MazeGameTest {
 
         if (mazeGame.getMazeLayout()[goosePosition.getRow()][goosePosition.getCol()]
                 == FileLoader.END) {
-            MazeGame.setGameOver(true);
+            mazeGame.setGameOver(true);
         }
         assertTrue(mazeGame.isGameOver());
     }
@@ -0,0 +1,63 @@
+package model;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+import io.MappedFileLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MazeMetadataTest class contains unit tests for the MazeMetadata class.
+ */
+class MazeMetadataTest {
+
+    /**
+     * Tests that many exits are kept sorted and checked exactly.
+     *
+     * @ensure isExit is true only for the recorded exits
+     */
+    @Test
+    void multipleExits() {
+        int[] exits = new int[100];
+        for (int i = 0; i < exits.length; i++) {
+            exits[i] = (exits.length - i) * 37;
+        }
+        MazeMetadata metadata = new MazeMetadata(5, exits, 500);
+
+        assertEquals(100, metadata.getExitCount());
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i + 1) * 37, metadata.getExit(i));
+        }
+        for (int index = 0; index < 4000; index++) {
+            assertEquals(index > 0 && index % 37 == 0 && index <= 3700, metadata.isExit(index));
+        }
+        assertFalse(new MazeMetadata(-1, new int[0], 0).isExit(0));
+    }
+
+    /**
+     * Tests that the metadata recorded by the loaders matches a scan of the layout.
+     *
+     * @ensure start, exits and open cells agree
+     */
+    @Test
+    void loadersRecordMetadata() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        String file = "test/mazeNavTest/io/validMaze.txt";
+        MazeMetadata scanned = MazeMetadata.scan(new CharGrid(new FileLoader().load(file)));
+
+        for (Grid grid : new Grid[]{new FileLoader().loadGrid(file),
+                new MappedFileLoader().loadGrid(file),
+                PackedGrid.pack(new FileLoader().load(file))}) {
+            MazeMetadata recorded = grid.getMetadata();
+            assertEquals(scanned.getStart(), recorded.getStart());
+            assertArrayEquals(scanned.getExits(), recorded.getExits());
+            assertEquals(scanned.getOpenCells(), recorded.getOpenCells());
+        }
+        assertEquals(7 + 1, scanned.getStart());
+        assertTrue(scanned.isExit(5 * 7 + 5));
+    }
+}
@@ -0,0 +1,65 @@
+package model;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The PackedGridTest class contains unit tests for the PackedGrid class.
+ */
+class PackedGridTest {
+
+    /**
+     * Tests that every cell of a loaded maze survives packing.
+     *
+     * @ensure Arrays.deepEquals(grid.toArray(), maze)
+     */
+    @Test
+    void packKeepsEveryCell() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        char[][] maze = new FileLoader().load("src/maze003.txt");
+        PackedGrid grid = PackedGrid.pack(maze);
+
+        assertEquals(maze.length, grid.getRows());
+        assertEquals(maze[0].length, grid.getCols());
+        assertArrayEquals(maze, grid.toArray());
+        for (int row = 0; row < maze.length; row++) {
+            for (int col = 0; col < maze[0].length; col++) {
+                assertEquals(maze[row][col] != FileLoader.WALL, grid.isTraversable(row, col));
+            }
+        }
+    }
+
+    /**
+     * Tests that every maze character, including the dot, can be packed.
+     *
+     * @ensure grid.getCell(i) == cells[0][i]
+     */
+    @Test
+    void packAllSymbols() {
+        char[][] cells = {{FileLoader.PATH, FileLoader.DOT, FileLoader.WALL, FileLoader.START,
+                FileLoader.END}};
+        PackedGrid grid = PackedGrid.pack(cells);
+
+        for (int i = 0; i < cells[0].length; i++) {
+            assertEquals(cells[0][i], grid.getCell(i));
+        }
+        assertFalse(grid.isTraversable(0, 5));
+        assertFalse(grid.isTraversable(-1, 0));
+    }
+
+    /**
+     * Tests that characters outside the maze alphabet are rejected.
+     *
+     * @ensure IllegalArgumentException
+     */
+    @Test
+    void packInvalidCharacter() {
+        assertThrows(IllegalArgumentException.class, () -> PackedGrid.pack(new char[][]{{'x'}}));
+    }
+}
@@ -0,0 +1,135 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The VisitStoreTest class contains unit tests for the VisitStore implementations.
+ */
+class VisitStoreTest {
+
+    /**
+     * Tests that the dense store keeps counting after a cell saturates its byte.
+     *
+     * @ensure store.get(3) == 1000 && store.get(4) == 1
+     */
+    @Test
+    void denseStoreOverflow() {
+        VisitStore store = new DenseVisitStore(10);
+        for (int i = 0; i < 1000; i++) {
+            store.increment(3);
+        }
+        store.increment(4);
+
+        assertEquals(1000, store.get(3));
+        assertEquals(1, store.get(4));
+        assertEquals(0, store.get(5));
+    }
+
+    /**
+     * Tests adding whole counts, including one that exactly saturates a dense byte.
+     *
+     * @ensure store.get(i) == the sum of the amounts added to i
+     */
+    @Test
+    void addCounts() {
+        VisitStore dense = new DenseVisitStore(10);
+        dense.add(1, 255);
+        dense.add(2, 200);
+        dense.add(2, 300);
+        SparseVisitStore sparse = new SparseVisitStore();
+        sparse.add(1, 255);
+        sparse.add(2, 500);
+
+        for (VisitStore store : new VisitStore[] {dense, sparse}) {
+            assertEquals(255, store.get(1));
+            assertEquals(500, store.get(2));
+            store.increment(1);
+            assertEquals(256, store.get(1));
+        }
+    }
+
+    /**
+     * Tests that the sparse store keeps every count while its table grows.
+     *
+     * @ensure store.get(i) == i % 3 + 1 for every visited cell
+     */
+    @Test
+    void sparseStoreGrows() {
+        SparseVisitStore store = new SparseVisitStore();
+        for (int i = 0; i < 10_000; i++) {
+            for (int j = 0; j <= i % 3; j++) {
+                store.increment(i * 7);
+            }
+        }
+
+        assertEquals(10_000, store.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 3 + 1, store.get(i * 7));
+            assertEquals(0, store.get(i * 7 + 1));
+        }
+    }
+
+    /**
+     * Tests that the concurrent stores lose no visit while threads hammer the same cells.
+     *
+     * @ensure store.get(i) == threads * rounds for every hammered cell
+     */
+    @Test
+    void concurrentStoresCountEveryVisit() throws InterruptedException {
+        int threads = 4;
+        int rounds = 50_000;
+        for (VisitStore store : new VisitStore[] {new AtomicVisitStore(16),
+                new StripedVisitStore(16, threads)}) {
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < rounds; i++) {
+                        store.increment(i & 3);
+                        store.add(8, 2);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(threads * rounds / 4, store.get(i));
+            }
+            assertEquals(threads * rounds * 2, store.get(8));
+            assertEquals(0, store.get(9));
+        }
+    }
+
+    /**
+     * Tests that the store can be forced through the system property, except for shared mazes
+     * where only the thread-safe stores can be forced.
+     *
+     * @ensure VisitStore.create(9) instanceof SparseVisitStore
+     */
+    @Test
+    void createHonoursConfiguration() {
+        assertInstanceOf(DenseVisitStore.class, VisitStore.create(9));
+        assertInstanceOf(AtomicVisitStore.class, VisitStore.createConcurrent(9, 1));
+        assertEquals(4, ((StripedVisitStore) VisitStore.createConcurrent(9, 3)).getStripes());
+        System.setProperty(VisitStore.STORE_PROPERTY, "sparse");
+        try {
+            assertInstanceOf(SparseVisitStore.class, VisitStore.create(9));
+            // The single player stores are not thread-safe, shared mazes keep their own choice
+            assertInstanceOf(AtomicVisitStore.class, VisitStore.createConcurrent(9, 1));
+            assertInstanceOf(StripedVisitStore.class, VisitStore.createConcurrent(9, 4));
+            System.setProperty(VisitStore.STORE_PROPERTY, "dense");
+            assertInstanceOf(DenseVisitStore.class, VisitStore.create(9));
+            assertInstanceOf(AtomicVisitStore.class, VisitStore.createConcurrent(9, 1));
+            System.setProperty(VisitStore.STORE_PROPERTY, "atomic");
+            assertInstanceOf(AtomicVisitStore.class, VisitStore.createConcurrent(9, 4));
+            System.setProperty(VisitStore.STORE_PROPERTY, "unknown");
+            assertThrows(IllegalArgumentException.class, () -> VisitStore.createConcurrent(9, 4));
+        } finally {
+            System.clearProperty(VisitStore.STORE_PROPERTY);
+        }
+    }
+}
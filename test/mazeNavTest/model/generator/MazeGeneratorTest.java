@@ -0,0 +1,85 @@
+package model.generator;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+import io.TextMazeWriter;
+import model.MazeMetadata;
+import model.solver.DistanceField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MazeGeneratorTest class contains unit tests for the maze generators.
+ */
+class MazeGeneratorTest {
+
+    /**
+     * Tests that every generator carves a perfect maze: a tree of passages reaching every room.
+     *
+     * @ensure open cells == 2 * rooms - 1 and every open cell can reach the exit
+     */
+    @Test
+    void generatorsCarvePerfectMazes() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        MazeGenerator[] generators = {new RecursiveBacktracker(), new KruskalGenerator(),
+                new ParallelKruskalGenerator(pool), new WilsonGenerator()};
+        try {
+            for (MazeGenerator generator : generators) {
+                // Tall enough for several bands of the parallel generator
+                PassageGrid grid = generator.generate(2 * 200 + 1, 61, 7);
+                long rooms = (long) grid.getRoomRows() * grid.getRoomCols();
+                MazeMetadata metadata = grid.getMetadata();
+
+                assertEquals(2 * rooms - 1, metadata.getOpenCells(), generator.toString());
+                DistanceField field = DistanceField.compute(grid, pool);
+                for (int index = 0; index < grid.getRows() * grid.getCols(); index++) {
+                    assertEquals(grid.isOpen(index), field.isReachable(index));
+                }
+                assertEquals(FileLoader.START, grid.getCell(1, 1));
+                assertEquals(FileLoader.END, grid.getCell(grid.getRows() - 2, 59));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the same seed gives the same maze.
+     *
+     * @ensure two generations with one seed are identical
+     */
+    @Test
+    void sameSeedSameMaze() {
+        MazeGenerator generator = new KruskalGenerator();
+        assertArrayEquals(generator.generate(21, 31, 42).toArray(),
+                generator.generate(21, 31, 42).toArray());
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(20, 31, 42));
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(3, 3, 42));
+        // 46341 x 46341 is the first odd square past the int flat index limit
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                new PassageGrid(46341, 46341));
+        assertTrue(e.getMessage().contains("46339 x 46339"));
+    }
+
+    /**
+     * Tests that a streamed maze file is loaded by FileLoader.
+     *
+     * @ensure the loaded layout equals the generated one
+     */
+    @Test
+    void streamedMazeLoads(@TempDir Path directory) throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        PassageGrid grid = new WilsonGenerator().generate(15, 25, 3);
+        Path file = directory.resolve("maze.txt");
+        TextMazeWriter.write(grid, file);
+
+        assertArrayEquals(grid.toArray(), new FileLoader().load(file.toString()));
+    }
+}
@@ -0,0 +1,198 @@
+package model.journal;
+
+import exceptions.NoSuchElementException;
+import model.Direction;
+import model.Grid;
+import model.MazeGame;
+import model.generator.RecursiveBacktracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MoveJournalTest class contains unit tests for the MoveJournal and JournalReplayer classes.
+ */
+class MoveJournalTest {
+
+    /**
+     * Generated layout shared by every game.
+     */
+    private Grid layout;
+
+    /**
+     * Generates the layout before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        layout = new RecursiveBacktracker().generate(41, 41, 7);
+    }
+
+    /**
+     * Tests that replaying and restoring a journal reproduce the recorded game.
+     *
+     * @ensure both games end on the same cell with the same visit counts
+     */
+    @Test
+    void replayAndRestoreMatchRecordedGame(@TempDir Path directory) throws IOException,
+            NoSuchElementException {
+        Path file = directory.resolve("game.journal");
+        MazeGame game = new MazeGame(layout);
+        try (MoveJournal journal = new MoveJournal(game, file, 100)) {
+            play(game, 5000, 1);
+            assertEquals(countMoves(game), journal.getMoves());
+        }
+
+        MazeGame replayed = new MazeGame(layout);
+        JournalReplayer.Replay replay = JournalReplayer.replay(file, replayed);
+        assertSameState(game, replayed);
+        assertEquals(replay.getMoves(), replay.getReplayedMoves());
+
+        MazeGame restored = new MazeGame(layout);
+        JournalReplayer.Replay restore = JournalReplayer.restore(file, restored);
+        assertSameState(game, restored);
+        assertEquals(replay.getMoves(), restore.getMoves());
+        assertTrue(restore.getReplayedMoves() < 100);
+    }
+
+    /**
+     * Tests that a journal read through a window smaller than its blocks replays like one read
+     * in a single window, with reads and blocks crossing every window boundary.
+     *
+     * @ensure both replays and restores end in the same state as the recorded game
+     */
+    @Test
+    void replayAcrossWindows(@TempDir Path directory) throws IOException,
+            NoSuchElementException {
+        Path file = directory.resolve("game.journal");
+        MazeGame game = new MazeGame(layout);
+        try (MoveJournal journal = new MoveJournal(game, file, 700)) {
+            play(game, 3000, 4);
+        }
+        assertTrue(Files.size(file) > 10 * JournalFormat.HEADER_SIZE);
+
+        MazeGame replayed = new MazeGame(layout);
+        JournalReplayer.Replay replay = JournalReplayer.apply(file, replayed, false,
+                JournalFormat.HEADER_SIZE);
+        assertSameState(game, replayed);
+        assertEquals(Files.size(file), replay.getValidLength());
+
+        MazeGame restored = new MazeGame(layout);
+        JournalReplayer.Replay restore = JournalReplayer.apply(file, restored, true,
+                JournalFormat.HEADER_SIZE + 3);
+        assertSameState(game, restored);
+        assertEquals(replay.getMoves(), restore.getMoves());
+    }
+
+    /**
+     * Tests that a block cut short is ignored and that a restored game keeps journaling.
+     *
+     * @ensure the truncated tail is dropped and later moves replay on top of the restored state
+     */
+    @Test
+    void restoreIgnoresTruncatedTailAndAppends(@TempDir Path directory) throws IOException,
+            NoSuchElementException {
+        Path file = directory.resolve("game.journal");
+        MazeGame game = new MazeGame(layout);
+        try (MoveJournal journal = new MoveJournal(game, file, 1000)) {
+            play(game, 300, 2);
+            journal.flush();
+        }
+        long length = Files.size(file);
+        Files.write(file, new byte[] {JournalFormat.MOVES, 0, 0, 1}, StandardOpenOption.APPEND);
+
+        MazeGame restored = new MazeGame(layout);
+        JournalReplayer.Replay restore = JournalReplayer.restore(file, restored);
+        assertEquals(length, restore.getValidLength());
+        assertSameState(game, restored);
+
+        try (MoveJournal journal = new MoveJournal(restored, file, 1000, restore)) {
+            play(restored, 300, 3);
+            assertEquals(countMoves(restored), journal.getMoves());
+        }
+        MazeGame replayed = new MazeGame(layout);
+        JournalReplayer.replay(file, replayed);
+        assertSameState(restored, replayed);
+    }
+
+    /**
+     * Tests that a journal can not be applied to a maze of a different size.
+     *
+     * @ensure IllegalArgumentException is thrown
+     */
+    @Test
+    void rejectDifferentMaze(@TempDir Path directory) throws IOException,
+            NoSuchElementException {
+        Path file = directory.resolve("game.journal");
+        new MoveJournal(new MazeGame(layout), file, 10).close();
+        MazeGame other = new MazeGame(new RecursiveBacktracker().generate(21, 41, 7));
+
+        assertThrows(IllegalArgumentException.class, () -> JournalReplayer.replay(file, other));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(3);
+        }
+        assertThrows(IOException.class, () -> JournalReplayer.restore(file,
+                new MazeGame(layout)));
+    }
+
+    /**
+     * Moves the goose in random directions.
+     *
+     * @param game The game to play.
+     * @param attempts The number of moves attempted.
+     * @param seed The seed of the directions.
+     */
+    private static void play(MazeGame game, int attempts, long seed) {
+        Random random = new Random(seed);
+        Direction[] directions = Direction.values();
+        for (int i = 0; i < attempts; i++) {
+            game.moveGoose(directions[random.nextInt(directions.length)]);
+        }
+    }
+
+    /**
+     * Counts the moves of a game from its visit counts, each move visits one cell.
+     *
+     * @param game The game.
+     * @return The number of moves made.
+     */
+    private static long countMoves(MazeGame game) {
+        long visits = 0;
+        for (int index = 0; index < layout(game); index++) {
+            visits += game.getMaze().getVisits().get(index);
+        }
+        return visits;
+    }
+
+    /**
+     * Retrieves the number of cells of a game.
+     *
+     * @param game The game.
+     * @return The number of cells.
+     */
+    private static int layout(MazeGame game) {
+        return game.getMaze().getRows() * game.getMaze().getCols();
+    }
+
+    /**
+     * Checks that two games are on the same cell with the same visit counts.
+     *
+     * @param expected The recorded game.
+     * @param actual The replayed game.
+     */
+    private static void assertSameState(MazeGame expected, MazeGame actual) {
+        assertEquals(expected.getGooseIndex(), actual.getGooseIndex());
+        for (int index = 0; index < layout(expected); index++) {
+            assertEquals(expected.getMaze().getVisits().get(index),
+                    actual.getMaze().getVisits().get(index), "visits of cell " + index);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package model.simulation;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.CharGrid;
+import model.Grid;
+import model.Maze;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The SimulationRunnerTest class contains unit tests for the SimulationRunner class.
+ */
+class SimulationRunnerTest {
+
+    /**
+     * Route from the start to the exit of validMaze.txt.
+     */
+    private static final String SOLUTION = "ssssddwwddss";
+
+    /**
+     * Tests that many games sharing one layout run independently of each other.
+     *
+     * @ensure solving games reach the exit, the others stop at the end of their script
+     */
+    @Test
+    void runIndependentGames() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException, NoSuchElementException, InterruptedException {
+        Grid layout = new CharGrid(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        List<SimulationJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            jobs.add(new SimulationJob(layout, i % 2 == 0 ? SOLUTION + "wwww" : "wassd"));
+        }
+
+        List<SimulationResult> results;
+        try (SimulationRunner runner = new SimulationRunner(4)) {
+            results = runner.run(jobs);
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            SimulationResult result = results.get(i);
+            if (i % 2 == 0) {
+                assertTrue(result.isExitReached());
+                assertEquals(SOLUTION.length(), result.getMovesToExit());
+                assertEquals(5 * 7 + 5, result.getFinalIndex());
+            } else {
+                assertFalse(result.isExitReached());
+                assertEquals(5, result.getMovesApplied());
+                assertEquals(3, result.getInvalidMoves());
+                assertEquals(3 * 7 + 1, result.getFinalIndex());
+            }
+        }
+    }
+
+    /**
+     * Tests that geese sharing one maze keep their own positions and count every visit.
+     *
+     * @ensure the visit counts of the maze add up to the valid moves of every goose
+     */
+    @Test
+    void runGeeseOnSharedMaze() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException, NoSuchElementException, InterruptedException {
+        Grid layout = new CharGrid(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        List<String> scripts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            scripts.add(i % 2 == 0 ? SOLUTION : "sswwsswwss");
+        }
+
+        List<SimulationResult> results;
+        Maze maze;
+        try (SimulationRunner runner = new SimulationRunner(4)) {
+            maze = Maze.shared(layout, runner.getThreads());
+            results = runner.runShared(maze, scripts);
+        }
+
+        long validMoves = 0;
+        for (int i = 0; i < results.size(); i++) {
+            SimulationResult result = results.get(i);
+            assertEquals(i % 2 == 0 ? 5 * 7 + 5 : 3 * 7 + 1, result.getFinalIndex());
+            validMoves += result.getMovesApplied() - result.getInvalidMoves();
+        }
+        long visits = 0;
+        for (int index = 0; index < 7 * 7; index++) {
+            visits += maze.getVisits().get(index);
+        }
+        assertEquals(validMoves, visits);
+        assertEquals(100 * 1 + 100 * 5, maze.getVisitCount(2, 1));
+    }
+}
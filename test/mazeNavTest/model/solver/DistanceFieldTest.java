@@ -0,0 +1,105 @@
+package model.solver;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.CharGrid;
+import model.Maze;
+import model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The DistanceFieldTest class contains unit tests for the DistanceField class.
+ */
+class DistanceFieldTest {
+
+    /**
+     * Tests that the distance of the start cell matches the shortest route of the solvers.
+     *
+     * @ensure field.getDistance(start) == new BfsSolver().solve(maze).getMoves()
+     */
+    @Test
+    void startDistanceMatchesSolver() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException, NoSuchElementException {
+        Maze maze = new Maze(new FileLoader().load("src/maze003.txt"));
+        DistanceField field = DistanceField.compute(maze);
+        Position start = maze.findStartPosition();
+
+        assertEquals(new BfsSolver().solve(maze).getMoves(),
+                field.getDistance(start.getRow(), start.getCol()));
+        assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 0));
+    }
+
+    /**
+     * Tests that frontiers expanded in parallel give the same distances as a sequential search.
+     *
+     * @ensure every distance equals the sequential breadth first distance
+     */
+    @Test
+    void parallelMatchesSequential() {
+        Random random = new Random(5);
+        char[][] layout = new char[1201][1201];
+        for (char[] row : layout) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = random.nextInt(10) == 0 ? FileLoader.WALL : FileLoader.PATH;
+            }
+        }
+        layout[600][600] = FileLoader.END;
+        layout[3][1100] = FileLoader.END;
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DistanceField field = DistanceField.compute(new CharGrid(layout), pool);
+            int[] expected = sequentialDistances(layout);
+            for (int cell = 0; cell < expected.length; cell++) {
+                assertEquals(expected[cell], field.getDistance(cell));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes distances to the exits with a plain breadth first search.
+     *
+     * @param layout The maze layout.
+     * @return The distance of every cell, -1 for unreachable cells.
+     */
+    private static int[] sequentialDistances(char[][] layout) {
+        int rows = layout.length;
+        int cols = layout[0].length;
+        int[] distances = new int[rows * cols];
+        Arrays.fill(distances, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cell = 0; cell < distances.length; cell++) {
+            if (layout[cell / cols][cell % cols] == FileLoader.END) {
+                distances[cell] = 0;
+                queue.add(cell);
+            }
+        }
+        int[][] steps = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int[] step : steps) {
+                int row = cell / cols + step[0];
+                int col = cell % cols + step[1];
+                if (row >= 0 && row < rows && col >= 0 && col < cols
+                        && layout[row][col] != FileLoader.WALL
+                        && distances[row * cols + col] < 0) {
+                    distances[row * cols + col] = distances[cell] + 1;
+                    queue.add(row * cols + col);
+                }
+            }
+        }
+        return distances;
+    }
+}
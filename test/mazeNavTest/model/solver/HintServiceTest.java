@@ -0,0 +1,94 @@
+package model.solver;
+
+import exceptions.NoSuchElementException;
+import model.Direction;
+import model.Grid;
+import model.MazeGame;
+import model.generator.RecursiveBacktracker;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The HintServiceTest class contains unit tests for the HintService class.
+ */
+class HintServiceTest {
+
+    /**
+     * Tests that following the hints from the start reaches the exit in the predicted moves.
+     *
+     * @ensure every hint is a valid move and brings the goose one move closer
+     */
+    @Test
+    void followHintsToExit() throws NoSuchElementException {
+        Grid layout = new RecursiveBacktracker().generate(101, 101, 3);
+        HintService hints = HintService.forLayout(layout);
+        MazeGame game = new MazeGame(layout);
+
+        int remaining = hints.getMovesRemaining(game.getGooseIndex());
+        assertTrue(remaining > 0);
+        for (int moves = 0; moves < remaining; moves++) {
+            int before = game.getGooseIndex();
+            game.moveGoose(hints.getBestMove(before));
+            assertNotEquals(before, game.getGooseIndex());
+            assertEquals(remaining - moves - 1, hints.getMovesRemaining(game.getGooseIndex()));
+        }
+        assertTrue(game.isGameOver());
+        assertNull(hints.getBestMove(game.getGooseIndex()));
+        assertNull(hints.getBestMove(0));
+    }
+
+    /**
+     * Tests that a layout gets a single service, shared by every game.
+     *
+     * @ensure HintService.forLayout(layout) returns the same service on every call
+     */
+    @Test
+    void shareServicePerLayout() {
+        Grid layout = new RecursiveBacktracker().generate(21, 21, 1);
+        Grid other = new RecursiveBacktracker().generate(21, 21, 1);
+
+        assertSame(HintService.forLayout(layout), HintService.forLayout(layout));
+        assertNotSame(HintService.forLayout(layout), HintService.forLayout(other));
+    }
+
+    /**
+     * Tests that lookups do not allocate.
+     *
+     * @ensure the thread allocates no memory while reading hints
+     */
+    @Test
+    void lookupsDoNotAllocate() {
+        Grid layout = new RecursiveBacktracker().generate(101, 101, 5);
+        HintService hints = HintService.forLayout(layout);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int cells = layout.getRows() * layout.getCols();
+        long checksum = lookUp(hints, cells);
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        checksum += lookUp(hints, cells);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(checksum != 0);
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Reads the hints of every cell.
+     *
+     * @param hints The hints to read.
+     * @param cells The number of cells.
+     * @return A sum of the hints, so the lookups are not optimised away.
+     */
+    private static long lookUp(HintService hints, int cells) {
+        long checksum = 0;
+        for (int index = 0; index < cells; index++) {
+            Direction best = hints.getBestMove(index);
+            checksum += hints.getMovesRemaining(index) + (best == null ? 0 : best.ordinal());
+        }
+        return checksum;
+    }
+}
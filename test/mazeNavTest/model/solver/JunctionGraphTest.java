@@ -0,0 +1,82 @@
+package model.solver;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import io.FileLoader;
+import model.CharGrid;
+import model.Grid;
+import model.generator.RecursiveBacktracker;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JunctionGraphTest class contains unit tests for the JunctionGraph class.
+ */
+class JunctionGraphTest {
+
+    /**
+     * Tests the graph of the small test maze, a single corridor from the start to the exit with
+     * a dead end branching off it.
+     *
+     * @ensure the corridors are compressed into weighted edges in both directions
+     */
+    @Test
+    void compressCorridors() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException {
+        Grid grid = new CharGrid(new FileLoader().load("test/mazeNavTest/io/validMaze.txt"));
+        JunctionGraph graph = JunctionGraph.forLayout(grid);
+
+        int start = graph.node(8);
+        int exit = graph.node(5 * 7 + 5);
+        assertEquals(start, graph.getStartNode());
+        assertNotEquals(JunctionGraph.NONE, exit);
+        assertTrue(grid.getMetadata().getOpenCells() > graph.getNodeCount());
+        assertEquals(graph.getEdgeCount(), graph.getFirstEdge(graph.getNodeCount()));
+
+        // Every edge has a twin running the other way with the same length
+        for (int node = 0; node < graph.getNodeCount(); node++) {
+            for (int edge = graph.getFirstEdge(node); edge < graph.getFirstEdge(node + 1);
+                 edge++) {
+                assertEquals(node, graph.getSource(edge));
+                int target = graph.getTarget(edge);
+                boolean twin = false;
+                for (int back = graph.getFirstEdge(target); back < graph.getFirstEdge(target + 1);
+                     back++) {
+                    twin |= graph.getTarget(back) == node
+                            && graph.getWeight(back) == graph.getWeight(edge);
+                }
+                assertTrue(twin);
+            }
+        }
+
+        // The cell below the start lies one move along a corridor leaving the start
+        int edge = graph.getEdge(2 * 7 + 1);
+        assertNotEquals(JunctionGraph.NONE, edge);
+        assertEquals(JunctionGraph.NONE, graph.node(2 * 7 + 1));
+        assertEquals(JunctionGraph.NONE, graph.getEdge(0));
+        int offset = graph.getEdgeOffset(2 * 7 + 1);
+        assertTrue(offset >= 1 && offset < graph.getWeight(edge));
+        assertTrue(graph.isReachable(8, 5 * 7 + 5));
+        assertFalse(graph.isReachable(8, 0));
+    }
+
+    /**
+     * Tests that a generated maze compresses to many fewer nodes than open cells.
+     *
+     * @ensure the graph has at most half as many nodes as open cells
+     */
+    @Test
+    void compressGeneratedMaze() {
+        Grid grid = new RecursiveBacktracker().generate(201, 201, 9);
+        JunctionGraph graph = JunctionGraph.forLayout(grid);
+
+        long open = grid.getMetadata().getOpenCells();
+        assertTrue(graph.getNodeCount() * 2 < open);
+        int start = grid.getMetadata().getStart();
+        assertTrue(graph.isReachable(start, grid.getMetadata().getExit(0)));
+        assertSame(graph, JunctionGraph.forLayout(grid));
+    }
+}
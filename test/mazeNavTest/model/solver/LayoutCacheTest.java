@@ -0,0 +1,88 @@
+package model.solver;
+
+import model.Grid;
+import model.generator.RecursiveBacktracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The LayoutCacheTest class contains unit tests for the LayoutCache class.
+ */
+class LayoutCacheTest {
+
+    /**
+     * Tests that a slow computation only holds up the callers asking for its own layout, and
+     * that it runs once for all of them.
+     *
+     * @ensure another layout is served while the first one is computed
+     */
+    @Test
+    void computeOutsideMapLock() throws Exception {
+        Grid slow = new RecursiveBacktracker().generate(11, 11, 1);
+        Grid fast = new RecursiveBacktracker().generate(11, 11, 2);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computed = new AtomicInteger();
+        LayoutCache<String> cache = new LayoutCache<>(layout -> {
+            computed.incrementAndGet();
+            if (layout == slow) {
+                computing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }
+            return "fast";
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(slow));
+            assertTrue(computing.await(10, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get(slow));
+
+            assertEquals("fast", cache.get(fast));
+            assertFalse(first.isDone());
+
+            release.countDown();
+            assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+            assertEquals("slow", second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, computed.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a failed computation is not kept, so the next caller computes the value again.
+     *
+     * @ensure the second call returns the value of the second computation
+     */
+    @Test
+    void retryFailedComputation() {
+        Grid grid = new RecursiveBacktracker().generate(11, 11, 3);
+        AtomicInteger computed = new AtomicInteger();
+        LayoutCache<String> cache = new LayoutCache<>(layout -> {
+            if (computed.incrementAndGet() == 1) {
+                throw new IllegalStateException("first");
+            }
+            return "second";
+        });
+
+        assertThrows(IllegalStateException.class, () -> cache.get(grid));
+        assertEquals("second", cache.get(grid));
+        assertEquals("second", cache.get(grid));
+        assertEquals(2, computed.get());
+    }
+}
@@ -0,0 +1,133 @@
+package model.solver;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.Maze;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The MazeSolverTest class contains unit tests for the MazeSolver implementations.
+ */
+class MazeSolverTest {
+
+    /**
+     * The solvers under test.
+     */
+    private final MazeSolver[] solvers = {new BfsSolver(), new AStarSolver(),
+            new JumpPointSolver(), new JunctionGraphSolver()};
+
+    /**
+     * Tests that every solver finds a valid route of the same shortest length in the sample
+     * mazes.
+     *
+     * @ensure every route starts at 'S', ends at 'E' and only steps between open neighbours
+     */
+    @Test
+    void solveSampleMazes() throws MazeMalformedException, MazeSizeMissmatchException,
+            FileNotFoundException, NoSuchElementException {
+        for (String file : new String[]{"src/maze001.txt", "src/maze002.txt",
+                "src/maze003.txt"}) {
+            char[][] layout = new FileLoader().load(file);
+            assertSameShortestRoute(layout);
+        }
+    }
+
+    /**
+     * Tests that the solvers agree on open mazes with many equally short routes.
+     *
+     * @ensure every solver returns a valid route of the same length
+     */
+    @Test
+    void solveRandomMazes() throws NoSuchElementException {
+        Random random = new Random(2002);
+        for (int round = 0; round < 50; round++) {
+            char[][] layout = new char[21][31];
+            for (char[] row : layout) {
+                for (int col = 0; col < row.length; col++) {
+                    row[col] = random.nextInt(10) < 3 ? FileLoader.WALL : FileLoader.PATH;
+                }
+            }
+            layout[random.nextInt(21)][random.nextInt(31)] = FileLoader.START;
+            layout[random.nextInt(21)][random.nextInt(31)] = FileLoader.END;
+            layout[random.nextInt(21)][random.nextInt(31)] = FileLoader.END;
+            if (findStart(layout)) {
+                assertSameShortestRoute(layout);
+            }
+        }
+    }
+
+    /**
+     * Tests that an unreachable exit gives an empty route.
+     *
+     * @ensure !result.isSolved()
+     */
+    @Test
+    void solveUnreachableExit() throws NoSuchElementException {
+        char[][] layout = {"#####".toCharArray(), "#S#E#".toCharArray(),
+                "#####".toCharArray()};
+        for (MazeSolver solver : solvers) {
+            SolveResult result = solver.solve(new Maze(layout));
+            assertFalse(result.isSolved());
+            assertEquals(-1, result.getMoves());
+        }
+    }
+
+    /**
+     * Solves the layout with every solver and checks the routes.
+     *
+     * @param layout The maze layout to solve.
+     */
+    private void assertSameShortestRoute(char[][] layout) throws NoSuchElementException {
+        int expectedMoves = solvers[0].solve(new Maze(layout)).getMoves();
+        for (MazeSolver solver : solvers) {
+            SolveResult result = solver.solve(new Maze(layout));
+            assertEquals(expectedMoves, result.getMoves(), solver.getClass().getSimpleName());
+            if (result.isSolved()) {
+                assertValidRoute(layout, result.getPath());
+            }
+        }
+    }
+
+    /**
+     * Checks that a route starts at 'S', ends at 'E' and only moves between open neighbours.
+     *
+     * @param layout The maze layout.
+     * @param path The route to check.
+     */
+    private static void assertValidRoute(char[][] layout, int[] path) {
+        int cols = layout[0].length;
+        assertEquals(FileLoader.START, layout[path[0] / cols][path[0] % cols]);
+        int last = path[path.length - 1];
+        assertEquals(FileLoader.END, layout[last / cols][last % cols]);
+        for (int i = 1; i < path.length; i++) {
+            int rowDistance = Math.abs(path[i] / cols - path[i - 1] / cols);
+            int colDistance = Math.abs(path[i] % cols - path[i - 1] % cols);
+            assertEquals(1, rowDistance + colDistance);
+            assertNotEquals(FileLoader.WALL, layout[path[i] / cols][path[i] % cols]);
+        }
+    }
+
+    /**
+     * Checks if the layout still has a start cell after the exits were placed.
+     *
+     * @param layout The maze layout.
+     * @return True if an 'S' cell exists.
+     */
+    private static boolean findStart(char[][] layout) {
+        for (char[] row : layout) {
+            for (char cell : row) {
+                if (cell == FileLoader.START) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
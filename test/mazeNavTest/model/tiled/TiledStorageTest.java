@@ -0,0 +1,84 @@
+package model.tiled;
+
+import exceptions.MazeMalformedException;
+import exceptions.MazeSizeMissmatchException;
+import exceptions.NoSuchElementException;
+import io.FileLoader;
+import model.CharGrid;
+import model.Direction;
+import model.Maze;
+import model.MazeGame;
+import model.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TiledStorageTest class contains unit tests for the TiledGrid and TiledVisitStore classes.
+ */
+class TiledStorageTest {
+    /**
+     * Directory holding the tile files of each test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests that a tiled grid holds the same cells as its source with only two tiles resident.
+     *
+     * @ensure every cell matches and tiles were evicted
+     */
+    @Test
+    void tiledGridMatchesSource() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException {
+        char[][] maze = new FileLoader().load("test/mazeNavTest/io/validMaze.txt");
+        Path file = directory.resolve("maze.tiles");
+        TiledGrid.create(new CharGrid(maze), file, 3).close();
+
+        try (TiledGrid grid = TiledGrid.open(file, 2)) {
+            assertEquals(7, grid.getRows());
+            assertEquals(7, grid.getCols());
+            assertArrayEquals(maze, grid.toArray());
+            assertTrue(grid.getCache().getEvictions() > 0);
+        }
+    }
+
+    /**
+     * Tests that a game played on tiled storage counts visits and writes them back to disk.
+     *
+     * @ensure counts are visible after reopening the visit file
+     */
+    @Test
+    void visitCountsAreWrittenBack() throws IOException, MazeMalformedException,
+            MazeSizeMissmatchException, NoSuchElementException {
+        char[][] maze = new FileLoader().load("test/mazeNavTest/io/validMaze.txt");
+        Path visits = directory.resolve("visits.tiles");
+
+        Path tiles = directory.resolve("maze.tiles");
+        try (TiledGrid grid = TiledGrid.create(new CharGrid(maze), tiles, 2);
+             TiledVisitStore store = new TiledVisitStore(7, 7, visits, 2, 1)) {
+            Maze tiledMaze = new Maze(grid, store);
+            assertTrue(new Position(2, 1).isTraversable(tiledMaze));
+            assertFalse(new Position(1, 2).isTraversable(tiledMaze));
+
+            MazeGame game = new MazeGame(tiledMaze);
+            game.moveGoose(Direction.DOWN);
+            game.moveGoose(Direction.UP);
+            game.moveGoose(Direction.DOWN);
+            game.moveGoose(Direction.DOWN);
+            assertEquals(2, tiledMaze.getVisitCount(2, 1));
+            assertTrue(store.getCache().getEvictions() > 0);
+        }
+
+        try (TiledVisitStore store = new TiledVisitStore(7, 7, visits, 2, 1)) {
+            assertEquals(1, store.get(7 + 1));
+            assertEquals(2, store.get(2 * 7 + 1));
+            assertEquals(1, store.get(3 * 7 + 1));
+            assertEquals(0, store.get(5 * 7 + 5));
+        }
+    }
+}
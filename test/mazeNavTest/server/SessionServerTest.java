@@ -0,0 +1,167 @@
+package server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The SessionServerTest class contains unit tests for the SessionServer and LoadGenerator
+ * classes.
+ */
+class SessionServerTest {
+
+    /**
+     * Route from the start to the exit of validMaze.txt.
+     */
+    private static final String SOLUTION = "ssssddwwddss";
+
+    /**
+     * Directory holding the mazes served in a test.
+     */
+    @TempDir
+    Path mazes;
+
+    /**
+     * The server under test, listening on a free loopback port.
+     */
+    private SessionServer server;
+
+    /**
+     * Starts a server on a copy of the test maze before each test.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.copy(Path.of("test/mazeNavTest/io/validMaze.txt"), mazes.resolve("valid.txt"));
+        Files.writeString(mazes.resolve("header.txt"), "seven 7\n#######\n");
+        server = new SessionServer(mazes, new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                0)).start();
+    }
+
+    /**
+     * Stops the server after each test.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * Tests a whole session, from choosing a maze to reaching the exit.
+     *
+     * @ensure every request is answered with the matching state delta
+     */
+    @Test
+    void playSession() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(server.getAddress());
+             BufferedReader in = reader(channel);
+             PrintWriter out = writer(channel)) {
+            assertEquals("ERR No maze chosen", request(in, out, "MOVE s"));
+            assertTrue(request(in, out, "MAZE ../valid.txt").startsWith("ERR"));
+            assertTrue(request(in, out, "MAZE missing.txt").startsWith("ERR"));
+            assertEquals("ERR Could not read maze: .", request(in, out, "MAZE ."));
+            assertEquals("ERR Maze dimensions must be two integers",
+                    request(in, out, "MAZE header.txt"));
+            assertEquals("READY 7 7 8", request(in, out, "MAZE valid.txt"));
+            assertEquals("HINT s 12", request(in, out, "HINT"));
+            assertEquals("AT 15 1 1 2", request(in, out, "MOVE sa"));
+            assertEquals("HINT s 11", request(in, out, "HINT"));
+            assertEquals("AT 8 1 0 1", request(in, out, "MOVE w"));
+            assertEquals("EXIT 40 1 0 " + SOLUTION.length(),
+                    request(in, out, "MOVE " + SOLUTION + "www"));
+            assertEquals("EXIT 40 1 0 0", request(in, out, "STATE"));
+            assertEquals("BYE", request(in, out, "QUIT"));
+        }
+        assertEquals(2 + 1 + SOLUTION.length(), server.getMoves());
+    }
+
+    /**
+     * Tests that sessions can be served over a Unix domain socket.
+     *
+     * @ensure the session answers like it does over TCP
+     */
+    @Test
+    void serveUnixDomainSocket(@TempDir Path sockets) throws IOException {
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(sockets.resolve("maze.sock"));
+        try (SessionServer unixServer = new SessionServer(mazes, address).start();
+             SocketChannel channel = SocketChannel.open(address);
+             BufferedReader in = reader(channel);
+             PrintWriter out = writer(channel)) {
+            assertEquals("READY 7 7 8", request(in, out, "MAZE valid.txt"));
+            assertEquals("EXIT 40 1 0 " + SOLUTION.length(),
+                    request(in, out, "MOVE " + SOLUTION));
+        }
+        assertFalse(Files.exists(address.getPath()));
+    }
+
+    /**
+     * Tests that the load generator drives many concurrent sessions.
+     *
+     * @ensure every session is opened and the moves reported are the moves the server applied
+     */
+    @Test
+    void generateLoad() throws InterruptedException, IOException {
+        LoadGenerator.LoadReport report = LoadGenerator.run(server.getAddress(), "valid.txt",
+                200, 20, 8);
+
+        assertEquals(200, report.getSessions());
+        // Sessions whose goose reaches the exit stop early
+        assertEquals(server.getMoves(), report.getMoves());
+        assertTrue(report.getMoves() < 200 * 20 * 8);
+        assertTrue(report.getMovesPerSecond() > 0);
+        assertTrue(report.getSessionP99Nanos(0.5) <= report.getSessionP99Nanos(1));
+        assertEquals(200, server.getSessionsOpened());
+    }
+
+    /**
+     * Sends a request and reads its reply.
+     *
+     * @param in The reader of the connection.
+     * @param out The writer of the connection.
+     * @param line The request.
+     * @return The reply.
+     */
+    private static String request(BufferedReader in, PrintWriter out, String line)
+            throws IOException {
+        out.print(line + "\n");
+        out.flush();
+        return in.readLine();
+    }
+
+    /**
+     * Opens a line reader on a connection.
+     *
+     * @param channel The connection.
+     * @return The reader.
+     */
+    private static BufferedReader reader(SocketChannel channel) {
+        return new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Opens a writer on a connection, flushed by each request.
+     *
+     * @param channel The connection.
+     * @return The writer.
+     */
+    private static PrintWriter writer(SocketChannel channel) {
+        return new PrintWriter(Channels.newOutputStream(channel), false,
+                StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,114 @@
+package view;
+
+import exceptions.NoSuchElementException;
+import model.Direction;
+import model.MazeGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TextDisplayTest class contains unit tests for the TextDisplay and DiffTextDisplay classes.
+ */
+class TextDisplayTest {
+
+    private static final String GREY = "\u001B[90m", GREEN = "\u001B[32m", RESET = "\u001B[0m";
+
+    /**
+     * The block tile as it reads back after going through the default charset.
+     */
+    private static final String TILE = new String("\u2588".getBytes(Charset.defaultCharset()),
+            Charset.defaultCharset());
+
+    private MazeGame mazeGame;
+    private ByteArrayOutputStream out;
+
+    /**
+     * Sets up a small game writing to an in-memory stream.
+     *
+     * @throws NoSuchElementException if the maze has no start position.
+     */
+    @BeforeEach
+    void setUp() throws NoSuchElementException {
+        char[][] maze = {"#####".toCharArray(), "#S .#".toCharArray(), "###E#".toCharArray()};
+        mazeGame = new MazeGame(maze);
+        out = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Tests that a run of walls shares one colour sequence and plain cells print as themselves.
+     *
+     * @ensure the first row is a single grey run of five tiles
+     */
+    @Test
+    void displayMazeMergesRuns() {
+        new TextDisplay(mazeGame, out).displayMaze();
+        String[] rows = out.toString(Charset.defaultCharset()).split(System.lineSeparator());
+
+        assertEquals(3, rows.length);
+        assertEquals(GREY + TILE.repeat(5) + RESET, rows[0]);
+        assertEquals(GREY + TILE + RESET + GREEN + TILE + RESET + " ." + GREY + TILE + RESET,
+                rows[1]);
+    }
+
+    /**
+     * Tests that after the first frame only the two cells changed by a move are redrawn.
+     *
+     * @ensure the second frame addresses exactly the old and the new goose cell
+     */
+    @Test
+    void diffDisplayRedrawsChangedCells() {
+        DiffTextDisplay display = new DiffTextDisplay(mazeGame, out);
+        display.displayMaze();
+        out.reset();
+
+        display.displayMaze();
+        assertEquals(0, out.size());
+
+        mazeGame.moveGoose(Direction.RIGHT);
+        display.displayMaze();
+        String frame = out.toString(Charset.defaultCharset());
+        assertTrue(frame.contains("\u001B[2;2H" + GREEN + TILE + RESET));
+        assertTrue(frame.contains("\u001B[2;3H" + GREEN + TILE + RESET));
+        assertEquals(2, frame.split("H", -1).length - 1);
+    }
+
+    /**
+     * Tests that every cell crossed by a batch of moves applied between two frames is redrawn,
+     * even when the batch ends where it started.
+     *
+     * @ensure the frame after a batch addresses every cell the goose left or entered
+     */
+    @Test
+    void diffDisplayRedrawsBatchedMoves() {
+        DiffTextDisplay display = new DiffTextDisplay(mazeGame, out);
+        display.displayMaze();
+        out.reset();
+
+        mazeGame.moveGoose(Direction.RIGHT);
+        mazeGame.moveGoose(Direction.RIGHT);
+        mazeGame.moveGoose(Direction.LEFT);
+        display.displayMaze();
+        String frame = out.toString(Charset.defaultCharset());
+        assertTrue(frame.contains("\u001B[2;2H"));
+        assertTrue(frame.contains("\u001B[2;3H"));
+        assertTrue(frame.contains("\u001B[2;4H"));
+        out.reset();
+
+        // A batch ending back on the cell it started from
+        mazeGame.moveGoose(Direction.RIGHT);
+        mazeGame.moveGoose(Direction.LEFT);
+        display.displayMaze();
+        frame = out.toString(Charset.defaultCharset());
+        assertTrue(frame.contains("\u001B[2;3H"));
+        assertTrue(frame.contains("\u001B[2;4H"));
+        out.reset();
+
+        display.displayMaze();
+        assertEquals(0, out.size());
+    }
+}